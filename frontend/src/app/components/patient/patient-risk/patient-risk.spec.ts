@@ -1,9 +1,9 @@
 import {ComponentFixture, TestBed} from '@angular/core/testing';
 
 import {PatientRiskComponent} from './patient-risk';
-import {RiskLevel} from '../../../model/RiskLevel';
+import {RiskLevel, RiskLevelChange} from '../../../model/RiskLevel';
 import {RiskEvaluatorService} from '../../../services/risk-evaluator.service';
-import {of, throwError} from 'rxjs';
+import {NEVER, of, Subject, throwError} from 'rxjs';
 import {Patient} from '../../../model/Patient';
 
 describe('PatientRisk', () => {
@@ -22,8 +22,9 @@ describe('PatientRisk', () => {
   } as Patient;
 
   beforeEach(async () => {
-    riskServiceSpy = jasmine.createSpyObj('RiskEvaluatorService', ['getRiskLevel']);
+    riskServiceSpy = jasmine.createSpyObj('RiskEvaluatorService', ['getRiskLevel', 'watchRiskLevels']);
     riskServiceSpy.getRiskLevel.and.returnValue(of({ riskLevel: RiskLevel.NONE }));
+    riskServiceSpy.watchRiskLevels.and.returnValue(NEVER);
 
     await TestBed.configureTestingModule({
       imports: [PatientRiskComponent],
@@ -47,9 +48,31 @@ describe('PatientRisk', () => {
     expect(component['loading']).toBeFalse();
   });
 
-  it('should fetch risk when patient provided and update state on success', () => {
+  it('should show the risk level sent first by the stream without fetching it', () => {
     component.patient = mockPatient;
+    riskServiceSpy.watchRiskLevels.and.returnValue(of({ patientId: 2, riskLevel: RiskLevel.BORDERLINE }));
+
+    fixture.detectChanges();
+
+    expect(riskServiceSpy.getRiskLevel).not.toHaveBeenCalled();
+    expect(component.riskLevel).toBe(RiskLevel.BORDERLINE);
+    expect(component['loading']).toBeFalse();
+  });
+
+  it('should keep loading until the stream sends the risk level', () => {
+    component.patient = mockPatient;
+
+    fixture.detectChanges();
+
+    expect(riskServiceSpy.getRiskLevel).not.toHaveBeenCalled();
+    expect(component['loading']).toBeTrue();
+  });
+
+  it('should fetch risk when watching fails and update state on success', () => {
+    component.patient = mockPatient;
+    riskServiceSpy.watchRiskLevels.and.returnValue(throwError(() => new Event('error')));
     riskServiceSpy.getRiskLevel.and.returnValue(of({ riskLevel: RiskLevel.BORDERLINE }));
+    spyOn(console, 'error');
 
     fixture.detectChanges();
 
@@ -58,6 +81,22 @@ describe('PatientRisk', () => {
     expect(component['loading']).toBeFalse();
   });
 
+  it('should update risk level when a change is pushed and stop watching on destroy', () => {
+    const changes = new Subject<RiskLevelChange>();
+    component.patient = mockPatient;
+    riskServiceSpy.watchRiskLevels.and.returnValue(changes);
+
+    fixture.detectChanges();
+    changes.next({ patientId: 2, riskLevel: RiskLevel.IN_DANGER });
+
+    expect(riskServiceSpy.watchRiskLevels).toHaveBeenCalledWith([2]);
+    expect(component.riskLevel).toBe(RiskLevel.IN_DANGER);
+
+    fixture.destroy();
+
+    expect(changes.observed).toBeFalse();
+  });
+
   it('should set loading true while fetching and clear riskLevel until resolved', () => {
     component.patient = mockPatient;
     riskServiceSpy.getRiskLevel.and.returnValue(of({ riskLevel: RiskLevel.NONE }));
@@ -1,4 +1,5 @@
-import {Component, inject, Input} from '@angular/core';
+import {Component, inject, Input, OnDestroy} from '@angular/core';
+import {Subscription} from 'rxjs';
 import {Patient} from '../../../model/Patient';
 import {RiskLevel} from '../../../model/RiskLevel';
 import {RiskEvaluatorService} from '../../../services/risk-evaluator.service';
@@ -9,20 +10,27 @@ import {RiskEvaluatorService} from '../../../services/risk-evaluator.service';
   templateUrl: './patient-risk.html',
   styleUrl: './patient-risk.scss',
 })
-export class PatientRiskComponent {
+export class PatientRiskComponent implements OnDestroy {
   @Input() patient!: Patient;
 
   loading: boolean = false;
   riskLevel: RiskLevel | null = null;
 
   private riskEvaluatorService: RiskEvaluatorService = inject(RiskEvaluatorService);
+  private riskChanges?: Subscription;
 
   ngOnInit(): void {
     if (this.patient && this.patient.id) {
-      this.fetchRisk();
+      // The stream sends the current risk level first: it is only fetched if the stream fails
+      this.loading = true;
+      this.watchRisk();
     }
   }
 
+  ngOnDestroy(): void {
+    this.riskChanges?.unsubscribe();
+  }
+
   fetchRisk(): void {
     this.loading = true;
     this.riskLevel = null;
@@ -43,6 +51,20 @@ export class PatientRiskComponent {
     });
   }
 
+  watchRisk(): void {
+    this.riskChanges?.unsubscribe();
+    this.riskChanges = this.riskEvaluatorService.watchRiskLevels([Number(this.patient.id)]).subscribe({
+      next: (change) => {
+        this.riskLevel = change.riskLevel;
+        this.loading = false;
+      },
+      error: (err) => {
+        console.error('Failed to watch risk level', err);
+        this.fetchRisk();
+      },
+    });
+  }
+
   alertClass(level: RiskLevel | null): string {
     switch (level) {
       case RiskLevel.NONE:
@@ -8,3 +8,8 @@ export enum RiskLevel {
 export interface RiskLevelResponse {
   'riskLevel': RiskLevel;
 }
+
+export interface RiskLevelChange {
+  'patientId': number;
+  'riskLevel': RiskLevel;
+}
@@ -3,16 +3,25 @@ import {RiskEvaluatorService} from './risk-evaluator.service';
 import {HttpTestingController, provideHttpClientTesting} from '@angular/common/http/testing';
 import {provideHttpClient} from '@angular/common/http';
 import {environment} from '../../environments/environment';
-import {RiskLevelResponse} from '../model/RiskLevel';
+import {RiskLevel, RiskLevelChange, RiskLevelResponse} from '../model/RiskLevel';
+import {AuthService} from './auth.service';
+import {of} from 'rxjs';
 
 describe('RiskEvaluatorService', () => {
   let service: RiskEvaluatorService;
   let httpMock: HttpTestingController;
+  let authService: jasmine.SpyObj<AuthService>;
   const apiRiskEvaluatorBase = `${environment.apiBaseUrl}/api/risk-evaluator`;
 
   beforeEach(() => {
+    authService = jasmine.createSpyObj<AuthService>('AuthService', ['refreshToken']);
     TestBed.configureTestingModule({
-      providers: [RiskEvaluatorService, provideHttpClient(), provideHttpClientTesting()]
+      providers: [
+        RiskEvaluatorService,
+        provideHttpClient(),
+        provideHttpClientTesting(),
+        { provide: AuthService, useValue: authService }
+      ]
     });
     service = TestBed.inject(RiskEvaluatorService);
     httpMock = TestBed.inject(HttpTestingController);
@@ -63,4 +72,130 @@ describe('RiskEvaluatorService', () => {
     const req = httpMock.expectOne(`${apiRiskEvaluatorBase}/patient/${patientId}`);
     req.flush({ message: 'fail' }, { status: 500, statusText: 'Server Error' });
   });
+
+  it('getRiskLevels requests POST with patient ids and returns risk levels by id', (done: DoneFn) => {
+    const patientIds = [2, 3];
+
+    const backendResponse: Record<number, RiskLevel> = {
+      2: RiskLevel.BORDERLINE,
+      3: RiskLevel.IN_DANGER
+    };
+
+    service.getRiskLevels(patientIds).subscribe({
+      next: res => {
+        expect(res).toEqual(backendResponse);
+        done();
+      },
+      error: err => { fail(err); done(); }
+    });
+
+    const req = httpMock.expectOne(`${apiRiskEvaluatorBase}/patients`);
+    expect(req.request.method).toBe('POST');
+    expect(req.request.body).toEqual(patientIds);
+    req.flush(backendResponse);
+  });
+
+  describe('watchRiskLevels', () => {
+    class FakeEventSource {
+      static readonly CLOSED = 2;
+      static instance: FakeEventSource;
+      readyState = 1;
+      onerror: ((event: Event) => void) | null = null;
+      closed = false;
+      private listeners: Record<string, (event: MessageEvent) => void> = {};
+
+      constructor(public url: string, public init?: EventSourceInit) {
+        FakeEventSource.instance = this;
+      }
+
+      addEventListener(type: string, listener: (event: MessageEvent) => void): void {
+        this.listeners[type] = listener;
+      }
+
+      emit(type: string, data: string): void {
+        this.listeners[type](new MessageEvent(type, { data }));
+      }
+
+      fail(): void {
+        this.readyState = FakeEventSource.CLOSED;
+        this.onerror?.(new Event('error'));
+      }
+
+      close(): void {
+        this.closed = true;
+      }
+    }
+
+    let originalEventSource: typeof EventSource;
+
+    beforeEach(() => {
+      originalEventSource = window.EventSource;
+      (window as any).EventSource = FakeEventSource;
+    });
+
+    afterEach(() => {
+      (window as any).EventSource = originalEventSource;
+    });
+
+    it('opens a credentialed stream and emits the pushed risk levels until unsubscribed', () => {
+      const changes: RiskLevelChange[] = [];
+
+      const subscription = service.watchRiskLevels([2, 3]).subscribe(change => changes.push(change));
+      const eventSource = FakeEventSource.instance;
+      eventSource.emit('risk-level', '{"patientId":2,"riskLevel":"BORDERLINE"}');
+
+      expect(eventSource.url).toBe(`${apiRiskEvaluatorBase}/notifications/stream?patientIds=2,3`);
+      expect(eventSource.init?.withCredentials).toBeTrue();
+      expect(changes).toEqual([{ patientId: 2, riskLevel: RiskLevel.BORDERLINE }]);
+
+      subscription.unsubscribe();
+
+      expect(eventSource.closed).toBeTrue();
+    });
+
+    it('refreshes the token and opens a new stream when the stream is closed', () => {
+      authService.refreshToken.and.returnValue(of(true));
+      const changes: RiskLevelChange[] = [];
+
+      const subscription = service.watchRiskLevels([2]).subscribe(change => changes.push(change));
+      const expiredEventSource = FakeEventSource.instance;
+      expiredEventSource.fail();
+      const eventSource = FakeEventSource.instance;
+      eventSource.emit('risk-level', '{"patientId":2,"riskLevel":"IN_DANGER"}');
+
+      expect(authService.refreshToken).toHaveBeenCalledTimes(1);
+      expect(eventSource).not.toBe(expiredEventSource);
+      expect(eventSource.url).toBe(`${apiRiskEvaluatorBase}/notifications/stream?patientIds=2`);
+      expect(changes).toEqual([{ patientId: 2, riskLevel: RiskLevel.IN_DANGER }]);
+
+      subscription.unsubscribe();
+
+      expect(eventSource.closed).toBeTrue();
+    });
+
+    it('errors when the token cannot be refreshed', () => {
+      spyOn(console, 'error');
+      authService.refreshToken.and.returnValue(of(false));
+      const errors: unknown[] = [];
+
+      service.watchRiskLevels([2]).subscribe({ error: err => errors.push(err) });
+      FakeEventSource.instance.fail();
+
+      expect(errors.length).toBe(1);
+      expect(console.error).toHaveBeenCalledWith('Error watching risk levels', jasmine.anything());
+    });
+
+    it('errors when the new stream is closed again before delivering an event', () => {
+      spyOn(console, 'error');
+      authService.refreshToken.and.returnValue(of(true));
+      const errors: unknown[] = [];
+
+      service.watchRiskLevels([2]).subscribe({ error: err => errors.push(err) });
+      FakeEventSource.instance.fail();
+      FakeEventSource.instance.fail();
+
+      expect(authService.refreshToken).toHaveBeenCalledTimes(1);
+      expect(errors.length).toBe(1);
+    });
+  });
 });
@@ -1,14 +1,16 @@
 import {inject, Injectable} from '@angular/core';
 import {environment} from '../../environments/environment';
 import {HttpClient} from '@angular/common/http';
-import {catchError, Observable} from 'rxjs';
-import {RiskLevelResponse} from '../model/RiskLevel';
+import {catchError, Observable, Subscription} from 'rxjs';
+import {RiskLevel, RiskLevelChange, RiskLevelResponse} from '../model/RiskLevel';
+import {AuthService} from './auth.service';
 
 @Injectable({ providedIn: 'root' })
 export class RiskEvaluatorService {
   private apiRiskEvaluatorUrl = `${environment.apiBaseUrl}/api/risk-evaluator`;
 
   http = inject(HttpClient);
+  private authService = inject(AuthService);
 
   getRiskLevel(patientId: number): Observable<RiskLevelResponse> {
     return this.http.get<RiskLevelResponse>(this.apiRiskEvaluatorUrl + `/patient/${patientId}`)
@@ -19,4 +21,61 @@ export class RiskEvaluatorService {
         })
       );
   }
+
+  getRiskLevels(patientIds: number[]): Observable<Record<number, RiskLevel>> {
+    return this.http.post<Record<number, RiskLevel>>(this.apiRiskEvaluatorUrl + `/patients`, patientIds)
+      .pipe(
+        catchError (err => {
+          console.error("Error fetching risk levels", err);
+          throw err;
+        })
+      );
+  }
+
+  /**
+   * Streams the risk level of patients: their current level first, then every change (Server-Sent Events).
+   * The browser reconnects on its own when the stream is interrupted. When it gives up (e.g. 401 once the access token
+   * expired), the token is refreshed and a new stream is opened, once until it delivers an event again; unsubscribing
+   * closes the stream.
+   */
+  watchRiskLevels(patientIds: number[]): Observable<RiskLevelChange> {
+    const url = this.apiRiskEvaluatorUrl + `/notifications/stream?patientIds=${patientIds.join(',')}`;
+    return new Observable<RiskLevelChange>(subscriber => {
+      let eventSource: EventSource;
+      let refreshing: Subscription | undefined;
+      let alreadyRefreshed = false;
+
+      const fail = (err: unknown) => {
+        console.error("Error watching risk levels", err);
+        subscriber.error(err);
+      };
+      const open = () => {
+        eventSource = new EventSource(url, { withCredentials: true });
+        eventSource.addEventListener('risk-level', event => {
+          alreadyRefreshed = false;
+          subscriber.next(JSON.parse((event as MessageEvent).data) as RiskLevelChange);
+        });
+        eventSource.onerror = err => {
+          if (eventSource.readyState !== EventSource.CLOSED) {
+            return;
+          }
+          if (alreadyRefreshed) {
+            fail(err);
+            return;
+          }
+          alreadyRefreshed = true;
+          refreshing = this.authService.refreshToken().subscribe({
+            next: success => success ? open() : fail(err),
+            error: refreshError => fail(refreshError),
+          });
+        };
+      };
+
+      open();
+      return () => {
+        refreshing?.unsubscribe();
+        eventSource.close();
+      };
+    });
+  }
 }
@@ -0,0 +1,56 @@
+package com.medilabo.medicalnotemicroservice.client;
+
+import com.medilabo.medicalnotemicroservice.config.security.ServiceJwtProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Notifies the risk evaluator, through the gateway, that a medical note of a patient was created or deleted: the
+ * trigger terms of his notes determine his risk level, which is evaluated again instead of being served from the store
+ * of the risk evaluator.
+ */
+@Slf4j
+@Component
+public class RiskEvaluatorNotifier {
+	private final RestClient restClient;
+	private final ServiceJwtProvider serviceJwtProvider;
+
+	public RiskEvaluatorNotifier(RestClient.Builder restClientBuilder,
+								 ServiceJwtProvider serviceJwtProvider,
+								 @Value("${clients.gateway-microservice.api-url}") String gatewayApiUrl) {
+		this.restClient = restClientBuilder.baseUrl(gatewayApiUrl).build();
+		this.serviceJwtProvider = serviceJwtProvider;
+	}
+
+	/**
+	 * Sends the notification on a virtual thread, so that writing the note does not wait for the risk evaluator. The
+	 * notification is authenticated with the token of the service, the only one the risk evaluator accepts.
+	 * A failed notification is only logged: the risk evaluator stores risk levels for a bounded time (10 minutes by
+	 * default), after which the patient is evaluated again on the next read.
+	 *
+	 * @param patId The ID of the patient whose medical notes changed.
+	 */
+	public void medicalNotesChanged(Integer patId) {
+		if (patId == null) {
+			return;
+		}
+
+		Thread.startVirtualThread(() -> {
+			try {
+				restClient.post()
+						.uri("/risk-evaluator/notifications/patient/{id}", patId)
+						.header(HttpHeaders.COOKIE, "access_token=" + serviceJwtProvider.getToken())
+						.retrieve()
+						.toBodilessEntity();
+				log.debug("Risk evaluator notified of patient ID '{}' medical notes change", patId);
+			} catch (RestClientException ex) {
+				log.warn("Failed to notify risk evaluator of patient ID '{}' medical notes change: {}", patId,
+						ex.getMessage());
+			}
+		});
+	}
+}
@@ -0,0 +1,26 @@
+package com.medilabo.medicalnotemicroservice.config.matcher;
+
+import com.medilabo.medicalnotemicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.medicalnotemicroservice.domain.matcher.TriggerTermMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Matcher computing the trigger masks of the medical notes, compiled from the built-in lexicon with the configured
+ * phrase gap.
+ */
+@Configuration
+public class TriggerTermMatcherConfig {
+
+	/**
+	 * The phrase gap must be the {@code risk-evaluator.trigger-lexicon.max-phrase-gap} of the risk evaluator for it to
+	 * count the masks computed here: it is part of their version (see {@link TriggerTermMatcher#getMaskVersion()}), so
+	 * changing it has every mask computed again by the backfill.
+	 */
+	@Bean
+	public TriggerTermMatcher triggerTermMatcher(
+			@Value("${medical-note.trigger-lexicon.max-phrase-gap:" + TriggerTermMatcher.DEFAULT_MAX_PHRASE_GAP + "}") int maxPhraseGap) {
+		return new TriggerTermMatcher(TriggerLexicon.getDefault(), maxPhraseGap);
+	}
+}
@@ -1,8 +1,12 @@
 package com.medilabo.medicalnotemicroservice.controller;
 
 import com.medilabo.medicalnotemicroservice.controller.dto.MedicalNoteDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerMaskDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerTermsDto;
+import com.medilabo.medicalnotemicroservice.exception.BatchTooLargeException;
 import com.medilabo.medicalnotemicroservice.service.contracts.MedicalNoteService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,12 +20,15 @@ import java.util.List;
 public class MedicalNoteController {
 
 	private MedicalNoteService medicalNoteService;
+	private final int maxBatchSize;
 
-	public MedicalNoteController(MedicalNoteService medicalNoteService) {
+	public MedicalNoteController(MedicalNoteService medicalNoteService,
+								 @Value("${medical-note.batch.max-size:1000}") int maxBatchSize) {
 		this.medicalNoteService = medicalNoteService;
+		this.maxBatchSize = maxBatchSize;
 	}
 
-	@GetMapping("/patient/{id}")
+	@GetMapping(value = "/patient/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 	public ResponseEntity<List<MedicalNoteDto>> getPatientMedicalNotes(@PathVariable Integer id) {
 		List<MedicalNoteDto> notes = medicalNoteService.getMedicalNotesByPatientId(id);
 		log.info("Found {} notes for patient id='{}'", notes.size(), id);
@@ -32,10 +39,62 @@ public class MedicalNoteController {
 		}
 
 		return ResponseEntity.status(HttpStatus.OK)
-				.contentType(MediaType.APPLICATION_JSON)
 				.body(notes);
 	}
 
+	@PostMapping(value = "/patients", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<List<MedicalNoteDto>> getPatientsMedicalNotes(@RequestBody List<Integer> ids) {
+		checkBatchSize(ids);
+		List<MedicalNoteDto> notes = medicalNoteService.getMedicalNotesByPatientIds(ids);
+		log.info("Found {} notes for {} patients", notes.size(), ids.size());
+
+		if (notes.isEmpty()) {
+			log.info("No medical notes found for patient IDs: {}.", ids);
+			return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+		}
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(notes);
+	}
+
+	@GetMapping(value = "/patient/{id}/trigger-mask", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<TriggerMaskDto> getPatientTriggerMask(@PathVariable Integer id) {
+		TriggerMaskDto triggerMask = medicalNoteService.getTriggerMaskByPatientId(id);
+		log.info("Found trigger mask {} for patient id='{}'", triggerMask.getTriggerMask(), id);
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(triggerMask);
+	}
+
+	@PostMapping(value = "/patients/trigger-masks", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<List<TriggerMaskDto>> getPatientsTriggerMasks(@RequestBody List<Integer> ids) {
+		checkBatchSize(ids);
+		List<TriggerMaskDto> triggerMasks = medicalNoteService.getTriggerMasksByPatientIds(ids);
+		log.info("Found trigger masks for {} patients", triggerMasks.size());
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(triggerMasks);
+	}
+
+	@GetMapping(value = "/patient/{id}/triggers", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<TriggerTermsDto> getPatientTriggerTerms(@PathVariable Integer id) {
+		TriggerTermsDto triggerTerms = medicalNoteService.getTriggerTermsByPatientId(id);
+		log.info("Found trigger terms {} for patient id='{}'", triggerTerms.getTriggerTerms(), id);
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(triggerTerms);
+	}
+
+	@PostMapping(value = "/patients/triggers", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<List<TriggerTermsDto>> getPatientsTriggerTerms(@RequestBody List<Integer> ids) {
+		checkBatchSize(ids);
+		List<TriggerTermsDto> triggerTerms = medicalNoteService.getTriggerTermsByPatientIds(ids);
+		log.info("Found trigger terms for {} patients", triggerTerms.size());
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(triggerTerms);
+	}
+
 	@PostMapping
 	public ResponseEntity<MedicalNoteDto> createMedicalNote(@RequestBody MedicalNoteDto medicalNoteDto) {
 		MedicalNoteDto createdNote = medicalNoteService.create(medicalNoteDto);
@@ -53,4 +112,23 @@ public class MedicalNoteController {
 
 		return ResponseEntity.status(HttpStatus.OK).body("Deleted medical note with ID: " + deletedId);
 	}
+
+	/**
+	 * Rejects the batches of more patient IDs than allowed, so that a single request cannot load the whole collection.
+	 *
+	 * @throws BatchTooLargeException If the batch exceeds the maximum size.
+	 */
+	private void checkBatchSize(List<Integer> ids) {
+		if (ids.size() > maxBatchSize) {
+			throw new BatchTooLargeException(ids.size(), maxBatchSize);
+		}
+	}
+
+	@ExceptionHandler(BatchTooLargeException.class)
+	public ResponseEntity<String> handleBatchTooLargeException(BatchTooLargeException ex) {
+		log.warn("BatchTooLargeException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
 }
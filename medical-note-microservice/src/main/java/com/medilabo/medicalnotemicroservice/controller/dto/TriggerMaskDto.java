@@ -0,0 +1,13 @@
+package com.medilabo.medicalnotemicroservice.controller.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TriggerMaskDto {
+	private Integer patId;
+	private int triggerMask;
+	/** Version of the trigger lexicon the mask was computed with, which gives the meaning of its bits. */
+	private String lexiconVersion;
+}
@@ -0,0 +1,16 @@
+package com.medilabo.medicalnotemicroservice.controller.dto;
+
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+@Builder
+public class TriggerTermsDto {
+	private Integer patId;
+	private Set<TriggerTerm> triggerTerms;
+	/** Version of the trigger lexicon the terms were found with. */
+	private String lexiconVersion;
+}
@@ -1,5 +1,7 @@
 package com.medilabo.medicalnotemicroservice.domain;
 
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+import com.medilabo.medicalnotemicroservice.domain.matcher.TriggerLexicon;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,4 +23,14 @@ public class MedicalNote {
 	private String patient;
 	private String note;
 	private Date createdAt;
+	/**
+	 * Bitmask of the {@link TriggerTerm} found in the note (bit {@code i} is the term of ordinal {@code i}), computed
+	 * when the note is written. Null for the notes written before it was introduced, until they are backfilled.
+	 */
+	private Integer triggerMask;
+	/**
+	 * Version of the trigger lexicon the {@link #triggerMask} was computed with (see {@link TriggerLexicon}): a mask
+	 * computed with another lexicon is computed again.
+	 */
+	private String triggerLexiconVersion;
 }
@@ -0,0 +1,60 @@
+package com.medilabo.medicalnotemicroservice.domain.enums;
+
+import com.medilabo.medicalnotemicroservice.domain.matcher.NoteTokenizer;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Terms of the medical notes indicating a risk of diabetes. A variant of several words is a phrase, found when its
+ * words appear in order with at most one other word between two of them.
+ * <b>WARNING</b>: The ordinal of a term is its bit in the trigger masks persisted by the medical note microservice and
+ * read by the risk evaluator. New terms must be appended, and the copies of this enum in both services kept identical.
+ */
+public enum TriggerTerm {
+	HEMOGLOBINE_A1C("hemoglobine a1c"),
+	MICROALBUMINE("microalbumine"),
+	TAILLE("taille"),
+	POIDS("poids"),
+	FUMEUR("fumeur", "fumeuse", "fume", "fumer"),
+	ANORMAL("anormal", "anormale", "anormaux", "anormales"),
+	CHOLESTEROL("cholesterol"),
+	VERTIGES("vertige", "vertiges"),
+	RECHUTE("rechute"),
+	REACTION("reaction allergique", "reaction aux medicaments", "reaction medicamenteuse"),
+	ANTICORPS("anticorps");
+
+	private final Set<String> normalizedVariants;
+
+	TriggerTerm(String... variants) {
+		this.normalizedVariants = Arrays.stream(variants)
+				.map(TriggerTerm::normalize)
+				.collect(Collectors.toUnmodifiableSet());
+	}
+
+	/**
+	 * Returns the normalized spellings (lowercase, without accents) of this trigger term.
+	 */
+	public Set<String> getNormalizedVariants() {
+		return normalizedVariants;
+	}
+
+	/**
+	 * Indicates if the given raw word matches any of the single-word trigger term variants.
+	 */
+	public boolean matches(String rawWord) {
+		String normalizedWord = normalize(rawWord);
+		return normalizedVariants.contains(normalizedWord);
+	}
+
+	/**
+	 * Normalizes a string by:</br>
+	 * - lowercase</br>
+	 * - accent removal</br>
+	 * The folding rules are shared with the {@link NoteTokenizer} scanning the medical notes.
+	 */
+	public static String normalize(String input) {
+		return NoteTokenizer.normalize(input);
+	}
+}
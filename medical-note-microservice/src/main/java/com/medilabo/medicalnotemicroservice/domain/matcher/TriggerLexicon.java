@@ -0,0 +1,136 @@
+package com.medilabo.medicalnotemicroservice.domain.matcher;
+
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable set of the spellings (variants) of every {@link TriggerTerm}, from which a {@link TriggerTermMatcher} is
+ * compiled.
+ * <p>
+ * The version of a lexicon is a digest of its normalized content, computed as by the risk evaluator: it is persisted
+ * with the trigger mask of every medical note and returned with the masks (see
+ * {@link TriggerTermMatcher#getMaskVersion()}), so that the risk evaluator only counts the masks computed with the
+ * lexicon it would scan the notes with, and the masks computed with a previous lexicon are computed again.
+ */
+public final class TriggerLexicon {
+	private static final int VERSION_LENGTH = 12;
+	private static final TriggerLexicon DEFAULT = fromEnum();
+
+	private final Map<TriggerTerm, Set<String>> variants;
+	private final String version;
+
+	private TriggerLexicon(Map<TriggerTerm, Set<String>> variants) {
+		this.variants = Collections.unmodifiableMap(variants);
+		this.version = digest(variants);
+	}
+
+	/**
+	 * Returns the lexicon built in the {@link TriggerTerm} enum.
+	 */
+	public static TriggerLexicon getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Builds a lexicon from the raw variants of the trigger terms. Terms left out have no variant, and are never found.
+	 *
+	 * @param variants The raw variants of the trigger terms, normalized by this method.
+	 *
+	 * @return The lexicon.
+	 *
+	 * @throws IllegalArgumentException If a variant is blank.
+	 */
+	public static TriggerLexicon of(Map<TriggerTerm, ? extends Collection<String>> variants) {
+		Map<TriggerTerm, Set<String>> normalizedVariants = new EnumMap<>(TriggerTerm.class);
+		for (TriggerTerm term : TriggerTerm.values()) {
+			Set<String> termVariants = new TreeSet<>();
+			Collection<String> rawVariants = variants.get(term);
+			if (rawVariants != null) {
+				for (String variant : rawVariants) {
+					termVariants.add(normalizeVariant(term, variant));
+				}
+			}
+			normalizedVariants.put(term, Collections.unmodifiableSet(termVariants));
+		}
+		return new TriggerLexicon(normalizedVariants);
+	}
+
+	/**
+	 * Returns the normalized variants of a trigger term.
+	 */
+	public Set<String> getVariants(TriggerTerm term) {
+		return variants.get(term);
+	}
+
+	/**
+	 * Returns the version of this lexicon: a digest of its normalized content.
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	private static TriggerLexicon fromEnum() {
+		Map<TriggerTerm, Set<String>> variants = new EnumMap<>(TriggerTerm.class);
+		for (TriggerTerm term : TriggerTerm.values()) {
+			variants.put(term, term.getNormalizedVariants());
+		}
+		return of(variants);
+	}
+
+	private static String normalizeVariant(TriggerTerm term, String variant) {
+		StringBuilder normalized = new StringBuilder();
+		NoteTokenizer.tokenize(variant, new NoteTokenizer.TokenConsumer() {
+			@Override
+			public void append(char folded) {
+				normalized.append(folded);
+			}
+
+			@Override
+			public boolean endToken() {
+				normalized.append(' ');
+				return true;
+			}
+		});
+		if (normalized.isEmpty()) {
+			throw new IllegalArgumentException("blank variant of trigger term " + term);
+		}
+		return normalized.substring(0, normalized.length() - 1);
+	}
+
+	private static String digest(Map<TriggerTerm, Set<String>> variants) {
+		StringBuilder canonical = new StringBuilder();
+		variants.forEach((term, termVariants) ->
+				canonical.append(term.name()).append(':').append(String.join(",", new TreeSet<>(termVariants))).append('\n'));
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash).substring(0, VERSION_LENGTH);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof TriggerLexicon other && variants.equals(other.variants);
+	}
+
+	@Override
+	public int hashCode() {
+		return variants.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "TriggerLexicon{version=" + version + ", variants=" + variants + "}";
+	}
+}
@@ -0,0 +1,392 @@
+package com.medilabo.medicalnotemicroservice.domain.matcher;
+
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiled automaton recognizing the {@link TriggerTerm} variants of a {@link TriggerLexicon} in free text.
+ * <p>
+ * The normalized variants are compiled once into a character trie stored as a dense transition table.
+ * A text is then scanned in a single linear pass: the {@link NoteTokenizer} feeds the folded characters of every token
+ * to a {@link Scan}, which advances the current trie state per character and resolves the reached state to a trigger
+ * term (if any) at the end of the token.
+ * The cost of a scan therefore depends on the length of the text only, not on the number of trigger terms.
+ * <p>
+ * Found terms are reported as a bitmask where bit {@code i} is set when the term of ordinal {@code i} was found.
+ * Instances are immutable and thread-safe, while {@link Scan} instances are meant to be used by a single thread.
+ * <p>
+ * Variants of several words (phrases, such as {@code "hemoglobine a1c"}) are recognized in the same pass: the trie
+ * resolves every token to a phrase word, and the scan keeps, for every phrase and prefix length, the index of the last
+ * token completing that prefix. A word extends a prefix when at most {@code maxPhraseGap} other words were found since
+ * its end. Phrases never span two texts.
+ * <p>
+ * The risk evaluator counts the masks computed here as its own when they carry the version of its matcher (see
+ * {@link #getMaskVersion()}): both matchers must find the same terms in the same texts, which the shared
+ * {@code trigger-scan-cases.csv} cases check in both services.
+ */
+public final class TriggerTermMatcher {
+	private static final TriggerTerm[] TERMS = TriggerTerm.values();
+	private static final int ROOT = 0;
+	private static final int DEAD = -1;
+	private static final int NO_TERM = -1;
+	private static final int NO_WORD = -1;
+	/** Token index of the prefixes not matched yet, far enough in the past to exceed the gap. */
+	private static final int NEVER = Integer.MIN_VALUE / 2;
+
+	/** Default number of other words allowed between two consecutive words of a phrase. */
+	public static final int DEFAULT_MAX_PHRASE_GAP = 1;
+
+	private static final TriggerTermMatcher DEFAULT = new TriggerTermMatcher(TriggerLexicon.getDefault());
+
+	/** Lexicon this matcher was compiled from. */
+	private final TriggerLexicon lexicon;
+	/** Maximum number of other words between two consecutive words of a phrase. */
+	private final int maxPhraseGap;
+
+	/** Sorted distinct characters found in the variants: the alphabet of the automaton. */
+	private final char[] alphabet;
+	/** Column of the ASCII characters in the transition table, or -1 when they are not part of the alphabet. */
+	private final int[] asciiColumns;
+	/** Transition table: {@code transitions[state * alphabet.length + column]} is the next state or {@link #DEAD}. */
+	private final int[] transitions;
+	/** Ordinal of the trigger term of the single-word variant accepted by each state, or {@link #NO_TERM}. */
+	private final int[] acceptedTerms;
+	/** Phrase word accepted by each state, or {@link #NO_WORD}. */
+	private final int[] acceptedWords;
+	/** Mask with one bit per trigger term having variants, used to stop scanning once every term has been found. */
+	private final int allTermsMask;
+	/** Ordinal of the trigger term of every phrase. */
+	private final int[] phraseTerms;
+	/** Number of words of every phrase. */
+	private final int[] phraseLengths;
+	/** Index of the first prefix of every phrase in the prefix ends of a scan (one per proper prefix). */
+	private final int[] phraseOffsets;
+	/** Total number of proper prefixes of the phrases. */
+	private final int prefixCount;
+	/** Phrases containing every phrase word, and the position of the word in them, by decreasing position. */
+	private final int[][] wordPhrases;
+	private final int[][] wordPositions;
+
+	/**
+	 * Compiles the variants of a lexicon, with the default phrase gap.
+	 */
+	TriggerTermMatcher(TriggerLexicon lexicon) {
+		this(lexicon, DEFAULT_MAX_PHRASE_GAP);
+	}
+
+	/**
+	 * Compiles the variants of a lexicon.
+	 *
+	 * @param lexicon      The lexicon to compile.
+	 * @param maxPhraseGap The maximum number of other words between two consecutive words of a phrase.
+	 *
+	 * @throws IllegalArgumentException If the phrase gap is negative.
+	 */
+	public TriggerTermMatcher(TriggerLexicon lexicon, int maxPhraseGap) {
+		if (maxPhraseGap < 0) {
+			throw new IllegalArgumentException("The maximum phrase gap must be positive or zero: " + maxPhraseGap);
+		}
+		this.lexicon = lexicon;
+		this.maxPhraseGap = maxPhraseGap;
+		Set<Character> characters = new TreeSet<>();
+		for (TriggerTerm term : TERMS) {
+			for (String variant : lexicon.getVariants(term)) {
+				for (char c : variant.replace(" ", "").toCharArray()) {
+					characters.add(c);
+				}
+			}
+		}
+		this.alphabet = new char[characters.size()];
+		int index = 0;
+		for (Character c : characters) {
+			alphabet[index++] = c;
+		}
+		this.asciiColumns = new int[128];
+		for (char c = 0; c < asciiColumns.length; c++) {
+			asciiColumns[c] = Math.max(Arrays.binarySearch(alphabet, c), -1);
+		}
+
+		List<int[]> rows = new ArrayList<>();
+		List<Integer> accepted = new ArrayList<>();
+		List<Integer> acceptedWordList = new ArrayList<>();
+		rows.add(newRow());
+		accepted.add(NO_TERM);
+		acceptedWordList.add(NO_WORD);
+
+		int mask = 0;
+		Map<String, Integer> words = new LinkedHashMap<>();
+		List<int[]> phrases = new ArrayList<>();
+		List<Integer> phraseTermList = new ArrayList<>();
+		for (TriggerTerm term : TERMS) {
+			if (!lexicon.getVariants(term).isEmpty()) {
+				mask |= 1 << term.ordinal();
+			}
+			for (String variant : lexicon.getVariants(term)) {
+				String[] variantWords = variant.split(" ");
+				if (variantWords.length == 1) {
+					accepted.set(insert(rows, accepted, acceptedWordList, variant), term.ordinal());
+					continue;
+				}
+				int[] phrase = new int[variantWords.length];
+				for (int i = 0; i < variantWords.length; i++) {
+					String word = variantWords[i];
+					if (!words.containsKey(word)) {
+						words.put(word, words.size());
+						acceptedWordList.set(insert(rows, accepted, acceptedWordList, word), words.get(word));
+					}
+					phrase[i] = words.get(word);
+				}
+				phrases.add(phrase);
+				phraseTermList.add(term.ordinal());
+			}
+		}
+
+		this.transitions = new int[rows.size() * alphabet.length];
+		this.acceptedTerms = new int[rows.size()];
+		this.acceptedWords = new int[rows.size()];
+		for (int state = 0; state < rows.size(); state++) {
+			System.arraycopy(rows.get(state), 0, transitions, state * alphabet.length, alphabet.length);
+			acceptedTerms[state] = accepted.get(state);
+			acceptedWords[state] = acceptedWordList.get(state);
+		}
+		this.allTermsMask = mask;
+
+		this.phraseTerms = new int[phrases.size()];
+		this.phraseLengths = new int[phrases.size()];
+		this.phraseOffsets = new int[phrases.size()];
+		List<List<int[]>> occurrences = new ArrayList<>();
+		for (int word = 0; word < words.size(); word++) {
+			occurrences.add(new ArrayList<>());
+		}
+		int offset = 0;
+		for (int phrase = 0; phrase < phrases.size(); phrase++) {
+			int[] phraseWords = phrases.get(phrase);
+			phraseTerms[phrase] = phraseTermList.get(phrase);
+			phraseLengths[phrase] = phraseWords.length;
+			phraseOffsets[phrase] = offset;
+			offset += phraseWords.length - 1;
+			for (int position = phraseWords.length - 1; position >= 0; position--) {
+				occurrences.get(phraseWords[position]).add(new int[]{phrase, position});
+			}
+		}
+		this.prefixCount = offset;
+		this.wordPhrases = new int[words.size()][];
+		this.wordPositions = new int[words.size()][];
+		for (int word = 0; word < words.size(); word++) {
+			// Decreasing positions, so that a word repeated in a phrase never extends a prefix it just completed
+			List<int[]> wordOccurrences = occurrences.get(word);
+			wordOccurrences.sort((a, b) -> Integer.compare(b[1], a[1]));
+			wordPhrases[word] = wordOccurrences.stream().mapToInt(occurrence -> occurrence[0]).toArray();
+			wordPositions[word] = wordOccurrences.stream().mapToInt(occurrence -> occurrence[1]).toArray();
+		}
+	}
+
+	/**
+	 * Returns the matcher compiled from the lexicon built in the {@link TriggerTerm} values.
+	 */
+	public static TriggerTermMatcher getInstance() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Returns the version of the lexicon this matcher was compiled from.
+	 */
+	public String getVersion() {
+		return lexicon.getVersion();
+	}
+
+	/**
+	 * Returns the version of the trigger masks computed by this matcher: the version of its lexicon, suffixed with the
+	 * phrase gap when it is not the default one, as both give the bits of a mask. The risk evaluator computes it the
+	 * same way.
+	 */
+	public String getMaskVersion() {
+		return maxPhraseGap == DEFAULT_MAX_PHRASE_GAP ? getVersion() : getVersion() + "-gap" + maxPhraseGap;
+	}
+
+	/**
+	 * Returns the maximum number of other words between two consecutive words of a phrase.
+	 */
+	public int getMaxPhraseGap() {
+		return maxPhraseGap;
+	}
+
+	/**
+	 * Scans a raw text and returns the trigger terms found in it as a bitmask.
+	 * Words are the tokens of the {@link NoteTokenizer}; they are compared to the variants once lowercased and stripped
+	 * of their accents.
+	 *
+	 * @param text The raw text to scan, may be null.
+	 *
+	 * @return The bitmask of the trigger terms found in the text (bit {@code i} is the term of ordinal {@code i}).
+	 */
+	public int scan(CharSequence text) {
+		Scan scan = newScan();
+		NoteTokenizer.tokenize(text, scan);
+		return scan.mask();
+	}
+
+	/**
+	 * Starts a new scan, which accumulates the trigger terms found in all the texts tokenized into it.
+	 */
+	public Scan newScan() {
+		return new Scan();
+	}
+
+	/**
+	 * Indicates if a bitmask contains every trigger term compiled in this matcher, in which case scanning more text
+	 * cannot change the result.
+	 */
+	public boolean isComplete(int mask) {
+		return mask == allTermsMask;
+	}
+
+	/**
+	 * Converts a bitmask returned by {@link #scan(CharSequence)} to the set of trigger terms it contains.
+	 */
+	public static Set<TriggerTerm> toTerms(int mask) {
+		EnumSet<TriggerTerm> terms = EnumSet.noneOf(TriggerTerm.class);
+		for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+			terms.add(TERMS[Integer.numberOfTrailingZeros(remaining)]);
+		}
+		return terms;
+	}
+
+	private int acceptedMask(int state) {
+		if (state == DEAD || acceptedTerms[state] == NO_TERM) {
+			return 0;
+		}
+		return 1 << acceptedTerms[state];
+	}
+
+	private int acceptedWord(int state) {
+		return state == DEAD ? NO_WORD : acceptedWords[state];
+	}
+
+	private int column(char c) {
+		if (c < asciiColumns.length) {
+			return asciiColumns[c];
+		}
+		return Math.max(Arrays.binarySearch(alphabet, c), -1);
+	}
+
+	private int[] newRow() {
+		int[] row = new int[alphabet.length];
+		Arrays.fill(row, DEAD);
+		return row;
+	}
+
+	/**
+	 * Adds a word to the trie under construction.
+	 *
+	 * @return The state accepting the word.
+	 */
+	private int insert(List<int[]> rows, List<Integer> accepted, List<Integer> acceptedWordList, String word) {
+		int state = ROOT;
+		for (char c : word.toCharArray()) {
+			int column = column(c);
+			int next = rows.get(state)[column];
+			if (next == DEAD) {
+				next = rows.size();
+				rows.add(newRow());
+				accepted.add(NO_TERM);
+				acceptedWordList.add(NO_WORD);
+				rows.get(state)[column] = next;
+			}
+			state = next;
+		}
+		return state;
+	}
+
+	/**
+	 * Mutable state of a scan: the trie state reached by the current token, the phrase prefixes matched so far and the
+	 * terms found so far.
+	 */
+	public final class Scan implements NoteTokenizer.TokenConsumer {
+		private int state = ROOT;
+		private int mask;
+
+		/** Index of the current token, across all the texts of the scan. */
+		private int tokenIndex;
+		/** Index of the last token completing every proper prefix of every phrase, or {@link #NEVER}. */
+		private final int[] prefixEnds;
+
+		private Scan() {
+			this.prefixEnds = new int[prefixCount];
+			Arrays.fill(prefixEnds, NEVER);
+		}
+
+		@Override
+		public void append(char folded) {
+			if (state != DEAD) {
+				int column = column(folded);
+				state = column < 0 ? DEAD : transitions[state * alphabet.length + column];
+			}
+		}
+
+		@Override
+		public boolean endToken() {
+			mask |= acceptedMask(state);
+			int word = acceptedWord(state);
+			if (word != NO_WORD) {
+				matchPhrases(word);
+			}
+			state = ROOT;
+			tokenIndex++;
+			return !isComplete();
+		}
+
+		/**
+		 * Moves the token index past the phrase gap, so that no phrase spans the end of a text and the start of the
+		 * next one.
+		 */
+		@Override
+		public void endText() {
+			tokenIndex += maxPhraseGap + 1;
+		}
+
+		/**
+		 * Returns the bitmask of the trigger terms found so far.
+		 */
+		public int mask() {
+			return mask;
+		}
+
+		/**
+		 * Indicates if every trigger term has been found, in which case scanning more text is useless.
+		 */
+		public boolean isComplete() {
+			return TriggerTermMatcher.this.isComplete(mask);
+		}
+
+		/**
+		 * Extends the phrase prefixes with the word of the current token, and adds the terms of the completed phrases.
+		 */
+		private void matchPhrases(int word) {
+			int[] phrases = wordPhrases[word];
+			int[] positions = wordPositions[word];
+			for (int i = 0; i < phrases.length; i++) {
+				int phrase = phrases[i];
+				int position = positions[i];
+				int prefix = phraseOffsets[phrase] + position;
+				if (position == 0) {
+					prefixEnds[prefix] = tokenIndex;
+				} else if (tokenIndex - prefixEnds[prefix - 1] - 1 <= maxPhraseGap) {
+					if (position == phraseLengths[phrase] - 1) {
+						mask |= 1 << phraseTerms[phrase];
+					} else {
+						prefixEnds[prefix] = tokenIndex;
+					}
+				}
+			}
+		}
+	}
+}
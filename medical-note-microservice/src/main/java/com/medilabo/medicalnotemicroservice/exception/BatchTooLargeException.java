@@ -0,0 +1,7 @@
+package com.medilabo.medicalnotemicroservice.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+	public BatchTooLargeException(int size, int maxSize) {
+		super(String.format("Batch of %d patient IDs exceeds the maximum of %d.", size, maxSize));
+	}
+}
@@ -0,0 +1,37 @@
+package com.medilabo.medicalnotemicroservice.job;
+
+import com.medilabo.medicalnotemicroservice.service.contracts.MedicalNoteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the trigger masks of the medical notes written before they were computed at write time, or computed with a
+ * previous trigger lexicon.
+ * The job runs once at startup, in the background so that it does not delay the readiness of the service. Until it
+ * completes, the masks of the patients with missing or stale masks are read with a stale version, so that the risk
+ * evaluator scans their notes itself.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "medical-notes.trigger-mask.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class TriggerMaskBackfillJob {
+	private final MedicalNoteService medicalNoteService;
+
+	public TriggerMaskBackfillJob(MedicalNoteService medicalNoteService) {
+		this.medicalNoteService = medicalNoteService;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		Thread.startVirtualThread(() -> {
+			try {
+				medicalNoteService.backfillTriggerMasks();
+			} catch (RuntimeException ex) {
+				log.error("Trigger masks backfill failed: {}", ex.getMessage());
+			}
+		});
+	}
+}
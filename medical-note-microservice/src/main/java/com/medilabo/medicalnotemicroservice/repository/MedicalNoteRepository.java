@@ -1,14 +1,34 @@
 package com.medilabo.medicalnotemicroservice.repository;
 
 import com.medilabo.medicalnotemicroservice.domain.MedicalNote;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MedicalNoteRepository extends MongoRepository<MedicalNote, String> {
 	List<MedicalNote> findAllByPatIdOrderByCreatedAtDesc(Integer patId);
 
-	void deleteMedicalNoteById(String id);
+	List<MedicalNote> findAllByPatIdInOrderByCreatedAtDesc(Collection<Integer> patIds);
+
+	/**
+	 * Retrieves the trigger masks of the medical notes of several patients, without their texts.
+	 * Only the {@code id}, {@code patId}, {@code triggerMask} and {@code triggerLexiconVersion} fields of the returned
+	 * notes are set.
+	 */
+	@Query(value = "{ 'patId': { $in: ?0 } }", fields = "{ 'patId': 1, 'triggerMask': 1, 'triggerLexiconVersion': 1 }")
+	List<MedicalNote> findTriggerMasksByPatIdIn(Collection<Integer> patIds);
+
+	/**
+	 * Retrieves the medical notes without trigger mask, or whose trigger mask was computed with another trigger lexicon.
+	 */
+	Slice<MedicalNote> findAllByTriggerMaskIsNullOrTriggerLexiconVersionNot(String triggerLexiconVersion,
+																			 Pageable pageable);
+
+	MedicalNote deleteMedicalNoteById(String id);
 }
@@ -1,23 +1,40 @@
 package com.medilabo.medicalnotemicroservice.service;
 
+import com.medilabo.medicalnotemicroservice.client.RiskEvaluatorNotifier;
 import com.medilabo.medicalnotemicroservice.controller.dto.MedicalNoteDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerMaskDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerTermsDto;
 import com.medilabo.medicalnotemicroservice.domain.MedicalNote;
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+import com.medilabo.medicalnotemicroservice.domain.matcher.TriggerTermMatcher;
 import com.medilabo.medicalnotemicroservice.repository.MedicalNoteRepository;
 import com.medilabo.medicalnotemicroservice.service.contracts.MedicalNoteService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 public class MedicalNoteServiceImpl implements MedicalNoteService {
 
+	private static final int BACKFILL_BATCH_SIZE = 500;
+
 	private final MedicalNoteRepository medicalNoteRepository;
+	private final RiskEvaluatorNotifier riskEvaluatorNotifier;
+	private final TriggerTermMatcher triggerTermMatcher;
 
-	public MedicalNoteServiceImpl(MedicalNoteRepository medicalNoteRepository) {
+	public MedicalNoteServiceImpl(MedicalNoteRepository medicalNoteRepository,
+								  RiskEvaluatorNotifier riskEvaluatorNotifier,
+								  TriggerTermMatcher triggerTermMatcher) {
 		this.medicalNoteRepository = medicalNoteRepository;
+		this.riskEvaluatorNotifier = riskEvaluatorNotifier;
+		this.triggerTermMatcher = triggerTermMatcher;
 	}
 
 	/**
@@ -36,7 +53,127 @@ public class MedicalNoteServiceImpl implements MedicalNoteService {
 	}
 
 	/**
-	 * Creates a new medical note.
+	 * Retrieves the medical notes of several patients in a single query.
+	 * The medical notes are ordered by their creation date in descending order (most recent first).
+	 *
+	 * @param patientIds The IDs of the patients whose medical notes are to be retrieved.
+	 *
+	 * @return A list of MedicalNoteDto objects representing the medical notes of all the given patients.
+	 */
+	@Override
+	public List<MedicalNoteDto> getMedicalNotesByPatientIds(List<Integer> patientIds) {
+		return medicalNoteRepository.findAllByPatIdInOrderByCreatedAtDesc(patientIds).stream()
+				.map(MedicalNoteDto::fromEntity)
+				.toList();
+	}
+
+	/**
+	 * Retrieves the trigger mask of a patient: the OR of the trigger masks of all his medical notes.
+	 *
+	 * @param patientId The ID of the patient whose trigger mask is to be retrieved.
+	 *
+	 * @return A TriggerMaskDto object holding the trigger mask of the patient, 0 if he has no medical notes.
+	 */
+	@Override
+	public TriggerMaskDto getTriggerMaskByPatientId(Integer patientId) {
+		return getTriggerMasksByPatientIds(List.of(patientId)).getFirst();
+	}
+
+	/**
+	 * Retrieves the trigger masks of several patients in a single query, without loading the texts of their notes.
+	 * The masks are returned with their version (see {@link TriggerTermMatcher#getMaskVersion()}), which gives the
+	 * meaning of their bits. Reads never write: the masks of the notes not backfilled yet, or computed with another
+	 * trigger lexicon, are left to {@link #backfillTriggerMasks()}, and the mask of their patient is returned with the
+	 * stale version of the note (null if its mask is missing), so that the caller scans the notes itself.
+	 *
+	 * @param patientIds The IDs of the patients whose trigger masks are to be retrieved.
+	 *
+	 * @return A list of TriggerMaskDto objects holding the trigger mask of every given patient, in the given order.
+	 */
+	@Override
+	public List<TriggerMaskDto> getTriggerMasksByPatientIds(List<Integer> patientIds) {
+		Map<Integer, Integer> triggerMasks = new HashMap<>();
+		// Version of a stale note of each patient, null if its mask is missing
+		Map<Integer, String> staleVersions = new HashMap<>();
+		for (MedicalNote medicalNote : medicalNoteRepository.findTriggerMasksByPatIdIn(patientIds)) {
+			if (medicalNote.getTriggerMask() != null) {
+				triggerMasks.merge(medicalNote.getPatId(), medicalNote.getTriggerMask(), (a, b) -> a | b);
+			}
+			if (isStale(medicalNote)) {
+				staleVersions.put(medicalNote.getPatId(),
+						medicalNote.getTriggerMask() == null ? null : medicalNote.getTriggerLexiconVersion());
+			}
+		}
+
+		return patientIds.stream()
+				.distinct()
+				.map(patientId -> TriggerMaskDto.builder()
+						.patId(patientId)
+						.triggerMask(triggerMasks.getOrDefault(patientId, 0))
+						.lexiconVersion(staleVersions.containsKey(patientId)
+								? staleVersions.get(patientId)
+								: triggerTermMatcher.getMaskVersion())
+						.build())
+				.toList();
+	}
+
+	/**
+	 * Retrieves the distinct trigger terms found in the medical notes of a patient.
+	 *
+	 * @param patientId The ID of the patient whose trigger terms are to be retrieved.
+	 *
+	 * @return A TriggerTermsDto object holding the trigger terms of the patient, empty if he has no medical notes.
+	 */
+	@Override
+	public TriggerTermsDto getTriggerTermsByPatientId(Integer patientId) {
+		return getTriggerTermsByPatientIds(List.of(patientId)).getFirst();
+	}
+
+	/**
+	 * Retrieves the distinct trigger terms found in the medical notes of several patients in a single query.
+	 * The terms are decoded from the trigger masks of the notes (see {@link #getTriggerMasksByPatientIds(List)}), so
+	 * they follow the same normalization rules as {@link TriggerTerm} without loading the texts of the notes.
+	 *
+	 * @param patientIds The IDs of the patients whose trigger terms are to be retrieved.
+	 *
+	 * @return A list of TriggerTermsDto objects holding the trigger terms of every given patient, in the given order.
+	 */
+	@Override
+	public List<TriggerTermsDto> getTriggerTermsByPatientIds(List<Integer> patientIds) {
+		return getTriggerMasksByPatientIds(patientIds).stream()
+				.map(triggerMask -> TriggerTermsDto.builder()
+						.patId(triggerMask.getPatId())
+						.triggerTerms(TriggerTermMatcher.toTerms(triggerMask.getTriggerMask()))
+						.lexiconVersion(triggerMask.getLexiconVersion())
+						.build())
+				.toList();
+	}
+
+	/**
+	 * Computes and persists the trigger mask of every medical note written before trigger masks were introduced, or
+	 * whose mask was computed with another trigger lexicon. The notes are processed by batches, so that memory usage
+	 * does not depend on the number of notes.
+	 *
+	 * @return The number of medical notes backfilled.
+	 */
+	@Override
+	public long backfillTriggerMasks() {
+		long backfilled = 0;
+		Slice<MedicalNote> medicalNotes;
+		do {
+			// Backfilled notes no longer match the query: the first page always holds the next batch
+			medicalNotes = medicalNoteRepository.findAllByTriggerMaskIsNullOrTriggerLexiconVersionNot(
+					triggerTermMatcher.getMaskVersion(), PageRequest.of(0, BACKFILL_BATCH_SIZE));
+			backfilled += saveTriggerMasks(medicalNotes.getContent()).size();
+		} while (medicalNotes.hasNext());
+
+		log.info("Trigger masks backfilled for {} medical notes.", backfilled);
+		return backfilled;
+	}
+
+	/**
+	 * Creates a new medical note, with the trigger mask of its text, and notifies the risk evaluator that the notes of
+	 * the patient changed.
 	 *
 	 * @param medicalNoteDto The MedicalNoteDto object containing the details of the medical note to be created.
 	 *
@@ -45,16 +182,19 @@ public class MedicalNoteServiceImpl implements MedicalNoteService {
 	@Override
 	public MedicalNoteDto create(MedicalNoteDto medicalNoteDto) {
 		medicalNoteDto.setCreatedAt(new Date());
-		MedicalNote createdMedicalNoteEntity = medicalNoteRepository.save(medicalNoteDto.toEntity());
+		MedicalNote medicalNote = medicalNoteDto.toEntity();
+		setTriggerMask(medicalNote);
+		MedicalNote createdMedicalNoteEntity = medicalNoteRepository.save(medicalNote);
 
 		MedicalNoteDto createdMedicalNoteDto = MedicalNoteDto.fromEntity(createdMedicalNoteEntity);
 		log.info("MedicalNote created with ID '{}'.", createdMedicalNoteDto.getId());
+		riskEvaluatorNotifier.medicalNotesChanged(createdMedicalNoteDto.getPatId());
 
 		return createdMedicalNoteDto;
 	}
 
 	/**
-	 * Deletes a medical note by its ID.
+	 * Deletes a medical note by its ID and notifies the risk evaluator that the notes of the patient changed.
 	 *
 	 * @param id The ID of the medical note to be deleted.
 	 *
@@ -62,9 +202,37 @@ public class MedicalNoteServiceImpl implements MedicalNoteService {
 	 */
 	@Override
 	public String delete(String id) {
-		medicalNoteRepository.deleteMedicalNoteById(id);
+		MedicalNote deletedMedicalNote = medicalNoteRepository.deleteMedicalNoteById(id);
 		log.info("MedicalNote with ID '{}' has been deleted.", id);
 
+		if (deletedMedicalNote != null) {
+			riskEvaluatorNotifier.medicalNotesChanged(deletedMedicalNote.getPatId());
+		}
+
 		return id;
 	}
+
+	/**
+	 * Computes the trigger masks of medical notes from their texts and persists them.
+	 */
+	private List<MedicalNote> saveTriggerMasks(List<MedicalNote> medicalNotes) {
+		if (medicalNotes.isEmpty()) {
+			return medicalNotes;
+		}
+		medicalNotes.forEach(this::setTriggerMask);
+		return medicalNoteRepository.saveAll(medicalNotes);
+	}
+
+	private void setTriggerMask(MedicalNote medicalNote) {
+		medicalNote.setTriggerMask(triggerTermMatcher.scan(medicalNote.getNote()));
+		medicalNote.setTriggerLexiconVersion(triggerTermMatcher.getMaskVersion());
+	}
+
+	/**
+	 * Indicates if the trigger mask of a medical note is missing, or was computed with another trigger lexicon.
+	 */
+	private boolean isStale(MedicalNote medicalNote) {
+		return medicalNote.getTriggerMask() == null
+				|| !triggerTermMatcher.getMaskVersion().equals(medicalNote.getTriggerLexiconVersion());
+	}
 }
@@ -1,12 +1,26 @@
 package com.medilabo.medicalnotemicroservice.service.contracts;
 
 import com.medilabo.medicalnotemicroservice.controller.dto.MedicalNoteDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerMaskDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerTermsDto;
 
 import java.util.List;
 
 public interface MedicalNoteService {
 	List<MedicalNoteDto> getMedicalNotesByPatientId(Integer patientId);
 
+	List<MedicalNoteDto> getMedicalNotesByPatientIds(List<Integer> patientIds);
+
+	TriggerMaskDto getTriggerMaskByPatientId(Integer patientId);
+
+	List<TriggerMaskDto> getTriggerMasksByPatientIds(List<Integer> patientIds);
+
+	TriggerTermsDto getTriggerTermsByPatientId(Integer patientId);
+
+	List<TriggerTermsDto> getTriggerTermsByPatientIds(List<Integer> patientIds);
+
+	long backfillTriggerMasks();
+
 	MedicalNoteDto create(MedicalNoteDto medicalNoteDto);
 
 	String delete(String id);
@@ -1,42 +1,54 @@
 package com.medilabo.medicalnotemicroservice.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.medilabo.medicalnotemicroservice.controller.dto.MedicalNoteDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerMaskDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerTermsDto;
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
 import com.medilabo.medicalnotemicroservice.service.contracts.MedicalNoteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.EnumSet;
 import java.util.List;
 
 import static com.medilabo.medicalnotemicroservice.utils.JsonUtils.asJsonString;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("MedicalNoteController Test Suite")
 class MedicalNoteControllerTests {
+	private static final int MAX_BATCH_SIZE = 3;
+
 	private MockMvc mockMvc;
 
 	@Mock
 	private MedicalNoteService medicalNoteService;
 
-	@InjectMocks
 	private MedicalNoteController medicalNoteController;
 
 	private List<MedicalNoteDto> medicalNoteList;
 
 	@BeforeEach
 	void setUp() {
+		medicalNoteController = new MedicalNoteController(medicalNoteService, MAX_BATCH_SIZE);
 		// Initialize MockMvc in 'standaloneSetup' to avoid using Spring context
 		mockMvc = MockMvcBuilders.standaloneSetup(medicalNoteController).build();
 
@@ -70,6 +82,36 @@ class MedicalNoteControllerTests {
 			verifyNoMoreInteractions(medicalNoteService);
 		}
 
+		@Test
+		@DisplayName("GET /medical-notes/patient/{id} : Should respond in CBOR when the client accepts it")
+		void getPatientMedicalNotesAsCborTest() throws Exception {
+			when(medicalNoteService.getMedicalNotesByPatientId(anyInt())).thenReturn(medicalNoteList);
+
+			byte[] body = mockMvc.perform(get("/medical-notes/patient/{id}", 1)
+							.accept(MediaType.APPLICATION_CBOR))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+					.andReturn().getResponse().getContentAsByteArray();
+
+			JsonNode notes = new ObjectMapper(new CBORFactory()).readTree(body);
+			assertThat(notes).hasSize(2);
+			assertThat(notes.get(0).get("patId").asInt()).isEqualTo(1);
+			assertThat(notes.get(0).get("note").asText()).isEqualTo("Prescribed new medication.");
+			assertThat(notes.get(1).get("note").asText()).isEqualTo("Patient shows signs of improvement.");
+		}
+
+		@Test
+		@DisplayName("GET /medical-notes/patient/{id} : Should respond in JSON to the frontend")
+		void getPatientMedicalNotesAsJsonTest() throws Exception {
+			when(medicalNoteService.getMedicalNotesByPatientId(anyInt())).thenReturn(medicalNoteList);
+
+			mockMvc.perform(get("/medical-notes/patient/{id}", 1)
+							.header(HttpHeaders.ACCEPT, "application/json, text/plain, */*"))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.length()").value(2));
+		}
+
 		@Test
 		@DisplayName("GET /medical-notes/patient/{id} : Should respond NO_CONTENT when no notes set with patient id")
 		void getPatientMedicalNotesWithEmptyNotesTest() throws Exception {
@@ -83,6 +125,162 @@ class MedicalNoteControllerTests {
 		}
 	}
 
+	@Nested
+	@DisplayName("ENDPOINT '/medical-notes/patients' Tests")
+	class MedicalNotesPatientsTests {
+		@Test
+		@DisplayName("POST /medical-notes/patients : Should respond OK & return the notes of all given patient ids")
+		void getPatientsMedicalNotesTest() throws Exception {
+			when(medicalNoteService.getMedicalNotesByPatientIds(anyList())).thenReturn(medicalNoteList);
+
+			mockMvc.perform(post("/medical-notes/patients")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1, 2))))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.length()").value(2))
+					.andExpect(jsonPath("$[0].id").value("a123b456"))
+					.andExpect(jsonPath("$[1].id").value("c789d012"));
+
+			verify(medicalNoteService, times(1)).getMedicalNotesByPatientIds(eq(List.of(1, 2)));
+			verifyNoMoreInteractions(medicalNoteService);
+		}
+
+		@Test
+		@DisplayName("POST /medical-notes/patients : Should respond NO_CONTENT when no notes set with patient ids")
+		void getPatientsMedicalNotesWithEmptyNotesTest() throws Exception {
+			when(medicalNoteService.getMedicalNotesByPatientIds(anyList())).thenReturn(List.of());
+
+			mockMvc.perform(post("/medical-notes/patients")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1, 2))))
+					.andExpect(status().isNoContent());
+
+			verify(medicalNoteService, times(1)).getMedicalNotesByPatientIds(eq(List.of(1, 2)));
+			verifyNoMoreInteractions(medicalNoteService);
+		}
+
+		@Test
+		@DisplayName("POST /medical-notes/patients : Should respond BAD_REQUEST when more patient ids than the maximum batch size")
+		void getPatientsMedicalNotesWithTooManyIdsTest() throws Exception {
+			mockMvc.perform(post("/medical-notes/patients")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1, 2, 3, 4))))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Batch of 4 patient IDs exceeds the maximum of 3."));
+
+			verifyNoInteractions(medicalNoteService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/medical-notes/patient/{id}/trigger-mask' Tests")
+	class MedicalNotesPatientIdTriggerMaskTests {
+		@Test
+		@DisplayName("GET /medical-notes/patient/{id}/trigger-mask : Should respond OK & return the trigger mask of patient id")
+		void getPatientTriggerMaskTest() throws Exception {
+			when(medicalNoteService.getTriggerMaskByPatientId(anyInt()))
+					.thenReturn(TriggerMaskDto.builder().patId(1).triggerMask(5).lexiconVersion("9ae2a1d8fbdc").build());
+
+			mockMvc.perform(get("/medical-notes/patient/{id}/trigger-mask", 1))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.patId").value(1))
+					.andExpect(jsonPath("$.triggerMask").value(5))
+					.andExpect(jsonPath("$.lexiconVersion").value("9ae2a1d8fbdc"));
+
+			verify(medicalNoteService, times(1)).getTriggerMaskByPatientId(eq(1));
+			verifyNoMoreInteractions(medicalNoteService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/medical-notes/patients/trigger-masks' Tests")
+	class MedicalNotesPatientsTriggerMasksTests {
+		@Test
+		@DisplayName("POST /medical-notes/patients/trigger-masks : Should respond OK & return the trigger masks of all given patient ids")
+		void getPatientsTriggerMasksTest() throws Exception {
+			when(medicalNoteService.getTriggerMasksByPatientIds(anyList())).thenReturn(List.of(
+					TriggerMaskDto.builder().patId(1).triggerMask(5).build(),
+					TriggerMaskDto.builder().patId(2).triggerMask(0).build()));
+
+			mockMvc.perform(post("/medical-notes/patients/trigger-masks")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1, 2))))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.length()").value(2))
+					.andExpect(jsonPath("$[0].triggerMask").value(5))
+					.andExpect(jsonPath("$[1].patId").value(2));
+
+			verify(medicalNoteService, times(1)).getTriggerMasksByPatientIds(eq(List.of(1, 2)));
+			verifyNoMoreInteractions(medicalNoteService);
+		}
+
+		@Test
+		@DisplayName("POST /medical-notes/patients/trigger-masks : Should respond BAD_REQUEST when more patient ids than the maximum batch size")
+		void getPatientsTriggerMasksWithTooManyIdsTest() throws Exception {
+			mockMvc.perform(post("/medical-notes/patients/trigger-masks")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1, 2, 3, 4))))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(medicalNoteService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/medical-notes/patient/{id}/triggers' Tests")
+	class MedicalNotesPatientIdTriggersTests {
+		@Test
+		@DisplayName("GET /medical-notes/patient/{id}/triggers : Should respond OK & return the trigger terms of patient id")
+		void getPatientTriggerTermsTest() throws Exception {
+			when(medicalNoteService.getTriggerTermsByPatientId(anyInt())).thenReturn(TriggerTermsDto.builder()
+					.patId(1).triggerTerms(EnumSet.of(TriggerTerm.TAILLE, TriggerTerm.FUMEUR)).build());
+
+			mockMvc.perform(get("/medical-notes/patient/{id}/triggers", 1))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.patId").value(1))
+					.andExpect(jsonPath("$.triggerTerms.length()").value(2))
+					.andExpect(jsonPath("$.triggerTerms[0]").value("TAILLE"))
+					.andExpect(jsonPath("$.triggerTerms[1]").value("FUMEUR"));
+
+			verify(medicalNoteService, times(1)).getTriggerTermsByPatientId(eq(1));
+			verifyNoMoreInteractions(medicalNoteService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/medical-notes/patients/triggers' Tests")
+	class MedicalNotesPatientsTriggersTests {
+		@Test
+		@DisplayName("POST /medical-notes/patients/triggers : Should respond OK & return the trigger terms of all given patient ids")
+		void getPatientsTriggerTermsTest() throws Exception {
+			when(medicalNoteService.getTriggerTermsByPatientIds(anyList())).thenReturn(List.of(
+					TriggerTermsDto.builder().patId(1).triggerTerms(EnumSet.of(TriggerTerm.POIDS)).build(),
+					TriggerTermsDto.builder().patId(2).triggerTerms(EnumSet.noneOf(TriggerTerm.class)).build()));
+
+			mockMvc.perform(post("/medical-notes/patients/triggers")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1, 2))))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.length()").value(2))
+					.andExpect(jsonPath("$[0].triggerTerms[0]").value("POIDS"))
+					.andExpect(jsonPath("$[1].triggerTerms").isEmpty());
+
+			verify(medicalNoteService, times(1)).getTriggerTermsByPatientIds(eq(List.of(1, 2)));
+			verifyNoMoreInteractions(medicalNoteService);
+		}
+
+		@Test
+		@DisplayName("POST /medical-notes/patients/triggers : Should respond BAD_REQUEST when more patient ids than the maximum batch size")
+		void getPatientsTriggerTermsWithTooManyIdsTest() throws Exception {
+			mockMvc.perform(post("/medical-notes/patients/triggers")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1, 2, 3, 4))))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(medicalNoteService);
+		}
+	}
+
 	@Nested
 	@DisplayName("ENDPOINT '/medical-notes' Tests")
 	class MedicalNotesTests {
@@ -0,0 +1,43 @@
+package com.medilabo.medicalnotemicroservice.domain.matcher;
+
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TriggerLexicon Test Suite")
+public class TriggerLexiconTests {
+	private static final String DEFAULT_VERSION = "9ae2a1d8fbdc";
+
+	@Nested
+	@DisplayName("getVersion() Tests")
+	class GetVersionTests {
+
+		/*
+		 * The risk evaluator only counts the trigger masks computed with the version of its active lexicon: the same
+		 * version is pinned in both services, so that changing one copy of the TriggerTerm enum fails the build until the
+		 * other one matches.
+		 */
+		@Test
+		@DisplayName("Should give the built-in lexicon the version pinned in the risk evaluator")
+		public void givenBuiltInLexicon_whenGetVersion_thenReturnPinnedVersion() {
+			assertThat(TriggerLexicon.getDefault().getVersion()).isEqualTo(DEFAULT_VERSION);
+			assertThat(TriggerTermMatcher.getInstance().getVersion()).isEqualTo(DEFAULT_VERSION);
+		}
+
+		@Test
+		@DisplayName("Should change the version when a variant changes")
+		public void givenDifferentLexicons_whenGetVersion_thenReturnDifferentVersions() {
+			TriggerLexicon lexicon = TriggerLexicon.of(Map.of(TriggerTerm.FUMEUR, List.of("Fumeur")));
+
+			assertThat(lexicon.getVersion())
+					.isEqualTo(TriggerLexicon.of(Map.of(TriggerTerm.FUMEUR, List.of("fumeur"))).getVersion())
+					.isNotEqualTo(TriggerLexicon.of(Map.of(TriggerTerm.FUMEUR, List.of("fumeurs"))).getVersion());
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.medilabo.medicalnotemicroservice.domain.matcher;
+
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TriggerTermMatcher Test Suite")
+public class TriggerTermMatcherTests {
+	private final TriggerTermMatcher matcher = TriggerTermMatcher.getInstance();
+
+	@Nested
+	@DisplayName("scan() Tests")
+	class ScanTests {
+
+		@Test
+		@DisplayName("Should return an empty mask for null or empty text")
+		public void givenNullOrEmptyText_whenScan_thenReturnEmptyMask() {
+			assertThat(matcher.scan(null)).isZero();
+			assertThat(matcher.scan("")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should find accented and capitalized variants")
+		public void givenAccentedText_whenScan_thenReturnMatchedTerms() {
+			int mask = matcher.scan("Taille, Poids, Cholestérol, Vertige et Réaction allergique");
+
+			assertThat(TriggerTermMatcher.toTerms(mask)).containsExactlyInAnyOrder(
+					TriggerTerm.TAILLE, TriggerTerm.POIDS, TriggerTerm.CHOLESTEROL,
+					TriggerTerm.VERTIGES, TriggerTerm.REACTION);
+		}
+
+		@Test
+		@DisplayName("Should only match whole words")
+		public void givenWordsContainingVariants_whenScan_thenReturnEmptyMask() {
+			assertThat(matcher.scan("fumeurs poidsx antipoids réactionnel")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should split words on punctuation and apostrophes")
+		public void givenPunctuatedText_whenScan_thenReturnMatchedTerms() {
+			int mask = matcher.scan("qu'il fume; d’anticorps(rechute)hémoglobine-A1C");
+
+			assertThat(TriggerTermMatcher.toTerms(mask)).containsExactlyInAnyOrder(
+					TriggerTerm.FUMEUR, TriggerTerm.ANTICORPS, TriggerTerm.RECHUTE, TriggerTerm.HEMOGLOBINE_A1C);
+		}
+
+		@Test
+		@DisplayName("Should report every term once whatever the number of occurrences")
+		public void givenRepeatedTerms_whenScan_thenReturnDistinctTerms() {
+			int mask = matcher.scan("Fumeur, fumeuse, fumer. Anormal anormaux");
+
+			assertThat(Integer.bitCount(mask)).isEqualTo(2);
+			assertThat(matcher.isComplete(mask)).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("scan() with phrases Tests")
+	class PhraseScanTests {
+
+		@Test
+		@DisplayName("Should find the built-in phrases and not their words alone")
+		public void givenPhraseWords_whenScan_thenMatchCompletePhrasesOnly() {
+			assertThat(TriggerTermMatcher.toTerms(matcher.scan("Hémoglobine A1C élevée, réaction aux médicaments")))
+					.containsExactlyInAnyOrder(TriggerTerm.HEMOGLOBINE_A1C, TriggerTerm.REACTION);
+			assertThat(matcher.scan("A1C, hémoglobine, réaction cutanée")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should allow one other word between the words of a phrase")
+		public void givenWordsBetweenPhraseWords_whenScan_thenApplyMaxPhraseGap() {
+			assertThat(matcher.scan("hémoglobine glyquée A1C")).isEqualTo(1 << TriggerTerm.HEMOGLOBINE_A1C.ordinal());
+			assertThat(matcher.scan("hémoglobine très glyquée A1C")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should not match a phrase from a single occurrence of a repeated word")
+		public void givenRepeatedPhraseWord_whenScan_thenRequireEveryOccurrence() {
+			TriggerTermMatcher phraseMatcher = new TriggerTermMatcher(TriggerLexicon.of(Map.of(
+					TriggerTerm.RECHUTE, List.of("rechute rechute"))));
+
+			assertThat(phraseMatcher.scan("rechute")).isZero();
+			assertThat(phraseMatcher.scan("rechute et rechute")).isEqualTo(1 << TriggerTerm.RECHUTE.ordinal());
+		}
+
+		@Test
+		@DisplayName("Should not match a phrase spanning two texts of a scan")
+		public void givenPhraseSplitAcrossTexts_whenScan_thenReturnEmptyMask() {
+			TriggerTermMatcher.Scan scan = matcher.newScan();
+
+			NoteTokenizer.tokenize("Contrôle de l'hémoglobine", scan);
+			NoteTokenizer.tokenize("A1C normale", scan);
+
+			assertThat(scan.mask()).isZero();
+		}
+	}
+
+	@Nested
+	@DisplayName("Shared scan cases Tests")
+	class SharedScanCasesTests {
+		/** Cases also checked by the risk evaluator, relative to the module directory the tests run in. */
+		private static final Path SCAN_CASES = Path.of("..", "test-fixtures", "trigger-scan-cases.csv");
+
+		@Test
+		@DisplayName("Should find the same trigger terms and mask version as the risk evaluator")
+		public void givenSharedScanCases_whenScan_thenMatchExpectedTermsAndVersion() throws IOException {
+			List<String> scanCases = Files.readAllLines(SCAN_CASES).stream()
+					.filter(line -> !line.isBlank() && !line.startsWith("#"))
+					.toList();
+
+			assertThat(scanCases).isNotEmpty();
+			for (String scanCase : scanCases) {
+				String[] columns = scanCase.split("\\|", 4);
+				TriggerTermMatcher caseMatcher = new TriggerTermMatcher(TriggerLexicon.getDefault(),
+						Integer.parseInt(columns[0].trim()));
+				List<TriggerTerm> expectedTerms = Arrays.stream(columns[2].trim().split(" "))
+						.filter(term -> !term.isEmpty())
+						.map(TriggerTerm::valueOf)
+						.toList();
+
+				assertThat(caseMatcher.getMaskVersion()).as(scanCase).isEqualTo(columns[1].trim());
+				assertThat(TriggerTermMatcher.toTerms(caseMatcher.scan(columns[3].trim()))).as(scanCase)
+						.containsExactlyInAnyOrderElementsOf(expectedTerms);
+			}
+		}
+	}
+}
@@ -1,18 +1,28 @@
 package com.medilabo.medicalnotemicroservice.service;
 
+import com.medilabo.medicalnotemicroservice.client.RiskEvaluatorNotifier;
 import com.medilabo.medicalnotemicroservice.controller.dto.MedicalNoteDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerMaskDto;
+import com.medilabo.medicalnotemicroservice.controller.dto.TriggerTermsDto;
 import com.medilabo.medicalnotemicroservice.domain.MedicalNote;
+import com.medilabo.medicalnotemicroservice.domain.enums.TriggerTerm;
+import com.medilabo.medicalnotemicroservice.domain.matcher.TriggerTermMatcher;
 import com.medilabo.medicalnotemicroservice.repository.MedicalNoteRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -24,9 +34,17 @@ class MedicalNoteServiceTests {
 	@Mock
 	private MedicalNoteRepository medicalNoteRepository;
 
-	@InjectMocks
+	@Mock
+	private RiskEvaluatorNotifier riskEvaluatorNotifier;
+
 	private MedicalNoteServiceImpl medicalNoteService;
 
+	@BeforeEach
+	void setUp() {
+		medicalNoteService = new MedicalNoteServiceImpl(medicalNoteRepository, riskEvaluatorNotifier,
+				TriggerTermMatcher.getInstance());
+	}
+
 	@Nested
 	@DisplayName("getMedicalNotesByPatientId() Tests")
 	class GetMedicalNotesByPatientIdTests {
@@ -38,8 +56,8 @@ class MedicalNoteServiceTests {
 			Date nowMinusOneDay = new Date(now.getTime() - 24 * 60 * 60 * 1000);
 
 			List<MedicalNote> medicalNotes = List.of(
-					new MedicalNote("c789d012", 1, "JohnDoe", "Patient shows signs of improvement.", now),
-					new MedicalNote("a123b456", 1, "JohnDoe", "Prescribed new medication.", nowMinusOneDay)
+					new MedicalNote("c789d012", 1, "JohnDoe", "Patient shows signs of improvement.", now, null, null),
+					new MedicalNote("a123b456", 1, "JohnDoe", "Prescribed new medication.", nowMinusOneDay, null, null)
 			);
 
 			when(medicalNoteRepository.findAllByPatIdOrderByCreatedAtDesc(anyInt())).thenReturn(medicalNotes);
@@ -55,6 +73,165 @@ class MedicalNoteServiceTests {
 		}
 	}
 
+	@Nested
+	@DisplayName("getMedicalNotesByPatientIds() Tests")
+	class GetMedicalNotesByPatientIdsTests {
+
+		@Test
+		@DisplayName("Should return medical notes of all given patient IDs ordered by creation date descending")
+		public void givenPatientIds_whenGetMedicalNotesByPatientIds_thenReturnMedicalNotesDateDesc() {
+			Date now = new Date();
+			Date nowMinusOneDay = new Date(now.getTime() - 24 * 60 * 60 * 1000);
+
+			List<MedicalNote> medicalNotes = List.of(
+					new MedicalNote("c789d012", 2, "JaneDoe", "Patient shows signs of improvement.", now, null, null),
+					new MedicalNote("a123b456", 1, "JohnDoe", "Prescribed new medication.", nowMinusOneDay, null, null)
+			);
+
+			when(medicalNoteRepository.findAllByPatIdInOrderByCreatedAtDesc(anyList())).thenReturn(medicalNotes);
+
+			List<MedicalNoteDto> result = medicalNoteService.getMedicalNotesByPatientIds(List.of(1, 2));
+
+			assertThat(result).hasSize(2);
+			assertThat(result.get(0).getPatId()).isEqualTo(2);
+			assertThat(result.get(1).getPatId()).isEqualTo(1);
+
+			verify(medicalNoteRepository).findAllByPatIdInOrderByCreatedAtDesc(eq(List.of(1, 2)));
+			verifyNoMoreInteractions(medicalNoteRepository);
+		}
+	}
+
+	@Nested
+	@DisplayName("getTriggerMasksByPatientIds() Tests")
+	class GetTriggerMasksByPatientIdsTests {
+		private static final int FUMEUR = 1 << TriggerTerm.FUMEUR.ordinal();
+		private static final int POIDS = 1 << TriggerTerm.POIDS.ordinal();
+		private static final int TAILLE = 1 << TriggerTerm.TAILLE.ordinal();
+		private static final String VERSION = TriggerTermMatcher.getInstance().getMaskVersion();
+
+		@Test
+		@DisplayName("Should return the OR of the trigger masks of the notes of every given patient")
+		public void givenMaskedNotes_whenGetTriggerMasks_thenReturnMaskOrByPatient() {
+			List<MedicalNote> medicalNotes = List.of(
+					MedicalNote.builder().id("a123b456").patId(1).triggerMask(FUMEUR).triggerLexiconVersion(VERSION).build(),
+					MedicalNote.builder().id("c789d012").patId(1).triggerMask(FUMEUR | POIDS).triggerLexiconVersion(VERSION).build(),
+					MedicalNote.builder().id("e345f678").patId(2).triggerMask(TAILLE).triggerLexiconVersion(VERSION).build()
+			);
+
+			when(medicalNoteRepository.findTriggerMasksByPatIdIn(anyList())).thenReturn(medicalNotes);
+
+			List<TriggerMaskDto> result = medicalNoteService.getTriggerMasksByPatientIds(List.of(2, 1, 3));
+
+			assertThat(result).containsExactly(
+					TriggerMaskDto.builder().patId(2).triggerMask(TAILLE).lexiconVersion(VERSION).build(),
+					TriggerMaskDto.builder().patId(1).triggerMask(FUMEUR | POIDS).lexiconVersion(VERSION).build(),
+					TriggerMaskDto.builder().patId(3).triggerMask(0).lexiconVersion(VERSION).build());
+
+			verify(medicalNoteRepository).findTriggerMasksByPatIdIn(eq(List.of(2, 1, 3)));
+			verifyNoMoreInteractions(medicalNoteRepository);
+		}
+
+		@Test
+		@DisplayName("Should return a null version without persisting anything when a trigger mask is missing")
+		public void givenUnmaskedNotes_whenGetTriggerMaskByPatientId_thenReturnNullVersionWithoutWrite() {
+			when(medicalNoteRepository.findTriggerMasksByPatIdIn(anyList())).thenReturn(List.of(
+					MedicalNote.builder().id("a123b456").patId(1).triggerMask(FUMEUR).triggerLexiconVersion(VERSION).build(),
+					MedicalNote.builder().id("c789d012").patId(1).build()));
+
+			TriggerMaskDto result = medicalNoteService.getTriggerMaskByPatientId(1);
+
+			assertThat(result.getTriggerMask()).isEqualTo(FUMEUR);
+			assertThat(result.getLexiconVersion()).isNull();
+
+			verify(medicalNoteRepository).findTriggerMasksByPatIdIn(eq(List.of(1)));
+			verifyNoMoreInteractions(medicalNoteRepository);
+		}
+
+		@Test
+		@DisplayName("Should return the stale version without persisting anything when a mask was computed with another trigger lexicon")
+		public void givenMasksOfOtherLexicon_whenGetTriggerMasks_thenReturnStaleVersionWithoutWrite() {
+			when(medicalNoteRepository.findTriggerMasksByPatIdIn(anyList())).thenReturn(List.of(
+					MedicalNote.builder().id("a123b456").patId(1).triggerMask(TAILLE).triggerLexiconVersion("0123456789ab")
+							.build(),
+					MedicalNote.builder().id("c789d012").patId(1).triggerMask(FUMEUR).triggerLexiconVersion(VERSION).build(),
+					MedicalNote.builder().id("e345f678").patId(2).triggerMask(POIDS).triggerLexiconVersion(VERSION).build()));
+
+			List<TriggerMaskDto> result = medicalNoteService.getTriggerMasksByPatientIds(List.of(1, 2));
+
+			assertThat(result).containsExactly(
+					TriggerMaskDto.builder().patId(1).triggerMask(TAILLE | FUMEUR).lexiconVersion("0123456789ab").build(),
+					TriggerMaskDto.builder().patId(2).triggerMask(POIDS).lexiconVersion(VERSION).build());
+
+			verify(medicalNoteRepository).findTriggerMasksByPatIdIn(eq(List.of(1, 2)));
+			verifyNoMoreInteractions(medicalNoteRepository);
+		}
+	}
+
+	@Nested
+	@DisplayName("getTriggerTermsByPatientIds() Tests")
+	class GetTriggerTermsByPatientIdsTests {
+		private static final String VERSION = TriggerTermMatcher.getInstance().getMaskVersion();
+
+		@Test
+		@DisplayName("Should decode the trigger terms of every given patient from the trigger masks of his notes")
+		public void givenMaskedNotes_whenGetTriggerTerms_thenReturnTermsByPatient() {
+			when(medicalNoteRepository.findTriggerMasksByPatIdIn(anyList())).thenReturn(List.of(
+					MedicalNote.builder().id("a123b456").patId(1).triggerMask(1 << TriggerTerm.FUMEUR.ordinal())
+							.triggerLexiconVersion(VERSION).build(),
+					MedicalNote.builder().id("c789d012").patId(1).triggerMask(1 << TriggerTerm.POIDS.ordinal())
+							.triggerLexiconVersion(VERSION).build()));
+
+			List<TriggerTermsDto> result = medicalNoteService.getTriggerTermsByPatientIds(List.of(1, 2));
+
+			assertThat(result).containsExactly(
+					TriggerTermsDto.builder().patId(1).triggerTerms(Set.of(TriggerTerm.FUMEUR, TriggerTerm.POIDS))
+							.lexiconVersion(VERSION).build(),
+					TriggerTermsDto.builder().patId(2).triggerTerms(Set.of()).lexiconVersion(VERSION).build());
+		}
+
+		@Test
+		@DisplayName("Should decode the trigger terms of a single patient")
+		public void givenMaskedNotes_whenGetTriggerTermsByPatientId_thenReturnTerms() {
+			when(medicalNoteRepository.findTriggerMasksByPatIdIn(anyList())).thenReturn(List.of(
+					MedicalNote.builder().id("a123b456").patId(1).triggerMask(1 << TriggerTerm.VERTIGES.ordinal())
+							.triggerLexiconVersion(VERSION).build()));
+
+			TriggerTermsDto result = medicalNoteService.getTriggerTermsByPatientId(1);
+
+			assertThat(result.getTriggerTerms()).containsExactly(TriggerTerm.VERTIGES);
+			verify(medicalNoteRepository).findTriggerMasksByPatIdIn(eq(List.of(1)));
+		}
+	}
+
+	@Nested
+	@DisplayName("backfillTriggerMasks() Tests")
+	class BackfillTriggerMasksTests {
+
+		@Test
+		@DisplayName("Should compute and persist the trigger masks of the unmasked or stale notes batch by batch")
+		public void givenUnmaskedNotes_whenBackfill_thenPersistMasksAndReturnCount() {
+			MedicalNote first = MedicalNote.builder().id("a123b456").patId(1).note("Fumeur").build();
+			MedicalNote second = MedicalNote.builder().id("c789d012").patId(2).note(null).build();
+
+			String version = TriggerTermMatcher.getInstance().getMaskVersion();
+			when(medicalNoteRepository.findAllByTriggerMaskIsNullOrTriggerLexiconVersionNot(eq(version), any(Pageable.class)))
+					.thenReturn(new SliceImpl<>(List.of(first), PageRequest.of(0, 1), true))
+					.thenReturn(new SliceImpl<>(List.of(second), PageRequest.of(0, 1), false));
+			when(medicalNoteRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+			long result = medicalNoteService.backfillTriggerMasks();
+
+			assertThat(result).isEqualTo(2);
+			assertThat(first.getTriggerMask()).isEqualTo(1 << TriggerTerm.FUMEUR.ordinal());
+			assertThat(second.getTriggerMask()).isZero();
+
+			verify(medicalNoteRepository, times(2))
+					.findAllByTriggerMaskIsNullOrTriggerLexiconVersionNot(eq(version), any(Pageable.class));
+			verify(medicalNoteRepository, times(2)).saveAll(anyList());
+			verifyNoMoreInteractions(medicalNoteRepository);
+		}
+	}
+
 	@Nested
 	@DisplayName("create() Tests")
 	class CreateTests {
@@ -67,7 +244,7 @@ class MedicalNoteServiceTests {
 					.patient("JohnDoe")
 					.note("Initial consultation.")
 					.build();
-			MedicalNote createdMedicalNote = new MedicalNote("e345f678", 1, "JohnDoe", "Initial consultation.", now);
+			MedicalNote createdMedicalNote = new MedicalNote("e345f678", 1, "JohnDoe", "Initial consultation.", now, 0, null);
 
 			when(medicalNoteRepository.save(any(MedicalNote.class))).thenReturn(createdMedicalNote);
 
@@ -79,8 +256,31 @@ class MedicalNoteServiceTests {
 			assertThat(result.getNote()).isEqualTo("Initial consultation.");
 			assertThat(result.getCreatedAt()).isEqualTo(now);
 
-			verify(medicalNoteRepository).save(eq(newMedicalNote.toEntity()));
+			MedicalNote expectedMedicalNote = newMedicalNote.toEntity();
+			expectedMedicalNote.setTriggerMask(0);
+			expectedMedicalNote.setTriggerLexiconVersion(TriggerTermMatcher.getInstance().getMaskVersion());
+			verify(medicalNoteRepository).save(eq(expectedMedicalNote));
 			verifyNoMoreInteractions(medicalNoteRepository);
+			verify(riskEvaluatorNotifier).medicalNotesChanged(eq(1));
+		}
+
+		@Test
+		@DisplayName("Should compute and persist the trigger mask of the new medical note")
+		public void givenMedicalNoteWithTriggers_whenCreate_thenPersistTriggerMask() {
+			MedicalNoteDto newMedicalNote = MedicalNoteDto.builder()
+					.patId(1)
+					.patient("JohnDoe")
+					.note("Fumeur, Poids élevé.")
+					.build();
+
+			when(medicalNoteRepository.save(any(MedicalNote.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+			medicalNoteService.create(newMedicalNote);
+
+			ArgumentCaptor<MedicalNote> savedMedicalNote = ArgumentCaptor.forClass(MedicalNote.class);
+			verify(medicalNoteRepository).save(savedMedicalNote.capture());
+			assertThat(savedMedicalNote.getValue().getTriggerMask())
+					.isEqualTo(1 << TriggerTerm.FUMEUR.ordinal() | 1 << TriggerTerm.POIDS.ordinal());
 		}
 	}
 
@@ -99,5 +299,22 @@ class MedicalNoteServiceTests {
 			verify(medicalNoteRepository).deleteMedicalNoteById(eq(noteIdToDelete));
 			verifyNoMoreInteractions(medicalNoteRepository);
 		}
+
+		@Test
+		@DisplayName("Should notify the risk evaluator of the patient whose note was deleted")
+		public void givenExistingNoteId_whenDelete_thenNotifyRiskEvaluator() {
+			String noteIdToDelete = "e345f678";
+			MedicalNote deletedMedicalNote = new MedicalNote(noteIdToDelete, 1, "JohnDoe", "Initial consultation.", new Date(), null, null);
+
+			when(medicalNoteRepository.deleteMedicalNoteById(anyString())).thenReturn(deletedMedicalNote);
+
+			String result = medicalNoteService.delete(noteIdToDelete);
+
+			assertThat(result).isEqualTo(noteIdToDelete);
+
+			verify(medicalNoteRepository).deleteMedicalNoteById(eq(noteIdToDelete));
+			verify(riskEvaluatorNotifier).medicalNotesChanged(eq(1));
+			verifyNoMoreInteractions(medicalNoteRepository, riskEvaluatorNotifier);
+		}
 	}
 }
\ No newline at end of file
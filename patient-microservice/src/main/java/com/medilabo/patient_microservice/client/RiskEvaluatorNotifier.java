@@ -0,0 +1,54 @@
+package com.medilabo.patient_microservice.client;
+
+import com.medilabo.patient_microservice.config.security.ServiceJwtProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Notifies the risk evaluator, through the gateway, that a patient was updated: his birth date and gender determine
+ * his risk level, which is evaluated again instead of being served from the store of the risk evaluator.
+ */
+@Slf4j
+@Component
+public class RiskEvaluatorNotifier {
+	private final RestClient restClient;
+	private final ServiceJwtProvider serviceJwtProvider;
+
+	public RiskEvaluatorNotifier(RestClient.Builder restClientBuilder,
+								 ServiceJwtProvider serviceJwtProvider,
+								 @Value("${clients.gateway-microservice.api-url}") String gatewayApiUrl) {
+		this.restClient = restClientBuilder.baseUrl(gatewayApiUrl).build();
+		this.serviceJwtProvider = serviceJwtProvider;
+	}
+
+	/**
+	 * Sends the notification on a virtual thread, so that the update does not wait for the risk evaluator. The
+	 * notification is authenticated with the token of the service, the only one the risk evaluator accepts.
+	 * A failed notification is only logged: the risk evaluator stores risk levels for a bounded time (10 minutes by
+	 * default), after which the patient is evaluated again on the next read.
+	 *
+	 * @param patientId The ID of the updated patient.
+	 */
+	public void patientUpdated(Long patientId) {
+		if (patientId == null) {
+			return;
+		}
+
+		Thread.startVirtualThread(() -> {
+			try {
+				restClient.post()
+						.uri("/risk-evaluator/notifications/patient/{id}", patientId)
+						.header(HttpHeaders.COOKIE, "access_token=" + serviceJwtProvider.getToken())
+						.retrieve()
+						.toBodilessEntity();
+				log.debug("Risk evaluator notified of patient ID '{}' update", patientId);
+			} catch (RestClientException ex) {
+				log.warn("Failed to notify risk evaluator of patient ID '{}' update: {}", patientId, ex.getMessage());
+			}
+		});
+	}
+}
@@ -0,0 +1,74 @@
+package com.medilabo.patient_microservice.config.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Issues the JWT authenticating the notifications sent by the service to the risk evaluator, which only accepts them
+ * from the services. The token is signed with the secret shared with the gateway, carries the
+ * {@value #TOKEN_TYPE_CLAIM} claim that the tokens of the users never carry, and is reused until shortly before it
+ * expires.
+ */
+@Slf4j
+@Service
+public class ServiceJwtProvider {
+	static final String SUBJECT = "patient-microservice";
+	static final String TOKEN_TYPE_CLAIM = "token_type";
+	static final String SERVICE_TOKEN_TYPE = "service";
+	private static final long EXPIRATION_SECONDS = 300;
+	private static final long RENEWAL_MARGIN_SECONDS = 60;
+
+	@Value("${security.jwt.gateway-shared-secret}")
+	private String secret;
+
+	@Value("${security.jwt.gateway-shared-issuer}")
+	private String issuer;
+
+	private SecretKey secretKey;
+	private String token;
+	private long renewalTime;
+
+	/**
+	 * Initialize the ServiceJwtProvider by validating the secret and creating the SecretKey.
+	 * This method is annotated @PostConstruct to ensure it runs after the properties are set.
+	 */
+	@PostConstruct
+	public void init() {
+		if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+			throw new IllegalStateException("security.jwt.gateway-shared-secret must be set and at least 32 bytes long");
+		}
+		this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns a valid token for the service, generating a new one when the current one is about to expire.
+	 *
+	 * @return the JWT token as a String
+	 */
+	public synchronized String getToken() {
+		long now = System.currentTimeMillis();
+		if (token == null || now >= renewalTime) {
+			Date expiration = new Date(now + EXPIRATION_SECONDS * 1000);
+			log.debug("Generating service token, expires at: {}", expiration);
+
+			token = Jwts.builder()
+					.issuer(issuer)
+					.subject(SUBJECT)
+					.claim(TOKEN_TYPE_CLAIM, SERVICE_TOKEN_TYPE)
+					.issuedAt(new Date(now))
+					.expiration(expiration)
+					.signWith(secretKey)
+					.compact();
+			renewalTime = now + (EXPIRATION_SECONDS - RENEWAL_MARGIN_SECONDS) * 1000;
+		}
+		return token;
+	}
+}
@@ -1,9 +1,14 @@
 package com.medilabo.patient_microservice.controller;
 
+import com.medilabo.patient_microservice.controller.dto.PatientDemographicsDto;
 import com.medilabo.patient_microservice.controller.dto.PatientDto;
+import com.medilabo.patient_microservice.exception.BatchTooLargeException;
+import com.medilabo.patient_microservice.exception.InvalidPageSizeException;
+import com.medilabo.patient_microservice.exception.PatientException;
 import com.medilabo.patient_microservice.exception.PatientIdNotFoundException;
 import com.medilabo.patient_microservice.service.contracts.PatientService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +22,12 @@ import java.util.List;
 @RequestMapping("/patients")
 public class PatientController {
 	private final PatientService patientService;
+	private final int maxBatchSize;
 
-	public PatientController(PatientService patientService) {
+	public PatientController(PatientService patientService,
+							 @Value("${patient.batch.max-size:1000}") int maxBatchSize) {
 		this.patientService = patientService;
+		this.maxBatchSize = maxBatchSize;
 	}
 
 	@GetMapping
@@ -51,6 +59,56 @@ public class PatientController {
 				.body(patient);
 	}
 
+	/**
+	 * Demographics of a patient (ID, birthdate and gender), for the services that do not need his name and contact
+	 * details such as the risk evaluator.
+	 */
+	@GetMapping(value = "/{id}/demographics", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<PatientDemographicsDto> getPatientDemographicsById(@PathVariable Long id) {
+		log.info("GET /patients/{}/demographics: Retrieving patient demographics by ID", id);
+
+		PatientDemographicsDto demographics = patientService.getDemographicsById(id);
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(demographics);
+	}
+
+	@PostMapping(value = "/demographics/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<List<PatientDemographicsDto>> getPatientsDemographicsByIds(@RequestBody List<Long> ids) {
+		log.info("POST /patients/demographics/batch: Retrieving the demographics of {} patients by ID", ids.size());
+		checkBatchSize(ids);
+		List<PatientDemographicsDto> demographics = patientService.getAllDemographicsByIds(ids);
+
+		if (demographics.isEmpty()) {
+			log.warn("POST /patients/demographics/batch: No patients found");
+			return ResponseEntity.status(HttpStatus.NO_CONTENT)
+					.contentType(MediaType.APPLICATION_JSON)
+					.build();
+		}
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(demographics);
+	}
+
+	@GetMapping(value = "/demographics/page", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+	public ResponseEntity<List<PatientDemographicsDto>> getPatientsDemographicsPage(@RequestParam(defaultValue = "0") Long afterId,
+																					@RequestParam(defaultValue = "100") int size) {
+		log.info("GET /patients/demographics/page: Retrieving the demographics of {} patients after ID '{}'", size, afterId);
+		checkPageSize(size);
+
+		List<PatientDemographicsDto> demographics = patientService.getDemographicsPage(afterId, size);
+
+		if (demographics.isEmpty()) {
+			log.info("GET /patients/demographics/page: No patients found after ID '{}'", afterId);
+			return ResponseEntity.status(HttpStatus.NO_CONTENT)
+					.contentType(MediaType.APPLICATION_JSON)
+					.build();
+		}
+
+		return ResponseEntity.status(HttpStatus.OK)
+				.body(demographics);
+	}
+
 	@PutMapping("/{id}")
 	public ResponseEntity<PatientDto> updatePatient(@PathVariable Long id, @RequestBody PatientDto patientDto) {
 		log.info("PUT /patients/{}: Updating patient...", id);
@@ -73,6 +131,29 @@ public class PatientController {
 				.body(createdPatient);
 	}
 
+	/**
+	 * Rejects the batches of more IDs than allowed, so that a single request cannot load the whole patient table.
+	 *
+	 * @throws BatchTooLargeException If the batch exceeds the maximum size.
+	 */
+	private void checkBatchSize(List<Long> ids) {
+		if (ids.size() > maxBatchSize) {
+			throw new BatchTooLargeException(ids.size(), maxBatchSize);
+		}
+	}
+
+	/**
+	 * Rejects the page sizes outside of 1 and the maximum batch size, so that a single page cannot read the whole patient
+	 * table either.
+	 *
+	 * @throws InvalidPageSizeException If the page size is not positive or exceeds the maximum batch size.
+	 */
+	private void checkPageSize(int size) {
+		if (size <= 0 || size > maxBatchSize) {
+			throw new InvalidPageSizeException(size, maxBatchSize);
+		}
+	}
+
 	@ExceptionHandler(PatientIdNotFoundException.class)
 	public ResponseEntity<String> handlePatientIdNotFoundException(PatientIdNotFoundException ex) {
 		log.warn("PatientIdNotFoundException: {}", ex.getMessage());
@@ -80,4 +161,12 @@ public class PatientController {
 				.contentType(MediaType.APPLICATION_JSON)
 				.body(ex.getMessage());
 	}
+
+	@ExceptionHandler({BatchTooLargeException.class, InvalidPageSizeException.class})
+	public ResponseEntity<String> handleInvalidBatchException(PatientException ex) {
+		log.warn("{}: {}", ex.getClass().getSimpleName(), ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
 }
@@ -0,0 +1,26 @@
+package com.medilabo.patient_microservice.controller.dto;
+
+import com.medilabo.patient_microservice.domain.PatientDemographics;
+import lombok.Builder;
+import lombok.Data;
+
+import java.text.SimpleDateFormat;
+
+/**
+ * Demographics of a patient, without his name and contact details. Fields are named as in {@link PatientDto}.
+ */
+@Data
+@Builder
+public class PatientDemographicsDto {
+	private Long id;
+	private String birthDate;
+	private String gender;
+
+	public static PatientDemographicsDto fromProjection(PatientDemographics demographics) {
+		return PatientDemographicsDto.builder()
+				.id(demographics.id())
+				.birthDate(new SimpleDateFormat("yyyy-MM-dd").format(demographics.birthDate()))
+				.gender(demographics.gender())
+				.build();
+	}
+}
@@ -0,0 +1,10 @@
+package com.medilabo.patient_microservice.domain;
+
+import java.util.Date;
+
+/**
+ * Closed projection of a {@link Patient} on the fields needed to evaluate his risk level.
+ * Queried with a constructor expression, so that only these columns are read and no entity is managed.
+ */
+public record PatientDemographics(Long id, Date birthDate, String gender) {
+}
@@ -0,0 +1,7 @@
+package com.medilabo.patient_microservice.exception;
+
+public class InvalidPageSizeException extends PatientException {
+	public InvalidPageSizeException(int size, int maxSize) {
+		super(String.format("Page size %d is not between 1 and the maximum of %d.", size, maxSize));
+	}
+}
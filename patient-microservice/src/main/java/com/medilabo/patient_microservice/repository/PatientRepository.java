@@ -1,12 +1,22 @@
 package com.medilabo.patient_microservice.repository;
 
 import com.medilabo.patient_microservice.domain.Patient;
+import com.medilabo.patient_microservice.domain.PatientDemographics;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 	List<Patient> findAll();
+
+	Optional<PatientDemographics> findDemographicsById(Long id);
+
+	List<PatientDemographics> findDemographicsByIdIn(Collection<Long> ids);
+
+	List<PatientDemographics> findDemographicsByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
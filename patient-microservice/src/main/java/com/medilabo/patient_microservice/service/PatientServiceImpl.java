@@ -1,11 +1,14 @@
 package com.medilabo.patient_microservice.service;
 
+import com.medilabo.patient_microservice.client.RiskEvaluatorNotifier;
+import com.medilabo.patient_microservice.controller.dto.PatientDemographicsDto;
 import com.medilabo.patient_microservice.controller.dto.PatientDto;
 import com.medilabo.patient_microservice.domain.Patient;
 import com.medilabo.patient_microservice.exception.PatientIdNotFoundException;
 import com.medilabo.patient_microservice.repository.PatientRepository;
 import com.medilabo.patient_microservice.service.contracts.PatientService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.text.ParseException;
@@ -19,9 +22,11 @@ import java.util.List;
 public class PatientServiceImpl implements PatientService {
 
 	private final PatientRepository patientRepository;
+	private final RiskEvaluatorNotifier riskEvaluatorNotifier;
 
-	public PatientServiceImpl(PatientRepository patientRepository) {
+	public PatientServiceImpl(PatientRepository patientRepository, RiskEvaluatorNotifier riskEvaluatorNotifier) {
 		this.patientRepository = patientRepository;
+		this.riskEvaluatorNotifier = riskEvaluatorNotifier;
 	}
 
 	/**
@@ -54,9 +59,60 @@ public class PatientServiceImpl implements PatientService {
 				.orElseThrow(() -> new PatientIdNotFoundException(patientId));
 	}
 
+	/**
+	 * Retrieves the demographics (ID, birthdate and gender) of a patient by their ID, without reading nor sending their
+	 * name and contact details.
+	 *
+	 * @param patientId The ID of the patient.
+	 *
+	 * @return A PatientDemographicsDto object representing the demographics of the patient.
+	 *
+	 * @throws PatientIdNotFoundException if no patient with the specified ID exists in the database.
+	 */
+	@Override
+	public PatientDemographicsDto getDemographicsById(Long patientId) {
+		return patientRepository.findDemographicsById(patientId)
+				.map(PatientDemographicsDto::fromProjection)
+				.orElseThrow(() -> new PatientIdNotFoundException(patientId));
+	}
+
+	/**
+	 * Retrieves the demographics of the patients matching the given IDs in a single query.
+	 * IDs without a matching patient are ignored.
+	 *
+	 * @param patientIds The IDs of the patients.
+	 *
+	 * @return A list of PatientDemographicsDto objects representing the demographics of the patients found.
+	 */
+	@Override
+	public List<PatientDemographicsDto> getAllDemographicsByIds(List<Long> patientIds) {
+		return patientRepository.findDemographicsByIdIn(patientIds)
+				.stream()
+				.map(PatientDemographicsDto::fromProjection)
+				.toList();
+	}
+
+	/**
+	 * Retrieves the demographics of a page of patients ordered by ID, starting after the given ID (keyset pagination).
+	 * Iterating over all the patients is done by passing the ID of the last patient of a page to get the next one, so
+	 * that every page is a single index range scan whatever its position.
+	 *
+	 * @param afterId The ID after which the page starts, 0 for the first page.
+	 * @param size    The maximum number of patients of the page.
+	 *
+	 * @return A list of PatientDemographicsDto objects representing the patients of the page, empty after the last page.
+	 */
+	@Override
+	public List<PatientDemographicsDto> getDemographicsPage(Long afterId, int size) {
+		return patientRepository.findDemographicsByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size))
+				.stream()
+				.map(PatientDemographicsDto::fromProjection)
+				.toList();
+	}
+
 	/**
 	 * Updates an existing patient with the provided details. If the patient with the specified ID exists, it is updated
-	 * with the new details and saved to the database.
+	 * with the new details and saved to the database, and the risk evaluator is notified that the patient changed.
 	 * If the patient with the specified ID does not exist, a PatientIdNotFoundException is thrown.
 	 *
 	 * @param id      The ID of the patient to be updated.
@@ -83,6 +139,7 @@ public class PatientServiceImpl implements PatientService {
 
 					PatientDto savedDto = PatientDto.fromEntity(patientRepository.save(existingPatient));
 					log.info("Patient with ID '{}' updated successfully.", id);
+					riskEvaluatorNotifier.patientUpdated(id);
 
 					return savedDto;
 				})
@@ -1,5 +1,6 @@
 package com.medilabo.patient_microservice.service.contracts;
 
+import com.medilabo.patient_microservice.controller.dto.PatientDemographicsDto;
 import com.medilabo.patient_microservice.controller.dto.PatientDto;
 
 import java.text.ParseException;
@@ -10,6 +11,12 @@ public interface PatientService {
 
 	PatientDto getById(Long patientId);
 
+	PatientDemographicsDto getDemographicsById(Long patientId);
+
+	List<PatientDemographicsDto> getAllDemographicsByIds(List<Long> patientIds);
+
+	List<PatientDemographicsDto> getDemographicsPage(Long afterId, int size);
+
 	PatientDto update(Long id, PatientDto patient);
 
 	PatientDto create(PatientDto patientDto) throws ParseException;
@@ -1,5 +1,9 @@
 package com.medilabo.patient_microservice.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.medilabo.patient_microservice.controller.dto.PatientDemographicsDto;
 import com.medilabo.patient_microservice.controller.dto.PatientDto;
 import com.medilabo.patient_microservice.exception.PatientIdNotFoundException;
 import com.medilabo.patient_microservice.service.contracts.PatientService;
@@ -8,34 +12,39 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
 
 import static com.medilabo.patient_microservice.utils.JsonUtils.asJsonString;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PatientController Test Suite")
 public class PatientControllerTests {
+	private static final int MAX_BATCH_SIZE = 3;
+
 	private MockMvc mockMvc;
 
 	@Mock
 	private PatientService patientService;
 
-	@InjectMocks
 	private PatientController patientController;
 
 	private List<PatientDto> patientList;
 
 	@BeforeEach
 	public void setUp() {
+		patientController = new PatientController(patientService, MAX_BATCH_SIZE);
 		// Initialize MockMvc in 'standaloneSetup' to avoid using Spring context
 		mockMvc = MockMvcBuilders.standaloneSetup(patientController).build();
 
@@ -151,6 +160,146 @@ public class PatientControllerTests {
 		}
 	}
 
+	@Nested
+	@DisplayName("ENDPOINT '/patients/demographics' Tests")
+	class PatientsDemographicsTests {
+		List<PatientDemographicsDto> demographicsList = List.of(
+				PatientDemographicsDto.builder().id(1L).birthDate("1966-12-31").gender("M").build(),
+				PatientDemographicsDto.builder().id(2L).birthDate("1974-06-24").gender("F").build()
+		);
+
+		@Test
+		@DisplayName("GET /patients/{id}/demographics : Should respond OK & return only the demographics of the patient")
+		public void getPatientDemographicsByIdTest() throws Exception {
+			when(patientService.getDemographicsById(1L)).thenReturn(demographicsList.get(0));
+
+			mockMvc.perform(get("/patients/{id}/demographics", 1L))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.id").value(1))
+					.andExpect(jsonPath("$.birthDate").value("1966-12-31"))
+					.andExpect(jsonPath("$.gender").value("M"))
+					.andExpect(jsonPath("$.lastName").doesNotExist())
+					.andExpect(jsonPath("$.address").doesNotExist())
+					.andExpect(jsonPath("$.phoneNumber").doesNotExist());
+
+			verify(patientService, times(1)).getDemographicsById(1L);
+			verifyNoMoreInteractions(patientService);
+		}
+
+		@Test
+		@DisplayName("GET /patients/{id}/demographics : Should respond in CBOR when the client accepts it")
+		public void getPatientDemographicsByIdAsCborTest() throws Exception {
+			when(patientService.getDemographicsById(1L)).thenReturn(demographicsList.get(0));
+
+			byte[] body = mockMvc.perform(get("/patients/{id}/demographics", 1L)
+							.accept(MediaType.APPLICATION_CBOR))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+					.andReturn().getResponse().getContentAsByteArray();
+
+			JsonNode demographics = new ObjectMapper(new CBORFactory()).readTree(body);
+			assertThat(demographics.get("id").asLong()).isEqualTo(1L);
+			assertThat(demographics.get("birthDate").asText()).isEqualTo("1966-12-31");
+			assertThat(demographics.get("gender").asText()).isEqualTo("M");
+		}
+
+		@Test
+		@DisplayName("GET /patients/{id}/demographics : Should respond NOT_FOUND to a CBOR client when patient NOT found")
+		public void getPatientDemographicsByIdAsCborNotFoundTest() throws Exception {
+			doThrow(new PatientIdNotFoundException(-1L)).when(patientService).getDemographicsById(anyLong());
+
+			mockMvc.perform(get("/patients/{id}/demographics", -1L)
+							.accept(MediaType.APPLICATION_CBOR))
+					.andExpect(status().isNotFound());
+		}
+
+		@Test
+		@DisplayName("GET /patients/{id}/demographics : Should respond NOT_FOUND when patient NOT found")
+		public void getPatientDemographicsByIdNotFoundTest() throws Exception {
+			doThrow(new PatientIdNotFoundException(-1L)).when(patientService).getDemographicsById(anyLong());
+
+			mockMvc.perform(get("/patients/{id}/demographics", -1L))
+					.andExpect(status().isNotFound());
+
+			verify(patientService, times(1)).getDemographicsById(-1L);
+			verifyNoMoreInteractions(patientService);
+		}
+
+		@Test
+		@DisplayName("POST /patients/demographics/batch : Should respond OK & return the demographics of the patients found")
+		public void getPatientsDemographicsByIdsTest() throws Exception {
+			when(patientService.getAllDemographicsByIds(anyList())).thenReturn(demographicsList);
+
+			mockMvc.perform(post("/patients/demographics/batch")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1L, 2L, 3L))))
+					.andExpect(status().isOk());
+
+			verify(patientService, times(1)).getAllDemographicsByIds(eq(List.of(1L, 2L, 3L)));
+			verifyNoMoreInteractions(patientService);
+		}
+
+		@Test
+		@DisplayName("POST /patients/demographics/batch : Should respond NO_CONTENT when no patients found")
+		public void getPatientsDemographicsByIdsEmptyTest() throws Exception {
+			when(patientService.getAllDemographicsByIds(anyList())).thenReturn(List.of());
+
+			mockMvc.perform(post("/patients/demographics/batch")
+							.contentType("application/json")
+							.content(asJsonString(List.of(99L))))
+					.andExpect(status().isNoContent());
+
+			verify(patientService, times(1)).getAllDemographicsByIds(eq(List.of(99L)));
+			verifyNoMoreInteractions(patientService);
+		}
+
+		@Test
+		@DisplayName("POST /patients/demographics/batch : Should respond BAD_REQUEST when more ids than the maximum batch size")
+		public void getPatientsDemographicsByIdsTooManyIdsTest() throws Exception {
+			mockMvc.perform(post("/patients/demographics/batch")
+							.contentType("application/json")
+							.content(asJsonString(List.of(1L, 2L, 3L, 4L))))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(patientService);
+		}
+
+		@Test
+		@DisplayName("GET /patients/demographics/page : Should respond OK & return the demographics after the given id")
+		public void getPatientsDemographicsPageTest() throws Exception {
+			when(patientService.getDemographicsPage(anyLong(), anyInt())).thenReturn(demographicsList);
+
+			mockMvc.perform(get("/patients/demographics/page")
+							.param("afterId", "10")
+							.param("size", "2"))
+					.andExpect(status().isOk());
+
+			verify(patientService, times(1)).getDemographicsPage(eq(10L), eq(2));
+			verifyNoMoreInteractions(patientService);
+		}
+
+		@Test
+		@DisplayName("GET /patients/demographics/page : Should respond BAD_REQUEST when the size exceeds the maximum batch size")
+		public void getPatientsDemographicsPageTooLargeTest() throws Exception {
+			mockMvc.perform(get("/patients/demographics/page")
+							.param("size", "4"))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Page size 4 is not between 1 and the maximum of 3."));
+
+			verifyNoInteractions(patientService);
+		}
+
+		@Test
+		@DisplayName("GET /patients/demographics/page : Should respond BAD_REQUEST when the size is not positive")
+		public void getPatientsDemographicsPageNotPositiveTest() throws Exception {
+			mockMvc.perform(get("/patients/demographics/page")
+							.param("size", "0"))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(patientService);
+		}
+	}
+
 	private PatientDto createPatientWithIdDto(Long id, String lastName, String firstName, String birthDate, String gender, String address, String phoneNumber) {
 		return PatientDto.builder()
 				.id(id)
@@ -1,10 +1,12 @@
 package com.medilabo.patient_microservice.repository;
 
 import com.medilabo.patient_microservice.domain.Patient;
+import com.medilabo.patient_microservice.domain.PatientDemographics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.sql.Date;
@@ -41,6 +43,35 @@ public class PatientRepositoryTests {
 		assertThat(result.getLastName()).isEqualTo("TestNone");
 	}
 
+	@Test
+	@DisplayName("findDemographicsById() should return the demographics of the patient when ID exists")
+	public void findDemographicsByIdTest() {
+		PatientDemographics result = patientRepository.findDemographicsById(1L).orElse(null);
+
+		assertThat(result).isNotNull();
+		assertThat(result.id()).isEqualTo(1L);
+		assertThat(result.birthDate()).hasSameTimeAs(Date.valueOf("1966-12-31"));
+		assertThat(result.gender()).isEqualTo("F");
+		assertThat(patientRepository.findDemographicsById(99L)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("findDemographicsByIdIn() should return the demographics of the patients found")
+	public void findDemographicsByIdInTest() {
+		List<PatientDemographics> result = patientRepository.findDemographicsByIdIn(List.of(2L, 4L, 99L));
+
+		assertThat(result).extracting(PatientDemographics::id).containsExactlyInAnyOrder(2L, 4L);
+	}
+
+	@Test
+	@DisplayName("findDemographicsByIdGreaterThanOrderByIdAsc() should return the demographics of the patients following the given ID")
+	public void findDemographicsByIdGreaterThanOrderByIdAscTest() {
+		List<PatientDemographics> result = patientRepository.findDemographicsByIdGreaterThanOrderByIdAsc(1L, Limit.of(2));
+
+		assertThat(result).extracting(PatientDemographics::id).containsExactly(2L, 3L);
+		assertThat(result).extracting(PatientDemographics::gender).containsExactly("M", "M");
+	}
+
 	@Test
 	@DisplayName("save() should persist a new patient")
 	public void saveTest() {
@@ -1,7 +1,10 @@
 package com.medilabo.patient_microservice.service;
 
+import com.medilabo.patient_microservice.client.RiskEvaluatorNotifier;
+import com.medilabo.patient_microservice.controller.dto.PatientDemographicsDto;
 import com.medilabo.patient_microservice.controller.dto.PatientDto;
 import com.medilabo.patient_microservice.domain.Patient;
+import com.medilabo.patient_microservice.domain.PatientDemographics;
 import com.medilabo.patient_microservice.exception.PatientException;
 import com.medilabo.patient_microservice.exception.PatientIdNotFoundException;
 import com.medilabo.patient_microservice.repository.PatientRepository;
@@ -12,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -31,6 +35,9 @@ public class PatientServiceTests {
 	@Mock
 	private PatientRepository patientRepository;
 
+	@Mock
+	private RiskEvaluatorNotifier riskEvaluatorNotifier;
+
 	@InjectMocks
 	private PatientServiceImpl patientService;
 
@@ -97,6 +104,80 @@ public class PatientServiceTests {
 		}
 	}
 
+	@Nested
+	@DisplayName("getDemographicsById() Tests")
+	class GetDemographicsByIdTests {
+		@Test
+		@DisplayName("Should return the demographics of the patient if ID is found")
+		public void givenPatientId_whenGetDemographicsById_thenReturnDemographics() {
+			PatientDemographics demographics = new PatientDemographics(2L, createDate(1974, Month.JUNE, 24), "F");
+
+			when(patientRepository.findDemographicsById(anyLong())).thenReturn(Optional.of(demographics));
+
+			PatientDemographicsDto result = patientService.getDemographicsById(2L);
+
+			assertThat(result).isEqualTo(PatientDemographicsDto.builder().id(2L).birthDate("1974-06-24").gender("F").build());
+
+			verify(patientRepository).findDemographicsById(eq(2L));
+			verifyNoMoreInteractions(patientRepository);
+		}
+
+		@Test
+		@DisplayName("Should throw PatientIdNotFoundException if ID NOT found")
+		public void givenInvalidPatientId_whenGetDemographicsById_thenThrowException() {
+			when(patientRepository.findDemographicsById(anyLong())).thenReturn(Optional.empty());
+
+			assertThrows(PatientIdNotFoundException.class, () -> patientService.getDemographicsById(-1L));
+
+			verify(patientRepository).findDemographicsById(eq(-1L));
+			verifyNoMoreInteractions(patientRepository);
+		}
+	}
+
+	@Nested
+	@DisplayName("getAllDemographicsByIds() Tests")
+	class GetAllDemographicsByIdsTests {
+		@Test
+		@DisplayName("Should return the demographics of the patients found for the given IDs")
+		public void givenPatientIds_whenGetAllDemographicsByIds_thenReturnFoundDemographics() {
+			List<PatientDemographics> demographics = List.of(
+					new PatientDemographics(1L, createDate(1966, Month.DECEMBER, 31), "M"),
+					new PatientDemographics(2L, createDate(1974, Month.JUNE, 24), "F")
+			);
+
+			when(patientRepository.findDemographicsByIdIn(anyList())).thenReturn(demographics);
+
+			List<PatientDemographicsDto> result = patientService.getAllDemographicsByIds(List.of(1L, 2L, 3L));
+
+			assertThat(result).extracting(PatientDemographicsDto::getId).containsExactly(1L, 2L);
+
+			verify(patientRepository).findDemographicsByIdIn(eq(List.of(1L, 2L, 3L)));
+			verifyNoMoreInteractions(patientRepository);
+		}
+	}
+
+	@Nested
+	@DisplayName("getDemographicsPage() Tests")
+	class GetDemographicsPageTests {
+		@Test
+		@DisplayName("Should return the demographics of the patients following the given ID")
+		public void givenAfterId_whenGetDemographicsPage_thenReturnNextDemographics() {
+			List<PatientDemographics> demographics = List.of(
+					new PatientDemographics(3L, createDate(1966, Month.DECEMBER, 31), "M"),
+					new PatientDemographics(4L, createDate(1974, Month.JUNE, 24), "F")
+			);
+
+			when(patientRepository.findDemographicsByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(demographics);
+
+			List<PatientDemographicsDto> result = patientService.getDemographicsPage(2L, 2);
+
+			assertThat(result).extracting(PatientDemographicsDto::getId).containsExactly(3L, 4L);
+
+			verify(patientRepository).findDemographicsByIdGreaterThanOrderByIdAsc(eq(2L), eq(Limit.of(2)));
+			verifyNoMoreInteractions(patientRepository);
+		}
+	}
+
 	@Nested
 	@DisplayName("update() Tests")
 	class UpdateTests {
@@ -122,6 +203,7 @@ public class PatientServiceTests {
 			verify(patientRepository).findById(eq(existingPatient.getId()));
 			verify(patientRepository).save(eq(updatedPatient));
 			verifyNoMoreInteractions(patientRepository);
+			verify(riskEvaluatorNotifier).patientUpdated(eq(existingPatient.getId()));
 		}
 
 		@Test
@@ -0,0 +1,61 @@
+package com.medilabo.riskevaluatormicroservice.decoder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskEvaluationKernel;
+import com.medilabo.riskevaluatormicroservice.utils.SyntheticNotes;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link MedicalNoteTriggerDecoder} against the materialization of the medical notes followed by their
+ * scan, from the same serialized note history.
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec}, the GC profiler reports the allocation rate next to the
+ * throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MedicalNoteTriggerDecoderBenchmark {
+	private static final TypeReference<List<MedicalNoteBean>> MEDICAL_NOTES = new TypeReference<>() {
+	};
+
+	@Param({"10", "100", "1000"})
+	private int noteCount;
+
+	@Param({"SHORT", "LONG"})
+	private SyntheticNotes.NoteLength noteLength;
+
+	private ObjectMapper objectMapper;
+	private RiskEvaluationKernel riskEvaluationKernel;
+	private byte[] body;
+
+	@Setup
+	public void setUp() throws IOException {
+		objectMapper = JsonMapper.builder().findAndAddModules().build();
+		riskEvaluationKernel = new RiskEvaluationKernel();
+		body = objectMapper.writeValueAsBytes(
+				SyntheticNotes.generate(1L, noteCount, noteLength, SyntheticNotes.Charset.ACCENTED));
+	}
+
+	@Benchmark
+	public int materialize() throws IOException {
+		List<MedicalNoteBean> medicalNotes = objectMapper.readValue(new ByteArrayInputStream(body), MEDICAL_NOTES);
+		return riskEvaluationKernel.getTriggerCount(medicalNotes);
+	}
+
+	@Benchmark
+	public int stream() throws IOException {
+		return riskEvaluationKernel.getTriggerCount(
+				MedicalNoteTriggerDecoder.decodeTriggerMask(new ByteArrayInputStream(body)));
+	}
+}
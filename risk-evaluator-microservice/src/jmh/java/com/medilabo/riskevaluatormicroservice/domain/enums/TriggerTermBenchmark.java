@@ -0,0 +1,39 @@
+package com.medilabo.riskevaluatormicroservice.domain.enums;
+
+import com.medilabo.riskevaluatormicroservice.utils.SyntheticNotes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TriggerTerm#matches(String)} over the words of the synthetic note vocabulary.
+ * Every invocation tries each word against each trigger term, as the word-by-word scan used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TriggerTermBenchmark {
+
+	@Param({"ASCII", "ACCENTED"})
+	private SyntheticNotes.Charset charset;
+
+	private String[] words;
+
+	@Setup
+	public void setUp() {
+		words = SyntheticNotes.words(charset);
+	}
+
+	@Benchmark
+	public void matches(Blackhole blackhole) {
+		for (String word : words) {
+			for (TriggerTerm term : TriggerTerm.values()) {
+				blackhole.consume(term.matches(word));
+			}
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.utils.SyntheticNotes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TriggerTermMatcher#scan(CharSequence)} over synthetic notes, with exact matching and with typo
+ * tolerance, to check that the fuzzy matching keeps the scan linear in the length of the notes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TriggerTermMatcherBenchmark {
+
+	@Param({"0", "1", "2"})
+	private int maxEditDistance;
+
+	@Param({"SHORT", "LONG"})
+	private SyntheticNotes.NoteLength noteLength;
+
+	private TriggerTermMatcher matcher;
+	private List<String> notes;
+
+	@Setup
+	public void setUp() {
+		matcher = new TriggerTermMatcher(TriggerLexicon.getDefault(), maxEditDistance);
+		notes = SyntheticNotes.generate(1L, 100, noteLength, SyntheticNotes.Charset.ACCENTED).stream()
+				.map(MedicalNoteBean::getNote)
+				.toList();
+	}
+
+	@Benchmark
+	public int scan() {
+		int mask = 0;
+		for (String note : notes) {
+			mask |= matcher.scan(note);
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,60 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskEvaluationKernel;
+import com.medilabo.riskevaluatormicroservice.utils.SyntheticNotes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link RiskEvaluationKernel} shared by the risk evaluator services against synthetic note corpora.
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec}, the GC profiler reports the allocation rate next to the
+ * throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskEvaluatorServiceBenchmark {
+
+	@Param({"1", "10", "100", "1000"})
+	private int noteCount;
+
+	@Param({"SHORT", "LONG"})
+	private SyntheticNotes.NoteLength noteLength;
+
+	@Param({"ASCII", "ACCENTED"})
+	private SyntheticNotes.Charset charset;
+
+	private RiskEvaluationKernel riskEvaluationKernel;
+	private PatientBean patient;
+	private List<MedicalNoteBean> medicalNotes;
+
+	@Setup
+	public void setUp() {
+		riskEvaluationKernel = new RiskEvaluationKernel();
+		patient = PatientBean.builder()
+				.id(1L).firstName("Bench").lastName("Mark")
+				.birthDate("1980-01-01").gender("F")
+				.build();
+		medicalNotes = SyntheticNotes.generate(patient.getId(), noteCount, noteLength, charset);
+	}
+
+	@Benchmark
+	public RiskLevel evaluate() {
+		return riskEvaluationKernel.evaluate(patient, medicalNotes);
+	}
+
+	@Benchmark
+	public Set<TriggerTerm> getTriggerTerms() {
+		return riskEvaluationKernel.getTriggerTerms(medicalNotes);
+	}
+}
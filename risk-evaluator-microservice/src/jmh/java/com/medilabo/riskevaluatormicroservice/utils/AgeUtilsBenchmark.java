@@ -0,0 +1,24 @@
+package com.medilabo.riskevaluatormicroservice.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AgeUtils#calculateAgeFromBirthdate(String, String)}, called once per evaluated patient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgeUtilsBenchmark {
+
+	private final String birthDate = "1980-06-24";
+
+	@Benchmark
+	public int calculateAgeFromBirthdate() {
+		return AgeUtils.calculateAgeFromBirthdate(birthDate, "yyyy-MM-dd");
+	}
+}
@@ -0,0 +1,107 @@
+package com.medilabo.riskevaluatormicroservice.utils;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator of synthetic French medical notes for the benchmarks.
+ * Notes are built from a small clinical vocabulary with a few trigger terms sprinkled in, so that scanning never stops
+ * early because every trigger term has been found.
+ */
+public final class SyntheticNotes {
+	private static final String[] VOCABULARY = {
+			"le", "patient", "déclare", "qu'il", "se", "sent", "très", "bien", "depuis", "peu", "éprouve",
+			"des", "difficultés", "à", "monter", "les", "escaliers", "tests", "de", "laboratoire", "indiquant",
+			"un", "taux", "élevé", "supérieur", "au", "niveau", "recommandé", "également", "dernièrement",
+			"médicaments", "cours", "derniers", "mois", "stress", "travail", "audition", "essoufflé", "dos",
+			"assis", "pendant", "longtemps", "crises", "d’apnée", "respiratoire", "égal", "inférieur"
+	};
+	private static final String[] TRIGGERS = {"Poids", "fumeur", "Cholestérol"};
+	private static final int TRIGGER_EVERY = 12;
+
+	/**
+	 * Length of the generated notes, in words.
+	 */
+	public enum NoteLength {
+		SHORT(15),
+		LONG(400);
+
+		private final int words;
+
+		NoteLength(int words) {
+			this.words = words;
+		}
+	}
+
+	/**
+	 * Character set of the generated notes: accented French text, or the same text stripped of its accents.
+	 */
+	public enum Charset {
+		ASCII,
+		ACCENTED
+	}
+
+	private SyntheticNotes() {
+	}
+
+	/**
+	 * Generates the medical notes of a patient.
+	 *
+	 * @param patientId The ID of the patient owning the notes.
+	 * @param count     The number of notes to generate.
+	 * @param length    The length of every note.
+	 * @param charset   The character set of the notes.
+	 *
+	 * @return The generated medical notes, identical for identical arguments.
+	 */
+	public static List<MedicalNoteBean> generate(long patientId, int count, NoteLength length, Charset charset) {
+		Random random = new Random(patientId * 31 + count);
+		List<MedicalNoteBean> notes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			notes.add(MedicalNoteBean.builder()
+					.id(Long.toHexString(patientId) + "-" + i)
+					.patId((int) patientId)
+					.patient("Synthetic")
+					.note(note(random, length, charset))
+					.build());
+		}
+		return notes;
+	}
+
+	/**
+	 * Returns the words of the vocabulary in the given character set, for word-level benchmarks.
+	 */
+	public static String[] words(Charset charset) {
+		String[] words = new String[VOCABULARY.length + TRIGGERS.length];
+		for (int i = 0; i < words.length; i++) {
+			String word = i < VOCABULARY.length ? VOCABULARY[i] : TRIGGERS[i - VOCABULARY.length];
+			words[i] = charset == Charset.ASCII ? stripAccents(word) : word;
+		}
+		return words;
+	}
+
+	private static String note(Random random, NoteLength length, Charset charset) {
+		StringBuilder note = new StringBuilder(length.words * 8);
+		for (int i = 0; i < length.words; i++) {
+			if (i > 0) {
+				note.append(random.nextInt(10) == 0 ? ", " : " ");
+			}
+			String word = i % TRIGGER_EVERY == TRIGGER_EVERY - 1
+					? TRIGGERS[random.nextInt(TRIGGERS.length)]
+					: VOCABULARY[random.nextInt(VOCABULARY.length)];
+			note.append(word);
+		}
+		note.append('.');
+		return charset == Charset.ASCII ? stripAccents(note.toString()) : note.toString();
+	}
+
+	private static String stripAccents(String text) {
+		return Normalizer.normalize(text, Normalizer.Form.NFD)
+				.replaceAll("\\p{M}+", "")
+				.replace('’', '\'');
+	}
+}
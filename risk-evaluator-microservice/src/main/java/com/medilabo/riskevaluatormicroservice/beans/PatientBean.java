@@ -3,6 +3,10 @@ package com.medilabo.riskevaluatormicroservice.beans;
 import lombok.Builder;
 import lombok.Data;
 
+/**
+ * Patient as fetched from the demographics endpoints of the patient microservice, which only send his ID, birthdate and
+ * gender: the name and contact details are left null.
+ */
 @Data
 @Builder
 public class PatientBean {
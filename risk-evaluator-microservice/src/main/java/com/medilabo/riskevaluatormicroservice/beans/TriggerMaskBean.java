@@ -0,0 +1,13 @@
+package com.medilabo.riskevaluatormicroservice.beans;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TriggerMaskBean {
+	private Integer patId;
+	private int triggerMask;
+	/** Version of the trigger lexicon the mask was computed with by the medical note service. */
+	private String lexiconVersion;
+}
@@ -0,0 +1,16 @@
+package com.medilabo.riskevaluatormicroservice.beans;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+@Builder
+public class TriggerTermsBean {
+	private Integer patId;
+	private Set<TriggerTerm> triggerTerms;
+	/** Version of the trigger lexicon the terms were found with by the medical note service. */
+	private String lexiconVersion;
+}
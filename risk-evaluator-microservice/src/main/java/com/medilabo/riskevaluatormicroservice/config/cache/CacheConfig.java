@@ -0,0 +1,15 @@
+package com.medilabo.riskevaluatormicroservice.config.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the caches declared in the {@code spring.cache} properties (Caffeine, bounded in size and time).
+ * Their hit and miss counts are published as {@code cache.gets} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+	/** Cache of the risk level of every patient, by patient ID. */
+	public static final String RISK_LEVELS_CACHE = "riskLevels";
+}
@@ -0,0 +1,54 @@
+package com.medilabo.riskevaluatormicroservice.config.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.NoteTriggerMasks;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskEvaluationKernel;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskRule;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskRuleTable;
+import com.medilabo.riskevaluatormicroservice.service.contracts.TriggerLexiconService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Slf4j
+@Configuration
+public class RiskEvaluationConfig {
+	/** Name of the memo of the trigger masks of the notes in the {@code cache} metrics. */
+	public static final String NOTE_TRIGGER_MASKS_CACHE = "noteTriggerMasks";
+
+	/**
+	 * Evaluation kernel shared by the blocking and the reactive risk evaluator services.
+	 * It applies the risk protocol of the {@code risk-evaluator.risk-protocol.rules} properties, compiled at startup,
+	 * or the default protocol if none is configured. An invalid protocol prevents the application from starting.
+	 * Trigger terms are looked for with the active trigger lexicon, which can be reloaded at runtime. The trigger masks
+	 * of up to {@code risk-evaluator.note-trigger-masks.maximum-size} notes are memoized, so that only the notes not
+	 * scanned yet are tokenized (0 to scan every note at every evaluation); their hit and miss counts are published
+	 * as {@code cache.gets} metrics.
+	 */
+	@Bean
+	public RiskEvaluationKernel riskEvaluationKernel(RiskProtocolProperties riskProtocolProperties,
+													 TriggerLexiconService triggerLexiconService,
+													 MeterRegistry meterRegistry,
+													 @Value("${risk-evaluator.note-trigger-masks.maximum-size:100000}") long noteTriggerMasksMaximumSize) {
+		NoteTriggerMasks noteTriggerMasks = null;
+		if (noteTriggerMasksMaximumSize > 0) {
+			noteTriggerMasks = new NoteTriggerMasks(noteTriggerMasksMaximumSize);
+			CaffeineCacheMetrics.monitor(meterRegistry, noteTriggerMasks.getCache(), NOTE_TRIGGER_MASKS_CACHE);
+		}
+
+		List<RiskRule> rules = riskProtocolProperties.getRules().stream()
+				.map(RiskProtocolProperties.Rule::toRiskRule)
+				.toList();
+		if (rules.isEmpty()) {
+			log.info("No risk protocol configured, using the default protocol");
+			return new RiskEvaluationKernel(RiskRuleTable.getDefault(), triggerLexiconService::getMatcher, noteTriggerMasks);
+		}
+
+		log.info("Compiling the configured risk protocol ({} rules)", rules.size());
+		return new RiskEvaluationKernel(RiskRuleTable.compile(rules), triggerLexiconService::getMatcher, noteTriggerMasks);
+	}
+}
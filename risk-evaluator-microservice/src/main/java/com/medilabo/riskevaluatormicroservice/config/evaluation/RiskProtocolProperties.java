@@ -0,0 +1,38 @@
+package com.medilabo.riskevaluatormicroservice.config.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskRule;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Risk protocol declared in the {@code risk-evaluator.risk-protocol.rules} properties.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "risk-evaluator.risk-protocol")
+public class RiskProtocolProperties {
+
+	private List<Rule> rules = new ArrayList<>();
+
+	@Data
+	public static class Rule {
+		private String gender;
+		private Integer minAge;
+		private Integer maxAge;
+		private Integer minTriggers;
+		private Integer maxTriggers;
+		private RiskLevel level;
+
+		public RiskRule toRiskRule() {
+			return new RiskRule(gender, minAge, maxAge, minTriggers, maxTriggers, level);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.medilabo.riskevaluatormicroservice.config.executor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+	/**
+	 * Executor of the backend calls issued concurrently by the risk evaluation.
+	 * Every task runs on its own virtual thread, which is cheap enough for calls blocked on I/O most of the time.
+	 */
+	@Bean(name = "riskEvaluatorExecutor")
+	public JwtPropagatingExecutor riskEvaluatorExecutor() {
+		return new JwtPropagatingExecutor(Executors.newVirtualThreadPerTaskExecutor());
+	}
+}
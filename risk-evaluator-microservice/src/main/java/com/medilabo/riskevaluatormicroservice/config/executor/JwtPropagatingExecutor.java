@@ -0,0 +1,36 @@
+package com.medilabo.riskevaluatormicroservice.config.executor;
+
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executor propagating the JWT of the submitting thread to the thread running the task, so that the Feign calls made
+ * by the task are authenticated as the current request.
+ */
+public class JwtPropagatingExecutor implements Executor, AutoCloseable {
+	private final ExecutorService delegate;
+
+	public JwtPropagatingExecutor(ExecutorService delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		String token = JwtContextHolder.getToken();
+		delegate.execute(() -> {
+			JwtContextHolder.setToken(token);
+			try {
+				task.run();
+			} finally {
+				JwtContextHolder.clear();
+			}
+		});
+	}
+
+	@Override
+	public void close() {
+		delegate.close();
+	}
+}
@@ -0,0 +1,44 @@
+package com.medilabo.riskevaluatormicroservice.config.feign;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the pooled Apache HttpClient 5 shared by the Feign proxies (see the
+ * {@code spring.cloud.openfeign.httpclient} properties for the pool size and time to live).
+ */
+@Configuration
+public class FeignHttpClientConfig {
+	/** Name of the connection pool in the {@code httpcomponents.httpclient.pool.*} metrics. */
+	static final String POOL_NAME = "feign-gateway";
+
+	/**
+	 * Evicts the pooled connections idle for longer than {@code risk-evaluator.http-client.max-idle-time}.
+	 */
+	@Bean
+	public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer idleConnectionEvictionCustomizer(
+			@Value("${risk-evaluator.http-client.max-idle-time:30s}") Duration maxIdleTime) {
+		return builder -> builder.evictIdleConnections(TimeValue.ofMilliseconds(maxIdleTime.toMillis()));
+	}
+
+	/**
+	 * Publishes the state of the connection pool (leased, pending, available and max connections) as metrics.
+	 */
+	@Bean
+	public MeterBinder feignConnectionPoolMetrics(HttpClientConnectionManager connectionManager) {
+		return registry -> {
+			if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+				new PoolingHttpClientConnectionManagerMetricsBinder(pool, POOL_NAME).bindTo(registry);
+			}
+		};
+	}
+}
@@ -0,0 +1,12 @@
+package com.medilabo.riskevaluatormicroservice.config.scheduling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled jobs, such as the nightly population risk scan and the risk level re-evaluation.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
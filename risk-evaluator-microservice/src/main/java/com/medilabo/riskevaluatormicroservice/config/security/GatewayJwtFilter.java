@@ -9,19 +9,34 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 public class GatewayJwtFilter extends OncePerRequestFilter {
+	/** Role of the tokens issued by the services for their own calls (see {@link ServiceJwtProvider}). */
+	public static final String SERVICE_ROLE = "SERVICE";
+
 	private final JwtVerifierService jwtVerifierService;
 
 	public GatewayJwtFilter(JwtVerifierService jwtVerifierService) {
 		this.jwtVerifierService = jwtVerifierService;
 	}
 
+	/**
+	 * Authenticates the asynchronous dispatches too, which write the responses of the reactive endpoints on another
+	 * thread than the one of the initial request.
+	 */
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request,
 									HttpServletResponse response,
@@ -37,13 +52,17 @@ public class GatewayJwtFilter extends OncePerRequestFilter {
 			try {
 				Jws<Claims> jws = jwtVerifierService.verify(token);
 				String username = jws.getPayload().getSubject();
+				List<GrantedAuthority> authorities = ServiceJwtProvider.SERVICE_TOKEN_TYPE.equals(
+						jws.getPayload().get(ServiceJwtProvider.TOKEN_TYPE_CLAIM, String.class))
+						? List.of(new SimpleGrantedAuthority("ROLE_" + SERVICE_ROLE))
+						: Collections.emptyList();
 
 				JwtContextHolder.setToken(token);
 
 				UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
 						username,
 						null,
-						Collections.emptyList()
+						authorities
 				);
 				SecurityContextHolder.getContext().setAuthentication(auth);
 
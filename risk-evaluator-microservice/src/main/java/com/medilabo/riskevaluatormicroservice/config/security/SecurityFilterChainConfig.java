@@ -3,6 +3,7 @@ package com.medilabo.riskevaluatormicroservice.config.security;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
@@ -27,6 +28,9 @@ public class SecurityFilterChainConfig {
 				.csrf(csrf -> csrf.disable())
 				.sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authorizeHttpRequests(auth -> auth
+						// Only the services whose data the risk levels depend on notify their changes
+						.requestMatchers(HttpMethod.POST, "/risk-evaluator/notifications/patient/*")
+						.hasRole(GatewayJwtFilter.SERVICE_ROLE)
 						.anyRequest().authenticated()
 				)
 				.addFilterBefore(gatewayJwtFilter(jwtVerifierService), UsernamePasswordAuthenticationFilter.class)
@@ -0,0 +1,74 @@
+package com.medilabo.riskevaluatormicroservice.config.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Issues the JWT authenticating the calls made by the service on its own behalf (e.g. scheduled jobs), outside any
+ * user request. The token is signed with the secret shared with the gateway, and reused until shortly before it expires.
+ * It carries the {@value #TOKEN_TYPE_CLAIM} claim, which the tokens of the users issued by the gateway never carry.
+ */
+@Slf4j
+@Service
+public class ServiceJwtProvider {
+	static final String SUBJECT = "risk-evaluator-microservice";
+	/** Claim identifying the tokens of the services, granted the {@code SERVICE} role by the {@link GatewayJwtFilter}. */
+	public static final String TOKEN_TYPE_CLAIM = "token_type";
+	public static final String SERVICE_TOKEN_TYPE = "service";
+	private static final long EXPIRATION_SECONDS = 300;
+	private static final long RENEWAL_MARGIN_SECONDS = 60;
+
+	@Value("${security.jwt.gateway-shared-secret}")
+	private String secret;
+
+	@Value("${security.jwt.gateway-shared-issuer}")
+	private String issuer;
+
+	private SecretKey secretKey;
+	private String token;
+	private long renewalTime;
+
+	/**
+	 * Initialize the ServiceJwtProvider by validating the secret and creating the SecretKey.
+	 * This method is annotated @PostConstruct to ensure it runs after the properties are set.
+	 */
+	@PostConstruct
+	public void init() {
+		if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+			throw new IllegalStateException("security.jwt.gateway-shared-secret must be set and at least 32 bytes long");
+		}
+		this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns a valid token for the service, generating a new one when the current one is about to expire.
+	 *
+	 * @return the JWT token as a String
+	 */
+	public synchronized String getToken() {
+		long now = System.currentTimeMillis();
+		if (token == null || now >= renewalTime) {
+			Date expiration = new Date(now + EXPIRATION_SECONDS * 1000);
+			log.debug("Generating service token, expires at: {}", expiration);
+
+			token = Jwts.builder()
+					.issuer(issuer)
+					.subject(SUBJECT)
+					.claim(TOKEN_TYPE_CLAIM, SERVICE_TOKEN_TYPE)
+					.issuedAt(new Date(now))
+					.expiration(expiration)
+					.signWith(secretKey)
+					.compact();
+			renewalTime = now + (EXPIRATION_SECONDS - RENEWAL_MARGIN_SECONDS) * 1000;
+		}
+		return token;
+	}
+}
@@ -0,0 +1,24 @@
+package com.medilabo.riskevaluatormicroservice.config.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compact binary wire format (CBOR) requested by the Feign proxies from the patient and medical note microservices, and
+ * decoded with the same Jackson configuration as JSON.
+ */
+@Configuration
+public class CborHttpMessageConverterConfig {
+
+	/**
+	 * Converter of the {@code application/cbor} bodies, built from the same Jackson configuration as the JSON one (the
+	 * {@code spring.jackson} properties), so that both formats carry the same fields with the same representation.
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+}
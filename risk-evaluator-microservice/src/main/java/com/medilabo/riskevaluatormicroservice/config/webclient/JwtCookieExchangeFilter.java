@@ -0,0 +1,41 @@
+package com.medilabo.riskevaluatormicroservice.config.webclient;
+
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactive counterpart of the {@code FeignClientInterceptor}: authenticates the WebClient requests to the gateway with
+ * the JWT of the current request.
+ * <p>
+ * A reactive pipeline does not run on the thread of the request, so the token cannot be read from the
+ * {@link JwtContextHolder} when the request is sent. It is captured on the request thread instead and carried by the
+ * Reactor {@link Context} of the pipeline (see {@link #withToken(String)}).
+ */
+public class JwtCookieExchangeFilter implements ExchangeFilterFunction {
+	private static final String TOKEN_CONTEXT_KEY = JwtCookieExchangeFilter.class.getName() + ".TOKEN";
+
+	/**
+	 * Returns the Reactor context carrying the given token to the requests of a pipeline.
+	 *
+	 * @param token The JWT of the current request, may be null.
+	 *
+	 * @return The context to write into the pipeline, empty if there is no token.
+	 */
+	public static Context withToken(String token) {
+		return token == null ? Context.empty() : Context.of(TOKEN_CONTEXT_KEY, token);
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return Mono.deferContextual(context -> context.<String>getOrEmpty(TOKEN_CONTEXT_KEY)
+				.map(token -> next.exchange(ClientRequest.from(request)
+						.header("Cookie", "access_token=" + token)
+						.build()))
+				.orElseGet(() -> next.exchange(request)));
+	}
+}
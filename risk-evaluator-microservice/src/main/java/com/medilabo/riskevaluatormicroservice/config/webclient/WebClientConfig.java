@@ -0,0 +1,55 @@
+package com.medilabo.riskevaluatormicroservice.config.webclient;
+
+import com.medilabo.riskevaluatormicroservice.proxies.reactive.ReactiveMedicalNoteMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.proxies.reactive.ReactivePatientMicroserviceProxy;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+	/**
+	 * Non-blocking client of the gateway, used by the reactive evaluation path.
+	 * Requests are sent on the Reactor Netty event loops, so waiting for a response does not hold any thread.
+	 */
+	@Bean
+	public WebClient gatewayWebClient(WebClient.Builder builder,
+									  @Value("${clients.gateway-microservice.api-url}") String apiUrl,
+									  @Value("${risk-evaluator.web-client.connect-timeout:5s}") Duration connectTimeout,
+									  @Value("${risk-evaluator.web-client.response-timeout:5s}") Duration responseTimeout) {
+		HttpClient httpClient = HttpClient.create()
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+				.responseTimeout(responseTimeout)
+				.compress(true);
+
+		return builder
+				.baseUrl(apiUrl)
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.filter(new JwtCookieExchangeFilter())
+				.build();
+	}
+
+	@Bean
+	public HttpServiceProxyFactory gatewayHttpServiceProxyFactory(WebClient gatewayWebClient) {
+		return HttpServiceProxyFactory.builderFor(WebClientAdapter.create(gatewayWebClient)).build();
+	}
+
+	@Bean
+	public ReactivePatientMicroserviceProxy reactivePatientMicroserviceProxy(HttpServiceProxyFactory gatewayHttpServiceProxyFactory) {
+		return gatewayHttpServiceProxyFactory.createClient(ReactivePatientMicroserviceProxy.class);
+	}
+
+	@Bean
+	public ReactiveMedicalNoteMicroserviceProxy reactiveMedicalNoteMicroserviceProxy(HttpServiceProxyFactory gatewayHttpServiceProxyFactory) {
+		return gatewayHttpServiceProxyFactory.createClient(ReactiveMedicalNoteMicroserviceProxy.class);
+	}
+}
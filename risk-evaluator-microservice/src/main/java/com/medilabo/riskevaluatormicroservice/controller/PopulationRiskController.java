@@ -0,0 +1,59 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.controller.dto.PopulationRiskReport;
+import com.medilabo.riskevaluatormicroservice.exception.PopulationScanInProgressException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.PopulationRiskScanService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@Slf4j
+@RestController
+@RequestMapping("/risk-evaluator/population")
+public class PopulationRiskController {
+	private static final String REPORT_LOCATION = "/risk-evaluator/population/report";
+
+	private final PopulationRiskScanService populationRiskScanService;
+
+	public PopulationRiskController(PopulationRiskScanService populationRiskScanService) {
+		this.populationRiskScanService = populationRiskScanService;
+	}
+
+	@PostMapping("/scan")
+	public ResponseEntity<Void> scanPopulation() {
+		log.info("POST /risk-evaluator/population/scan: Starting the risk evaluation of all patients");
+		populationRiskScanService.startScan();
+		return ResponseEntity.accepted()
+				.location(URI.create(REPORT_LOCATION))
+				.build();
+	}
+
+	@GetMapping("/report")
+	public ResponseEntity<PopulationRiskReport> getLastReport() {
+		log.info("GET /risk-evaluator/population/report: Retrieving last population risk report");
+		return populationRiskScanService.getLastReport()
+				.map(report -> ResponseEntity.ok()
+						.contentType(MediaType.APPLICATION_JSON)
+						.body(report))
+				.orElseGet(() -> {
+					log.info("GET /risk-evaluator/population/report: No report available yet");
+					return ResponseEntity.noContent().build();
+				});
+	}
+
+	@ExceptionHandler(PopulationScanInProgressException.class)
+	public ResponseEntity<String> handlePopulationScanInProgressException(PopulationScanInProgressException ex) {
+		log.warn("PopulationScanInProgressException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
+}
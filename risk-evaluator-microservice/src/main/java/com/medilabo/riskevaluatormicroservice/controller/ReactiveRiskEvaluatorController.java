@@ -0,0 +1,90 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.controller.dto.RiskLevelResponse;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.exception.BatchTooLargeException;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.ReactiveRiskEvaluatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking variant of the {@link RiskEvaluatorController}.
+ * The request thread is released as soon as the evaluation is started, and the response is written asynchronously
+ * when the backends have answered.
+ * <p>
+ * This variant deliberately bypasses the {@code riskLevels} cache of the {@code RiskLevelStoreService}, the
+ * coalescing of concurrent evaluations of a patient and the {@code risk.evaluation.stage} timers: every request is
+ * evaluated against the backends, so that it measures the non-blocking I/O model alone.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/risk-evaluator/reactive")
+public class ReactiveRiskEvaluatorController {
+	private final ReactiveRiskEvaluatorService reactiveRiskEvaluatorService;
+	private final int maxBatchSize;
+
+	public ReactiveRiskEvaluatorController(ReactiveRiskEvaluatorService reactiveRiskEvaluatorService,
+										   @Value("${risk-evaluator.batch.max-size:1000}") int maxBatchSize) {
+		this.reactiveRiskEvaluatorService = reactiveRiskEvaluatorService;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@GetMapping("/patient/{id}")
+	public Mono<ResponseEntity<RiskLevelResponse>> getPatientRiskLevel(@PathVariable Long id) {
+		log.info("GET /risk-evaluator/reactive/patient/{}: Evaluating risk for patient ID '{}'", id, id);
+		return reactiveRiskEvaluatorService.getRiskLevel(id)
+				.map(riskLevel -> ResponseEntity.ok(new RiskLevelResponse(riskLevel)));
+	}
+
+	@PostMapping("/patients")
+	public Mono<ResponseEntity<Map<Long, RiskLevel>>> getPatientsRiskLevels(@RequestBody List<Long> ids) {
+		log.info("POST /risk-evaluator/reactive/patients: Evaluating risk for {} patients", ids.size());
+		checkBatchSize(ids);
+		return reactiveRiskEvaluatorService.getRiskLevels(ids)
+				.map(riskLevels -> ResponseEntity.ok()
+						.contentType(MediaType.APPLICATION_JSON)
+						.body(riskLevels));
+	}
+
+	@ExceptionHandler(PatientNotFoundException.class)
+	public ResponseEntity<String> handlePatientNotFoundException(PatientNotFoundException ex) {
+		log.warn("PatientNotFoundException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
+
+	/**
+	 * Rejects the batches of more IDs than allowed, as the data of the whole batch is loaded from the backends at once.
+	 *
+	 * @throws BatchTooLargeException If the batch exceeds the maximum size.
+	 */
+	private void checkBatchSize(List<Long> ids) {
+		if (ids.size() > maxBatchSize) {
+			throw new BatchTooLargeException(ids.size(), maxBatchSize);
+		}
+	}
+
+	@ExceptionHandler(BatchTooLargeException.class)
+	public ResponseEntity<String> handleBatchTooLargeException(BatchTooLargeException ex) {
+		log.warn("BatchTooLargeException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
+}
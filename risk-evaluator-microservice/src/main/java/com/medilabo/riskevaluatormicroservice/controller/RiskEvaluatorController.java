@@ -1,34 +1,95 @@
 package com.medilabo.riskevaluatormicroservice.controller;
 
 import com.medilabo.riskevaluatormicroservice.controller.dto.RiskLevelResponse;
+import com.medilabo.riskevaluatormicroservice.controller.dto.RiskTimeline;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import com.medilabo.riskevaluatormicroservice.exception.BatchTooLargeException;
 import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
 import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelStoreService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/risk-evaluator")
 public class RiskEvaluatorController {
-	public final RiskEvaluatorService riskEvaluatorService;
+	private final RiskEvaluatorService riskEvaluatorService;
+	private final RiskLevelStoreService riskLevelStoreService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final int maxBatchSize;
 
-	public RiskEvaluatorController(RiskEvaluatorService riskEvaluatorService) {
+	public RiskEvaluatorController(RiskEvaluatorService riskEvaluatorService,
+								   RiskLevelStoreService riskLevelStoreService,
+								   ApplicationEventPublisher eventPublisher,
+								   @Value("${risk-evaluator.batch.max-size:1000}") int maxBatchSize) {
 		this.riskEvaluatorService = riskEvaluatorService;
+		this.riskLevelStoreService = riskLevelStoreService;
+		this.eventPublisher = eventPublisher;
+		this.maxBatchSize = maxBatchSize;
 	}
 
 	@RequestMapping("/patient/{id}")
 	public ResponseEntity<RiskLevelResponse> getPatientMedicalNotesTest(@PathVariable Long id) throws Exception {
-		log.info("GET /risk-evaluator/patient/{}: Evaluating risk for patient ID '{}'", id, id);
-		RiskLevelResponse riskLevel = new RiskLevelResponse(riskEvaluatorService.getRiskLevel(id));
+		log.info("GET /risk-evaluator/patient/{}: Retrieving risk for patient ID '{}'", id, id);
+		RiskLevelResponse riskLevel = new RiskLevelResponse(riskLevelStoreService.getRiskLevel(id));
 		return ResponseEntity.ok(riskLevel);
 	}
 
+	@GetMapping("/patient/{id}/timeline")
+	public ResponseEntity<RiskTimeline> getPatientRiskTimeline(@PathVariable Long id) {
+		log.info("GET /risk-evaluator/patient/{}/timeline: Evaluating risk timeline for patient ID '{}'", id, id);
+		RiskTimeline riskTimeline = riskEvaluatorService.getRiskTimeline(id);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(riskTimeline);
+	}
+
+	@GetMapping("/patient/{id}/as-of")
+	public ResponseEntity<RiskLevelResponse> getPatientRiskLevelAsOf(@PathVariable Long id,
+																	 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		log.info("GET /risk-evaluator/patient/{}/as-of: Evaluating risk for patient ID '{}' as of {}", id, id, date);
+		RiskLevelResponse riskLevel = new RiskLevelResponse(riskEvaluatorService.getRiskLevelAsOf(id, date));
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(riskLevel);
+	}
+
+	@PostMapping("/patients")
+	public ResponseEntity<Map<Long, RiskLevel>> getPatientsRiskLevels(@RequestBody List<Long> ids) {
+		log.info("POST /risk-evaluator/patients: Evaluating risk for {} patients", ids.size());
+		checkBatchSize(ids);
+		Map<Long, RiskLevel> riskLevels = riskEvaluatorService.getRiskLevels(ids);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(riskLevels);
+	}
+
+	@PostMapping("/notifications/patient/{id}")
+	public ResponseEntity<Void> notifyPatientDataChanged(@PathVariable Long id) {
+		log.info("POST /risk-evaluator/notifications/patient/{}: Data of patient ID '{}' changed", id, id);
+		eventPublisher.publishEvent(new PatientDataChangedEvent(id));
+		return ResponseEntity.noContent().build();
+	}
+
 	@ExceptionHandler(PatientNotFoundException.class)
 	public ResponseEntity<String> handlePatientNotFoundException(PatientNotFoundException ex) {
 		log.warn("PatientNotFoundException: {}", ex.getMessage());
@@ -36,4 +97,23 @@ public class RiskEvaluatorController {
 				.contentType(MediaType.APPLICATION_JSON)
 				.body(ex.getMessage());
 	}
+
+	/**
+	 * Rejects the batches of more IDs than allowed, as the data of the whole batch is loaded from the backends at once.
+	 *
+	 * @throws BatchTooLargeException If the batch exceeds the maximum size.
+	 */
+	private void checkBatchSize(List<Long> ids) {
+		if (ids.size() > maxBatchSize) {
+			throw new BatchTooLargeException(ids.size(), maxBatchSize);
+		}
+	}
+
+	@ExceptionHandler(BatchTooLargeException.class)
+	public ResponseEntity<String> handleBatchTooLargeException(BatchTooLargeException ex) {
+		log.warn("BatchTooLargeException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
 }
@@ -0,0 +1,70 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.exception.BatchTooLargeException;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/risk-evaluator/notifications")
+public class RiskLevelNotificationController {
+	private final RiskLevelNotificationService riskLevelNotificationService;
+	private final int maxBatchSize;
+
+	public RiskLevelNotificationController(RiskLevelNotificationService riskLevelNotificationService,
+										   @Value("${risk-evaluator.batch.max-size:1000}") int maxBatchSize) {
+		this.riskLevelNotificationService = riskLevelNotificationService;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> subscribe(@RequestParam List<Long> patientIds) {
+		log.info("GET /risk-evaluator/notifications/stream: Subscribing to the risk level changes of {} patients",
+				patientIds.size());
+		if (patientIds.isEmpty()) {
+			return ResponseEntity.badRequest().build();
+		}
+		checkBatchSize(patientIds);
+		return ResponseEntity.ok(riskLevelNotificationService.subscribe(patientIds));
+	}
+
+	@ExceptionHandler(PatientNotFoundException.class)
+	public ResponseEntity<String> handlePatientNotFoundException(PatientNotFoundException ex) {
+		log.warn("PatientNotFoundException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
+
+	/**
+	 * Rejects the subscriptions to more patients than allowed, as their current risk levels are evaluated at once.
+	 *
+	 * @throws BatchTooLargeException If the subscription exceeds the maximum size.
+	 */
+	private void checkBatchSize(List<Long> ids) {
+		if (ids.size() > maxBatchSize) {
+			throw new BatchTooLargeException(ids.size(), maxBatchSize);
+		}
+	}
+
+	@ExceptionHandler(BatchTooLargeException.class)
+	public ResponseEntity<String> handleBatchTooLargeException(BatchTooLargeException ex) {
+		log.warn("BatchTooLargeException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
+}
@@ -0,0 +1,52 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.controller.dto.TriggerLexiconResponse;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.exception.InvalidTriggerLexiconException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.TriggerLexiconService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/risk-evaluator/lexicon")
+public class TriggerLexiconController {
+	private final TriggerLexiconService triggerLexiconService;
+
+	public TriggerLexiconController(TriggerLexiconService triggerLexiconService) {
+		this.triggerLexiconService = triggerLexiconService;
+	}
+
+	@GetMapping
+	public ResponseEntity<TriggerLexiconResponse> getLexicon() {
+		log.info("GET /risk-evaluator/lexicon: Retrieving the active trigger lexicon");
+		return toResponse(triggerLexiconService.getLexicon());
+	}
+
+	@PostMapping("/reload")
+	public ResponseEntity<TriggerLexiconResponse> reloadLexicon() {
+		log.info("POST /risk-evaluator/lexicon/reload: Reloading the trigger lexicon");
+		return toResponse(triggerLexiconService.reload());
+	}
+
+	@ExceptionHandler(InvalidTriggerLexiconException.class)
+	public ResponseEntity<String> handleInvalidTriggerLexiconException(InvalidTriggerLexiconException ex) {
+		log.warn("InvalidTriggerLexiconException: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(ex.getMessage());
+	}
+
+	private static ResponseEntity<TriggerLexiconResponse> toResponse(TriggerLexicon lexicon) {
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new TriggerLexiconResponse(lexicon.getVersion(), lexicon.getVariants()));
+	}
+}
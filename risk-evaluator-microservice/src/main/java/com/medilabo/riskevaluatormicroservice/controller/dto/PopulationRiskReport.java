@@ -0,0 +1,23 @@
+package com.medilabo.riskevaluatormicroservice.controller.dto;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Risk distribution across all the patients, as computed by a population risk scan.
+ *
+ * @param generatedAt          The end time of the scan.
+ * @param patientCount         The number of patients evaluated.
+ * @param riskLevelCounts      The number of patients of every risk level.
+ * @param earlyOnsetPatientIds The IDs of the patients evaluated {@link RiskLevel#EARLY_ONSET}, in ascending order.
+ * @param inDangerPatientIds   The IDs of the patients evaluated {@link RiskLevel#IN_DANGER}, in ascending order.
+ */
+public record PopulationRiskReport(Instant generatedAt,
+								   long patientCount,
+								   Map<RiskLevel, Long> riskLevelCounts,
+								   List<Long> earlyOnsetPatientIds,
+								   List<Long> inDangerPatientIds) {
+}
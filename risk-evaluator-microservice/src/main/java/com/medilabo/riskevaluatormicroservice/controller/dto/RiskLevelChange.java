@@ -0,0 +1,12 @@
+package com.medilabo.riskevaluatormicroservice.controller.dto;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+
+/**
+ * Risk level of a patient, pushed to the subscribers of his risk level changes.
+ *
+ * @param patientId The ID of the patient.
+ * @param riskLevel The current risk level of the patient.
+ */
+public record RiskLevelChange(Long patientId, RiskLevel riskLevel) {
+}
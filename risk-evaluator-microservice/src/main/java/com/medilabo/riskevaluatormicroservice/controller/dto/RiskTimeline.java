@@ -0,0 +1,14 @@
+package com.medilabo.riskevaluatormicroservice.controller.dto;
+
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskTimelinePoint;
+
+import java.util.List;
+
+/**
+ * Risk level of a patient after each of his medical notes, oldest first.
+ *
+ * @param patientId The ID of the patient.
+ * @param points    The risk level after every note, in the order the notes were written.
+ */
+public record RiskTimeline(Long patientId, List<RiskTimelinePoint> points) {
+}
@@ -0,0 +1,15 @@
+package com.medilabo.riskevaluatormicroservice.controller.dto;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Active trigger lexicon of the risk evaluator.
+ *
+ * @param version  The version of the lexicon, which changes whenever its content changes.
+ * @param variants The normalized variants of every trigger term.
+ */
+public record TriggerLexiconResponse(String version, Map<TriggerTerm, Set<String>> variants) {
+}
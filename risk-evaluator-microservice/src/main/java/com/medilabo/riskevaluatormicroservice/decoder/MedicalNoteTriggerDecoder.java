@@ -0,0 +1,232 @@
+package com.medilabo.riskevaluatormicroservice.decoder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.NoteTokenizer;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming decoder of the medical note arrays returned by the medical note microservice, which scans the notes for
+ * trigger terms while parsing them.
+ * <p>
+ * The JSON array is read token by token with a Jackson streaming parser: the text of every {@code note} field is fed to
+ * the {@link TriggerTermMatcher} straight from the parser buffer, and the other fields are skipped without being
+ * materialized. Memory therefore depends on the length of the longest note only, not on the number of notes.
+ * The same array encoded in CBOR is read the same way, with the CBOR parser, when its content type says so.
+ * <p>
+ * Decoded masks use the same bits as the trigger masks of the medical note microservice: bit {@code i} is set when the
+ * trigger term of ordinal {@code i} was found.
+ */
+public final class MedicalNoteTriggerDecoder {
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final JsonFactory CBOR_FACTORY = new CBORFactory();
+
+	private static final String PAT_ID_FIELD = "patId";
+	private static final String NOTE_FIELD = "note";
+
+	private MedicalNoteTriggerDecoder() {
+	}
+
+	/**
+	 * Decodes the medical notes of a patient and returns the trigger terms of the built-in lexicon found in them.
+	 *
+	 * @see #decodeTriggerMask(InputStream, TriggerTermMatcher)
+	 */
+	public static int decodeTriggerMask(InputStream body) throws IOException {
+		return decodeTriggerMask(body, TriggerTermMatcher.getInstance());
+	}
+
+	/**
+	 * Decodes the medical notes of a patient and returns the trigger terms found in them.
+	 * Reading stops as soon as every trigger term has been found.
+	 *
+	 * @param body    The JSON array of the medical notes, may be null (no notes).
+	 * @param matcher The matcher of the trigger lexicon to apply.
+	 *
+	 * @return The bitmask of the trigger terms found in the notes.
+	 *
+	 * @throws IOException If the body cannot be read or is not a JSON array of objects.
+	 */
+	public static int decodeTriggerMask(InputStream body, TriggerTermMatcher matcher) throws IOException {
+		return decodeTriggerMask(body, null, matcher);
+	}
+
+	/**
+	 * Decodes the medical notes of a patient, in the format of the given content type, and returns the trigger terms
+	 * found in them.
+	 *
+	 * @param body        The array of the medical notes, may be null (no notes).
+	 * @param contentType The content type of the body: {@code application/cbor}, JSON otherwise (or if null).
+	 * @param matcher     The matcher of the trigger lexicon to apply.
+	 *
+	 * @see #decodeTriggerMask(InputStream, TriggerTermMatcher)
+	 */
+	public static int decodeTriggerMask(InputStream body, String contentType, TriggerTermMatcher matcher) throws IOException {
+		TriggerTermMatcher.Scan scan = matcher.newScan();
+		if (body == null) {
+			return scan.mask();
+		}
+
+		try (JsonParser parser = factory(contentType).createParser(body)) {
+			if (!startArray(parser)) {
+				return scan.mask();
+			}
+			while (nextObject(parser)) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String field = parser.currentName();
+					JsonToken value = parser.nextToken();
+					if (NOTE_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+						NoteTokenizer.tokenize(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength(), scan);
+						if (scan.isComplete()) {
+							return scan.mask();
+						}
+					} else {
+						parser.skipChildren();
+					}
+				}
+			}
+		}
+		return scan.mask();
+	}
+
+	/**
+	 * Decodes the medical notes of several patients and returns the trigger terms of the built-in lexicon found in the
+	 * notes of every patient.
+	 *
+	 * @see #decodeTriggerMasks(InputStream, TriggerTermMatcher)
+	 */
+	public static Map<Long, Integer> decodeTriggerMasks(InputStream body) throws IOException {
+		return decodeTriggerMasks(body, TriggerTermMatcher.getInstance());
+	}
+
+	/**
+	 * Decodes the medical notes of several patients and returns the trigger terms found in the notes of every patient.
+	 * Notes are usually serialized with their {@code patId} before their {@code note}, in which case they are scanned
+	 * straight from the parser buffer; otherwise the text of the note is kept until the patient is known.
+	 *
+	 * @param body    The JSON array of the medical notes, may be null (no notes).
+	 * @param matcher The matcher of the trigger lexicon to apply.
+	 *
+	 * @return The bitmask of the trigger terms found in the notes of every patient having some, by patient ID.
+	 *
+	 * @throws IOException If the body cannot be read or is not a JSON array of objects.
+	 */
+	public static Map<Long, Integer> decodeTriggerMasks(InputStream body, TriggerTermMatcher matcher) throws IOException {
+		return decodeTriggerMasks(body, null, matcher);
+	}
+
+	/**
+	 * Decodes the medical notes of several patients, in the format of the given content type, and returns the trigger
+	 * terms found in the notes of every patient.
+	 *
+	 * @param body        The array of the medical notes, may be null (no notes).
+	 * @param contentType The content type of the body: {@code application/cbor}, JSON otherwise (or if null).
+	 * @param matcher     The matcher of the trigger lexicon to apply.
+	 *
+	 * @see #decodeTriggerMasks(InputStream, TriggerTermMatcher)
+	 */
+	public static Map<Long, Integer> decodeTriggerMasks(InputStream body, String contentType, TriggerTermMatcher matcher)
+			throws IOException {
+		Map<Long, TriggerTermMatcher.Scan> scans = new HashMap<>();
+		if (body == null) {
+			return Map.of();
+		}
+
+		try (JsonParser parser = factory(contentType).createParser(body)) {
+			if (!startArray(parser)) {
+				return Map.of();
+			}
+			while (nextObject(parser)) {
+				Long patId = null;
+				char[] pendingNote = null;
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String field = parser.currentName();
+					JsonToken value = parser.nextToken();
+					if (PAT_ID_FIELD.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+						patId = parser.getLongValue();
+					} else if (NOTE_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+						if (patId != null) {
+							scan(scans, matcher, patId, parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+						} else {
+							int offset = parser.getTextOffset();
+							pendingNote = Arrays.copyOfRange(parser.getTextCharacters(), offset, offset + parser.getTextLength());
+						}
+					} else {
+						parser.skipChildren();
+					}
+				}
+				if (pendingNote != null && patId != null) {
+					scan(scans, matcher, patId, pendingNote, 0, pendingNote.length);
+				}
+			}
+		}
+
+		Map<Long, Integer> masks = new HashMap<>(scans.size() * 2);
+		scans.forEach((patId, scan) -> masks.put(patId, scan.mask()));
+		return masks;
+	}
+
+	private static void scan(Map<Long, TriggerTermMatcher.Scan> scans, TriggerTermMatcher matcher, Long patId,
+							 char[] text, int offset, int length) {
+		TriggerTermMatcher.Scan scan = scans.computeIfAbsent(patId, id -> matcher.newScan());
+		if (!scan.isComplete()) {
+			NoteTokenizer.tokenize(text, offset, length, scan);
+		}
+	}
+
+	/**
+	 * Returns the parser factory of a content type: CBOR for {@code application/cbor}, JSON for any other or no type.
+	 */
+	private static JsonFactory factory(String contentType) {
+		if (contentType == null) {
+			return JSON_FACTORY;
+		}
+		try {
+			return MediaType.APPLICATION_CBOR.isCompatibleWith(MediaType.parseMediaType(contentType)) ? CBOR_FACTORY : JSON_FACTORY;
+		} catch (InvalidMediaTypeException ex) {
+			return JSON_FACTORY;
+		}
+	}
+
+	/**
+	 * Moves to the start of the array of notes.
+	 *
+	 * @return {@code false} if the body is empty.
+	 */
+	private static boolean startArray(JsonParser parser) throws IOException {
+		JsonToken token = parser.nextToken();
+		if (token == null) {
+			return false;
+		}
+		if (token != JsonToken.START_ARRAY) {
+			throw new IOException("Expected a JSON array of medical notes but found " + token);
+		}
+		return true;
+	}
+
+	/**
+	 * Moves to the start of the next note.
+	 *
+	 * @return {@code false} at the end of the array.
+	 */
+	private static boolean nextObject(JsonParser parser) throws IOException {
+		JsonToken token = parser.nextToken();
+		if (token == JsonToken.END_ARRAY) {
+			return false;
+		}
+		if (token != JsonToken.START_OBJECT) {
+			throw new IOException("Expected a medical note object but found " + token);
+		}
+		return true;
+	}
+}
@@ -0,0 +1,26 @@
+package com.medilabo.riskevaluatormicroservice.domain.enums;
+
+/**
+ * Source of the trigger terms of a patient, selected with the {@code risk-evaluator.trigger-source} property.
+ */
+public enum TriggerSource {
+	/** The medical notes are downloaded and scanned by the risk evaluator. */
+	NOTES,
+	/**
+	 * The trigger masks computed when the notes are written are downloaded from the medical note microservice. The
+	 * notes are downloaded and scanned instead when the masks were computed with another lexicon or matching settings
+	 * than the active ones.
+	 */
+	MASK,
+	/**
+	 * The medical notes are downloaded and scanned while being parsed, without materializing them (blocking path
+	 * only, the reactive path scans the downloaded notes as for {@link #NOTES}).
+	 */
+	STREAM,
+	/**
+	 * The distinct trigger terms found in the notes are downloaded from the medical note microservice, which decodes
+	 * them from the trigger masks of the notes. The notes are downloaded and scanned instead when the masks were
+	 * computed with another lexicon or matching settings than the active ones.
+	 */
+	TERMS
+}
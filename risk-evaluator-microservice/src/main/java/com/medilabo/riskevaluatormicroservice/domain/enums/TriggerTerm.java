@@ -1,13 +1,19 @@
 package com.medilabo.riskevaluatormicroservice.domain.enums;
 
-import java.text.Normalizer;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.NoteTokenizer;
+
 import java.util.Arrays;
-import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Terms of the medical notes indicating a risk of diabetes. A variant of several words is a phrase, found when its
+ * words appear in order with at most one other word between two of them.
+ * <b>WARNING</b>: The ordinal of a term is its bit in the trigger masks persisted by the medical note microservice and
+ * read by the risk evaluator. New terms must be appended, and the copies of this enum in both services kept identical.
+ */
 public enum TriggerTerm {
-	HEMOGLOBINE_A1C("hemoglobine", "a1c"),
+	HEMOGLOBINE_A1C("hemoglobine a1c"),
 	MICROALBUMINE("microalbumine"),
 	TAILLE("taille"),
 	POIDS("poids"),
@@ -16,7 +22,7 @@ public enum TriggerTerm {
 	CHOLESTEROL("cholesterol"),
 	VERTIGES("vertige", "vertiges"),
 	RECHUTE("rechute"),
-	REACTION("reaction"),
+	REACTION("reaction allergique", "reaction aux medicaments", "reaction medicamenteuse"),
 	ANTICORPS("anticorps");
 
 	private final Set<String> normalizedVariants;
@@ -24,11 +30,18 @@ public enum TriggerTerm {
 	TriggerTerm(String... variants) {
 		this.normalizedVariants = Arrays.stream(variants)
 				.map(TriggerTerm::normalize)
-				.collect(Collectors.toSet());
+				.collect(Collectors.toUnmodifiableSet());
+	}
+
+	/**
+	 * Returns the normalized spellings (lowercase, without accents) of this trigger term.
+	 */
+	public Set<String> getNormalizedVariants() {
+		return normalizedVariants;
 	}
 
 	/**
-	 * Indicates if the given raw word matches any of the trigger term variants.
+	 * Indicates if the given raw word matches any of the single-word trigger term variants.
 	 */
 	public boolean matches(String rawWord) {
 		String normalizedWord = normalize(rawWord);
@@ -38,15 +51,10 @@ public enum TriggerTerm {
 	/**
 	 * Normalizes a string by:</br>
 	 * - lowercase</br>
-	 * - accent removal
+	 * - accent removal</br>
+	 * The folding rules are shared with the {@link NoteTokenizer} scanning the medical notes.
 	 */
-	private static String normalize(String input) {
-		if (input == null) {
-			return "";
-		}
-
-		String lower = input.toLowerCase(Locale.ROOT);
-		return Normalizer.normalize(lower, Normalizer.Form.NFD)
-				.replaceAll("\\p{M}+", "");
+	public static String normalize(String input) {
+		return NoteTokenizer.normalize(input);
 	}
 }
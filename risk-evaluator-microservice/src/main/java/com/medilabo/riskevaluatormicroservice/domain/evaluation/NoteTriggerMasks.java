@@ -0,0 +1,65 @@
+package com.medilabo.riskevaluatormicroservice.domain.evaluation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.NoteTokenizer;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+
+/**
+ * Bounded memo of the trigger mask of every medical note already scanned, so that a note is tokenized once and not at
+ * every evaluation of its patient. Medical notes cannot be updated once created, so the mask of a note only changes
+ * with the trigger lexicon: masks are keyed by note ID and lexicon version, and the masks of a replaced lexicon are
+ * evicted as the memo fills up. Notes without an ID are scanned every time.
+ * Instances are thread-safe.
+ */
+public class NoteTriggerMasks {
+	private final Cache<Key, Integer> masks;
+
+	/**
+	 * Key of the trigger mask of a note: a note gets a new mask when the trigger lexicon changes.
+	 */
+	record Key(String noteId, String lexiconVersion) {
+	}
+
+	/**
+	 * Creates a memo holding the trigger masks of at most the given number of notes, the least recently used ones
+	 * being evicted first.
+	 */
+	public NoteTriggerMasks(long maximumSize) {
+		this.masks = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Returns the trigger mask of a medical note, scanning it only if it has not been scanned with this lexicon yet.
+	 * The mask of a note is the same as if it were scanned along with the other notes of its patient, as no phrase
+	 * spans two notes.
+	 *
+	 * @param medicalNote The medical note.
+	 * @param matcher     The trigger term matcher of the evaluation.
+	 *
+	 * @return The bitmask of the trigger terms found in the note.
+	 */
+	public int getMask(MedicalNoteBean medicalNote, TriggerTermMatcher matcher) {
+		if (medicalNote.getId() == null) {
+			return scan(medicalNote, matcher);
+		}
+		return masks.get(new Key(medicalNote.getId(), matcher.getVersion()), key -> scan(medicalNote, matcher));
+	}
+
+	/**
+	 * Returns the underlying cache, to publish its statistics.
+	 */
+	public Cache<?, ?> getCache() {
+		return masks;
+	}
+
+	private static int scan(MedicalNoteBean medicalNote, TriggerTermMatcher matcher) {
+		TriggerTermMatcher.Scan scan = matcher.newScan();
+		NoteTokenizer.tokenize(medicalNote.getNote(), scan);
+		return scan.mask();
+	}
+}
@@ -0,0 +1,251 @@
+package com.medilabo.riskevaluatormicroservice.domain.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.NoteTokenizer;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import com.medilabo.riskevaluatormicroservice.utils.AgeUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pure computation of the risk level of a patient from their data and medical notes, without any I/O.
+ * It is shared by the blocking and the reactive risk evaluator services, so that both always apply the same rules.
+ * Instances are thread-safe: the trigger term matcher is read once per evaluation, so a trigger lexicon reloaded
+ * meanwhile applies to the next evaluations only. The only state is the optional {@link NoteTriggerMasks} memo, which
+ * spares scanning again the notes already scanned with the same lexicon.
+ */
+@Slf4j
+public class RiskEvaluationKernel {
+	private static final String BIRTH_DATE_PATTERN = "yyyy-MM-dd";
+
+	private final RiskRuleTable riskRuleTable;
+	private final Supplier<TriggerTermMatcher> triggerTermMatcher;
+	private final NoteTriggerMasks noteTriggerMasks;
+
+	/**
+	 * Creates a kernel applying the default risk protocol (see {@link RiskRuleTable#DEFAULT_RULES}).
+	 */
+	public RiskEvaluationKernel() {
+		this(RiskRuleTable.getDefault());
+	}
+
+	/**
+	 * Creates a kernel applying a compiled risk protocol, with the built-in trigger lexicon.
+	 */
+	public RiskEvaluationKernel(RiskRuleTable riskRuleTable) {
+		this(riskRuleTable, TriggerTermMatcher::getInstance);
+	}
+
+	/**
+	 * Creates a kernel applying a compiled risk protocol, with the trigger term matcher active at every evaluation.
+	 */
+	public RiskEvaluationKernel(RiskRuleTable riskRuleTable, Supplier<TriggerTermMatcher> triggerTermMatcher) {
+		this(riskRuleTable, triggerTermMatcher, null);
+	}
+
+	/**
+	 * Creates a kernel applying a compiled risk protocol, with the trigger term matcher active at every evaluation and
+	 * a memo of the trigger masks of the notes already scanned (null to scan every note at every evaluation).
+	 */
+	public RiskEvaluationKernel(RiskRuleTable riskRuleTable, Supplier<TriggerTermMatcher> triggerTermMatcher,
+								NoteTriggerMasks noteTriggerMasks) {
+		this.riskRuleTable = riskRuleTable;
+		this.triggerTermMatcher = triggerTermMatcher;
+		this.noteTriggerMasks = noteTriggerMasks;
+	}
+
+	/**
+	 * Returns the trigger term matcher compiled from the active trigger lexicon.
+	 */
+	public TriggerTermMatcher getTriggerTermMatcher() {
+		return triggerTermMatcher.get();
+	}
+
+	/**
+	 * Indicates if the trigger masks or terms found by the medical note service can be counted as they are. The bits of
+	 * a mask, like the terms found, depend on the lexicon and phrase gap they were computed with: they are only counted
+	 * when their version is the mask version of the active matcher (see {@link TriggerTermMatcher#getMaskVersion()}),
+	 * and the medical notes must be scanned otherwise. So must they when the active matcher tolerates typos, as the
+	 * medical note service matches the variants exactly.
+	 *
+	 * @param lexiconVersion The version of the masks the medical note service computed, null if unknown.
+	 *
+	 * @return True if the active matcher would have found the same trigger terms.
+	 */
+	public boolean acceptsBackendTriggers(String lexiconVersion) {
+		TriggerTermMatcher matcher = getTriggerTermMatcher();
+		return matcher.getMaxEditDistance() == 0 && matcher.getMaskVersion().equals(lexiconVersion);
+	}
+
+	/**
+	 * Evaluates the risk level for a patient based on their medical notes and other relevant data.
+	 *
+	 * @param patient      The patient for whom the risk level is to be evaluated.
+	 * @param medicalNotes The list of medical notes associated with the patient, which may contain relevant information
+	 *                     for risk evaluation.
+	 *
+	 * @return The calculated risk level for the patient.
+	 */
+	public RiskLevel evaluate(PatientBean patient, List<MedicalNoteBean> medicalNotes) {
+		int triggerCount = medicalNotes == null ? 0 : getTriggerCount(medicalNotes);
+		return evaluate(patient, triggerCount);
+	}
+
+	/**
+	 * Evaluates the risk level for a patient based on the number of distinct trigger terms found in their medical notes
+	 * and other relevant data, with a single read of the compiled {@link RiskRuleTable}.
+	 *
+	 * @param patient      The patient for whom the risk level is to be evaluated.
+	 * @param triggerCount The number of distinct trigger terms found in the medical notes of the patient.
+	 *
+	 * @return The calculated risk level for the patient.
+	 */
+	public RiskLevel evaluate(PatientBean patient, int triggerCount) {
+		int patientAge = AgeUtils.calculateAgeFromBirthdate(patient.getBirthDate(), BIRTH_DATE_PATTERN);
+		String patientGender = patient.getGender();
+		log.debug("Patient ID '{}' infos: Age -> {}, Gender -> {}, Triggers -> {}", patient.getId(), patientAge,
+				patientGender, triggerCount);
+
+		return riskRuleTable.lookup(patientGender, patientAge, triggerCount);
+	}
+
+	/**
+	 * Evaluates the risk level a patient had at a given date, from the number of distinct trigger terms found in the
+	 * medical notes written until then.
+	 *
+	 * @param patient      The patient for whom the risk level is to be evaluated.
+	 * @param date         The date of the evaluation, which gives the age of the patient.
+	 * @param triggerCount The number of distinct trigger terms found in the medical notes written until the date.
+	 *
+	 * @return The risk level of the patient at the date.
+	 */
+	public RiskLevel evaluate(PatientBean patient, LocalDate date, int triggerCount) {
+		int patientAge = AgeUtils.calculateAgeFromBirthdate(patient.getBirthDate(), BIRTH_DATE_PATTERN, date);
+		return riskRuleTable.lookup(patient.getGender(), patientAge, triggerCount);
+	}
+
+	/**
+	 * Evaluates the risk level of a patient after each of his medical notes, in a single pass over the notes.
+	 * The trigger terms are accumulated note by note in a single scan, so every note is tokenized once (and not at
+	 * all once every trigger term has been found) instead of re-evaluating every prefix of the history, and the notes
+	 * already in the {@link NoteTriggerMasks} memo are not tokenized again. The age of the
+	 * patient is computed at the creation date of every note, or today for the notes without one.
+	 *
+	 * @param patient      The patient for whom the risk levels are to be evaluated.
+	 * @param medicalNotes The medical notes of the patient, oldest first.
+	 *
+	 * @return The risk level of the patient after every note, in the order of the notes.
+	 */
+	public List<RiskTimelinePoint> evaluateTimeline(PatientBean patient, List<MedicalNoteBean> medicalNotes) {
+		LocalDate birthDate = LocalDate.parse(patient.getBirthDate(), DateTimeFormatter.ofPattern(BIRTH_DATE_PATTERN));
+		LocalDate today = LocalDate.now();
+		TriggerTermMatcher matcher = getTriggerTermMatcher();
+		TriggerTermMatcher.Scan scan = noteTriggerMasks == null ? matcher.newScan() : null;
+
+		List<RiskTimelinePoint> timeline = new ArrayList<>(medicalNotes.size());
+		int mask = 0;
+		for (MedicalNoteBean medicalNote : medicalNotes) {
+			if (!matcher.isComplete(mask)) {
+				mask |= scan(medicalNote, matcher, scan);
+			}
+			LocalDate noteDate = medicalNote.getCreatedAt() == null ? today : toLocalDate(medicalNote.getCreatedAt());
+			int age = AgeUtils.calculateAge(birthDate, noteDate);
+			timeline.add(new RiskTimelinePoint(medicalNote.getId(), medicalNote.getCreatedAt(), age,
+					TriggerTermMatcher.toTerms(mask), riskRuleTable.lookup(patient.getGender(), age, Integer.bitCount(mask))));
+		}
+		return timeline;
+	}
+
+	/**
+	 * Converts the creation date of a medical note to the date it was written, in UTC as the notes are stored.
+	 */
+	public static LocalDate toLocalDate(Date createdAt) {
+		return LocalDate.ofInstant(createdAt.toInstant(), ZoneOffset.UTC);
+	}
+
+	/**
+	 * Counts the number of trigger terms found in the medical notes of a patient.
+	 *
+	 * @param medicalNotes The list of medical notes associated with the patient, which may contain relevant information
+	 *                     for risk evaluation.
+	 *
+	 * @return The count of trigger terms found in the medical notes.
+	 */
+	public int getTriggerCount(List<MedicalNoteBean> medicalNotes) {
+		Set<TriggerTerm> triggerTerms = getTriggerTerms(medicalNotes);
+		log.debug("Extracted trigger terms from medical notes: {}", triggerTerms);
+
+		return triggerTerms.size();
+	}
+
+	/**
+	 * Counts the number of trigger terms of a trigger mask computed by the medical note service.
+	 *
+	 * @param triggerMask The bitmask of the trigger terms found in the medical notes of a patient.
+	 *
+	 * @return The count of trigger terms in the mask.
+	 */
+	public int getTriggerCount(int triggerMask) {
+		return Integer.bitCount(triggerMask);
+	}
+
+	/**
+	 * Counts the number of trigger terms found by the medical note service in the medical notes of a patient.
+	 *
+	 * @param triggerTerms The distinct trigger terms found in the medical notes of a patient, may be null.
+	 *
+	 * @return The count of trigger terms.
+	 */
+	public int getTriggerCount(Set<TriggerTerm> triggerTerms) {
+		return triggerTerms == null ? 0 : triggerTerms.size();
+	}
+
+	/**
+	 * Extracts the trigger terms from the medical notes of a patient.
+	 * Each note is tokenized in a single pass by the {@link NoteTokenizer}, which feeds the compiled
+	 * {@link TriggerTermMatcher} without allocating intermediate strings, unless its mask is already in the
+	 * {@link NoteTriggerMasks} memo. The scan stops as soon as every trigger term has been found.
+	 *
+	 * @param medicalNotes The list of medical notes associated with the patient, which may contain relevant information
+	 *                     for risk evaluation.
+	 *
+	 * @return The set of unique trigger terms found in the medical notes.
+	 */
+	public Set<TriggerTerm> getTriggerTerms(List<MedicalNoteBean> medicalNotes) {
+		TriggerTermMatcher matcher = getTriggerTermMatcher();
+		TriggerTermMatcher.Scan scan = noteTriggerMasks == null ? matcher.newScan() : null;
+
+		int mask = 0;
+		for (MedicalNoteBean medicalNote : medicalNotes) {
+			mask |= scan(medicalNote, matcher, scan);
+			if (matcher.isComplete(mask)) {
+				break;
+			}
+		}
+
+		return TriggerTermMatcher.toTerms(mask);
+	}
+
+	/**
+	 * Returns the trigger mask of a medical note from the memo, or else the mask of the shared scan once the note has
+	 * been fed to it. Both can be combined, as no phrase spans two notes.
+	 */
+	private int scan(MedicalNoteBean medicalNote, TriggerTermMatcher matcher, TriggerTermMatcher.Scan scan) {
+		if (noteTriggerMasks != null) {
+			return noteTriggerMasks.getMask(medicalNote, matcher);
+		}
+		NoteTokenizer.tokenize(medicalNote.getNote(), scan);
+		return scan.mask();
+	}
+}
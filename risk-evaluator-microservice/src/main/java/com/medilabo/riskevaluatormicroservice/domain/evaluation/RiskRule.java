@@ -0,0 +1,33 @@
+package com.medilabo.riskevaluatormicroservice.domain.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+
+/**
+ * Rule of the risk protocol: patients of the given gender, age and number of distinct trigger terms have the given
+ * risk level. Bounds are inclusive; a null gender or bound matches any value.
+ *
+ * @param gender      The gender of the patients ("M" or "F"), or null for any gender.
+ * @param minAge      The minimum age of the patients, or null.
+ * @param maxAge      The maximum age of the patients, or null.
+ * @param minTriggers The minimum number of distinct trigger terms, or null.
+ * @param maxTriggers The maximum number of distinct trigger terms, or null.
+ * @param level       The risk level of the matching patients.
+ */
+public record RiskRule(String gender,
+					   Integer minAge,
+					   Integer maxAge,
+					   Integer minTriggers,
+					   Integer maxTriggers,
+					   RiskLevel level) {
+
+	/**
+	 * Indicates if the rule applies to a patient.
+	 */
+	boolean matches(String patientGender, int age, int triggers) {
+		return (gender == null || gender.equalsIgnoreCase(patientGender))
+				&& (minAge == null || age >= minAge)
+				&& (maxAge == null || age <= maxAge)
+				&& (minTriggers == null || triggers >= minTriggers)
+				&& (maxTriggers == null || triggers <= maxTriggers);
+	}
+}
@@ -0,0 +1,136 @@
+package com.medilabo.riskevaluatormicroservice.domain.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+
+import java.util.List;
+
+/**
+ * Risk protocol compiled into a dense lookup table.
+ * <p>
+ * The rules are evaluated once for every combination of gender ("M", "F" or any other value), age and number of
+ * distinct trigger terms: the first matching rule gives the risk level of the combination, {@link RiskLevel#NONE} when
+ * none matches. Evaluating a patient is then a single indexed read, whatever the number of rules.
+ * Ages and trigger counts beyond the table are clamped to its last row, so open-ended rules must start within it.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class RiskRuleTable {
+	/** Last age of the table. */
+	static final int MAX_AGE = 130;
+	/** Last trigger count of the table: a trigger mask holds at most 32 terms. */
+	static final int MAX_TRIGGERS = Integer.SIZE;
+
+	private static final String[] GENDERS = {"M", "F", null};
+	private static final int AGES = MAX_AGE + 1;
+	private static final int TRIGGER_COUNTS = MAX_TRIGGERS + 1;
+	private static final RiskLevel[] LEVELS = RiskLevel.values();
+
+	/**
+	 * Rules of the original protocol, used when none are configured.
+	 * <b>WARNING</b>: No rule covers patients aged exactly 30, as the requirements do not specify the risk evaluation
+	 * criteria for this age group: their risk level is <em>RiskLevel.NONE</em>.
+	 */
+	public static final List<RiskRule> DEFAULT_RULES = List.of(
+			new RiskRule(null, null, null, null, 0, RiskLevel.NONE),
+			new RiskRule("M", null, 29, 5, null, RiskLevel.EARLY_ONSET),
+			new RiskRule("M", null, 29, 3, 3, RiskLevel.IN_DANGER),
+			new RiskRule("F", null, 29, 7, null, RiskLevel.EARLY_ONSET),
+			new RiskRule("F", null, 29, 4, 4, RiskLevel.IN_DANGER),
+			new RiskRule(null, 31, null, 8, null, RiskLevel.EARLY_ONSET),
+			new RiskRule(null, 31, null, 6, 7, RiskLevel.IN_DANGER),
+			new RiskRule(null, 31, null, 2, 5, RiskLevel.BORDERLINE)
+	);
+
+	private static final RiskRuleTable DEFAULT = compile(DEFAULT_RULES);
+
+	/** Ordinal of the risk level of every combination, see {@link #index(int, int, int)}. */
+	private final byte[] levels;
+
+	private RiskRuleTable(byte[] levels) {
+		this.levels = levels;
+	}
+
+	/**
+	 * Returns the table compiled from the {@link #DEFAULT_RULES}.
+	 */
+	public static RiskRuleTable getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Compiles rules into a lookup table.
+	 *
+	 * @param rules The rules, by decreasing priority.
+	 *
+	 * @return The compiled table.
+	 *
+	 * @throws IllegalArgumentException If a rule has no risk level, an unknown gender or inconsistent bounds.
+	 */
+	public static RiskRuleTable compile(List<RiskRule> rules) {
+		rules.forEach(RiskRuleTable::validate);
+
+		byte[] levels = new byte[GENDERS.length * AGES * TRIGGER_COUNTS];
+		for (int gender = 0; gender < GENDERS.length; gender++) {
+			for (int age = 0; age < AGES; age++) {
+				for (int triggers = 0; triggers < TRIGGER_COUNTS; triggers++) {
+					levels[index(gender, age, triggers)] = (byte) firstMatch(rules, GENDERS[gender], age, triggers).ordinal();
+				}
+			}
+		}
+		return new RiskRuleTable(levels);
+	}
+
+	/**
+	 * Looks up the risk level of a patient.
+	 *
+	 * @param gender   The gender of the patient, may be null.
+	 * @param age      The age of the patient.
+	 * @param triggers The number of distinct trigger terms found in the medical notes of the patient.
+	 *
+	 * @return The risk level of the patient.
+	 */
+	public RiskLevel lookup(String gender, int age, int triggers) {
+		int clampedAge = Math.min(Math.max(age, 0), MAX_AGE);
+		int clampedTriggers = Math.min(Math.max(triggers, 0), MAX_TRIGGERS);
+		return LEVELS[levels[index(genderIndex(gender), clampedAge, clampedTriggers)]];
+	}
+
+	private static int index(int gender, int age, int triggers) {
+		return (gender * AGES + age) * TRIGGER_COUNTS + triggers;
+	}
+
+	private static int genderIndex(String gender) {
+		if ("M".equalsIgnoreCase(gender)) return 0;
+		if ("F".equalsIgnoreCase(gender)) return 1;
+		return 2;
+	}
+
+	private static RiskLevel firstMatch(List<RiskRule> rules, String gender, int age, int triggers) {
+		for (RiskRule rule : rules) {
+			if (rule.matches(gender, age, triggers)) {
+				return rule.level();
+			}
+		}
+		return RiskLevel.NONE;
+	}
+
+	private static void validate(RiskRule rule) {
+		if (rule.level() == null) {
+			throw new IllegalArgumentException("Risk rule without level: " + rule);
+		}
+		if (rule.gender() != null && genderIndex(rule.gender()) == 2) {
+			throw new IllegalArgumentException("Risk rule with unknown gender (expected M or F): " + rule);
+		}
+		if (rule.minAge() != null && rule.maxAge() != null && rule.minAge() > rule.maxAge()) {
+			throw new IllegalArgumentException("Risk rule with min-age greater than max-age: " + rule);
+		}
+		if (rule.minTriggers() != null && rule.maxTriggers() != null && rule.minTriggers() > rule.maxTriggers()) {
+			throw new IllegalArgumentException("Risk rule with min-triggers greater than max-triggers: " + rule);
+		}
+		if ((rule.minAge() != null && rule.minAge() > MAX_AGE)
+				|| (rule.minTriggers() != null && rule.minTriggers() > MAX_TRIGGERS)) {
+			throw new IllegalArgumentException("Risk rule starting beyond the table (age " + MAX_AGE + ", "
+					+ MAX_TRIGGERS + " triggers): " + rule);
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.medilabo.riskevaluatormicroservice.domain.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Risk level of a patient right after one of his medical notes was written.
+ *
+ * @param noteId       The ID of the medical note.
+ * @param createdAt    The creation date of the medical note, null if unknown.
+ * @param age          The age of the patient when the note was written.
+ * @param triggerTerms The distinct trigger terms found in this note and all the previous ones.
+ * @param riskLevel    The risk level of the patient when the note was written.
+ */
+public record RiskTimelinePoint(String noteId, Date createdAt, int age, Set<TriggerTerm> triggerTerms,
+								RiskLevel riskLevel) {
+}
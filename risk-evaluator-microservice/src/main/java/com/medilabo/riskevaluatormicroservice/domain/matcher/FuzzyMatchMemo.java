@@ -0,0 +1,131 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded memo of the fuzzy matches of the folded tokens, shared by the matchers compiled from the successive lexicons.
+ * Clinical notes reuse a small working vocabulary, so most tokens missing the exact variants were already compared
+ * with the trie: their result (the terms and phrase word of the closest variants, or no match) is read from the memo
+ * instead of walking the trie again. Tokens are at most a few dozen characters long, so the number of entries caps
+ * the memory footprint.
+ * <p>
+ * Every matcher gets its own generation, part of the keys, so that a scan still in progress with a replaced matcher
+ * never feeds the new one. A hit allocates nothing: every scan looks the memo up with its own reusable key over its
+ * token buffer, which is copied into a new key on a miss only. Instances are thread-safe.
+ */
+public final class FuzzyMatchMemo {
+	private final Cache<Key, Match> matches;
+	private final AtomicInteger generations = new AtomicInteger();
+
+	/**
+	 * Key of a fuzzy match: the folded token, for the matcher of a generation.
+	 * The lookup keys are views over the token buffer of a scan, set to the current token before every lookup; the
+	 * keys held by the memo own a copy of their token.
+	 */
+	static final class Key {
+		private final int generation;
+		private final char[] token;
+		private int length;
+		private int hash;
+
+		/**
+		 * Creates a lookup key over a token buffer, for the matcher of a generation.
+		 */
+		Key(int generation, char[] token) {
+			this.generation = generation;
+			this.token = token;
+		}
+
+		private Key(int generation, char[] token, int length, int hash) {
+			this.generation = generation;
+			this.token = token;
+			this.length = length;
+			this.hash = hash;
+		}
+
+		private void setLength(int length) {
+			int hash = generation;
+			for (int i = 0; i < length; i++) {
+				hash = 31 * hash + token[i];
+			}
+			this.length = length;
+			this.hash = hash;
+		}
+
+		private Key copy() {
+			return new Key(generation, Arrays.copyOf(token, length), length, hash);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key other && generation == other.generation
+					&& Arrays.equals(token, 0, length, other.token, 0, other.length);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * Result of the fuzzy matching of a token: the mask of the trigger terms of the closest single-word variants, and
+	 * the closest phrase word.
+	 */
+	record Match(int mask, int word) {
+	}
+
+	/**
+	 * Creates a memo holding the fuzzy matches of at most the given number of tokens, the least recently used ones
+	 * being evicted first.
+	 */
+	public FuzzyMatchMemo(long maximumSize) {
+		this.matches = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Starts a new generation for a newly compiled matcher, dropping the matches of the previous ones.
+	 */
+	int nextGeneration() {
+		matches.invalidateAll();
+		return generations.incrementAndGet();
+	}
+
+	/**
+	 * Returns the memoized fuzzy match of a token, computing it on the first occurrence of the token only. Concurrent
+	 * scans may both compute the match of a new token, the first one being kept.
+	 *
+	 * @param key     The lookup key over the buffer holding the folded token, owned by the calling scan.
+	 * @param length  The length of the token.
+	 * @param matcher The fuzzy matching of the token, reused across calls to avoid allocating it every time.
+	 *
+	 * @return The fuzzy match of the token.
+	 */
+	Match get(Key key, int length, Supplier<Match> matcher) {
+		key.setLength(length);
+		Match match = matches.getIfPresent(key);
+		if (match == null) {
+			match = matcher.get();
+			Match previous = matches.asMap().putIfAbsent(key.copy(), match);
+			if (previous != null) {
+				match = previous;
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * Returns the underlying cache, to publish its statistics.
+	 */
+	public Cache<?, ?> getCache() {
+		return matches;
+	}
+}
@@ -0,0 +1,192 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Single-pass tokenizer and normalizer for medical note texts.
+ * <p>
+ * Tokens are the maximal sequences of Unicode letters or numbers. Their characters are folded on the fly (lowercase,
+ * accents removed) and pushed one by one to a {@link TokenConsumer}, so that tokenizing a note never allocates.
+ * <p>
+ * Folding relies on a lookup table precomputed for the Latin blocks (ASCII, Latin-1, Latin Extended-A and B), which
+ * cover the French alphabet: these characters are resolved with a single array read, without any Unicode
+ * normalization. Other characters are only lowercased, and combining marks (accents of decomposed texts) are skipped.
+ */
+public final class NoteTokenizer {
+	/** Folded value of the characters separating tokens. */
+	static final int SEPARATOR = -1;
+	/** Folded value of the combining marks, which are dropped from tokens. */
+	static final int MARK = -2;
+
+	/** First character outside the precomputed Latin table. */
+	private static final char LATIN_TABLE_END = (char) 0x0250;
+	private static final int[] LATIN_FOLDS = buildLatinFolds();
+
+	private NoteTokenizer() {
+	}
+
+	/**
+	 * Receives the folded characters of the tokens found by the tokenizer.
+	 */
+	public interface TokenConsumer {
+		/**
+		 * Receives the next folded character of the current token.
+		 */
+		void append(char folded);
+
+		/**
+		 * Signals the end of the current token.
+		 *
+		 * @return {@code true} to continue tokenizing, {@code false} to stop.
+		 */
+		boolean endToken();
+
+		/**
+		 * Signals the end of the text, once all its tokens have been consumed (not called when the consumer stopped
+		 * the tokenization).
+		 */
+		default void endText() {
+		}
+	}
+
+	/**
+	 * Tokenizes a text and feeds its folded tokens to the consumer.
+	 *
+	 * @param text     The text to tokenize, may be null.
+	 * @param consumer The consumer of the folded tokens.
+	 */
+	public static void tokenize(CharSequence text, TokenConsumer consumer) {
+		if (text == null) {
+			return;
+		}
+
+		boolean inToken = false;
+		for (int i = 0, length = text.length(); i < length; i++) {
+			int folded = fold(text.charAt(i));
+			if (folded >= 0) {
+				consumer.append((char) folded);
+				inToken = true;
+			} else if (folded == SEPARATOR && inToken) {
+				inToken = false;
+				if (!consumer.endToken()) {
+					return;
+				}
+			}
+		}
+		if (!inToken || consumer.endToken()) {
+			consumer.endText();
+		}
+	}
+
+	/**
+	 * Tokenizes a range of a character buffer and feeds its folded tokens to the consumer.
+	 *
+	 * @param chars    The buffer holding the text to tokenize.
+	 * @param offset   The index of the first character of the text.
+	 * @param length   The number of characters of the text.
+	 * @param consumer The consumer of the folded tokens.
+	 */
+	public static void tokenize(char[] chars, int offset, int length, TokenConsumer consumer) {
+		boolean inToken = false;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			int folded = fold(chars[i]);
+			if (folded >= 0) {
+				consumer.append((char) folded);
+				inToken = true;
+			} else if (folded == SEPARATOR && inToken) {
+				inToken = false;
+				if (!consumer.endToken()) {
+					return;
+				}
+			}
+		}
+		if (!inToken || consumer.endToken()) {
+			consumer.endText();
+		}
+	}
+
+	/**
+	 * Normalizes a string by lowercasing it and removing its accents, with the same folding rules as the tokenizer.
+	 * Characters separating tokens are kept (lowercased).
+	 * Lowercase ASCII strings are returned as is.
+	 *
+	 * @param input The string to normalize, may be null.
+	 *
+	 * @return The normalized string, or an empty string if the input is null.
+	 */
+	public static String normalize(String input) {
+		if (input == null) {
+			return "";
+		}
+
+		int length = input.length();
+		int i = 0;
+		while (i < length) {
+			char c = input.charAt(i);
+			if (c >= 0x80 || (c >= 'A' && c <= 'Z')) {
+				break;
+			}
+			i++;
+		}
+		if (i == length) {
+			return input;
+		}
+
+		StringBuilder normalized = new StringBuilder(length);
+		normalized.append(input, 0, i);
+		for (; i < length; i++) {
+			char c = input.charAt(i);
+			int folded = fold(c);
+			if (folded >= 0) {
+				normalized.append((char) folded);
+			} else if (folded == SEPARATOR) {
+				normalized.append(Character.toLowerCase(c));
+			}
+		}
+		return normalized.toString();
+	}
+
+	/**
+	 * Folds a character to its lowercase, unaccented form.
+	 *
+	 * @return The folded character, {@link #SEPARATOR} if the character separates tokens, or {@link #MARK} if it is a
+	 * combining mark to skip.
+	 */
+	static int fold(char c) {
+		if (c < LATIN_TABLE_END) {
+			return LATIN_FOLDS[c];
+		}
+		return switch (Character.getType(c)) {
+			case Character.UPPERCASE_LETTER, Character.LOWERCASE_LETTER, Character.TITLECASE_LETTER,
+				 Character.MODIFIER_LETTER, Character.OTHER_LETTER,
+				 Character.DECIMAL_DIGIT_NUMBER, Character.LETTER_NUMBER, Character.OTHER_NUMBER,
+				 Character.SURROGATE -> Character.toLowerCase(c);
+			case Character.NON_SPACING_MARK, Character.ENCLOSING_MARK, Character.COMBINING_SPACING_MARK -> MARK;
+			default -> SEPARATOR;
+		};
+	}
+
+	/**
+	 * Precomputes the folded value of every character of the Latin blocks with the Unicode canonical decomposition.
+	 */
+	private static int[] buildLatinFolds() {
+		int[] folds = new int[LATIN_TABLE_END];
+		for (char c = 0; c < LATIN_TABLE_END; c++) {
+			if (!Character.isLetterOrDigit(c) && !isNumber(c)) {
+				folds[c] = SEPARATOR;
+				continue;
+			}
+			String decomposed = Normalizer.normalize(String.valueOf(c).toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+					.replaceAll("\\p{M}+", "");
+			// Letters decomposing to several base letters cannot be folded to a single character: keep them lowercased
+			folds[c] = decomposed.length() == 1 ? decomposed.charAt(0) : Character.toLowerCase(c);
+		}
+		return folds;
+	}
+
+	private static boolean isNumber(char c) {
+		int type = Character.getType(c);
+		return type == Character.LETTER_NUMBER || type == Character.OTHER_NUMBER;
+	}
+}
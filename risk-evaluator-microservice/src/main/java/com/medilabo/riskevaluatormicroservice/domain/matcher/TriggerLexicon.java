@@ -0,0 +1,198 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable set of the spellings (variants) of every {@link TriggerTerm}, from which a {@link TriggerTermMatcher} is
+ * compiled.
+ * <p>
+ * The terms themselves are fixed by the {@link TriggerTerm} enum, as their ordinals are the bits of the trigger masks
+ * persisted by the medical note microservice: a lexicon only changes how they are spelled. Variants are words or
+ * phrases, normalized as the folded tokens of the {@link NoteTokenizer} separated by single spaces (e.g.
+ * {@code "Hémoglobine A1C"} becomes {@code "hemoglobine a1c"}).
+ * <p>
+ * The version of a lexicon is a digest of its normalized content: two identical lexicons have the same version whatever
+ * their source, so that caches can be keyed by it.
+ */
+public final class TriggerLexicon {
+	private static final int VERSION_LENGTH = 12;
+	private static final TriggerLexicon DEFAULT = fromEnum();
+
+	private final Map<TriggerTerm, Set<String>> variants;
+	private final String version;
+
+	private TriggerLexicon(Map<TriggerTerm, Set<String>> variants) {
+		this.variants = Collections.unmodifiableMap(variants);
+		this.version = digest(variants);
+	}
+
+	/**
+	 * Returns the lexicon built in the {@link TriggerTerm} enum.
+	 */
+	public static TriggerLexicon getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Builds a lexicon from the raw variants of the trigger terms. Terms left out have no variant, and are never found.
+	 *
+	 * @param variants The raw variants of the trigger terms, normalized by this method.
+	 *
+	 * @return The lexicon.
+	 *
+	 * @throws IllegalArgumentException If a variant is blank.
+	 */
+	public static TriggerLexicon of(Map<TriggerTerm, ? extends Collection<String>> variants) {
+		Map<TriggerTerm, Set<String>> normalizedVariants = new EnumMap<>(TriggerTerm.class);
+		for (TriggerTerm term : TriggerTerm.values()) {
+			Set<String> termVariants = new TreeSet<>();
+			Collection<String> rawVariants = variants.get(term);
+			if (rawVariants != null) {
+				for (String variant : rawVariants) {
+					termVariants.add(normalizeVariant(term, variant));
+				}
+			}
+			normalizedVariants.put(term, Collections.unmodifiableSet(termVariants));
+		}
+		return new TriggerLexicon(normalizedVariants);
+	}
+
+	/**
+	 * Parses a lexicon written one term per line, as the name of the term followed by a colon and its comma-separated
+	 * variants (e.g. {@code FUMEUR: fumeur, fumeuse, fumeurs}). A variant of several words is a phrase, found when its
+	 * words appear in order. Blank lines and lines starting with {@code #} are ignored, and a term may span several
+	 * lines.
+	 *
+	 * @param reader The reader of the lexicon, closed by the caller.
+	 *
+	 * @return The lexicon.
+	 *
+	 * @throws IOException              If the lexicon cannot be read.
+	 * @throws IllegalArgumentException If the lexicon is malformed, with the number of the faulty line.
+	 */
+	public static TriggerLexicon parse(Reader reader) throws IOException {
+		Map<TriggerTerm, Set<String>> variants = new EnumMap<>(TriggerTerm.class);
+		BufferedReader lines = new BufferedReader(reader);
+		String line;
+		int lineNumber = 0;
+		while ((line = lines.readLine()) != null) {
+			lineNumber++;
+			String trimmed = line.strip();
+			if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+				continue;
+			}
+
+			int colon = trimmed.indexOf(':');
+			if (colon < 0) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": expected 'TERM: variant, ...' but found '" + trimmed + "'");
+			}
+			String termName = trimmed.substring(0, colon).strip();
+			TriggerTerm term;
+			try {
+				term = TriggerTerm.valueOf(termName);
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": unknown trigger term '" + termName + "'");
+			}
+			Set<String> termVariants = variants.computeIfAbsent(term, t -> new LinkedHashSet<>());
+			for (String variant : trimmed.substring(colon + 1).split(",", -1)) {
+				try {
+					termVariants.add(normalizeVariant(term, variant));
+				} catch (IllegalArgumentException ex) {
+					throw new IllegalArgumentException("Line " + lineNumber + ": " + ex.getMessage());
+				}
+			}
+		}
+		return of(variants);
+	}
+
+	/**
+	 * Returns the normalized variants of every trigger term, empty for the terms without variants.
+	 */
+	public Map<TriggerTerm, Set<String>> getVariants() {
+		return variants;
+	}
+
+	/**
+	 * Returns the normalized variants of a trigger term.
+	 */
+	public Set<String> getVariants(TriggerTerm term) {
+		return variants.get(term);
+	}
+
+	/**
+	 * Returns the version of this lexicon: a digest of its normalized content.
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	private static TriggerLexicon fromEnum() {
+		Map<TriggerTerm, Set<String>> variants = new EnumMap<>(TriggerTerm.class);
+		for (TriggerTerm term : TriggerTerm.values()) {
+			variants.put(term, term.getNormalizedVariants());
+		}
+		return of(variants);
+	}
+
+	private static String normalizeVariant(TriggerTerm term, String variant) {
+		StringBuilder normalized = new StringBuilder();
+		NoteTokenizer.tokenize(variant, new NoteTokenizer.TokenConsumer() {
+			@Override
+			public void append(char folded) {
+				normalized.append(folded);
+			}
+
+			@Override
+			public boolean endToken() {
+				normalized.append(' ');
+				return true;
+			}
+		});
+		if (normalized.isEmpty()) {
+			throw new IllegalArgumentException("blank variant of trigger term " + term);
+		}
+		return normalized.substring(0, normalized.length() - 1);
+	}
+
+	private static String digest(Map<TriggerTerm, Set<String>> variants) {
+		StringBuilder canonical = new StringBuilder();
+		variants.forEach((term, termVariants) ->
+				canonical.append(term.name()).append(':').append(String.join(",", new TreeSet<>(termVariants))).append('\n'));
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash).substring(0, VERSION_LENGTH);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof TriggerLexicon other && variants.equals(other.variants);
+	}
+
+	@Override
+	public int hashCode() {
+		return variants.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "TriggerLexicon{version=" + version + ", variants=" + variants + "}";
+	}
+}
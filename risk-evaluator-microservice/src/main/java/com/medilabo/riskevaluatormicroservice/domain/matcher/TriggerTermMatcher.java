@@ -0,0 +1,643 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Compiled automaton recognizing the {@link TriggerTerm} variants of a {@link TriggerLexicon} in free text.
+ * <p>
+ * The normalized variants are compiled once into a character trie stored as a dense transition table.
+ * A text is then scanned in a single linear pass: the {@link NoteTokenizer} feeds the folded characters of every token
+ * to a {@link Scan}, which advances the current trie state per character and resolves the reached state to a trigger
+ * term (if any) at the end of the token.
+ * The cost of a scan therefore depends on the length of the text only, not on the number of trigger terms.
+ * <p>
+ * Found terms are reported as a bitmask where bit {@code i} is set when the term of ordinal {@code i} was found.
+ * Instances are immutable and thread-safe, while {@link Scan} instances are meant to be used by a single thread.
+ * <p>
+ * A matcher compiled with a maximum edit distance also tolerates typos: a token matching no variant exactly is matched
+ * against the trie with a Levenshtein automaton simulated row by row (one row of the edit distance matrix per trie
+ * depth, adjacent transpositions counting as a single edit), pruning the branches that already exceed the distance.
+ * The work per token is bounded by the size of the trie and the maximum token length, so a scan stays linear in the
+ * length of the text. To avoid false positives on short words, the allowed distance depends on the length of the
+ * variant: none below {@value #MIN_ONE_EDIT_LENGTH} characters, one edit below {@value #MIN_TWO_EDITS_LENGTH}.
+ * <p>
+ * Variants of several words (phrases, such as {@code "hemoglobine a1c"}) are recognized in the same pass: the trie
+ * resolves every token to a phrase word, and the scan keeps, for every phrase and prefix length, the index of the last
+ * token completing that prefix. A word extends a prefix when at most {@code maxPhraseGap} other words were found since
+ * its end, so a token costs one update per occurrence of its word in the phrases. Phrases never span two texts.
+ * <p>
+ * With a {@link FuzzyMatchMemo}, the fuzzy matching of a token is done on its first occurrence only, and read from the
+ * memo for the next ones.
+ */
+public final class TriggerTermMatcher {
+	private static final TriggerTerm[] TERMS = TriggerTerm.values();
+	private static final int ROOT = 0;
+	private static final int DEAD = -1;
+	private static final int NO_TERM = -1;
+	private static final int NO_WORD = -1;
+	/** Token index of the prefixes not matched yet, far enough in the past to exceed any gap. */
+	private static final int NEVER = Integer.MIN_VALUE / 2;
+	/** Fuzzy match of the tokens close to no variant, shared by all the entries of the memo. */
+	private static final FuzzyMatchMemo.Match NO_MATCH = new FuzzyMatchMemo.Match(0, NO_WORD);
+
+	/** Maximum edit distance supported by the fuzzy matching. */
+	public static final int MAX_EDIT_DISTANCE = 2;
+	/** Length of the shortest variants matched with one edit. */
+	static final int MIN_ONE_EDIT_LENGTH = 6;
+	/** Length of the shortest variants matched with two edits. */
+	static final int MIN_TWO_EDITS_LENGTH = 10;
+	/** Default number of other words allowed between two consecutive words of a phrase. */
+	public static final int DEFAULT_MAX_PHRASE_GAP = 1;
+
+	private static final TriggerTermMatcher DEFAULT = new TriggerTermMatcher(TriggerLexicon.getDefault());
+
+	/** Lexicon this matcher was compiled from. */
+	private final TriggerLexicon lexicon;
+
+	/** Sorted distinct characters found in the variants: the alphabet of the automaton. */
+	private final char[] alphabet;
+	/** Column of the ASCII characters in the transition table, or -1 when they are not part of the alphabet. */
+	private final int[] asciiColumns;
+	/** Transition table: {@code transitions[state * alphabet.length + column]} is the next state or {@link #DEAD}. */
+	private final int[] transitions;
+	/** Ordinal of the trigger term of the single-word variant accepted by each state, or {@link #NO_TERM}. */
+	private final int[] acceptedTerms;
+	/** Phrase word accepted by each state, or {@link #NO_WORD}. */
+	private final int[] acceptedWords;
+	/** Mask with one bit per trigger term having variants, used to stop scanning once every term has been found. */
+	private final int allTermsMask;
+	/** Maximum number of edits between a token and a variant, 0 for exact matching only. */
+	private final int maxEditDistance;
+	/** Length of the longest word of the variants: the depth of the trie. */
+	private final int maxVariantLength;
+	/** Maximum number of other words between two consecutive words of a phrase. */
+	private final int maxPhraseGap;
+	/** Ordinal of the trigger term of every phrase. */
+	private final int[] phraseTerms;
+	/** Number of words of every phrase. */
+	private final int[] phraseLengths;
+	/** Index of the first prefix of every phrase in the prefix ends of a scan (one per proper prefix). */
+	private final int[] phraseOffsets;
+	/** Total number of proper prefixes of the phrases. */
+	private final int prefixCount;
+	/** Phrases containing every phrase word, and the position of the word in them, by decreasing position. */
+	private final int[][] wordPhrases;
+	private final int[][] wordPositions;
+	/** Children of every state for the fuzzy matching: {@code childStates[childStart[state]..childStart[state + 1]]}. */
+	private final int[] childStart;
+	private final int[] childStates;
+	/** Character of the edge leading to every entry of {@link #childStates}. */
+	private final char[] childChars;
+	/** Largest number of edits allowed by the variants reachable from every state, to prune the fuzzy matching. */
+	private final int[] subtreeEdits;
+	/** Memo of the fuzzy matches, or null to match every token against the trie. */
+	private final FuzzyMatchMemo fuzzyMatchMemo;
+	/** Generation of this matcher in the {@link #fuzzyMatchMemo}. */
+	private final int fuzzyMatchGeneration;
+
+	/**
+	 * Compiles the variants of a lexicon, for exact matching.
+	 */
+	public TriggerTermMatcher(TriggerLexicon lexicon) {
+		this(lexicon, 0);
+	}
+
+	/**
+	 * Compiles the variants of a lexicon, for matching with typos.
+	 *
+	 * @see #TriggerTermMatcher(TriggerLexicon, int, int)
+	 */
+	public TriggerTermMatcher(TriggerLexicon lexicon, int maxEditDistance) {
+		this(lexicon, maxEditDistance, DEFAULT_MAX_PHRASE_GAP);
+	}
+
+	/**
+	 * Compiles the variants of a lexicon.
+	 *
+	 * @param lexicon         The lexicon to compile.
+	 * @param maxEditDistance The maximum number of edits (insertions, deletions, substitutions or adjacent
+	 *                        transpositions) between a word and a variant word, from 0 (exact matching) to
+	 *                        {@link #MAX_EDIT_DISTANCE}.
+	 * @param maxPhraseGap    The maximum number of other words between two consecutive words of a phrase.
+	 *
+	 * @throws IllegalArgumentException If the maximum edit distance is out of range or the phrase gap is negative.
+	 */
+	public TriggerTermMatcher(TriggerLexicon lexicon, int maxEditDistance, int maxPhraseGap) {
+		this(lexicon, maxEditDistance, maxPhraseGap, null);
+	}
+
+	/**
+	 * Compiles the variants of a lexicon, memoizing the fuzzy matches of the tokens.
+	 *
+	 * @param lexicon         The lexicon to compile.
+	 * @param maxEditDistance The maximum number of edits between a word and a variant word.
+	 * @param maxPhraseGap    The maximum number of other words between two consecutive words of a phrase.
+	 * @param fuzzyMatchMemo  The memo of the fuzzy matches, whose previous matches are dropped, or null. Unused for
+	 *                        exact matching.
+	 *
+	 * @throws IllegalArgumentException If the maximum edit distance is out of range or the phrase gap is negative.
+	 * @see #TriggerTermMatcher(TriggerLexicon, int, int)
+	 */
+	public TriggerTermMatcher(TriggerLexicon lexicon, int maxEditDistance, int maxPhraseGap,
+							  FuzzyMatchMemo fuzzyMatchMemo) {
+		if (maxEditDistance < 0 || maxEditDistance > MAX_EDIT_DISTANCE) {
+			throw new IllegalArgumentException("The maximum edit distance must be between 0 and " + MAX_EDIT_DISTANCE
+					+ " but was " + maxEditDistance);
+		}
+		if (maxPhraseGap < 0) {
+			throw new IllegalArgumentException("The maximum phrase gap must be positive but was " + maxPhraseGap);
+		}
+		this.lexicon = lexicon;
+		this.maxEditDistance = maxEditDistance;
+		this.maxPhraseGap = maxPhraseGap;
+		this.fuzzyMatchMemo = maxEditDistance > 0 ? fuzzyMatchMemo : null;
+		this.fuzzyMatchGeneration = this.fuzzyMatchMemo == null ? 0 : this.fuzzyMatchMemo.nextGeneration();
+		Set<Character> characters = new TreeSet<>();
+		int maxLength = 0;
+		for (TriggerTerm term : TERMS) {
+			for (String variant : lexicon.getVariants(term)) {
+				for (String word : variant.split(" ")) {
+					maxLength = Math.max(maxLength, word.length());
+					for (char c : word.toCharArray()) {
+						characters.add(c);
+					}
+				}
+			}
+		}
+		this.alphabet = new char[characters.size()];
+		int index = 0;
+		for (Character c : characters) {
+			alphabet[index++] = c;
+		}
+		this.asciiColumns = new int[128];
+		for (char c = 0; c < asciiColumns.length; c++) {
+			asciiColumns[c] = Math.max(Arrays.binarySearch(alphabet, c), -1);
+		}
+
+		List<int[]> rows = new ArrayList<>();
+		List<Integer> accepted = new ArrayList<>();
+		List<Integer> acceptedWordList = new ArrayList<>();
+		rows.add(newRow());
+		accepted.add(NO_TERM);
+		acceptedWordList.add(NO_WORD);
+
+		int mask = 0;
+		Map<String, Integer> words = new LinkedHashMap<>();
+		List<int[]> phrases = new ArrayList<>();
+		List<Integer> phraseTermList = new ArrayList<>();
+		for (TriggerTerm term : TERMS) {
+			if (!lexicon.getVariants(term).isEmpty()) {
+				mask |= 1 << term.ordinal();
+			}
+			for (String variant : lexicon.getVariants(term)) {
+				String[] variantWords = variant.split(" ");
+				if (variantWords.length == 1) {
+					accepted.set(insert(rows, accepted, acceptedWordList, variant), term.ordinal());
+					continue;
+				}
+				int[] phrase = new int[variantWords.length];
+				for (int i = 0; i < variantWords.length; i++) {
+					String word = variantWords[i];
+					if (!words.containsKey(word)) {
+						words.put(word, words.size());
+						acceptedWordList.set(insert(rows, accepted, acceptedWordList, word), words.get(word));
+					}
+					phrase[i] = words.get(word);
+				}
+				phrases.add(phrase);
+				phraseTermList.add(term.ordinal());
+			}
+		}
+
+		this.transitions = new int[rows.size() * alphabet.length];
+		this.acceptedTerms = new int[rows.size()];
+		this.acceptedWords = new int[rows.size()];
+		for (int state = 0; state < rows.size(); state++) {
+			System.arraycopy(rows.get(state), 0, transitions, state * alphabet.length, alphabet.length);
+			acceptedTerms[state] = accepted.get(state);
+			acceptedWords[state] = acceptedWordList.get(state);
+		}
+		this.allTermsMask = mask;
+		this.maxVariantLength = maxLength;
+
+		this.phraseTerms = new int[phrases.size()];
+		this.phraseLengths = new int[phrases.size()];
+		this.phraseOffsets = new int[phrases.size()];
+		List<List<int[]>> occurrences = new ArrayList<>();
+		for (int word = 0; word < words.size(); word++) {
+			occurrences.add(new ArrayList<>());
+		}
+		int offset = 0;
+		for (int phrase = 0; phrase < phrases.size(); phrase++) {
+			int[] phraseWords = phrases.get(phrase);
+			phraseTerms[phrase] = phraseTermList.get(phrase);
+			phraseLengths[phrase] = phraseWords.length;
+			phraseOffsets[phrase] = offset;
+			offset += phraseWords.length - 1;
+			for (int position = phraseWords.length - 1; position >= 0; position--) {
+				occurrences.get(phraseWords[position]).add(new int[]{phrase, position});
+			}
+		}
+		this.prefixCount = offset;
+		this.wordPhrases = new int[words.size()][];
+		this.wordPositions = new int[words.size()][];
+		for (int word = 0; word < words.size(); word++) {
+			// Decreasing positions, so that a word repeated in a phrase never extends a prefix it just completed
+			List<int[]> wordOccurrences = occurrences.get(word);
+			wordOccurrences.sort((a, b) -> Integer.compare(b[1], a[1]));
+			wordPhrases[word] = wordOccurrences.stream().mapToInt(occurrence -> occurrence[0]).toArray();
+			wordPositions[word] = wordOccurrences.stream().mapToInt(occurrence -> occurrence[1]).toArray();
+		}
+
+		this.childStart = new int[rows.size() + 1];
+		this.childStates = new int[rows.size() - 1];
+		this.childChars = new char[rows.size() - 1];
+		int child = 0;
+		for (int state = 0; state < rows.size(); state++) {
+			childStart[state] = child;
+			for (int column = 0; column < alphabet.length; column++) {
+				int next = rows.get(state)[column];
+				if (next != DEAD) {
+					childStates[child] = next;
+					childChars[child++] = alphabet[column];
+				}
+			}
+		}
+		childStart[rows.size()] = child;
+
+		// Children always have a higher state number than their parent: a reverse pass propagates the allowed edits up
+		this.subtreeEdits = new int[rows.size()];
+		int[] depths = new int[rows.size()];
+		for (int state = 0; state < rows.size(); state++) {
+			for (int edge = childStart[state]; edge < childStart[state + 1]; edge++) {
+				depths[childStates[edge]] = depths[state] + 1;
+			}
+		}
+		for (int state = rows.size() - 1; state >= 0; state--) {
+			int edits = isAccepting(state) ? allowedEdits(depths[state]) : -1;
+			for (int edge = childStart[state]; edge < childStart[state + 1]; edge++) {
+				edits = Math.max(edits, subtreeEdits[childStates[edge]]);
+			}
+			subtreeEdits[state] = edits;
+		}
+	}
+
+	/**
+	 * Returns the matcher compiled from the lexicon built in the {@link TriggerTerm} values.
+	 */
+	public static TriggerTermMatcher getInstance() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Returns the lexicon this matcher was compiled from.
+	 */
+	public TriggerLexicon getLexicon() {
+		return lexicon;
+	}
+
+	/**
+	 * Returns the version of the lexicon this matcher was compiled from.
+	 */
+	public String getVersion() {
+		return lexicon.getVersion();
+	}
+
+	/**
+	 * Returns the version of the trigger masks this matcher computes with exact matching: the version of its lexicon,
+	 * suffixed with the phrase gap when it is not the default one, as both give the bits of a mask. The medical note
+	 * microservice computes it the same way for the masks it stores.
+	 */
+	public String getMaskVersion() {
+		return maxPhraseGap == DEFAULT_MAX_PHRASE_GAP ? getVersion() : getVersion() + "-gap" + maxPhraseGap;
+	}
+
+	/**
+	 * Returns the maximum number of edits between a word and a variant, 0 for exact matching only.
+	 */
+	public int getMaxEditDistance() {
+		return maxEditDistance;
+	}
+
+	/**
+	 * Returns the maximum number of other words between two consecutive words of a phrase.
+	 */
+	public int getMaxPhraseGap() {
+		return maxPhraseGap;
+	}
+
+	/**
+	 * Scans a raw text and returns the trigger terms found in it as a bitmask.
+	 * Words are the tokens of the {@link NoteTokenizer}; they are compared to the variants once lowercased and stripped
+	 * of their accents.
+	 *
+	 * @param text The raw text to scan, may be null.
+	 *
+	 * @return The bitmask of the trigger terms found in the text (bit {@code i} is the term of ordinal {@code i}).
+	 */
+	public int scan(CharSequence text) {
+		Scan scan = newScan();
+		NoteTokenizer.tokenize(text, scan);
+		return scan.mask();
+	}
+
+	/**
+	 * Starts a new scan, which accumulates the trigger terms found in all the texts tokenized into it.
+	 */
+	public Scan newScan() {
+		return new Scan();
+	}
+
+	/**
+	 * Indicates if a bitmask contains every trigger term compiled in this matcher, in which case scanning more text
+	 * cannot change the result.
+	 */
+	public boolean isComplete(int mask) {
+		return mask == allTermsMask;
+	}
+
+	/**
+	 * Converts a bitmask returned by {@link #scan(CharSequence)} to the set of trigger terms it contains.
+	 */
+	public static Set<TriggerTerm> toTerms(int mask) {
+		EnumSet<TriggerTerm> terms = EnumSet.noneOf(TriggerTerm.class);
+		for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+			terms.add(TERMS[Integer.numberOfTrailingZeros(remaining)]);
+		}
+		return terms;
+	}
+
+	private int acceptedMask(int state) {
+		if (state == DEAD || acceptedTerms[state] == NO_TERM) {
+			return 0;
+		}
+		return 1 << acceptedTerms[state];
+	}
+
+	private int acceptedWord(int state) {
+		return state == DEAD ? NO_WORD : acceptedWords[state];
+	}
+
+	private boolean isAccepting(int state) {
+		return acceptedTerms[state] != NO_TERM || acceptedWords[state] != NO_WORD;
+	}
+
+	/**
+	 * Number of edits tolerated between a token and a variant of the given length.
+	 */
+	private int allowedEdits(int variantLength) {
+		if (variantLength < MIN_ONE_EDIT_LENGTH) {
+			return 0;
+		}
+		return variantLength < MIN_TWO_EDITS_LENGTH ? Math.min(1, maxEditDistance) : maxEditDistance;
+	}
+
+	private int column(char c) {
+		if (c < asciiColumns.length) {
+			return asciiColumns[c];
+		}
+		return Math.max(Arrays.binarySearch(alphabet, c), -1);
+	}
+
+	private int[] newRow() {
+		int[] row = new int[alphabet.length];
+		Arrays.fill(row, DEAD);
+		return row;
+	}
+
+	/**
+	 * Adds a word to the trie under construction.
+	 *
+	 * @return The state accepting the word.
+	 */
+	private int insert(List<int[]> rows, List<Integer> accepted, List<Integer> acceptedWordList, String word) {
+		int state = ROOT;
+		for (char c : word.toCharArray()) {
+			int column = column(c);
+			int next = rows.get(state)[column];
+			if (next == DEAD) {
+				next = rows.size();
+				rows.add(newRow());
+				accepted.add(NO_TERM);
+				acceptedWordList.add(NO_WORD);
+				rows.get(state)[column] = next;
+			}
+			state = next;
+		}
+		return state;
+	}
+
+	/**
+	 * Mutable state of a scan: the trie state reached by the current token, the phrase prefixes matched so far and the
+	 * terms found so far.
+	 */
+	public final class Scan implements NoteTokenizer.TokenConsumer {
+		private int state = ROOT;
+		private int mask;
+
+		/** Index of the current token, across all the texts of the scan. */
+		private int tokenIndex;
+		/** Index of the last token completing every proper prefix of every phrase, or {@link #NEVER}. */
+		private final int[] prefixEnds;
+
+		/** Characters of the current token, kept for the fuzzy matching only (null for exact matching). */
+		private final char[] token;
+		private int tokenLength;
+		/** Rows of the edit distance matrix, one per trie depth, reused across tokens. */
+		private final int[][] rows;
+		/** Character of the trie edge leading to every depth, for the transpositions. */
+		private final char[] path;
+		private int bestDistance;
+		private int bestMask;
+		private int bestWord;
+		/** Fuzzy matching of the current token by the memo, or null without memo. */
+		private final Supplier<FuzzyMatchMemo.Match> memoizedFuzzyMatch;
+		/** Key of the current token in the memo, or null without memo. */
+		private final FuzzyMatchMemo.Key memoKey;
+
+		private Scan() {
+			this.prefixEnds = new int[prefixCount];
+			Arrays.fill(prefixEnds, NEVER);
+			if (maxEditDistance > 0) {
+				this.token = new char[maxVariantLength + maxEditDistance];
+				this.rows = new int[maxVariantLength + 1][token.length + 1];
+				this.path = new char[maxVariantLength + 1];
+			} else {
+				this.token = null;
+				this.rows = null;
+				this.path = null;
+			}
+			this.memoizedFuzzyMatch = fuzzyMatchMemo == null ? null : () -> {
+				fuzzyMatch();
+				return bestMask == 0 && bestWord == NO_WORD ? NO_MATCH : new FuzzyMatchMemo.Match(bestMask, bestWord);
+			};
+			this.memoKey = fuzzyMatchMemo == null ? null : new FuzzyMatchMemo.Key(fuzzyMatchGeneration, token);
+		}
+
+		@Override
+		public void append(char folded) {
+			if (state != DEAD) {
+				int column = column(folded);
+				state = column < 0 ? DEAD : transitions[state * alphabet.length + column];
+			}
+			if (token != null) {
+				if (tokenLength < token.length) {
+					token[tokenLength] = folded;
+				}
+				tokenLength++;
+			}
+		}
+
+		@Override
+		public boolean endToken() {
+			int accepted = acceptedMask(state);
+			int word = acceptedWord(state);
+			if (accepted == 0 && word == NO_WORD && token != null && tokenLength >= MIN_ONE_EDIT_LENGTH - 1
+					&& tokenLength <= token.length) {
+				if (memoizedFuzzyMatch == null) {
+					fuzzyMatch();
+					accepted = bestMask;
+					word = bestWord;
+				} else {
+					FuzzyMatchMemo.Match match = fuzzyMatchMemo.get(memoKey, tokenLength, memoizedFuzzyMatch);
+					accepted = match.mask();
+					word = match.word();
+				}
+			}
+			mask |= accepted;
+			if (word != NO_WORD) {
+				matchPhrases(word);
+			}
+			state = ROOT;
+			tokenLength = 0;
+			tokenIndex++;
+			return !isComplete();
+		}
+
+		/**
+		 * Moves the token index past the maximum phrase gap, so that no phrase spans the end of a text and the start
+		 * of the next one.
+		 */
+		@Override
+		public void endText() {
+			tokenIndex += maxPhraseGap + 1;
+		}
+
+		/**
+		 * Returns the bitmask of the trigger terms found so far.
+		 */
+		public int mask() {
+			return mask;
+		}
+
+		/**
+		 * Indicates if every trigger term has been found, in which case scanning more text is useless.
+		 */
+		public boolean isComplete() {
+			return TriggerTermMatcher.this.isComplete(mask);
+		}
+
+		/**
+		 * Extends the phrase prefixes with the word of the current token, and adds the terms of the completed phrases.
+		 */
+		private void matchPhrases(int word) {
+			int[] phrases = wordPhrases[word];
+			int[] positions = wordPositions[word];
+			for (int i = 0; i < phrases.length; i++) {
+				int phrase = phrases[i];
+				int position = positions[i];
+				int prefix = phraseOffsets[phrase] + position;
+				if (position == 0) {
+					prefixEnds[prefix] = tokenIndex;
+				} else if (tokenIndex - prefixEnds[prefix - 1] - 1 <= maxPhraseGap) {
+					if (position == phraseLengths[phrase] - 1) {
+						mask |= 1 << phraseTerms[phrase];
+					} else {
+						prefixEnds[prefix] = tokenIndex;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Walks the trie with the current token to find the closest variant words within their allowed distance: the
+		 * terms of the closest single-word variants (all of them when several terms are equally close) and the closest
+		 * phrase word.
+		 */
+		private void fuzzyMatch() {
+			int[] root = rows[0];
+			for (int i = 0; i <= tokenLength; i++) {
+				root[i] = i;
+			}
+			bestDistance = maxEditDistance + 1;
+			bestMask = 0;
+			bestWord = NO_WORD;
+			walk(ROOT, 0);
+		}
+
+		/**
+		 * Computes the row of the edit distance matrix of every child of a trie node, and walks down the children
+		 * still within the maximum distance. Only the cells within {@link #maxEditDistance} of the diagonal are
+		 * computed: the others cannot lead to a match, and hold {@code maxEditDistance + 1}.
+		 */
+		private void walk(int node, int depth) {
+			int limit = maxEditDistance + 1;
+			int[] previous = rows[depth];
+			int[] row = rows[depth + 1];
+			int from = Math.max(1, depth + 1 - maxEditDistance);
+			int to = Math.min(tokenLength, depth + 1 + maxEditDistance);
+			for (int edge = childStart[node], end = childStart[node + 1]; edge < end; edge++) {
+				int child = childStates[edge];
+				char c = childChars[edge];
+				row[0] = depth + 1;
+				if (from > 1) {
+					row[from - 1] = limit;
+				}
+				if (to < tokenLength) {
+					row[to + 1] = limit;
+				}
+				int rowMin = row[0];
+				for (int i = from; i <= to; i++) {
+					int cost = token[i - 1] == c ? 0 : 1;
+					int distance = Math.min(Math.min(row[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+					if (depth > 0 && i > 1 && token[i - 1] == path[depth] && token[i - 2] == c) {
+						distance = Math.min(distance, rows[depth - 1][i - 2] + 1);
+					}
+					row[i] = distance;
+					rowMin = Math.min(rowMin, distance);
+				}
+
+				if (isAccepting(child) && tokenLength >= from && tokenLength <= to) {
+					int distance = row[tokenLength];
+					if (distance <= allowedEdits(depth + 1)) {
+						if (distance < bestDistance) {
+							bestDistance = distance;
+							bestMask = 0;
+							bestWord = NO_WORD;
+						}
+						if (distance == bestDistance) {
+							bestMask |= acceptedMask(child);
+							if (bestWord == NO_WORD) {
+								bestWord = acceptedWords[child];
+							}
+						}
+					}
+				}
+				if (rowMin <= subtreeEdits[child] && depth + 1 < maxVariantLength) {
+					path[depth + 1] = c;
+					walk(child, depth + 1);
+				}
+			}
+		}
+	}
+}
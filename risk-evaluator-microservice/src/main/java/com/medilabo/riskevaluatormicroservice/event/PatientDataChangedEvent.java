@@ -0,0 +1,9 @@
+package com.medilabo.riskevaluatormicroservice.event;
+
+/**
+ * Published when the data used to evaluate the risk level of a patient (his demographics or medical notes) changed.
+ *
+ * @param patientId The ID of the patient whose data changed.
+ */
+public record PatientDataChangedEvent(Long patientId) {
+}
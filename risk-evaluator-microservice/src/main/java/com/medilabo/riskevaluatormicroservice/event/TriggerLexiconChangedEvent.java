@@ -0,0 +1,9 @@
+package com.medilabo.riskevaluatormicroservice.event;
+
+/**
+ * Published when a new trigger lexicon replaced the active one, which may change the risk level of any patient.
+ *
+ * @param version The version of the new trigger lexicon.
+ */
+public record TriggerLexiconChangedEvent(String version) {
+}
@@ -0,0 +1,7 @@
+package com.medilabo.riskevaluatormicroservice.exception;
+
+public class InvalidTriggerLexiconException extends RuntimeException {
+	public InvalidTriggerLexiconException(String location, Throwable cause) {
+		super("Invalid trigger lexicon '" + location + "': " + cause.getMessage(), cause);
+	}
+}
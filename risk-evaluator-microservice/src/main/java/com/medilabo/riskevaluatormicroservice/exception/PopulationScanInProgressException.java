@@ -0,0 +1,7 @@
+package com.medilabo.riskevaluatormicroservice.exception;
+
+public class PopulationScanInProgressException extends RuntimeException {
+	public PopulationScanInProgressException() {
+		super("A population risk scan is already in progress");
+	}
+}
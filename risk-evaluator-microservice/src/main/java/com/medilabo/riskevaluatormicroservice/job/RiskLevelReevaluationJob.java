@@ -0,0 +1,26 @@
+package com.medilabo.riskevaluatormicroservice.job;
+
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelStoreService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-evaluates the patients whose data changed on the schedule of the {@code risk-evaluator.reevaluation.interval}
+ * property, and stores their risk levels. Until a patient is re-evaluated, his risk level is evaluated on his next
+ * read.
+ */
+@Component
+@ConditionalOnProperty(name = "risk-evaluator.reevaluation.enabled", havingValue = "true", matchIfMissing = true)
+public class RiskLevelReevaluationJob {
+	private final RiskLevelStoreService riskLevelStoreService;
+
+	public RiskLevelReevaluationJob(RiskLevelStoreService riskLevelStoreService) {
+		this.riskLevelStoreService = riskLevelStoreService;
+	}
+
+	@Scheduled(fixedDelayString = "${risk-evaluator.reevaluation.interval:1s}")
+	public void reevaluate() {
+		riskLevelStoreService.reevaluateDirtyPatients();
+	}
+}
@@ -0,0 +1,153 @@
+package com.medilabo.riskevaluatormicroservice.metrics;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Stage-level metrics of the evaluation of a single patient, tagged with the {@link TriggerSource} in use:
+ * <ul>
+ *     <li>{@code risk.evaluation}: duration of a whole evaluation, tagged with the resulting {@link RiskLevel}
+ *     ({@code UNKNOWN} when it failed) and the exception thrown ({@code none} when it succeeded)</li>
+ *     <li>{@code risk.evaluation.stage}: duration of every stage, tagged {@code fetch.patient}, {@code fetch.notes}
+ *     (the notes, masks or terms, scanned on the fly for the {@code STREAM} source) or {@code scan}</li>
+ *     <li>{@code risk.evaluation.notes} and {@code risk.evaluation.notes.characters}: size of the notes downloaded to
+ *     be scanned locally, only recorded for the {@code NOTES} source (or when the masks or terms of a patient cannot be
+ *     used) as the other ones do not materialize the notes. Only the notes missing from the memo of the trigger masks
+ *     are actually tokenized: see the {@code cache.gets{cache=noteTriggerMasks}} metrics</li>
+ *     <li>{@code risk.evaluation.triggers}: number of distinct trigger terms found</li>
+ *     <li>{@code risk.evaluation.coalesced}: number of calls served by the evaluation already in progress for the
+ *     same patient instead of evaluating again</li>
+ * </ul>
+ * Percentile histograms are enabled by the {@code management.metrics.distribution.percentiles-histogram} properties.
+ */
+public class RiskEvaluationMetrics {
+	public static final String EVALUATION = "risk.evaluation";
+	public static final String STAGE = "risk.evaluation.stage";
+	public static final String NOTES = "risk.evaluation.notes";
+	public static final String NOTE_CHARACTERS = "risk.evaluation.notes.characters";
+	public static final String TRIGGERS = "risk.evaluation.triggers";
+	public static final String COALESCED = "risk.evaluation.coalesced";
+
+	static final String UNKNOWN_RISK_LEVEL = "UNKNOWN";
+	static final String NO_EXCEPTION = "none";
+
+	/**
+	 * Stage of the evaluation of a patient.
+	 */
+	public enum Stage {
+		FETCH_PATIENT("fetch.patient"),
+		FETCH_NOTES("fetch.notes"),
+		SCAN("scan");
+
+		private final String tag;
+
+		Stage(String tag) {
+			this.tag = tag;
+		}
+
+		public String getTag() {
+			return tag;
+		}
+	}
+
+	private final MeterRegistry meterRegistry;
+	private final String triggerSource;
+	private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+	private final DistributionSummary notes;
+	private final DistributionSummary noteCharacters;
+	private final DistributionSummary triggers;
+	private final Counter coalesced;
+
+	public RiskEvaluationMetrics(MeterRegistry meterRegistry, TriggerSource triggerSource) {
+		this.meterRegistry = meterRegistry;
+		this.triggerSource = triggerSource.name();
+		for (Stage stage : Stage.values()) {
+			stageTimers.put(stage, Timer.builder(STAGE)
+					.description("Duration of a stage of the evaluation of a patient")
+					.tag("stage", stage.getTag())
+					.tag("source", this.triggerSource)
+					.register(meterRegistry));
+		}
+		this.notes = summary(NOTES, "notes", "Number of medical notes downloaded for a patient");
+		this.noteCharacters = summary(NOTE_CHARACTERS, "characters",
+				"Total length of the medical notes downloaded for a patient");
+		this.triggers = summary(TRIGGERS, "terms", "Number of distinct trigger terms found for a patient");
+		this.coalesced = Counter.builder(COALESCED)
+				.description("Number of calls served by the evaluation in progress for the same patient")
+				.tag("source", this.triggerSource)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Starts timing a whole evaluation, to be stopped by {@link #stopEvaluation}.
+	 */
+	public Timer.Sample startEvaluation() {
+		return Timer.start(meterRegistry);
+	}
+
+	/**
+	 * Records the duration of an evaluation with its outcome, and the number of trigger terms it found.
+	 *
+	 * @param sample       The sample started with the evaluation.
+	 * @param riskLevel    The resulting risk level, or null if the evaluation failed.
+	 * @param triggerCount The number of distinct trigger terms found, ignored if the evaluation failed.
+	 * @param exception    The exception thrown by the evaluation, or null if it succeeded.
+	 */
+	public void stopEvaluation(Timer.Sample sample, RiskLevel riskLevel, int triggerCount, Throwable exception) {
+		sample.stop(Timer.builder(EVALUATION)
+				.description("Duration of the evaluation of a patient")
+				.tag("source", triggerSource)
+				.tag("riskLevel", riskLevel == null ? UNKNOWN_RISK_LEVEL : riskLevel.name())
+				.tag("exception", exception == null ? NO_EXCEPTION : exception.getClass().getSimpleName())
+				.register(meterRegistry));
+		if (exception == null) {
+			triggers.record(triggerCount);
+		}
+	}
+
+	/**
+	 * Times a stage of an evaluation, whether it succeeds or not.
+	 */
+	public <T> T timeStage(Stage stage, Supplier<T> supplier) {
+		return stageTimers.get(stage).record(supplier);
+	}
+
+	/**
+	 * Records a call served by the evaluation in progress for the same patient.
+	 */
+	public void recordCoalesced() {
+		coalesced.increment();
+	}
+
+	/**
+	 * Records the number of notes of a patient and their total length, before they are scanned.
+	 */
+	public void recordNotes(List<MedicalNoteBean> medicalNotes) {
+		long characters = 0;
+		for (MedicalNoteBean medicalNote : medicalNotes) {
+			if (medicalNote.getNote() != null) {
+				characters += medicalNote.getNote().length();
+			}
+		}
+		notes.record(medicalNotes.size());
+		noteCharacters.record(characters);
+	}
+
+	private DistributionSummary summary(String name, String baseUnit, String description) {
+		return DistributionSummary.builder(name)
+				.description(description)
+				.baseUnit(baseUnit)
+				.tag("source", triggerSource)
+				.register(meterRegistry);
+	}
+}
@@ -1,16 +1,51 @@
 package com.medilabo.riskevaluatormicroservice.proxies;
 
 import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerMaskBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerTermsBean;
 import com.medilabo.riskevaluatormicroservice.config.feign.FeignClientConfig;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
 @FeignClient(name = "medical-note-microservice", configuration = FeignClientConfig.class)
 public interface MedicalNoteMicroserviceProxy {
 
-	@GetMapping("/medical-notes/patient/{id}")
+	@GetMapping(value = "/medical-notes/patient/{id}", produces = MediaType.APPLICATION_CBOR_VALUE)
 	List<MedicalNoteBean> getPatientMedicalNotes(@PathVariable("id") long id);
+
+	@PostMapping(value = "/medical-notes/patients", produces = MediaType.APPLICATION_CBOR_VALUE)
+	List<MedicalNoteBean> getPatientsMedicalNotes(@RequestBody List<Long> ids);
+
+	/**
+	 * Same as {@link #getPatientMedicalNotes(long)}, returning the raw response to decode its body as a stream.
+	 * The response is returned whatever its status, and must be closed. Its body is in the format of its content type.
+	 */
+	@GetMapping(value = "/medical-notes/patient/{id}", produces = MediaType.APPLICATION_CBOR_VALUE)
+	Response streamPatientMedicalNotes(@PathVariable("id") long id);
+
+	/**
+	 * Same as {@link #getPatientsMedicalNotes(List)}, returning the raw response to decode its body as a stream.
+	 * The response is returned whatever its status, and must be closed. Its body is in the format of its content type.
+	 */
+	@PostMapping(value = "/medical-notes/patients", produces = MediaType.APPLICATION_CBOR_VALUE)
+	Response streamPatientsMedicalNotes(@RequestBody List<Long> ids);
+
+	@GetMapping(value = "/medical-notes/patient/{id}/trigger-mask", produces = MediaType.APPLICATION_CBOR_VALUE)
+	TriggerMaskBean getPatientTriggerMask(@PathVariable("id") long id);
+
+	@PostMapping(value = "/medical-notes/patients/trigger-masks", produces = MediaType.APPLICATION_CBOR_VALUE)
+	List<TriggerMaskBean> getPatientsTriggerMasks(@RequestBody List<Long> ids);
+
+	@GetMapping(value = "/medical-notes/patient/{id}/triggers", produces = MediaType.APPLICATION_CBOR_VALUE)
+	TriggerTermsBean getPatientTriggerTerms(@PathVariable("id") long id);
+
+	@PostMapping(value = "/medical-notes/patients/triggers", produces = MediaType.APPLICATION_CBOR_VALUE)
+	List<TriggerTermsBean> getPatientsTriggerTerms(@RequestBody List<Long> ids);
 }
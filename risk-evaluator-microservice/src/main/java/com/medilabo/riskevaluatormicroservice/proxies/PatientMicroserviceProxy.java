@@ -3,12 +3,24 @@ package com.medilabo.riskevaluatormicroservice.proxies;
 import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
 import com.medilabo.riskevaluatormicroservice.config.feign.FeignClientConfig;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "patient-microservice", configuration = FeignClientConfig.class)
 public interface PatientMicroserviceProxy {
 
-	@GetMapping("/patients/{id}")
+	@GetMapping(value = "/patients/{id}/demographics", produces = MediaType.APPLICATION_CBOR_VALUE)
 	PatientBean getPatientById(@PathVariable("id") long id);
+
+	@PostMapping(value = "/patients/demographics/batch", produces = MediaType.APPLICATION_CBOR_VALUE)
+	List<PatientBean> getPatientsByIds(@RequestBody List<Long> ids);
+
+	@GetMapping(value = "/patients/demographics/page", produces = MediaType.APPLICATION_CBOR_VALUE)
+	List<PatientBean> getPatientsPage(@RequestParam("afterId") long afterId, @RequestParam("size") int size);
 }
@@ -0,0 +1,37 @@
+package com.medilabo.riskevaluatormicroservice.proxies.reactive;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerMaskBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerTermsBean;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the {@code MedicalNoteMicroserviceProxy}.
+ * A {@code 204 No Content} response completes the returned {@link Mono} empty.
+ */
+public interface ReactiveMedicalNoteMicroserviceProxy {
+
+	@GetExchange("/medical-notes/patient/{id}")
+	Mono<List<MedicalNoteBean>> getPatientMedicalNotes(@PathVariable("id") long id);
+
+	@PostExchange("/medical-notes/patients")
+	Mono<List<MedicalNoteBean>> getPatientsMedicalNotes(@RequestBody List<Long> ids);
+
+	@GetExchange("/medical-notes/patient/{id}/trigger-mask")
+	Mono<TriggerMaskBean> getPatientTriggerMask(@PathVariable("id") long id);
+
+	@PostExchange("/medical-notes/patients/trigger-masks")
+	Mono<List<TriggerMaskBean>> getPatientsTriggerMasks(@RequestBody List<Long> ids);
+
+	@GetExchange("/medical-notes/patient/{id}/triggers")
+	Mono<TriggerTermsBean> getPatientTriggerTerms(@PathVariable("id") long id);
+
+	@PostExchange("/medical-notes/patients/triggers")
+	Mono<List<TriggerTermsBean>> getPatientsTriggerTerms(@RequestBody List<Long> ids);
+}
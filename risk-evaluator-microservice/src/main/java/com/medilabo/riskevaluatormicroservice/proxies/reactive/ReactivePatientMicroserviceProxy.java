@@ -0,0 +1,23 @@
+package com.medilabo.riskevaluatormicroservice.proxies.reactive;
+
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the {@code PatientMicroserviceProxy}.
+ * A {@code 204 No Content} response completes the returned {@link Mono} empty.
+ */
+public interface ReactivePatientMicroserviceProxy {
+
+	@GetExchange("/patients/{id}/demographics")
+	Mono<PatientBean> getPatientById(@PathVariable("id") long id);
+
+	@PostExchange("/patients/demographics/batch")
+	Mono<List<PatientBean>> getPatientsByIds(@RequestBody List<Long> ids);
+}
@@ -0,0 +1,265 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.config.security.ServiceJwtProvider;
+import com.medilabo.riskevaluatormicroservice.controller.dto.PopulationRiskReport;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.exception.PopulationScanInProgressException;
+import com.medilabo.riskevaluatormicroservice.proxies.PatientMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.service.contracts.PopulationRiskScanService;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class PopulationRiskScanServiceImpl implements PopulationRiskScanService {
+	private final PatientMicroserviceProxy patientMicroserviceProxy;
+	private final RiskEvaluatorService riskEvaluatorService;
+	private final ServiceJwtProvider serviceJwtProvider;
+	private final Executor executor;
+	private final int pageSize;
+	private final int maxConcurrentPages;
+
+	private final AtomicBoolean scanning = new AtomicBoolean();
+	private volatile PopulationRiskReport lastReport;
+
+	public PopulationRiskScanServiceImpl(PatientMicroserviceProxy patientMicroserviceProxy,
+										 RiskEvaluatorService riskEvaluatorService,
+										 ServiceJwtProvider serviceJwtProvider,
+										 @Qualifier("riskEvaluatorExecutor") Executor executor,
+										 @Value("${risk-evaluator.population-scan.page-size:500}") int pageSize,
+										 @Value("${risk-evaluator.population-scan.max-concurrent-pages:4}") int maxConcurrentPages) {
+		this.patientMicroserviceProxy = patientMicroserviceProxy;
+		this.riskEvaluatorService = riskEvaluatorService;
+		this.serviceJwtProvider = serviceJwtProvider;
+		this.executor = executor;
+		this.pageSize = pageSize;
+		this.maxConcurrentPages = maxConcurrentPages;
+	}
+
+	/**
+	 * Runs the population risk scan on the schedule of the {@code risk-evaluator.population-scan.cron} property.
+	 * Failures are logged only: the previous report stays available until the next successful scan.
+	 */
+	@Scheduled(cron = "${risk-evaluator.population-scan.cron:-}")
+	public void scheduledScan() {
+		try {
+			PopulationRiskReport report = scan();
+			log.info("Scheduled population risk scan completed: {} patients, {}", report.patientCount(),
+					report.riskLevelCounts());
+		} catch (PopulationScanInProgressException ex) {
+			log.warn("Scheduled population risk scan skipped: {}", ex.getMessage());
+		} catch (RuntimeException ex) {
+			log.error("Scheduled population risk scan failed", ex);
+		}
+	}
+
+	/**
+	 * Evaluates the risk level of every patient and reports their distribution.
+	 * <p>
+	 * Patients are read page by page in ID order (keyset pagination), and every page is evaluated on the
+	 * {@code riskEvaluatorExecutor} while the next one is fetched. At most {@code max-concurrent-pages} pages are held at
+	 * once: reading waits for a page to be evaluated before fetching another one. Only the counts per risk level and
+	 * the IDs of the patients at risk are kept, so that memory does not depend on the number of patients.
+	 * <p>
+	 * The backend calls are authenticated with the token of the service (see {@link ServiceJwtProvider}), as a scan
+	 * outlives the token of the user triggering it and a scheduled scan has none.
+	 *
+	 * @return The report of the scan.
+	 *
+	 * @throws PopulationScanInProgressException If another scan is running.
+	 */
+	@Override
+	public PopulationRiskReport scan() {
+		startScanning();
+		return runScan();
+	}
+
+	/**
+	 * Starts a scan (see {@link #scan()}) on the {@code riskEvaluatorExecutor} and returns without waiting for it.
+	 * The report replaces the last one once the scan completed; failures are logged only.
+	 *
+	 * @throws PopulationScanInProgressException If another scan is running.
+	 */
+	@Override
+	public void startScan() {
+		startScanning();
+		try {
+			executor.execute(() -> {
+				try {
+					PopulationRiskReport report = runScan();
+					log.info("Population risk scan completed: {} patients, {}", report.patientCount(),
+							report.riskLevelCounts());
+				} catch (RuntimeException ex) {
+					log.error("Population risk scan failed", ex);
+				}
+			});
+		} catch (RuntimeException ex) {
+			scanning.set(false);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Retrieves the report of the last successful scan.
+	 *
+	 * @return The last report, or empty if no scan has completed yet.
+	 */
+	@Override
+	public Optional<PopulationRiskReport> getLastReport() {
+		return Optional.ofNullable(lastReport);
+	}
+
+	/**
+	 * Marks a scan as running.
+	 *
+	 * @throws PopulationScanInProgressException If another scan is running.
+	 */
+	private void startScanning() {
+		if (!scanning.compareAndSet(false, true)) {
+			throw new PopulationScanInProgressException();
+		}
+	}
+
+	/**
+	 * Scans all the patients and keeps the report, restoring the token of the calling thread and ending the scan once
+	 * done.
+	 */
+	private PopulationRiskReport runScan() {
+		String callerToken = JwtContextHolder.getToken();
+		try {
+			PopulationRiskReport report = scanAllPages();
+			lastReport = report;
+			return report;
+		} finally {
+			if (callerToken == null) {
+				JwtContextHolder.clear();
+			} else {
+				JwtContextHolder.setToken(callerToken);
+			}
+			scanning.set(false);
+		}
+	}
+
+	/**
+	 * Reads all the patients page by page and evaluates the pages concurrently, stopping at the first failure.
+	 */
+	private PopulationRiskReport scanAllPages() {
+		Tally tally = new Tally();
+		Semaphore pagePermits = new Semaphore(maxConcurrentPages);
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		long afterId = 0;
+		int pageCount = 0;
+
+		try {
+			while (failure.get() == null) {
+				pagePermits.acquireUninterruptibly();
+				// Renewed on every page, as the executor propagates the token of the submitting thread
+				JwtContextHolder.setToken(serviceJwtProvider.getToken());
+				List<PatientBean> page;
+				try {
+					page = patientMicroserviceProxy.getPatientsPage(afterId, pageSize);
+				} catch (RuntimeException ex) {
+					pagePermits.release();
+					throw ex;
+				}
+				if (page == null || page.isEmpty()) {
+					pagePermits.release();
+					break;
+				}
+
+				pageCount++;
+				afterId = page.getLast().getId();
+				submit(page, tally, pagePermits, failure);
+				if (page.size() < pageSize) {
+					break;
+				}
+			}
+		} finally {
+			// Wait for the pages being evaluated
+			pagePermits.acquireUninterruptibly(maxConcurrentPages);
+		}
+
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		log.debug("{} pages of patients scanned", pageCount);
+		return tally.toReport();
+	}
+
+	private void submit(List<PatientBean> page, Tally tally, Semaphore pagePermits,
+						AtomicReference<RuntimeException> failure) {
+		try {
+			executor.execute(() -> {
+				try {
+					tally.add(riskEvaluatorService.evaluateRiskLevels(page));
+				} catch (RuntimeException ex) {
+					failure.compareAndSet(null, ex);
+				} finally {
+					pagePermits.release();
+				}
+			});
+		} catch (RuntimeException ex) {
+			pagePermits.release();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Thread-safe accumulator of the risk levels evaluated by the concurrent pages.
+	 */
+	private static final class Tally {
+		private final Map<RiskLevel, LongAdder> counts = new EnumMap<>(RiskLevel.class);
+		private final Queue<Long> earlyOnsetPatientIds = new ConcurrentLinkedQueue<>();
+		private final Queue<Long> inDangerPatientIds = new ConcurrentLinkedQueue<>();
+
+		private Tally() {
+			for (RiskLevel riskLevel : RiskLevel.values()) {
+				counts.put(riskLevel, new LongAdder());
+			}
+		}
+
+		private void add(Map<Long, RiskLevel> riskLevels) {
+			riskLevels.forEach((patientId, riskLevel) -> {
+				counts.get(riskLevel).increment();
+				switch (riskLevel) {
+					case EARLY_ONSET -> earlyOnsetPatientIds.add(patientId);
+					case IN_DANGER -> inDangerPatientIds.add(patientId);
+					default -> {
+					}
+				}
+			});
+		}
+
+		private PopulationRiskReport toReport() {
+			Map<RiskLevel, Long> riskLevelCounts = new EnumMap<>(RiskLevel.class);
+			counts.forEach((riskLevel, count) -> riskLevelCounts.put(riskLevel, count.sum()));
+			long patientCount = riskLevelCounts.values().stream().mapToLong(Long::longValue).sum();
+			return new PopulationRiskReport(Instant.now(), patientCount, riskLevelCounts,
+					sorted(earlyOnsetPatientIds), sorted(inDangerPatientIds));
+		}
+
+		private static List<Long> sorted(Collection<Long> patientIds) {
+			return patientIds.stream().sorted().toList();
+		}
+	}
+}
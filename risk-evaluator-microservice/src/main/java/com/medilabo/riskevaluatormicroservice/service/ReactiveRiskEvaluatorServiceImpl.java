@@ -0,0 +1,210 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerMaskBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerTermsBean;
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.config.webclient.JwtCookieExchangeFilter;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerSource;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskEvaluationKernel;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.proxies.reactive.ReactiveMedicalNoteMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.proxies.reactive.ReactivePatientMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.service.contracts.ReactiveRiskEvaluatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ReactiveRiskEvaluatorServiceImpl implements ReactiveRiskEvaluatorService {
+	private final ReactivePatientMicroserviceProxy patientMicroserviceProxy;
+	private final ReactiveMedicalNoteMicroserviceProxy medicalNoteMicroserviceProxy;
+	private final RiskEvaluationKernel riskEvaluationKernel;
+	private final TriggerSource triggerSource;
+
+	public ReactiveRiskEvaluatorServiceImpl(ReactivePatientMicroserviceProxy patientMicroserviceProxy,
+											ReactiveMedicalNoteMicroserviceProxy medicalNoteMicroserviceProxy,
+											RiskEvaluationKernel riskEvaluationKernel,
+											@Value("${risk-evaluator.trigger-source:MASK}") TriggerSource triggerSource) {
+		this.patientMicroserviceProxy = patientMicroserviceProxy;
+		this.medicalNoteMicroserviceProxy = medicalNoteMicroserviceProxy;
+		this.riskEvaluationKernel = riskEvaluationKernel;
+		this.triggerSource = triggerSource;
+	}
+
+	/**
+	 * Collects the necessary data for a patient and calculates his risk level, without blocking any thread while
+	 * waiting for the backends.
+	 * The patient and his trigger terms (see {@link TriggerSource}) are fetched concurrently. The JWT of the current
+	 * request is captured when this method is called, and sent with both requests.
+	 *
+	 * @param patientId The ID of the patient for whom the risk level is to be calculated.
+	 *
+	 * @return The calculated risk level for the patient, or a {@link PatientNotFoundException} error if no patient is
+	 * found with the given ID.
+	 */
+	@Override
+	public Mono<RiskLevel> getRiskLevel(Long patientId) {
+		Mono<PatientBean> patient = patientMicroserviceProxy.getPatientById(patientId)
+				.onErrorMap(WebClientResponseException.NotFound.class, ex -> new PatientNotFoundException(patientId))
+				.switchIfEmpty(Mono.error(() -> new PatientNotFoundException(patientId)))
+				.doOnNext(found -> log.debug("Patient with ID '{}' found: {}", found.getId(), found));
+
+		return Mono.zip(patient, fetchTriggerCount(patientId))
+				.map(tuple -> riskEvaluationKernel.evaluate(tuple.getT1(), tuple.getT2()))
+				.contextWrite(JwtCookieExchangeFilter.withToken(JwtContextHolder.getToken()));
+	}
+
+	/**
+	 * Collects the necessary data for several patients in two batch requests (one for the patients, one for all their
+	 * trigger terms), then calculates their risk levels.
+	 * IDs without a matching patient are left out of the result.
+	 *
+	 * @param patientIds The IDs of the patients for whom the risk levels are to be calculated.
+	 *
+	 * @return The calculated risk level of every patient found, by patient ID, in the order of the given IDs.
+	 */
+	@Override
+	public Mono<Map<Long, RiskLevel>> getRiskLevels(List<Long> patientIds) {
+		List<Long> distinctIds = patientIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.toList();
+		if (distinctIds.isEmpty()) {
+			return Mono.just(Map.of());
+		}
+
+		return patientMicroserviceProxy.getPatientsByIds(distinctIds)
+				.filter(patients -> !patients.isEmpty())
+				.flatMap(patients -> fetchTriggerCounts(patients.stream().map(PatientBean::getId).toList())
+						.map(triggerCounts -> evaluateAll(distinctIds, patients, triggerCounts)))
+				.defaultIfEmpty(Map.of())
+				.contextWrite(JwtCookieExchangeFilter.withToken(JwtContextHolder.getToken()));
+	}
+
+	/**
+	 * Fetches the number of distinct trigger terms of a patient from the configured {@link TriggerSource}.
+	 * The notes of the patient are scanned instead when his trigger mask or terms were not computed with the active
+	 * trigger lexicon (see {@link RiskEvaluationKernel#acceptsBackendTriggers(String)}).
+	 */
+	private Mono<Integer> fetchTriggerCount(Long patientId) {
+		return switch (triggerSource) {
+			case MASK -> medicalNoteMicroserviceProxy.getPatientTriggerMask(patientId)
+					.flatMap(triggerMask -> riskEvaluationKernel.acceptsBackendTriggers(triggerMask.getLexiconVersion())
+							? Mono.just(riskEvaluationKernel.getTriggerCount(triggerMask.getTriggerMask()))
+							: scanMedicalNotes(patientId))
+					.defaultIfEmpty(0);
+			case TERMS -> medicalNoteMicroserviceProxy.getPatientTriggerTerms(patientId)
+					.flatMap(triggerTerms -> riskEvaluationKernel.acceptsBackendTriggers(triggerTerms.getLexiconVersion())
+							? Mono.just(riskEvaluationKernel.getTriggerCount(triggerTerms.getTriggerTerms()))
+							: scanMedicalNotes(patientId))
+					.defaultIfEmpty(0);
+			case NOTES, STREAM -> scanMedicalNotes(patientId).defaultIfEmpty(0);
+		};
+	}
+
+	/**
+	 * Downloads the medical notes of a patient and scans them.
+	 */
+	private Mono<Integer> scanMedicalNotes(Long patientId) {
+		return medicalNoteMicroserviceProxy.getPatientMedicalNotes(patientId)
+				.map(riskEvaluationKernel::getTriggerCount);
+	}
+
+	/**
+	 * Fetches the number of distinct trigger terms of several patients in a single request.
+	 *
+	 * @return The number of trigger terms of every patient having some, by patient ID.
+	 */
+	private Mono<Map<Long, Integer>> fetchTriggerCounts(List<Long> patientIds) {
+		return switch (triggerSource) {
+			case MASK -> medicalNoteMicroserviceProxy.getPatientsTriggerMasks(patientIds)
+					.flatMap(triggerMasks -> countTriggers(triggerMasks, TriggerMaskBean::getPatId,
+							TriggerMaskBean::getLexiconVersion,
+							triggerMask -> riskEvaluationKernel.getTriggerCount(triggerMask.getTriggerMask())))
+					.defaultIfEmpty(Map.of());
+			case TERMS -> medicalNoteMicroserviceProxy.getPatientsTriggerTerms(patientIds)
+					.flatMap(triggerTerms -> countTriggers(triggerTerms, TriggerTermsBean::getPatId,
+							TriggerTermsBean::getLexiconVersion,
+							patientTerms -> riskEvaluationKernel.getTriggerCount(patientTerms.getTriggerTerms())))
+					.defaultIfEmpty(Map.of());
+			case NOTES, STREAM -> scanMedicalNotes(patientIds).defaultIfEmpty(Map.of());
+		};
+	}
+
+	/**
+	 * Counts the trigger terms of several patients found by the medical note service. The patients whose triggers were
+	 * not computed with the active trigger lexicon (see {@link RiskEvaluationKernel#acceptsBackendTriggers(String)})
+	 * have their medical notes downloaded in a single request and scanned instead.
+	 *
+	 * @return The number of trigger terms of every patient, by patient ID.
+	 */
+	private <T> Mono<Map<Long, Integer>> countTriggers(List<T> triggers, Function<T, Integer> patientId,
+													   Function<T, String> lexiconVersion, ToIntFunction<T> triggerCount) {
+		Map<Long, Integer> triggerCounts = new HashMap<>();
+		List<Long> rescannedIds = new ArrayList<>();
+		for (T patientTriggers : triggers) {
+			Long id = patientId.apply(patientTriggers).longValue();
+			if (riskEvaluationKernel.acceptsBackendTriggers(lexiconVersion.apply(patientTriggers))) {
+				triggerCounts.put(id, triggerCount.applyAsInt(patientTriggers));
+			} else {
+				rescannedIds.add(id);
+			}
+		}
+		if (rescannedIds.isEmpty()) {
+			return Mono.just(triggerCounts);
+		}
+		return scanMedicalNotes(rescannedIds)
+				.map(rescannedCounts -> {
+					triggerCounts.putAll(rescannedCounts);
+					return triggerCounts;
+				})
+				.defaultIfEmpty(triggerCounts);
+	}
+
+	/**
+	 * Downloads the medical notes of several patients in a single request and scans them.
+	 *
+	 * @return The number of trigger terms of every patient having notes, by patient ID.
+	 */
+	private Mono<Map<Long, Integer>> scanMedicalNotes(List<Long> patientIds) {
+		return medicalNoteMicroserviceProxy.getPatientsMedicalNotes(patientIds)
+				.map(medicalNotes -> medicalNotes.stream()
+						.collect(Collectors.groupingBy(medicalNote -> medicalNote.getPatId().longValue()))
+						.entrySet().stream()
+						.collect(Collectors.toMap(Map.Entry::getKey,
+								entry -> riskEvaluationKernel.getTriggerCount(entry.getValue()))));
+	}
+
+	/**
+	 * Evaluates the risk levels of several patients, in the order of the requested IDs.
+	 */
+	private Map<Long, RiskLevel> evaluateAll(List<Long> requestedIds, List<PatientBean> patients,
+											 Map<Long, Integer> triggerCounts) {
+		Map<Long, PatientBean> patientsById = patients.stream()
+				.collect(Collectors.toMap(PatientBean::getId, patient -> patient));
+
+		Map<Long, RiskLevel> riskLevels = new LinkedHashMap<>();
+		for (Long patientId : requestedIds) {
+			PatientBean patient = patientsById.get(patientId);
+			if (patient != null) {
+				riskLevels.put(patientId, riskEvaluationKernel.evaluate(patient, triggerCounts.getOrDefault(patientId, 0)));
+			}
+		}
+		return riskLevels;
+	}
+}
@@ -2,37 +2,91 @@ package com.medilabo.riskevaluatormicroservice.service;
 
 import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
 import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerMaskBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerTermsBean;
+import com.medilabo.riskevaluatormicroservice.config.security.GatewayJwtFilter;
+import com.medilabo.riskevaluatormicroservice.controller.dto.RiskTimeline;
+import com.medilabo.riskevaluatormicroservice.decoder.MedicalNoteTriggerDecoder;
 import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
-import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerSource;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskEvaluationKernel;
 import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.metrics.RiskEvaluationMetrics;
+import com.medilabo.riskevaluatormicroservice.metrics.RiskEvaluationMetrics.Stage;
 import com.medilabo.riskevaluatormicroservice.proxies.MedicalNoteMicroserviceProxy;
 import com.medilabo.riskevaluatormicroservice.proxies.PatientMicroserviceProxy;
 import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
-import com.medilabo.riskevaluatormicroservice.utils.AgeUtils;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelStoreService;
 import feign.FeignException;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class RiskEvaluatorServiceImpl implements RiskEvaluatorService {
-
 	private final PatientMicroserviceProxy patientMicroserviceProxy;
 	private final MedicalNoteMicroserviceProxy medicalNoteMicroserviceProxy;
+	private final RiskEvaluationKernel riskEvaluationKernel;
+	private final Executor executor;
+	private final TriggerSource triggerSource;
+	private final RiskEvaluationMetrics metrics;
+
+	/** Evaluations in progress, by patient ID, shared by the concurrent callers of {@link #getRiskLevel(Long)}. */
+	private final Map<Long, CompletableFuture<RiskLevel>> inFlightEvaluations = new ConcurrentHashMap<>();
 
 	public RiskEvaluatorServiceImpl(PatientMicroserviceProxy patientMicroserviceProxy,
-									MedicalNoteMicroserviceProxy medicalNoteMicroserviceProxy) {
+									MedicalNoteMicroserviceProxy medicalNoteMicroserviceProxy,
+									RiskEvaluationKernel riskEvaluationKernel,
+									@Qualifier("riskEvaluatorExecutor") Executor executor,
+									@Value("${risk-evaluator.trigger-source:MASK}") TriggerSource triggerSource,
+									MeterRegistry meterRegistry) {
 		this.patientMicroserviceProxy = patientMicroserviceProxy;
 		this.medicalNoteMicroserviceProxy = medicalNoteMicroserviceProxy;
+		this.riskEvaluationKernel = riskEvaluationKernel;
+		this.executor = executor;
+		this.triggerSource = triggerSource;
+		this.metrics = new RiskEvaluationMetrics(meterRegistry, triggerSource);
 	}
 
 	/**
 	 * Collects and delegates the necessary data for a patient to calculate his risk level.
+	 * The patient and his trigger terms (see {@link TriggerSource}) are fetched concurrently, so that the latency is the
+	 * one of the slowest call rather than the sum of both.
+	 * Concurrent calls for the same patient share a single in-flight evaluation: the first caller evaluates, the others
+	 * wait for its result (or its exception) instead of repeating the backend calls. Every caller has been authenticated
+	 * on his own by the {@link GatewayJwtFilter} beforehand, and a caller whose shared evaluation was rejected by the
+	 * backend (401 or 403, e.g. expired token of the first caller) evaluates again with his own token.
+	 * The result is not cached here: the {@link RiskLevelStoreService} stores it until the data of the patient changes.
+	 * Every evaluation and each of its stages are timed (see {@link RiskEvaluationMetrics}).
 	 *
 	 * @param patientId The ID of the patient for whom the risk level is to be calculated.
 	 *
@@ -42,132 +96,450 @@ public class RiskEvaluatorServiceImpl implements RiskEvaluatorService {
 	 */
 	@Override
 	public RiskLevel getRiskLevel(Long patientId) {
-		PatientBean patient;
+		CompletableFuture<RiskLevel> evaluation = new CompletableFuture<>();
+		CompletableFuture<RiskLevel> inFlightEvaluation = inFlightEvaluations.putIfAbsent(patientId, evaluation);
+		if (inFlightEvaluation != null) {
+			metrics.recordCoalesced();
+			try {
+				return join(inFlightEvaluation);
+			} catch (FeignException.Unauthorized | FeignException.Forbidden ex) {
+				log.debug("Shared evaluation of patient ID '{}' rejected, evaluating with the caller's token", patientId);
+				return evaluateRiskLevel(patientId);
+			}
+		}
+
 		try {
-			patient = patientMicroserviceProxy.getPatientById(patientId);
-			log.debug("Patient with ID '{}' found: {}", patient.getId(), patient);
-		} catch (FeignException.NotFound ex) {
-			throw new PatientNotFoundException(patientId);
+			RiskLevel riskLevel = evaluateRiskLevel(patientId);
+			evaluation.complete(riskLevel);
+			return riskLevel;
+		} catch (RuntimeException ex) {
+			evaluation.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			inFlightEvaluations.remove(patientId, evaluation);
 		}
+	}
 
-		List<MedicalNoteBean> medicalNotes = medicalNoteMicroserviceProxy.getPatientMedicalNotes(patientId);
-		log.debug("Patient Medical Notes found: {}", medicalNotes);
+	/**
+	 * Fetches the patient and his trigger terms concurrently, then evaluates his risk level.
+	 *
+	 * @throws PatientNotFoundException If no patient is found with the given ID.
+	 */
+	private RiskLevel evaluateRiskLevel(Long patientId) {
+		Timer.Sample sample = metrics.startEvaluation();
+		try {
+			Future<PatientBean> patientFuture = submit(
+					() -> metrics.timeStage(Stage.FETCH_PATIENT, () -> patientMicroserviceProxy.getPatientById(patientId)));
+			Future<Integer> triggerCountFuture = submit(() -> fetchTriggerCount(patientId));
 
-		return evaluate(patient, medicalNotes);
+			PatientBean patient;
+			try {
+				patient = join(patientFuture);
+				log.debug("Patient with ID '{}' found: {}", patient.getId(), patient);
+			} catch (FeignException.NotFound ex) {
+				triggerCountFuture.cancel(true);
+				throw new PatientNotFoundException(patientId);
+			}
+
+			int triggerCount = join(triggerCountFuture);
+			RiskLevel riskLevel = riskEvaluationKernel.evaluate(patient, triggerCount);
+			metrics.stopEvaluation(sample, riskLevel, triggerCount, null);
+			return riskLevel;
+		} catch (RuntimeException ex) {
+			metrics.stopEvaluation(sample, null, 0, ex);
+			throw ex;
+		}
 	}
 
 	/**
-	 * Evaluates the risk level for a patient based on their medical notes and other relevant data.
-	 * <b>WARNING</b>: This method does not handle patient with age exactly 30 years old, as the requirements do not
-	 * specify the risk evaluation criteria for this age group.
-	 * In such cases, the method will return <em>RiskLevel.NONE</em> by default.
+	 * Collects the necessary data for several patients in two batch requests (one for the patients, one for all their
+	 * trigger terms), then calculates their risk levels in parallel.
+	 * IDs without a matching patient are left out of the result.
 	 *
-	 * @param patient      The patient for whom the risk level is to be evaluated.
-	 * @param medicalNotes The list of medical notes associated with the patient, which may contain relevant information
-	 *                     for risk evaluation.
+	 * @param patientIds The IDs of the patients for whom the risk levels are to be calculated.
 	 *
-	 * @return The calculated risk level for the patient.
+	 * @return The calculated risk level of every patient found, by patient ID, in the order of the given IDs.
 	 */
-	private RiskLevel evaluate(PatientBean patient, List<MedicalNoteBean> medicalNotes) {
-		int patientAge = AgeUtils.calculateAgeFromBirthdate(patient.getBirthDate(), "yyyy-MM-dd");
-		String patientGender = patient.getGender();
-		log.debug("Patient ID '{}' infos: Age -> {}, Gender -> {}", patient.getId(), patientAge, patientGender);
+	@Override
+	public Map<Long, RiskLevel> getRiskLevels(List<Long> patientIds) {
+		List<Long> distinctIds = patientIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.toList();
+		if (distinctIds.isEmpty()) {
+			return Map.of();
+		}
 
-		if (medicalNotes == null || medicalNotes.isEmpty()) {
-			return RiskLevel.NONE;
+		List<PatientBean> patients = patientMicroserviceProxy.getPatientsByIds(distinctIds);
+		if (patients == null || patients.isEmpty()) {
+			log.debug("No patients found for IDs: {}", distinctIds);
+			return Map.of();
 		}
+		log.debug("{} patients found for {} IDs", patients.size(), distinctIds.size());
 
-		int triggerCount = getTriggerCount(medicalNotes);
-		log.debug("Calculated triggers for patient ID '{}': {}", patient.getId(), triggerCount);
+		Map<Long, RiskLevel> riskLevels = evaluateRiskLevels(patients);
 
-		if (triggerCount == 0) {
-			return RiskLevel.NONE;
+		Map<Long, RiskLevel> orderedRiskLevels = new LinkedHashMap<>();
+		for (Long patientId : distinctIds) {
+			RiskLevel riskLevel = riskLevels.get(patientId);
+			if (riskLevel != null) {
+				orderedRiskLevels.put(patientId, riskLevel);
+			}
 		}
+		return orderedRiskLevels;
+	}
 
-		if (patientAge < 30) {
-			return evaluateUnder30(patientGender, triggerCount);
-		}
-		if (patientAge > 30) {
-			return evaluateOver30(triggerCount);
+	/**
+	 * Collects the trigger terms of patients already fetched in a single batch request, then calculates their risk
+	 * levels in parallel.
+	 *
+	 * @param patients The patients for whom the risk levels are to be calculated.
+	 *
+	 * @return The calculated risk level of every patient, by patient ID.
+	 */
+	@Override
+	public Map<Long, RiskLevel> evaluateRiskLevels(List<PatientBean> patients) {
+		if (patients.isEmpty()) {
+			return Map.of();
 		}
-		return RiskLevel.NONE;
+
+		List<Long> patientIds = patients.stream().map(PatientBean::getId).toList();
+		return switch (triggerSource) {
+			case MASK -> {
+				Map<Long, Integer> triggerCounts = fetchTriggerMaskCounts(patientIds);
+				yield evaluateAll(patients, patient -> triggerCounts.getOrDefault(patient.getId(), 0));
+			}
+			case STREAM -> {
+				Map<Long, Integer> triggerMasks = streamTriggerMasks(patientIds);
+				yield evaluateAll(patients, patient ->
+						riskEvaluationKernel.getTriggerCount(triggerMasks.getOrDefault(patient.getId(), 0)));
+			}
+			case TERMS -> {
+				Map<Long, Integer> triggerCounts = fetchTriggerTermCounts(patientIds);
+				yield evaluateAll(patients, patient -> triggerCounts.getOrDefault(patient.getId(), 0));
+			}
+			case NOTES -> {
+				Map<Long, List<MedicalNoteBean>> medicalNotes = fetchMedicalNotes(patientIds);
+				yield evaluateAll(patients, patient ->
+						riskEvaluationKernel.getTriggerCount(medicalNotes.getOrDefault(patient.getId(), List.of())));
+			}
+		};
 	}
 
 	/**
-	 * Evaluates the risk level for a patient under 30 years old based on their gender and the number of triggers found
-	 * in their medical notes.
+	 * Collects the patient and his medical notes concurrently, then evaluates his risk level after each note in a single
+	 * pass over the notes (see {@link RiskEvaluationKernel#evaluateTimeline(PatientBean, List)}).
+	 * The notes are always downloaded, whatever the {@link TriggerSource}, as their creation dates are needed.
 	 *
-	 * @param gender   The gender of the patient
-	 * @param triggers The number of triggers found in the patient's medical notes
+	 * @param patientId The ID of the patient.
 	 *
-	 * @return The calculated risk level for the patient.
+	 * @return The risk level of the patient after every note, oldest first.
+	 *
+	 * @throws PatientNotFoundException If no patient is found with the given ID.
 	 */
-	private RiskLevel evaluateUnder30(String gender, int triggers) {
-		if ("M".equalsIgnoreCase(gender)) {
-			if (triggers >= 5) return RiskLevel.EARLY_ONSET;
-			if (triggers == 3) return RiskLevel.IN_DANGER;
-		} else if ("F".equalsIgnoreCase(gender)) {
-			if (triggers == 4) return RiskLevel.IN_DANGER;
-			if (triggers >= 7) return RiskLevel.EARLY_ONSET;
+	@Override
+	public RiskTimeline getRiskTimeline(Long patientId) {
+		PatientWithNotes patientWithNotes = fetchPatientWithNotes(patientId);
+		List<MedicalNoteBean> oldestFirst = patientWithNotes.medicalNotes().reversed();
+		return new RiskTimeline(patientId,
+				riskEvaluationKernel.evaluateTimeline(patientWithNotes.patient(), oldestFirst));
+	}
+
+	/**
+	 * Collects the patient and his medical notes concurrently, then evaluates the risk level he had at a given date
+	 * from the notes written until that date (included) and his age at that date.
+	 * Notes without a creation date are left out, as they cannot be placed in time.
+	 *
+	 * @param patientId The ID of the patient.
+	 * @param date      The date of the evaluation.
+	 *
+	 * @return The risk level of the patient at the date.
+	 *
+	 * @throws PatientNotFoundException If no patient is found with the given ID.
+	 */
+	@Override
+	public RiskLevel getRiskLevelAsOf(Long patientId, LocalDate date) {
+		PatientWithNotes patientWithNotes = fetchPatientWithNotes(patientId);
+		List<MedicalNoteBean> notesAsOf = patientWithNotes.medicalNotes().stream()
+				.filter(medicalNote -> medicalNote.getCreatedAt() != null
+						&& !RiskEvaluationKernel.toLocalDate(medicalNote.getCreatedAt()).isAfter(date))
+				.toList();
+		return riskEvaluationKernel.evaluate(patientWithNotes.patient(), date,
+				riskEvaluationKernel.getTriggerCount(notesAsOf));
+	}
+
+	/**
+	 * Fetches a patient and his medical notes (most recent first) concurrently.
+	 *
+	 * @throws PatientNotFoundException If no patient is found with the given ID.
+	 */
+	private PatientWithNotes fetchPatientWithNotes(Long patientId) {
+		Future<PatientBean> patientFuture = submit(() -> patientMicroserviceProxy.getPatientById(patientId));
+		Future<List<MedicalNoteBean>> medicalNotesFuture = submit(
+				() -> medicalNoteMicroserviceProxy.getPatientMedicalNotes(patientId));
+
+		PatientBean patient;
+		try {
+			patient = join(patientFuture);
+		} catch (FeignException.NotFound ex) {
+			medicalNotesFuture.cancel(true);
+			throw new PatientNotFoundException(patientId);
 		}
-		return RiskLevel.NONE;
+		List<MedicalNoteBean> medicalNotes = join(medicalNotesFuture);
+		return new PatientWithNotes(patient, medicalNotes == null ? List.of() : medicalNotes);
 	}
 
 	/**
-	 * Evaluates the risk level for a patient over 30 years old based on the number of triggers found in their medical
-	 * notes.
+	 * Fetches the number of distinct trigger terms of a patient from the configured {@link TriggerSource}.
+	 * For the {@code NOTES} source, the notes are scanned locally as a separate stage once downloaded. So are they when
+	 * the trigger mask or terms of the patient were not computed with the active trigger lexicon (see
+	 * {@link RiskEvaluationKernel#acceptsBackendTriggers(String)}).
+	 */
+	private int fetchTriggerCount(Long patientId) {
+		return switch (triggerSource) {
+			case MASK -> {
+				TriggerMaskBean triggerMask = metrics.timeStage(Stage.FETCH_NOTES,
+						() -> medicalNoteMicroserviceProxy.getPatientTriggerMask(patientId));
+				log.debug("Patient trigger mask found: {}", triggerMask);
+				if (triggerMask == null) {
+					yield 0;
+				}
+				yield riskEvaluationKernel.acceptsBackendTriggers(triggerMask.getLexiconVersion())
+						? riskEvaluationKernel.getTriggerCount(triggerMask.getTriggerMask())
+						: scanMedicalNotes(patientId, triggerMask.getLexiconVersion());
+			}
+			case NOTES -> scanMedicalNotes(patientId);
+			case STREAM -> metrics.timeStage(Stage.FETCH_NOTES,
+					() -> riskEvaluationKernel.getTriggerCount(streamTriggerMask(patientId)));
+			case TERMS -> {
+				TriggerTermsBean triggerTerms = metrics.timeStage(Stage.FETCH_NOTES,
+						() -> medicalNoteMicroserviceProxy.getPatientTriggerTerms(patientId));
+				log.debug("Patient trigger terms found: {}", triggerTerms);
+				if (triggerTerms == null) {
+					yield 0;
+				}
+				yield riskEvaluationKernel.acceptsBackendTriggers(triggerTerms.getLexiconVersion())
+						? riskEvaluationKernel.getTriggerCount(triggerTerms.getTriggerTerms())
+						: scanMedicalNotes(patientId, triggerTerms.getLexiconVersion());
+			}
+		};
+	}
+
+	/**
+	 * Downloads the medical notes of a patient whose trigger mask or terms were computed with another lexicon than the
+	 * active one, and scans them.
+	 */
+	private int scanMedicalNotes(Long patientId, String lexiconVersion) {
+		log.debug("Triggers of patient ID '{}' found with trigger lexicon {} instead of {}, scanning his notes",
+				patientId, lexiconVersion, riskEvaluationKernel.getTriggerTermMatcher().getVersion());
+		return scanMedicalNotes(patientId);
+	}
+
+	/**
+	 * Downloads the medical notes of a patient and scans them.
 	 *
-	 * @param triggers The number of triggers found in the patient's medical notes
+	 * @return The number of trigger terms found in the notes.
+	 */
+	private int scanMedicalNotes(Long patientId) {
+		List<MedicalNoteBean> medicalNotes = metrics.timeStage(Stage.FETCH_NOTES,
+				() -> medicalNoteMicroserviceProxy.getPatientMedicalNotes(patientId));
+		log.debug("Patient Medical Notes found: {}", medicalNotes);
+		if (medicalNotes == null) {
+			return 0;
+		}
+		metrics.recordNotes(medicalNotes);
+		return metrics.timeStage(Stage.SCAN, () -> riskEvaluationKernel.getTriggerCount(medicalNotes));
+	}
+
+	/**
+	 * Downloads the medical notes of a patient and scans them while they are parsed (see
+	 * {@link MedicalNoteTriggerDecoder}). The download stops as soon as every trigger term has been found.
 	 *
-	 * @return The calculated risk level for the patient.
+	 * @return The trigger mask of the patient.
 	 */
-	private RiskLevel evaluateOver30(int triggers) {
-		if (triggers > 1 && triggers < 6) return RiskLevel.BORDERLINE;
-		if (triggers == 6 || triggers == 7) return RiskLevel.IN_DANGER;
-		if (triggers >= 8) return RiskLevel.EARLY_ONSET;
-		return RiskLevel.NONE;
+	private int streamTriggerMask(Long patientId) {
+		try (Response response = medicalNoteMicroserviceProxy.streamPatientMedicalNotes(patientId)) {
+			return MedicalNoteTriggerDecoder.decodeTriggerMask(body(response, "streamPatientMedicalNotes"),
+					contentType(response), riskEvaluationKernel.getTriggerTermMatcher());
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to decode the medical notes of patient " + patientId, ex);
+		}
 	}
 
 	/**
-	 * Counts the number of trigger terms found in the medical notes of a patient.
+	 * Downloads the medical notes of several patients in a single request and scans them while they are parsed (see
+	 * {@link MedicalNoteTriggerDecoder}).
 	 *
-	 * @param medicalNotes The list of medical notes associated with the patient, which may contain relevant information
-	 *                     for risk evaluation.
+	 * @return The trigger mask of every patient having notes, by patient ID.
+	 */
+	private Map<Long, Integer> streamTriggerMasks(List<Long> patientIds) {
+		try (Response response = medicalNoteMicroserviceProxy.streamPatientsMedicalNotes(patientIds)) {
+			return MedicalNoteTriggerDecoder.decodeTriggerMasks(body(response, "streamPatientsMedicalNotes"),
+					contentType(response), riskEvaluationKernel.getTriggerTermMatcher());
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to decode the medical notes of " + patientIds.size() + " patients", ex);
+		}
+	}
+
+	/**
+	 * Returns the body of a raw response, or null if it has no content.
 	 *
-	 * @return The count of trigger terms found in the medical notes.
+	 * @throws FeignException If the response status is not successful, as for the decoded responses.
+	 */
+	private static InputStream body(Response response, String method) throws IOException {
+		if (response.status() >= 300) {
+			throw FeignException.errorStatus("MedicalNoteMicroserviceProxy#" + method, response);
+		}
+		if (response.status() == 204 || response.body() == null) {
+			return null;
+		}
+		return response.body().asInputStream();
+	}
+
+	/**
+	 * Returns the content type of a raw response (CBOR as requested by the proxy, unless the backend only serves JSON),
+	 * or null if it has none.
 	 */
-	private int getTriggerCount(List<MedicalNoteBean> medicalNotes) {
-		List<TriggerTerm> triggerTerms = getTriggerTerms(medicalNotes);
-		log.debug("Extracted trigger terms from medical notes: {}", triggerTerms);
+	private static String contentType(Response response) {
+		Collection<String> contentTypes = response.headers().get(HttpHeaders.CONTENT_TYPE);
+		return contentTypes == null || contentTypes.isEmpty() ? null : contentTypes.iterator().next();
+	}
 
-		return triggerTerms.size();
+	/**
+	 * Fetches the trigger masks of several patients in a single request.
+	 *
+	 * @return The number of trigger terms of every patient, by patient ID.
+	 */
+	private Map<Long, Integer> fetchTriggerMaskCounts(List<Long> patientIds) {
+		List<TriggerMaskBean> triggerMasks = medicalNoteMicroserviceProxy.getPatientsTriggerMasks(patientIds);
+		if (triggerMasks == null) {
+			return Map.of();
+		}
+		return countTriggers(triggerMasks, TriggerMaskBean::getPatId, TriggerMaskBean::getLexiconVersion,
+				triggerMask -> riskEvaluationKernel.getTriggerCount(triggerMask.getTriggerMask()));
 	}
 
 	/**
-	 * Extracts the trigger terms from the medical notes of a patient.
-	 * The method processes the medical notes by splitting them into individual words.
-	 * It returns a list of unique trigger terms found in the medical notes.
+	 * Fetches the trigger terms of several patients in a single request.
 	 *
-	 * @param medicalNotes The list of medical notes associated with the patient, which may contain relevant information
-	 *                     for risk evaluation.
+	 * @return The number of trigger terms of every patient, by patient ID.
+	 */
+	private Map<Long, Integer> fetchTriggerTermCounts(List<Long> patientIds) {
+		List<TriggerTermsBean> triggerTerms = medicalNoteMicroserviceProxy.getPatientsTriggerTerms(patientIds);
+		if (triggerTerms == null) {
+			return Map.of();
+		}
+		return countTriggers(triggerTerms, TriggerTermsBean::getPatId, TriggerTermsBean::getLexiconVersion,
+				patientTerms -> riskEvaluationKernel.getTriggerCount(patientTerms.getTriggerTerms()));
+	}
+
+	/**
+	 * Counts the trigger terms of several patients found by the medical note service. The patients whose triggers were
+	 * not computed with the active trigger lexicon (see {@link RiskEvaluationKernel#acceptsBackendTriggers(String)})
+	 * have their medical notes downloaded in a single request and scanned instead.
 	 *
-	 * @return A list of unique trigger terms found in the medical notes.
+	 * @return The number of trigger terms of every patient, by patient ID.
 	 */
-	private List<TriggerTerm> getTriggerTerms(List<MedicalNoteBean> medicalNotes) {
-		List<TriggerTerm> terms = Arrays.asList(TriggerTerm.values());
-		String noUnicodeRegex = "[^\\p{L}\\p{N}]+"; // Any sequence of non Unicode letters or digits
+	private <T> Map<Long, Integer> countTriggers(List<T> triggers, Function<T, Integer> patientId,
+												 Function<T, String> lexiconVersion, ToIntFunction<T> triggerCount) {
+		Map<Long, Integer> triggerCounts = new HashMap<>();
+		List<Long> rescannedIds = new ArrayList<>();
+		for (T patientTriggers : triggers) {
+			Long id = patientId.apply(patientTriggers).longValue();
+			if (riskEvaluationKernel.acceptsBackendTriggers(lexiconVersion.apply(patientTriggers))) {
+				triggerCounts.put(id, triggerCount.applyAsInt(patientTriggers));
+			} else {
+				rescannedIds.add(id);
+			}
+		}
+		if (!rescannedIds.isEmpty()) {
+			log.debug("Triggers of {} patients not found with trigger lexicon {}, scanning their notes",
+					rescannedIds.size(), riskEvaluationKernel.getTriggerTermMatcher().getVersion());
+			fetchMedicalNotes(rescannedIds).forEach((id, medicalNotes) ->
+					triggerCounts.put(id, riskEvaluationKernel.getTriggerCount(medicalNotes)));
+		}
+		return triggerCounts;
+	}
 
+	/**
+	 * Fetches the medical notes of several patients in a single request.
+	 *
+	 * @return The medical notes of every patient having some, by patient ID.
+	 */
+	private Map<Long, List<MedicalNoteBean>> fetchMedicalNotes(List<Long> patientIds) {
+		List<MedicalNoteBean> medicalNotes = medicalNoteMicroserviceProxy.getPatientsMedicalNotes(patientIds);
+		if (medicalNotes == null) {
+			return Map.of();
+		}
+		log.debug("{} medical notes found for {} patients", medicalNotes.size(), patientIds.size());
 		return medicalNotes.stream()
-				.map(MedicalNoteBean::getNote)
-				.filter(Objects::nonNull)
-				.flatMap(note -> Arrays.stream(note.split(noUnicodeRegex)))
-				.filter(word -> !word.isBlank())
-				.map(word -> terms.stream()
-						.filter(term -> term.matches(word))
-						.findFirst()
-						.orElse(null))
-				.filter(Objects::nonNull)
-				.distinct()
-				.collect(Collectors.toList());
+				.collect(Collectors.groupingBy(medicalNote -> medicalNote.getPatId().longValue()));
+	}
+
+	/**
+	 * Evaluates the risk levels of several patients in parallel on the executor, rather than on the common fork-join
+	 * pool, so that the evaluations run with the JWT of the caller and the configured threads.
+	 *
+	 * @param patients       The patients to evaluate.
+	 * @param triggerCounter The function counting the distinct trigger terms of a patient.
+	 *
+	 * @return The risk level of every patient, by patient ID.
+	 */
+	private Map<Long, RiskLevel> evaluateAll(List<PatientBean> patients, ToIntFunction<PatientBean> triggerCounter) {
+		Map<Long, CompletableFuture<RiskLevel>> evaluations = new HashMap<>();
+		for (PatientBean patient : patients) {
+			evaluations.put(patient.getId(), CompletableFuture.supplyAsync(
+					() -> riskEvaluationKernel.evaluate(patient, triggerCounter.applyAsInt(patient)), executor));
+		}
+
+		Map<Long, RiskLevel> riskLevels = new HashMap<>();
+		evaluations.forEach((patientId, evaluation) -> riskLevels.put(patientId, join(evaluation)));
+		return riskLevels;
+	}
+
+	private record PatientWithNotes(PatientBean patient, List<MedicalNoteBean> medicalNotes) {
+	}
+
+	/**
+	 * Runs a backend call on the executor. Unlike a {@link CompletableFuture}, the returned future interrupts the thread
+	 * running the call when cancelled, which aborts the blocking I/O of the Feign client on a virtual thread.
+	 */
+	private <T> Future<T> submit(Callable<T> call) {
+		FutureTask<T> task = new FutureTask<>(call);
+		executor.execute(task);
+		return task;
+	}
+
+	/**
+	 * Waits for the result of a backend call, rethrowing the exception of a failed call as is (e.g. the
+	 * {@link FeignException} of an unsuccessful response) instead of wrapped in a {@link CompletionException}.
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Waits for the result of a backend call submitted with {@link #submit(Callable)}, rethrowing the exception of a
+	 * failed call as is.
+	 */
+	private static <T> T join(Future<T> future) {
+		try {
+			return future.get();
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new CompletionException(ex.getCause());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
 	}
 }
@@ -0,0 +1,206 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.config.security.ServiceJwtProvider;
+import com.medilabo.riskevaluatormicroservice.controller.dto.RiskLevelChange;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class RiskLevelNotificationServiceImpl implements RiskLevelNotificationService {
+	static final String RISK_LEVEL_EVENT = "risk-level";
+
+	private final RiskEvaluatorService riskEvaluatorService;
+	private final ServiceJwtProvider serviceJwtProvider;
+	private final Executor executor;
+	private final long timeoutMillis;
+
+	/** Open subscriptions, by ID of the patients they follow. */
+	private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+	public RiskLevelNotificationServiceImpl(RiskEvaluatorService riskEvaluatorService,
+											ServiceJwtProvider serviceJwtProvider,
+											@Qualifier("riskEvaluatorExecutor") Executor executor,
+											@Value("${risk-evaluator.notifications.timeout:30m}") Duration timeout) {
+		this.riskEvaluatorService = riskEvaluatorService;
+		this.serviceJwtProvider = serviceJwtProvider;
+		this.executor = executor;
+		this.timeoutMillis = timeout.toMillis();
+	}
+
+	/**
+	 * Subscribes to the risk level changes of several patients.
+	 * The current risk level of every patient found is sent right away, then a new {@code risk-level} event is sent
+	 * only when the data of a patient changes (see {@link PatientDataChangedEvent}) and his risk level differs from
+	 * the last one sent to this subscriber. IDs without a matching patient are ignored.
+	 * <p>
+	 * The subscription is registered before the current risk levels are evaluated, so that a change during the
+	 * evaluation is not lost: its risk level then takes precedence over the current one, which may be older.
+	 * <p>
+	 * The stream is completed after {@code risk-evaluator.notifications.timeout}, clients are expected to reconnect.
+	 *
+	 * @param patientIds The IDs of the patients to follow.
+	 *
+	 * @return The emitter of the subscription, bound to the response of the request.
+	 *
+	 * @throws PatientNotFoundException If no patient is found with the given IDs.
+	 */
+	@Override
+	public SseEmitter subscribe(List<Long> patientIds) {
+		Set<Long> followedIds = patientIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		Subscription subscription = new Subscription(emitter);
+		for (Long patientId : followedIds) {
+			subscriptions.computeIfAbsent(patientId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+		}
+
+		Map<Long, RiskLevel> riskLevels;
+		try {
+			riskLevels = riskEvaluatorService.getRiskLevels(patientIds);
+		} catch (RuntimeException ex) {
+			unsubscribe(subscription, followedIds);
+			throw ex;
+		}
+		if (riskLevels.isEmpty()) {
+			unsubscribe(subscription, followedIds);
+			throw new PatientNotFoundException(patientIds.stream().filter(Objects::nonNull).findFirst().orElse(null));
+		}
+		Set<Long> missingIds = new HashSet<>(followedIds);
+		missingIds.removeAll(riskLevels.keySet());
+		unsubscribe(subscription, missingIds);
+
+		emitter.onCompletion(() -> unsubscribe(subscription, riskLevels.keySet()));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(ex -> unsubscribe(subscription, riskLevels.keySet()));
+
+		for (Map.Entry<Long, RiskLevel> riskLevel : riskLevels.entrySet()) {
+			subscription.sendIfFirst(riskLevel.getKey(), riskLevel.getValue());
+		}
+		log.debug("Subscribed to the risk level changes of patient IDs {}", riskLevels.keySet());
+		return emitter;
+	}
+
+	/**
+	 * Evaluates again the risk level of a patient whose data changed, and sends it to his subscribers for whom it
+	 * changed. Nothing is evaluated when the patient has no subscriber.
+	 * <p>
+	 * The evaluation runs on the {@code riskEvaluatorExecutor}, so that the notifier of the change does not wait for
+	 * it, and is authenticated with the token of the service (see {@link ServiceJwtProvider}).
+	 *
+	 * @param event The event identifying the patient whose data changed.
+	 */
+	@Override
+	@EventListener
+	public void onPatientDataChanged(PatientDataChangedEvent event) {
+		Long patientId = event.patientId();
+		if (!subscriptions.containsKey(patientId)) {
+			return;
+		}
+
+		executor.execute(() -> {
+			JwtContextHolder.setToken(serviceJwtProvider.getToken());
+			try {
+				RiskLevel riskLevel = riskEvaluatorService.getRiskLevels(List.of(patientId)).get(patientId);
+				if (riskLevel == null) {
+					log.debug("Patient ID '{}' no longer exists, no risk level to notify", patientId);
+					return;
+				}
+				for (Subscription subscription : subscriptions.getOrDefault(patientId, Set.of())) {
+					subscription.sendIfChanged(patientId, riskLevel);
+				}
+			} catch (RuntimeException ex) {
+				log.warn("Failed to evaluate the risk level of patient ID '{}' to notify", patientId, ex);
+			}
+		});
+	}
+
+	/**
+	 * Sends a comment to every subscriber on the schedule of the {@code risk-evaluator.notifications.heartbeat-interval}
+	 * property, so that idle connections are kept open by the proxies and the closed ones are detected.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${risk-evaluator.notifications.heartbeat-interval:30s}")
+	public void sendHeartbeat() {
+		subscriptions.values().stream()
+				.flatMap(Set::stream)
+				.distinct()
+				.forEach(Subscription::sendHeartbeat);
+	}
+
+	private void unsubscribe(Subscription subscription, Set<Long> patientIds) {
+		for (Long patientId : patientIds) {
+			subscriptions.computeIfPresent(patientId, (id, patientSubscriptions) -> {
+				patientSubscriptions.remove(subscription);
+				return patientSubscriptions.isEmpty() ? null : patientSubscriptions;
+			});
+		}
+		log.debug("Unsubscribed from the risk level changes of patient IDs {}", patientIds);
+	}
+
+	/**
+	 * Emitter of a subscriber, with the last risk level sent to him for every patient he follows.
+	 */
+	private static final class Subscription {
+		private final SseEmitter emitter;
+		private final Map<Long, RiskLevel> sentRiskLevels = new HashMap<>();
+
+		private Subscription(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		private synchronized void sendIfFirst(Long patientId, RiskLevel riskLevel) {
+			if (!sentRiskLevels.containsKey(patientId)) {
+				send(patientId, riskLevel);
+			}
+		}
+
+		private synchronized void sendIfChanged(Long patientId, RiskLevel riskLevel) {
+			if (sentRiskLevels.get(patientId) != riskLevel) {
+				send(patientId, riskLevel);
+			}
+		}
+
+		private void send(Long patientId, RiskLevel riskLevel) {
+			try {
+				emitter.send(SseEmitter.event()
+						.name(RISK_LEVEL_EVENT)
+						.data(new RiskLevelChange(patientId, riskLevel), MediaType.APPLICATION_JSON));
+				sentRiskLevels.put(patientId, riskLevel);
+			} catch (IOException | IllegalStateException ex) {
+				emitter.completeWithError(ex);
+			}
+		}
+
+		private synchronized void sendHeartbeat() {
+			try {
+				emitter.send(SseEmitter.event().comment("heartbeat"));
+			} catch (IOException | IllegalStateException ex) {
+				emitter.completeWithError(ex);
+			}
+		}
+	}
+}
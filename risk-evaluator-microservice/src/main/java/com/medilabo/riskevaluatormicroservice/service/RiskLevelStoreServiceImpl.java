@@ -0,0 +1,204 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medilabo.riskevaluatormicroservice.config.cache.CacheConfig;
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.config.security.ServiceJwtProvider;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import com.medilabo.riskevaluatormicroservice.event.TriggerLexiconChangedEvent;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.job.RiskLevelReevaluationJob;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelStoreService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class RiskLevelStoreServiceImpl implements RiskLevelStoreService {
+	/**
+	 * How long the last change of a patient is remembered: far longer than an evaluation, so that no evaluation started
+	 * before the change can still be running once it is forgotten.
+	 */
+	private static final Duration CHANGE_RETENTION = Duration.ofMinutes(5);
+
+	private final RiskEvaluatorService riskEvaluatorService;
+	private final ServiceJwtProvider serviceJwtProvider;
+	private final int batchSize;
+
+	/**
+	 * Read store: the last risk level evaluated for every patient, dropped when his data changes. It is the
+	 * {@value CacheConfig#RISK_LEVELS_CACHE} cache, bounded in size and time by the {@code spring.cache.caffeine.spec}
+	 * property, so that a risk level missed by the change events is corrected once it expires. It is read through the
+	 * cache itself rather than its map view, which does not record the hits and misses.
+	 */
+	private final Cache<Object, Object> riskLevels;
+	/** Patients whose data changed since the last re-evaluation: a set, so that repeated changes coalesce. */
+	private final Set<Long> dirtyPatientIds = ConcurrentHashMap.newKeySet();
+	/**
+	 * Sequence of the changes, and the last change of every patient (or of all of them, for the lexicon): an evaluation
+	 * started before a change of the patient is not stored, as it may have read the data before the change.
+	 */
+	private final AtomicLong changeSequence = new AtomicLong();
+	private final Map<Long, Long> lastChanges = Caffeine.newBuilder()
+			.expireAfterWrite(CHANGE_RETENTION)
+			.<Long, Long>build()
+			.asMap();
+	private volatile long lastGlobalChange;
+
+	public RiskLevelStoreServiceImpl(RiskEvaluatorService riskEvaluatorService,
+									 ServiceJwtProvider serviceJwtProvider,
+									 CacheManager cacheManager,
+									 @Value("${risk-evaluator.reevaluation.batch-size:200}") int batchSize) {
+		this.riskEvaluatorService = riskEvaluatorService;
+		this.serviceJwtProvider = serviceJwtProvider;
+		this.riskLevels = getNativeCache(cacheManager);
+		this.batchSize = batchSize;
+	}
+
+	private static Cache<Object, Object> getNativeCache(CacheManager cacheManager) {
+		if (cacheManager.getCache(CacheConfig.RISK_LEVELS_CACHE) instanceof CaffeineCache cache) {
+			return cache.getNativeCache();
+		}
+		throw new IllegalStateException("The " + CacheConfig.RISK_LEVELS_CACHE + " cache must be a Caffeine cache");
+	}
+
+	/**
+	 * Retrieves the risk level of a patient from the read store, so that reading it does not depend on the volume of
+	 * his medical notes. A patient not stored yet (never read, or changed since his last evaluation and not
+	 * re-evaluated yet) is evaluated right away and stored.
+	 *
+	 * @param patientId The ID of the patient.
+	 *
+	 * @return The risk level of the patient.
+	 *
+	 * @throws PatientNotFoundException If no patient is found with the given ID.
+	 */
+	@Override
+	public RiskLevel getRiskLevel(Long patientId) {
+		if (riskLevels.getIfPresent(patientId) instanceof RiskLevel riskLevel) {
+			return riskLevel;
+		}
+
+		long startedAt = changeSequence.get();
+		RiskLevel riskLevel = riskEvaluatorService.getRiskLevel(patientId);
+		store(patientId, riskLevel, startedAt);
+		return riskLevel;
+	}
+
+	/**
+	 * Drops the stored risk level of a patient whose data changed, and queues him for re-evaluation. Changes of the
+	 * same patient before the next re-evaluation result in a single evaluation.
+	 *
+	 * @param event The event identifying the patient whose data changed.
+	 */
+	@Override
+	@EventListener
+	public void onPatientDataChanged(PatientDataChangedEvent event) {
+		Long patientId = event.patientId();
+		lastChanges.put(patientId, changeSequence.incrementAndGet());
+		riskLevels.invalidate(patientId);
+		dirtyPatientIds.add(patientId);
+		log.debug("Patient ID '{}' queued for risk re-evaluation", patientId);
+	}
+
+	/**
+	 * Drops every stored risk level when the trigger lexicon changed: they are evaluated again on their next read.
+	 *
+	 * @param event The event identifying the new trigger lexicon.
+	 */
+	@Override
+	@EventListener
+	public void onTriggerLexiconChanged(TriggerLexiconChangedEvent event) {
+		lastGlobalChange = changeSequence.incrementAndGet();
+		riskLevels.invalidateAll();
+		log.info("Dropped all stored risk levels after trigger lexicon change to version {}", event.version());
+	}
+
+	/**
+	 * Re-evaluates the patients whose data changed, and stores their risk levels (see {@link RiskLevelReevaluationJob}).
+	 * <p>
+	 * Patients are drained from the queue in batches of {@code risk-evaluator.reevaluation.batch-size}, every batch being
+	 * evaluated with two bulk requests (see {@link RiskEvaluatorService#getRiskLevels(List)}) authenticated with the
+	 * token of the service. The patients of a failed batch are queued again for the next run, and the deleted patients
+	 * are dropped from the store.
+	 *
+	 * @return The number of patients re-evaluated.
+	 */
+	@Override
+	public int reevaluateDirtyPatients() {
+		if (dirtyPatientIds.isEmpty()) {
+			return 0;
+		}
+
+		int reevaluated = 0;
+		List<Long> failedPatientIds = new ArrayList<>();
+		JwtContextHolder.setToken(serviceJwtProvider.getToken());
+		try {
+			List<Long> batch;
+			while (!(batch = nextBatch()).isEmpty()) {
+				reevaluated += reevaluate(batch, failedPatientIds);
+			}
+		} finally {
+			JwtContextHolder.clear();
+			dirtyPatientIds.addAll(failedPatientIds);
+		}
+		log.debug("Re-evaluated the risk level of {} patients", reevaluated);
+		return reevaluated;
+	}
+
+	private List<Long> nextBatch() {
+		List<Long> batch = new ArrayList<>(batchSize);
+		Iterator<Long> iterator = dirtyPatientIds.iterator();
+		while (batch.size() < batchSize && iterator.hasNext()) {
+			batch.add(iterator.next());
+			iterator.remove();
+		}
+		return batch;
+	}
+
+	private int reevaluate(List<Long> batch, List<Long> failedPatientIds) {
+		long startedAt = changeSequence.get();
+		Map<Long, RiskLevel> batchRiskLevels;
+		try {
+			batchRiskLevels = riskEvaluatorService.getRiskLevels(batch);
+		} catch (RuntimeException ex) {
+			log.warn("Failed to re-evaluate the risk level of {} patients, retrying on the next run", batch.size(), ex);
+			failedPatientIds.addAll(batch);
+			return 0;
+		}
+
+		for (Long patientId : batch) {
+			RiskLevel riskLevel = batchRiskLevels.get(patientId);
+			if (riskLevel == null) {
+				riskLevels.invalidate(patientId);
+			} else {
+				store(patientId, riskLevel, startedAt);
+			}
+		}
+		return batchRiskLevels.size();
+	}
+
+	/**
+	 * Stores the risk level of a patient, unless his data (or the trigger lexicon) changed since the evaluation started.
+	 */
+	private void store(Long patientId, RiskLevel riskLevel, long startedAt) {
+		riskLevels.asMap().compute(patientId, (id, stored) ->
+				lastChanges.getOrDefault(id, 0L) > startedAt || lastGlobalChange > startedAt ? stored : riskLevel);
+	}
+}
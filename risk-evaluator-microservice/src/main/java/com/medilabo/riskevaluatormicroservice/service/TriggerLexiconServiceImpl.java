@@ -0,0 +1,160 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.domain.matcher.FuzzyMatchMemo;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import com.medilabo.riskevaluatormicroservice.event.TriggerLexiconChangedEvent;
+import com.medilabo.riskevaluatormicroservice.exception.InvalidTriggerLexiconException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.TriggerLexiconService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class TriggerLexiconServiceImpl implements TriggerLexiconService {
+	/** Name of the memo of the fuzzy matches in the {@code cache} metrics. */
+	public static final String FUZZY_MATCHES_CACHE = "fuzzyMatches";
+
+	private final ResourceLoader resourceLoader;
+	private final ApplicationEventPublisher eventPublisher;
+	private final String location;
+	private final int maxEditDistance;
+	private final int maxPhraseGap;
+	/** Memo of the fuzzy matches shared by the successive matchers, or null for exact matching. */
+	private final FuzzyMatchMemo fuzzyMatchMemo;
+
+	/** Matcher of the active lexicon, read without locking by every evaluation and swapped as a whole on reload. */
+	private final AtomicReference<TriggerTermMatcher> matcher = new AtomicReference<>();
+
+	public TriggerLexiconServiceImpl(ResourceLoader resourceLoader,
+									 ApplicationEventPublisher eventPublisher,
+									 @Value("${risk-evaluator.trigger-lexicon.location:}") String location,
+									 @Value("${risk-evaluator.trigger-lexicon.max-edit-distance:0}") int maxEditDistance,
+									 @Value("${risk-evaluator.trigger-lexicon.max-phrase-gap:1}") int maxPhraseGap,
+									 @Value("${risk-evaluator.trigger-lexicon.fuzzy-match-memo.maximum-size:50000}") long fuzzyMatchMemoMaximumSize,
+									 MeterRegistry meterRegistry) {
+		this.resourceLoader = resourceLoader;
+		this.eventPublisher = eventPublisher;
+		this.location = location;
+		this.maxEditDistance = maxEditDistance;
+		this.maxPhraseGap = maxPhraseGap;
+		if (maxEditDistance > 0 && fuzzyMatchMemoMaximumSize > 0) {
+			this.fuzzyMatchMemo = new FuzzyMatchMemo(fuzzyMatchMemoMaximumSize);
+			CaffeineCacheMetrics.monitor(meterRegistry, fuzzyMatchMemo.getCache(), FUZZY_MATCHES_CACHE);
+		} else {
+			this.fuzzyMatchMemo = null;
+		}
+		if (location.isBlank()) {
+			log.info("No trigger lexicon configured, using the built-in lexicon");
+			matcher.set(compile(TriggerLexicon.getDefault()));
+		} else {
+			TriggerLexicon lexicon = read();
+			log.info("Compiled the trigger lexicon '{}' (version {}, max edit distance {})", location,
+					lexicon.getVersion(), maxEditDistance);
+			matcher.set(compile(lexicon));
+		}
+	}
+
+	/**
+	 * Retrieves the matcher compiled from the active trigger lexicon.
+	 * The matcher is immutable: callers should read it once per evaluation, so that a concurrent reload never mixes two
+	 * lexicons in a single result.
+	 *
+	 * @return The active matcher.
+	 */
+	@Override
+	public TriggerTermMatcher getMatcher() {
+		return matcher.get();
+	}
+
+	/**
+	 * Retrieves the active trigger lexicon.
+	 *
+	 * @return The active lexicon.
+	 */
+	@Override
+	public TriggerLexicon getLexicon() {
+		return matcher.get().getLexicon();
+	}
+
+	/**
+	 * Reads the trigger lexicon again from the {@code risk-evaluator.trigger-lexicon.location} resource.
+	 * A lexicon with a new version is compiled and swapped in atomically, then a {@link TriggerLexiconChangedEvent} is
+	 * published so that the risk levels computed with the previous lexicon are dropped. Evaluations in progress
+	 * complete with the matcher they started with.
+	 *
+	 * @return The active lexicon after the reload.
+	 *
+	 * @throws InvalidTriggerLexiconException If the lexicon cannot be read or is invalid, in which case the active
+	 *                                        lexicon is kept.
+	 */
+	@Override
+	public synchronized TriggerLexicon reload() {
+		TriggerTermMatcher current = matcher.get();
+		if (location.isBlank()) {
+			return current.getLexicon();
+		}
+
+		TriggerLexicon lexicon = read();
+		if (lexicon.getVersion().equals(current.getVersion())) {
+			log.debug("Trigger lexicon '{}' unchanged (version {})", location, lexicon.getVersion());
+			return current.getLexicon();
+		}
+
+		matcher.set(compile(lexicon));
+		log.info("Reloaded the trigger lexicon '{}': version {} replaces version {}", location, lexicon.getVersion(),
+				current.getVersion());
+		eventPublisher.publishEvent(new TriggerLexiconChangedEvent(lexicon.getVersion()));
+		return lexicon;
+	}
+
+	/**
+	 * Polls the trigger lexicon on the schedule of the {@code risk-evaluator.trigger-lexicon.refresh-interval}
+	 * property, so that editing the file is enough to apply it. Failures are logged only: the active lexicon is kept.
+	 */
+	@Scheduled(fixedDelayString = "${risk-evaluator.trigger-lexicon.refresh-interval:1m}",
+			initialDelayString = "${risk-evaluator.trigger-lexicon.refresh-interval:1m}")
+	public void scheduledReload() {
+		try {
+			reload();
+		} catch (InvalidTriggerLexiconException ex) {
+			log.error("Scheduled trigger lexicon reload failed, keeping version {}: {}", matcher.get().getVersion(),
+					ex.getMessage());
+		}
+	}
+
+	/**
+	 * Compiles a lexicon with the {@code risk-evaluator.trigger-lexicon.max-edit-distance} typo tolerance and the
+	 * {@code max-phrase-gap} phrase gap, reusing the shared matcher of the built-in lexicon for exact matching with the
+	 * default gap. With typo tolerance, the fuzzy matches of the previous lexicon are dropped from the memo.
+	 */
+	private TriggerTermMatcher compile(TriggerLexicon lexicon) {
+		if (maxEditDistance == 0 && maxPhraseGap == TriggerTermMatcher.DEFAULT_MAX_PHRASE_GAP
+				&& lexicon.equals(TriggerLexicon.getDefault())) {
+			return TriggerTermMatcher.getInstance();
+		}
+		return new TriggerTermMatcher(lexicon, maxEditDistance, maxPhraseGap, fuzzyMatchMemo);
+	}
+
+	private TriggerLexicon read() {
+		Resource resource = resourceLoader.getResource(location);
+		try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+			return TriggerLexicon.parse(reader);
+		} catch (IOException | IllegalArgumentException ex) {
+			throw new InvalidTriggerLexiconException(location, ex);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.medilabo.riskevaluatormicroservice.service.contracts;
+
+import com.medilabo.riskevaluatormicroservice.controller.dto.PopulationRiskReport;
+
+import java.util.Optional;
+
+public interface PopulationRiskScanService {
+	/**
+	 * Evaluates the risk level of every patient and reports their distribution.
+	 *
+	 * @return The report of the scan.
+	 */
+	PopulationRiskReport scan();
+
+	/**
+	 * Starts a scan in the background, whose report is then available with {@link #getLastReport()}.
+	 */
+	void startScan();
+
+	/**
+	 * Retrieves the report of the last successful scan.
+	 *
+	 * @return The last report, or empty if no scan has completed yet.
+	 */
+	Optional<PopulationRiskReport> getLastReport();
+}
@@ -0,0 +1,27 @@
+package com.medilabo.riskevaluatormicroservice.service.contracts;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveRiskEvaluatorService {
+	/**
+	 * Retrieves the risk level for a patient based on their ID, without blocking.
+	 *
+	 * @param patientId The ID of the patient.
+	 *
+	 * @return The risk level of the patient.
+	 */
+	Mono<RiskLevel> getRiskLevel(Long patientId);
+
+	/**
+	 * Retrieves the risk levels of several patients based on their IDs, without blocking.
+	 *
+	 * @param patientIds The IDs of the patients.
+	 *
+	 * @return The risk level of every patient found, by patient ID.
+	 */
+	Mono<Map<Long, RiskLevel>> getRiskLevels(List<Long> patientIds);
+}
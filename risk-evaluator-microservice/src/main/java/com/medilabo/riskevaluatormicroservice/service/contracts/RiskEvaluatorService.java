@@ -1,7 +1,13 @@
 package com.medilabo.riskevaluatormicroservice.service.contracts;
 
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.controller.dto.RiskTimeline;
 import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
 public interface RiskEvaluatorService {
 	/**
 	 * Retrieves the risk level for a patient based on their ID.
@@ -11,4 +17,41 @@ public interface RiskEvaluatorService {
 	 * @return The risk level of the patient.
 	 */
 	RiskLevel getRiskLevel(Long patientId);
+
+	/**
+	 * Retrieves the risk levels of several patients based on their IDs.
+	 *
+	 * @param patientIds The IDs of the patients.
+	 *
+	 * @return The risk level of every patient found, by patient ID.
+	 */
+	Map<Long, RiskLevel> getRiskLevels(List<Long> patientIds);
+
+	/**
+	 * Calculates the risk levels of patients already fetched.
+	 *
+	 * @param patients The patients.
+	 *
+	 * @return The risk level of every patient, by patient ID.
+	 */
+	Map<Long, RiskLevel> evaluateRiskLevels(List<PatientBean> patients);
+
+	/**
+	 * Retrieves the risk level of a patient after each of his medical notes.
+	 *
+	 * @param patientId The ID of the patient.
+	 *
+	 * @return The risk level of the patient after every note, oldest first.
+	 */
+	RiskTimeline getRiskTimeline(Long patientId);
+
+	/**
+	 * Retrieves the risk level a patient had at a given date.
+	 *
+	 * @param patientId The ID of the patient.
+	 * @param date      The date of the evaluation.
+	 *
+	 * @return The risk level of the patient at the date.
+	 */
+	RiskLevel getRiskLevelAsOf(Long patientId, LocalDate date);
 }
@@ -0,0 +1,14 @@
+package com.medilabo.riskevaluatormicroservice.service.contracts;
+
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface RiskLevelNotificationService {
+	SseEmitter subscribe(List<Long> patientIds);
+
+	void onPatientDataChanged(PatientDataChangedEvent event);
+
+	void sendHeartbeat();
+}
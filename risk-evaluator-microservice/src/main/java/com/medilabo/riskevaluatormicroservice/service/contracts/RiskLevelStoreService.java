@@ -0,0 +1,37 @@
+package com.medilabo.riskevaluatormicroservice.service.contracts;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import com.medilabo.riskevaluatormicroservice.event.TriggerLexiconChangedEvent;
+
+public interface RiskLevelStoreService {
+	/**
+	 * Retrieves the stored risk level of a patient, evaluating it when it is not stored.
+	 *
+	 * @param patientId The ID of the patient.
+	 *
+	 * @return The risk level of the patient.
+	 */
+	RiskLevel getRiskLevel(Long patientId);
+
+	/**
+	 * Marks a patient whose data changed for re-evaluation.
+	 *
+	 * @param event The event identifying the patient whose data changed.
+	 */
+	void onPatientDataChanged(PatientDataChangedEvent event);
+
+	/**
+	 * Drops every stored risk level, computed with the previous trigger lexicon.
+	 *
+	 * @param event The event identifying the new trigger lexicon.
+	 */
+	void onTriggerLexiconChanged(TriggerLexiconChangedEvent event);
+
+	/**
+	 * Re-evaluates the patients marked since the last run, in batches.
+	 *
+	 * @return The number of patients re-evaluated.
+	 */
+	int reevaluateDirtyPatients();
+}
@@ -0,0 +1,27 @@
+package com.medilabo.riskevaluatormicroservice.service.contracts;
+
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+
+public interface TriggerLexiconService {
+	/**
+	 * Retrieves the matcher compiled from the active trigger lexicon.
+	 *
+	 * @return The active matcher.
+	 */
+	TriggerTermMatcher getMatcher();
+
+	/**
+	 * Retrieves the active trigger lexicon.
+	 *
+	 * @return The active lexicon.
+	 */
+	TriggerLexicon getLexicon();
+
+	/**
+	 * Reads the trigger lexicon again from its location and activates it if it changed.
+	 *
+	 * @return The active lexicon after the reload.
+	 */
+	TriggerLexicon reload();
+}
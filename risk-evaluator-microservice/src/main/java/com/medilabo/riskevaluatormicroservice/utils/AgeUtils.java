@@ -7,12 +7,18 @@ import java.time.format.DateTimeFormatter;
 public class AgeUtils {
 
 	public static int calculateAgeFromBirthdate(String birthDate, String dateFormatPattern) {
-		LocalDate now = LocalDate.now();
+		return calculateAgeFromBirthdate(birthDate, dateFormatPattern, LocalDate.now());
+	}
 
+	public static int calculateAgeFromBirthdate(String birthDate, String dateFormatPattern, LocalDate date) {
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormatPattern);
 		LocalDate dob = LocalDate.parse(birthDate, formatter);
 
-		Period period = Period.between(dob, now);
+		return calculateAge(dob, date);
+	}
+
+	public static int calculateAge(LocalDate birthDate, LocalDate date) {
+		Period period = Period.between(birthDate, date);
 		return period.getYears();
 	}
 }
@@ -0,0 +1,44 @@
+package com.medilabo.riskevaluatormicroservice.config.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskRule;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskRuleTable;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.service.contracts.TriggerLexiconService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("RiskEvaluationConfig Test Suite")
+public class RiskEvaluationConfigTests {
+
+	@Autowired
+	private RiskProtocolProperties riskProtocolProperties;
+
+	@Autowired
+	private TriggerLexiconService triggerLexiconService;
+
+	@Test
+	@DisplayName("Should configure the default risk protocol in application.yml")
+	public void whenContextLoads_thenConfiguredProtocolIsDefaultProtocol() {
+		List<RiskRule> rules = riskProtocolProperties.getRules().stream()
+				.map(RiskProtocolProperties.Rule::toRiskRule)
+				.toList();
+
+		assertThat(rules).containsExactlyElementsOf(RiskRuleTable.DEFAULT_RULES);
+	}
+
+	@Test
+	@DisplayName("Should configure the built-in trigger lexicon in trigger-lexicon.txt")
+	public void whenContextLoads_thenConfiguredLexiconIsBuiltInLexicon() {
+		assertThat(triggerLexiconService.getLexicon()).isEqualTo(TriggerLexicon.getDefault());
+		assertThat(triggerLexiconService.getLexicon().getVersion()).isEqualTo(TriggerLexicon.getDefault().getVersion());
+	}
+}
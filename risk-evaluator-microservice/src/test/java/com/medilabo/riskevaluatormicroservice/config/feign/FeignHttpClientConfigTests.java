@@ -0,0 +1,39 @@
+package com.medilabo.riskevaluatormicroservice.config.feign;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("FeignHttpClientConfig Test Suite")
+public class FeignHttpClientConfigTests {
+
+	@Autowired
+	private Client feignClient;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	@DisplayName("Should send the Feign requests with the pooled Apache HttpClient 5")
+	public void whenContextLoads_thenFeignClientIsApacheHttp5Client() {
+		assertThat(feignClient).isInstanceOf(ApacheHttp5Client.class);
+	}
+
+	@Test
+	@DisplayName("Should publish the connection pool metrics")
+	public void whenContextLoads_thenConnectionPoolMetricsArePublished() {
+		assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+				.tag("httpclient", FeignHttpClientConfig.POOL_NAME)
+				.gauge()
+				.value()).isEqualTo(200);
+	}
+}
@@ -0,0 +1,79 @@
+package com.medilabo.riskevaluatormicroservice.config.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("SecurityFilterChainConfig Test Suite")
+public class SecurityFilterChainConfigTests {
+	private static final String NOTIFICATION_URL = "/risk-evaluator/notifications/patient/1";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ServiceJwtProvider serviceJwtProvider;
+
+	@Value("${security.jwt.gateway-shared-secret}")
+	private String secret;
+
+	@Value("${security.jwt.gateway-shared-issuer}")
+	private String issuer;
+
+	@Nested
+	@DisplayName("POST /risk-evaluator/notifications/patient/{id} Tests")
+	class NotificationTests {
+
+		@Test
+		@DisplayName("Should accept the notifications authenticated with a service token")
+		public void givenServiceToken_whenNotify_thenReturnNoContent() throws Exception {
+			mockMvc.perform(post(NOTIFICATION_URL)
+							.header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceJwtProvider.getToken()))
+					.andExpect(status().isNoContent());
+		}
+
+		@Test
+		@DisplayName("Should reject the notifications authenticated with the token of a user")
+		public void givenUserToken_whenNotify_thenReturnForbidden() throws Exception {
+			mockMvc.perform(post(NOTIFICATION_URL)
+							.header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken()))
+					.andExpect(status().isForbidden());
+		}
+
+		@Test
+		@DisplayName("Should reject the notifications without token")
+		public void givenNoToken_whenNotify_thenReturnUnauthorized() throws Exception {
+			mockMvc.perform(post(NOTIFICATION_URL))
+					.andExpect(status().isUnauthorized());
+		}
+	}
+
+	private String userToken() {
+		long now = System.currentTimeMillis();
+		return Jwts.builder()
+				.issuer(issuer)
+				.subject("user")
+				.issuedAt(new Date(now))
+				.expiration(new Date(now + 60_000))
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+	}
+}
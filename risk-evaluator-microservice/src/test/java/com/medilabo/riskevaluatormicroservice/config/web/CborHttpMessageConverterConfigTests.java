@@ -0,0 +1,76 @@
+package com.medilabo.riskevaluatormicroservice.config.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("CborHttpMessageConverterConfig Test Suite")
+public class CborHttpMessageConverterConfigTests {
+	private static final ObjectMapper CBOR_MAPPER = new ObjectMapper(new CBORFactory());
+
+	@Autowired
+	private HttpMessageConverters messageConverters;
+
+	@Autowired
+	private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+	@Test
+	@DisplayName("Should decode the CBOR responses with the configured converter first")
+	public void whenContextLoads_thenCborConverterIsRegistered() {
+		List<HttpMessageConverter<?>> cborConverters = messageConverters.getConverters().stream()
+				.filter(converter -> converter.getSupportedMediaTypes().contains(MediaType.APPLICATION_CBOR))
+				.toList();
+
+		assertThat(cborConverters).first().isSameAs(cborHttpMessageConverter);
+	}
+
+	@Test
+	@DisplayName("Should decode a patient sent in CBOR")
+	public void givenCborPatient_whenRead_thenReturnPatientBean() throws IOException {
+		byte[] body = CBOR_MAPPER.writeValueAsBytes(Map.of("id", 1, "birthDate", "1990-01-01", "gender", "F"));
+
+		Object patient = cborHttpMessageConverter.read(PatientBean.class, cborMessage(body));
+
+		assertThat(patient).isEqualTo(PatientBean.builder().id(1L).birthDate("1990-01-01").gender("F").build());
+	}
+
+	@Test
+	@DisplayName("Should decode a list of medical notes sent in CBOR")
+	public void givenCborMedicalNotes_whenRead_thenReturnMedicalNoteBeans() throws IOException {
+		byte[] body = CBOR_MAPPER.writeValueAsBytes(List.of(Map.of("id", "a", "patId", 1, "note", "Poids")));
+		Type type = new ParameterizedTypeReference<List<MedicalNoteBean>>() {
+		}.getType();
+
+		Object notes = ((GenericHttpMessageConverter<?>) cborHttpMessageConverter).read(type, null, cborMessage(body));
+
+		assertThat(notes).isEqualTo(List.of(MedicalNoteBean.builder().id("a").patId(1).note("Poids").build()));
+	}
+
+	private static MockHttpInputMessage cborMessage(byte[] body) {
+		MockHttpInputMessage message = new MockHttpInputMessage(body);
+		message.getHeaders().setContentType(MediaType.APPLICATION_CBOR);
+		return message;
+	}
+}
@@ -0,0 +1,50 @@
+package com.medilabo.riskevaluatormicroservice.config.webclient;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtCookieExchangeFilter Test Suite")
+public class JwtCookieExchangeFilterTests {
+	private final JwtCookieExchangeFilter filter = new JwtCookieExchangeFilter();
+	private final ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://gateway/api/patients/1")).build();
+
+	@Test
+	@DisplayName("Should send the token of the Reactor context as the access_token cookie")
+	public void givenTokenInContext_whenFilter_thenAddCookieHeader() {
+		AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+		filter.filter(request, exchanged -> {
+					sent.set(exchanged);
+					return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+				})
+				.contextWrite(JwtCookieExchangeFilter.withToken("jwt-token"))
+				.block();
+
+		assertThat(sent.get().headers().getFirst("Cookie")).isEqualTo("access_token=jwt-token");
+	}
+
+	@Test
+	@DisplayName("Should send the request unchanged when there is no token")
+	public void givenNoToken_whenFilter_thenSendRequestAsIs() {
+		AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+		filter.filter(request, exchanged -> {
+					sent.set(exchanged);
+					return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+				})
+				.contextWrite(JwtCookieExchangeFilter.withToken(null))
+				.block();
+
+		assertThat(sent.get()).isSameAs(request);
+	}
+}
@@ -0,0 +1,99 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.controller.dto.PopulationRiskReport;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.exception.PopulationScanInProgressException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.PopulationRiskScanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PopulationRiskController Test Suite")
+public class PopulationRiskControllerTests {
+	private static final PopulationRiskReport REPORT = new PopulationRiskReport(Instant.parse("2025-01-01T02:00:00Z"), 3,
+			Map.of(RiskLevel.NONE, 1L, RiskLevel.BORDERLINE, 0L, RiskLevel.IN_DANGER, 1L, RiskLevel.EARLY_ONSET, 1L),
+			List.of(4L), List.of(3L));
+
+	private MockMvc mockMvc;
+
+	@Mock
+	private PopulationRiskScanService populationRiskScanService;
+
+	@InjectMocks
+	private PopulationRiskController populationRiskController;
+
+	@BeforeEach
+	public void setUp() {
+		// Initialize MockMvc in 'standaloneSetup' to avoid using Spring context
+		mockMvc = MockMvcBuilders.standaloneSetup(populationRiskController).build();
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/population/scan' Tests")
+	class PopulationScanTests {
+
+		@Test
+		@DisplayName("POST /risk-evaluator/population/scan : Should respond ACCEPTED & point to the report once the scan started")
+		void scanPopulationTest() throws Exception {
+			mockMvc.perform(post("/risk-evaluator/population/scan"))
+					.andExpect(status().isAccepted())
+					.andExpect(header().string("Location", "/risk-evaluator/population/report"));
+
+			verify(populationRiskScanService, times(1)).startScan();
+			verifyNoMoreInteractions(populationRiskScanService);
+		}
+
+		@Test
+		@DisplayName("POST /risk-evaluator/population/scan : Should respond CONFLICT when a scan is in progress")
+		void scanPopulationInProgressTest() throws Exception {
+			doThrow(new PopulationScanInProgressException()).when(populationRiskScanService).startScan();
+
+			mockMvc.perform(post("/risk-evaluator/population/scan"))
+					.andExpect(status().isConflict());
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/population/report' Tests")
+	class PopulationReportTests {
+
+		@Test
+		@DisplayName("GET /risk-evaluator/population/report : Should respond OK & return the last report")
+		void getLastReportTest() throws Exception {
+			when(populationRiskScanService.getLastReport()).thenReturn(Optional.of(REPORT));
+
+			mockMvc.perform(get("/risk-evaluator/population/report"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.inDangerPatientIds[0]").value(3));
+		}
+
+		@Test
+		@DisplayName("GET /risk-evaluator/population/report : Should respond NO_CONTENT when no scan has completed")
+		void getLastReportEmptyTest() throws Exception {
+			when(populationRiskScanService.getLastReport()).thenReturn(Optional.empty());
+
+			mockMvc.perform(get("/risk-evaluator/population/report"))
+					.andExpect(status().isNoContent());
+		}
+	}
+}
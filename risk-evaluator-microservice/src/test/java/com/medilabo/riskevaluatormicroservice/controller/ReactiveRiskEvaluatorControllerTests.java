@@ -0,0 +1,124 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.ReactiveRiskEvaluatorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveRiskEvaluatorController Test Suite")
+public class ReactiveRiskEvaluatorControllerTests {
+	private static final int MAX_BATCH_SIZE = 3;
+
+	private MockMvc mockMvc;
+
+	@Mock
+	private ReactiveRiskEvaluatorService reactiveRiskEvaluatorService;
+
+	private ReactiveRiskEvaluatorController reactiveRiskEvaluatorController;
+
+	@BeforeEach
+	public void setUp() {
+		reactiveRiskEvaluatorController = new ReactiveRiskEvaluatorController(reactiveRiskEvaluatorService, MAX_BATCH_SIZE);
+		// Initialize MockMvc in 'standaloneSetup' to avoid using Spring context
+		mockMvc = MockMvcBuilders.standaloneSetup(reactiveRiskEvaluatorController).build();
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/reactive/patient/{id}' Tests")
+	class ReactivePatientIdTests {
+
+		@Test
+		@DisplayName("GET /risk-evaluator/reactive/patient/{id} : Should respond OK asynchronously & return the risk level")
+		void getPatientRiskLevelTestWithValidPatient() throws Exception {
+			when(reactiveRiskEvaluatorService.getRiskLevel(anyLong())).thenReturn(Mono.just(RiskLevel.IN_DANGER));
+
+			MvcResult result = mockMvc.perform(get("/risk-evaluator/reactive/patient/{id}", 3L))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			mockMvc.perform(asyncDispatch(result))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.riskLevel").value(RiskLevel.IN_DANGER.name()));
+
+			verify(reactiveRiskEvaluatorService, times(1)).getRiskLevel(eq(3L));
+		}
+
+		@Test
+		@DisplayName("GET /risk-evaluator/reactive/patient/{id} : Should respond NOT_FOUND for an unknown patient")
+		void getPatientRiskLevelTestWithUnknownPatient() throws Exception {
+			when(reactiveRiskEvaluatorService.getRiskLevel(anyLong()))
+					.thenReturn(Mono.error(new PatientNotFoundException(999L)));
+
+			MvcResult result = mockMvc.perform(get("/risk-evaluator/reactive/patient/{id}", 999L))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			mockMvc.perform(asyncDispatch(result))
+					.andExpect(status().isNotFound());
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/reactive/patients' Tests")
+	class ReactivePatientsTests {
+
+		@Test
+		@DisplayName("POST /risk-evaluator/reactive/patients : Should respond OK asynchronously & return the risk levels")
+		void getPatientsRiskLevelsTest() throws Exception {
+			Map<Long, RiskLevel> riskLevels = new LinkedHashMap<>();
+			riskLevels.put(2L, RiskLevel.BORDERLINE);
+			riskLevels.put(3L, RiskLevel.IN_DANGER);
+			when(reactiveRiskEvaluatorService.getRiskLevels(anyList())).thenReturn(Mono.just(riskLevels));
+
+			MvcResult result = mockMvc.perform(post("/risk-evaluator/reactive/patients")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("[2, 3]"))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			mockMvc.perform(asyncDispatch(result))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.2").value(RiskLevel.BORDERLINE.name()))
+					.andExpect(jsonPath("$.3").value(RiskLevel.IN_DANGER.name()));
+
+			verify(reactiveRiskEvaluatorService, times(1)).getRiskLevels(eq(List.of(2L, 3L)));
+		}
+
+		@Test
+		@DisplayName("POST /risk-evaluator/reactive/patients : Should respond BAD_REQUEST when more ids than the maximum batch size")
+		void getPatientsRiskLevelsTestWithTooManyIds() throws Exception {
+			mockMvc.perform(post("/risk-evaluator/reactive/patients")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("[1, 2, 3, 4]"))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(reactiveRiskEvaluatorService);
+		}
+	}
+}
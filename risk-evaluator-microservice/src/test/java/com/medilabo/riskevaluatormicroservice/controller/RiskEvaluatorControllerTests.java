@@ -1,37 +1,62 @@
 package com.medilabo.riskevaluatormicroservice.controller;
 
+import com.medilabo.riskevaluatormicroservice.controller.dto.RiskTimeline;
 import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskTimelinePoint;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
 import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelStoreService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("RiskEvaluatorController Test Suite")
 public class RiskEvaluatorControllerTests {
+	private static final int MAX_BATCH_SIZE = 3;
+
 	private MockMvc mockMvc;
 
 	@Mock
 	private RiskEvaluatorService riskEvaluatorService;
 
-	@InjectMocks
+	@Mock
+	private RiskLevelStoreService riskLevelStoreService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	private RiskEvaluatorController riskEvaluatorController;
 
 	@BeforeEach
 	public void setUp() {
+		riskEvaluatorController = new RiskEvaluatorController(riskEvaluatorService, riskLevelStoreService, eventPublisher,
+				MAX_BATCH_SIZE);
 		// Initialize MockMvc in 'standaloneSetup' to avoid using Spring context
 		mockMvc = MockMvcBuilders.standaloneSetup(riskEvaluatorController).build();
 	}
@@ -43,16 +68,121 @@ public class RiskEvaluatorControllerTests {
 		private static final RiskLevel IN_DANGER = RiskLevel.IN_DANGER;
 
 		@Test
-		@DisplayName("GET /risk-evaluator/patient/{id} : Should respond OK & return the calculated risk level for patient id")
+		@DisplayName("GET /risk-evaluator/patient/{id} : Should respond OK & return the stored risk level for patient id")
 		void getPatientRiskLevelTestWithValidPatient() throws Exception {
-			when(riskEvaluatorService.getRiskLevel(anyLong())).thenReturn(IN_DANGER);
+			when(riskLevelStoreService.getRiskLevel(anyLong())).thenReturn(IN_DANGER);
 
 			mockMvc.perform(get("/risk-evaluator/patient/{patientId}", PATIENT_ID))
 					.andExpect(status().isOk())
 					.andExpect(jsonPath("$.riskLevel").value(IN_DANGER.name()));
 
-			verify(riskEvaluatorService, times(1)).getRiskLevel(eq(PATIENT_ID));
+			verify(riskLevelStoreService, times(1)).getRiskLevel(eq(PATIENT_ID));
+			verifyNoMoreInteractions(riskLevelStoreService);
+			verifyNoInteractions(riskEvaluatorService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/patient/{id}/timeline' Tests")
+	class RiskEvaluatorPatientIdTimelineTests {
+
+		@Test
+		@DisplayName("GET /risk-evaluator/patient/{id}/timeline : Should respond OK & return the risk level after each note")
+		void getPatientRiskTimelineTest() throws Exception {
+			when(riskEvaluatorService.getRiskTimeline(anyLong())).thenReturn(new RiskTimeline(3L, List.of(
+					new RiskTimelinePoint("a1", null, 40, Set.of(), RiskLevel.NONE),
+					new RiskTimelinePoint("b2", null, 41, Set.of(TriggerTerm.POIDS, TriggerTerm.FUMEUR), RiskLevel.BORDERLINE))));
+
+			mockMvc.perform(get("/risk-evaluator/patient/{patientId}/timeline", 3L))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.patientId").value(3))
+					.andExpect(jsonPath("$.points.length()").value(2))
+					.andExpect(jsonPath("$.points[0].riskLevel").value("NONE"))
+					.andExpect(jsonPath("$.points[1].noteId").value("b2"))
+					.andExpect(jsonPath("$.points[1].triggerTerms.length()").value(2));
+
+			verify(riskEvaluatorService, times(1)).getRiskTimeline(eq(3L));
+			verifyNoMoreInteractions(riskEvaluatorService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/patient/{id}/as-of' Tests")
+	class RiskEvaluatorPatientIdAsOfTests {
+
+		@Test
+		@DisplayName("GET /risk-evaluator/patient/{id}/as-of : Should respond OK & return the risk level at the given date")
+		void getPatientRiskLevelAsOfTest() throws Exception {
+			when(riskEvaluatorService.getRiskLevelAsOf(anyLong(), any(LocalDate.class))).thenReturn(RiskLevel.BORDERLINE);
+
+			mockMvc.perform(get("/risk-evaluator/patient/{patientId}/as-of", 3L).param("date", "2024-05-01"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.riskLevel").value("BORDERLINE"));
+
+			verify(riskEvaluatorService, times(1)).getRiskLevelAsOf(eq(3L), eq(LocalDate.of(2024, 5, 1)));
+		}
+
+		@Test
+		@DisplayName("GET /risk-evaluator/patient/{id}/as-of : Should respond BAD_REQUEST when the date is invalid")
+		void getPatientRiskLevelAsOfInvalidDateTest() throws Exception {
+			mockMvc.perform(get("/risk-evaluator/patient/{patientId}/as-of", 3L).param("date", "01/05/2024"))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(riskEvaluatorService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/patients' Tests")
+	class RiskEvaluatorPatientsTests {
+		private static final List<Long> PATIENT_IDS = List.of(2L, 3L);
+
+		@Test
+		@DisplayName("POST /risk-evaluator/patients : Should respond OK & return the calculated risk level by patient id")
+		void getPatientsRiskLevelsTestWithValidPatients() throws Exception {
+			Map<Long, RiskLevel> riskLevels = new LinkedHashMap<>();
+			riskLevels.put(2L, RiskLevel.BORDERLINE);
+			riskLevels.put(3L, RiskLevel.IN_DANGER);
+			when(riskEvaluatorService.getRiskLevels(anyList())).thenReturn(riskLevels);
+
+			mockMvc.perform(post("/risk-evaluator/patients")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("[2, 3]"))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.2").value(RiskLevel.BORDERLINE.name()))
+					.andExpect(jsonPath("$.3").value(RiskLevel.IN_DANGER.name()));
+
+			verify(riskEvaluatorService, times(1)).getRiskLevels(eq(PATIENT_IDS));
 			verifyNoMoreInteractions(riskEvaluatorService);
 		}
+
+		@Test
+		@DisplayName("POST /risk-evaluator/patients : Should respond BAD_REQUEST when more ids than the maximum batch size")
+		void getPatientsRiskLevelsTestWithTooManyIds() throws Exception {
+			mockMvc.perform(post("/risk-evaluator/patients")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("[1, 2, 3, 4]"))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Batch of 4 patient IDs exceeds the maximum of 3"));
+
+			verifyNoInteractions(riskEvaluatorService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/notifications/patient/{id}' Tests")
+	class RiskEvaluatorNotificationsTests {
+		private static final Long PATIENT_ID = 3L;
+
+		@Test
+		@DisplayName("POST /risk-evaluator/notifications/patient/{id} : Should respond NO_CONTENT & publish a data change event for patient id")
+		void notifyPatientDataChangedTest() throws Exception {
+			mockMvc.perform(post("/risk-evaluator/notifications/patient/{patientId}", PATIENT_ID))
+					.andExpect(status().isNoContent());
+
+			verify(eventPublisher, times(1)).publishEvent(eq(new PatientDataChangedEvent(PATIENT_ID)));
+			verifyNoInteractions(riskEvaluatorService);
+		}
 	}
 }
@@ -0,0 +1,88 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelNotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RiskLevelNotificationController Test Suite")
+public class RiskLevelNotificationControllerTests {
+
+	private MockMvc mockMvc;
+
+	private static final int MAX_BATCH_SIZE = 3;
+
+	@Mock
+	private RiskLevelNotificationService riskLevelNotificationService;
+
+	private RiskLevelNotificationController riskLevelNotificationController;
+
+	@BeforeEach
+	public void setUp() {
+		riskLevelNotificationController = new RiskLevelNotificationController(riskLevelNotificationService, MAX_BATCH_SIZE);
+		// Initialize MockMvc in 'standaloneSetup' to avoid using Spring context
+		mockMvc = MockMvcBuilders.standaloneSetup(riskLevelNotificationController).build();
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/notifications/stream' Tests")
+	class NotificationsStreamTests {
+
+		@Test
+		@DisplayName("GET /risk-evaluator/notifications/stream : Should start streaming the risk level changes of patient ids")
+		void subscribeTest() throws Exception {
+			when(riskLevelNotificationService.subscribe(anyList())).thenReturn(new SseEmitter());
+
+			mockMvc.perform(get("/risk-evaluator/notifications/stream").param("patientIds", "1", "2"))
+					.andExpect(status().isOk())
+					.andExpect(request().asyncStarted());
+
+			verify(riskLevelNotificationService, times(1)).subscribe(eq(List.of(1L, 2L)));
+			verifyNoMoreInteractions(riskLevelNotificationService);
+		}
+
+		@Test
+		@DisplayName("GET /risk-evaluator/notifications/stream : Should respond BAD_REQUEST without patient ids")
+		void subscribeWithoutPatientIdsTest() throws Exception {
+			mockMvc.perform(get("/risk-evaluator/notifications/stream").param("patientIds", ""))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(riskLevelNotificationService);
+		}
+
+		@Test
+		@DisplayName("GET /risk-evaluator/notifications/stream : Should respond BAD_REQUEST with more patient ids than allowed")
+		void subscribeTooManyPatientIdsTest() throws Exception {
+			mockMvc.perform(get("/risk-evaluator/notifications/stream").param("patientIds", "1", "2", "3", "4"))
+					.andExpect(status().isBadRequest());
+
+			verifyNoInteractions(riskLevelNotificationService);
+		}
+
+		@Test
+		@DisplayName("GET /risk-evaluator/notifications/stream : Should respond NOT_FOUND when no patient is found")
+		void subscribeUnknownPatientsTest() throws Exception {
+			when(riskLevelNotificationService.subscribe(anyList())).thenThrow(new PatientNotFoundException(999L));
+
+			mockMvc.perform(get("/risk-evaluator/notifications/stream").param("patientIds", "999"))
+					.andExpect(status().isNotFound());
+		}
+	}
+}
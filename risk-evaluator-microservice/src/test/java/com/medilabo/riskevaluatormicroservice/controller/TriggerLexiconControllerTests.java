@@ -0,0 +1,94 @@
+package com.medilabo.riskevaluatormicroservice.controller;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.exception.InvalidTriggerLexiconException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.TriggerLexiconService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TriggerLexiconController Test Suite")
+public class TriggerLexiconControllerTests {
+	private static final TriggerLexicon LEXICON = TriggerLexicon.of(Map.of(TriggerTerm.FUMEUR, List.of("fumeur", "tabagisme")));
+
+	private MockMvc mockMvc;
+
+	@Mock
+	private TriggerLexiconService triggerLexiconService;
+
+	@InjectMocks
+	private TriggerLexiconController triggerLexiconController;
+
+	@BeforeEach
+	public void setUp() {
+		// Initialize MockMvc in 'standaloneSetup' to avoid using Spring context
+		mockMvc = MockMvcBuilders.standaloneSetup(triggerLexiconController).build();
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/lexicon' Tests")
+	class GetLexiconTests {
+
+		@Test
+		@DisplayName("GET /risk-evaluator/lexicon : Should respond OK & return the version and variants of the lexicon")
+		void getLexiconTest() throws Exception {
+			when(triggerLexiconService.getLexicon()).thenReturn(LEXICON);
+
+			mockMvc.perform(get("/risk-evaluator/lexicon"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.version").value(LEXICON.getVersion()))
+					.andExpect(jsonPath("$.variants.FUMEUR[1]").value("tabagisme"))
+					.andExpect(jsonPath("$.variants.POIDS").isEmpty());
+
+			verify(triggerLexiconService, times(1)).getLexicon();
+			verifyNoMoreInteractions(triggerLexiconService);
+		}
+	}
+
+	@Nested
+	@DisplayName("ENDPOINT '/risk-evaluator/lexicon/reload' Tests")
+	class ReloadLexiconTests {
+
+		@Test
+		@DisplayName("POST /risk-evaluator/lexicon/reload : Should respond OK & return the active lexicon")
+		void reloadLexiconTest() throws Exception {
+			when(triggerLexiconService.reload()).thenReturn(LEXICON);
+
+			mockMvc.perform(post("/risk-evaluator/lexicon/reload"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.version").value(LEXICON.getVersion()));
+
+			verify(triggerLexiconService, times(1)).reload();
+			verifyNoMoreInteractions(triggerLexiconService);
+		}
+
+		@Test
+		@DisplayName("POST /risk-evaluator/lexicon/reload : Should respond UNPROCESSABLE ENTITY when the lexicon is invalid")
+		void reloadInvalidLexiconTest() throws Exception {
+			when(triggerLexiconService.reload())
+					.thenThrow(new InvalidTriggerLexiconException("file:/lexicon.txt", new IOException("not found")));
+
+			mockMvc.perform(post("/risk-evaluator/lexicon/reload"))
+					.andExpect(status().isUnprocessableEntity());
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.medilabo.riskevaluatormicroservice.decoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("MedicalNoteTriggerDecoder Test Suite")
+public class MedicalNoteTriggerDecoderTests {
+
+	@Nested
+	@DisplayName("decodeTriggerMask() Tests")
+	class DecodeTriggerMaskTests {
+
+		@Test
+		@DisplayName("Should return the trigger terms found in every note")
+		public void givenNotes_whenDecodeTriggerMask_thenReturnTermsOfAllNotes() throws IOException {
+			int mask = MedicalNoteTriggerDecoder.decodeTriggerMask(json("""
+					[{"id":"a","patId":1,"patient":"Fumeur","note":"Poids élevé","createdAt":"2024-01-01T00:00:00.000+00:00"},
+					 {"id":"b","patId":1,"patient":"Test","note":"Cholestérol, vertiges","tags":{"note":"Rechute"}}]
+					"""));
+
+			assertThat(TriggerTermMatcher.toTerms(mask))
+					.containsExactlyInAnyOrder(TriggerTerm.POIDS, TriggerTerm.CHOLESTEROL, TriggerTerm.VERTIGES);
+		}
+
+		@Test
+		@DisplayName("Should return an empty mask for a null, empty or note-less body")
+		public void givenNoNotes_whenDecodeTriggerMask_thenReturnEmptyMask() throws IOException {
+			assertThat(MedicalNoteTriggerDecoder.decodeTriggerMask(null)).isZero();
+			assertThat(MedicalNoteTriggerDecoder.decodeTriggerMask(json(""))).isZero();
+			assertThat(MedicalNoteTriggerDecoder.decodeTriggerMask(json("[]"))).isZero();
+			assertThat(MedicalNoteTriggerDecoder.decodeTriggerMask(json("[{\"patId\":1,\"note\":null}]"))).isZero();
+		}
+
+		@Test
+		@DisplayName("Should stop reading once every trigger term has been found")
+		public void givenAllTermsInFirstNote_whenDecodeTriggerMask_thenStopReading() throws IOException {
+			StringBuilder allTerms = new StringBuilder();
+			for (TriggerTerm term : TriggerTerm.values()) {
+				allTerms.append(term.getNormalizedVariants().iterator().next()).append(' ');
+			}
+			InputStream body = new SequenceInputStream(
+					json("[{\"patId\":1,\"note\":\"" + allTerms + "\"},"),
+					new InputStream() {
+						@Override
+						public int read() {
+							throw new AssertionError("The rest of the body should not be read");
+						}
+					});
+
+			int mask = MedicalNoteTriggerDecoder.decodeTriggerMask(body);
+
+			assertThat(TriggerTermMatcher.getInstance().isComplete(mask)).isTrue();
+		}
+
+		@Test
+		@DisplayName("Should decode the notes encoded in CBOR when the content type says so")
+		public void givenCborNotes_whenDecodeTriggerMask_thenReturnTermsOfAllNotes() throws IOException {
+			InputStream body = cbor(List.of(
+					Map.of("id", "a", "patId", 1, "note", "Poids élevé"),
+					Map.of("id", "b", "patId", 1, "note", "Cholestérol, vertiges")));
+
+			int mask = MedicalNoteTriggerDecoder.decodeTriggerMask(body, "application/cbor", TriggerTermMatcher.getInstance());
+
+			assertThat(TriggerTermMatcher.toTerms(mask))
+					.containsExactlyInAnyOrder(TriggerTerm.POIDS, TriggerTerm.CHOLESTEROL, TriggerTerm.VERTIGES);
+		}
+
+		@Test
+		@DisplayName("Should decode JSON when the content type is not CBOR")
+		public void givenJsonContentType_whenDecodeTriggerMask_thenDecodeJson() throws IOException {
+			TriggerTermMatcher matcher = TriggerTermMatcher.getInstance();
+
+			int jsonMask = MedicalNoteTriggerDecoder.decodeTriggerMask(json("[{\"note\":\"Poids\"}]"), "application/json", matcher);
+			int invalidTypeMask = MedicalNoteTriggerDecoder.decodeTriggerMask(json("[{\"note\":\"Poids\"}]"), "not a type", matcher);
+
+			assertThat(TriggerTermMatcher.toTerms(jsonMask)).containsExactly(TriggerTerm.POIDS);
+			assertThat(TriggerTermMatcher.toTerms(invalidTypeMask)).containsExactly(TriggerTerm.POIDS);
+		}
+
+		@Test
+		@DisplayName("Should throw an IOException when the body is not an array of notes")
+		public void givenMalformedBody_whenDecodeTriggerMask_thenThrowIOException() {
+			assertThrows(IOException.class, () -> MedicalNoteTriggerDecoder.decodeTriggerMask(json("{\"note\":\"Poids\"}")));
+			assertThrows(IOException.class, () -> MedicalNoteTriggerDecoder.decodeTriggerMask(json("[\"Poids\"]")));
+		}
+	}
+
+	@Nested
+	@DisplayName("decodeTriggerMasks() Tests")
+	class DecodeTriggerMasksTests {
+
+		@Test
+		@DisplayName("Should return the trigger terms found in the notes of every patient")
+		public void givenNotesOfSeveralPatients_whenDecodeTriggerMasks_thenReturnMaskByPatient() throws IOException {
+			Map<Long, Integer> masks = MedicalNoteTriggerDecoder.decodeTriggerMasks(json("""
+					[{"patId":1,"note":"Poids"},{"patId":2,"note":"Fumeur"},{"patId":1,"note":"Taille"},{"patId":3,"note":"RAS"}]
+					"""));
+
+			assertThat(masks).containsOnlyKeys(1L, 2L, 3L);
+			assertThat(TriggerTermMatcher.toTerms(masks.get(1L))).containsExactlyInAnyOrder(TriggerTerm.POIDS, TriggerTerm.TAILLE);
+			assertThat(TriggerTermMatcher.toTerms(masks.get(2L))).containsExactly(TriggerTerm.FUMEUR);
+			assertThat(masks.get(3L)).isZero();
+		}
+
+		@Test
+		@DisplayName("Should attribute notes serialized before their patient ID")
+		public void givenNoteBeforePatId_whenDecodeTriggerMasks_thenAttributeToPatient() throws IOException {
+			Map<Long, Integer> masks = MedicalNoteTriggerDecoder.decodeTriggerMasks(json("""
+					[{"note":"Anticorps","patient":"Test","patId":4},{"note":"Vertiges"}]
+					"""));
+
+			assertThat(masks).containsOnlyKeys(4L);
+			assertThat(TriggerTermMatcher.toTerms(masks.get(4L))).containsExactly(TriggerTerm.ANTICORPS);
+		}
+
+		@Test
+		@DisplayName("Should decode the notes of several patients encoded in CBOR")
+		public void givenCborNotesOfSeveralPatients_whenDecodeTriggerMasks_thenReturnMaskByPatient() throws IOException {
+			InputStream body = cbor(List.of(Map.of("patId", 1, "note", "Poids"), Map.of("patId", 2, "note", "Fumeur")));
+
+			Map<Long, Integer> masks = MedicalNoteTriggerDecoder.decodeTriggerMasks(body, "application/cbor",
+					TriggerTermMatcher.getInstance());
+
+			assertThat(masks).containsOnlyKeys(1L, 2L);
+			assertThat(TriggerTermMatcher.toTerms(masks.get(1L))).containsExactly(TriggerTerm.POIDS);
+			assertThat(TriggerTermMatcher.toTerms(masks.get(2L))).containsExactly(TriggerTerm.FUMEUR);
+		}
+
+		@Test
+		@DisplayName("Should return an empty map for a null or empty body")
+		public void givenNoNotes_whenDecodeTriggerMasks_thenReturnEmptyMap() throws IOException {
+			assertThat(MedicalNoteTriggerDecoder.decodeTriggerMasks(null)).isEmpty();
+			assertThat(MedicalNoteTriggerDecoder.decodeTriggerMasks(json(""))).isEmpty();
+			assertThat(MedicalNoteTriggerDecoder.decodeTriggerMasks(json("[]"))).isEmpty();
+		}
+	}
+
+	private static InputStream json(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static InputStream cbor(Object value) throws IOException {
+		return new ByteArrayInputStream(new ObjectMapper(new CBORFactory()).writeValueAsBytes(value));
+	}
+}
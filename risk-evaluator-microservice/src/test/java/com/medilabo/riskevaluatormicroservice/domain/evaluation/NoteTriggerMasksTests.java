@@ -0,0 +1,123 @@
+package com.medilabo.riskevaluatormicroservice.domain.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NoteTriggerMasks Test Suite")
+public class NoteTriggerMasksTests {
+	private final TriggerTermMatcher matcher = TriggerTermMatcher.getInstance();
+
+	private static MedicalNoteBean note(String id, String text) {
+		return MedicalNoteBean.builder().id(id).patId(1).note(text).build();
+	}
+
+	@Nested
+	@DisplayName("getMask() Tests")
+	class GetMaskTests {
+
+		/*
+		 * A note is never updated once created, so its memoized mask is returned even if the same ID comes with
+		 * another text.
+		 */
+		@Test
+		@DisplayName("Should scan a note once and return its memoized mask afterwards")
+		public void givenScannedNote_whenGetMask_thenReturnMemoizedMask() {
+			NoteTriggerMasks noteTriggerMasks = new NoteTriggerMasks(10);
+
+			int mask = noteTriggerMasks.getMask(note("n1", "Fumeur, vertiges"), matcher);
+			int memoized = noteTriggerMasks.getMask(note("n1", "Rien à signaler"), matcher);
+
+			assertThat(TriggerTermMatcher.toTerms(mask))
+					.containsExactlyInAnyOrder(TriggerTerm.FUMEUR, TriggerTerm.VERTIGES);
+			assertThat(memoized).isEqualTo(mask);
+			assertThat(noteTriggerMasks.getCache().stats().missCount()).isEqualTo(1);
+			assertThat(noteTriggerMasks.getCache().stats().hitCount()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("Should scan a note again with another lexicon")
+		public void givenOtherLexicon_whenGetMask_thenScanAgain() {
+			NoteTriggerMasks noteTriggerMasks = new NoteTriggerMasks(10);
+			TriggerTermMatcher otherMatcher = new TriggerTermMatcher(TriggerLexicon.of(Map.of(
+					TriggerTerm.FUMEUR, List.of("tabagique"))));
+
+			int mask = noteTriggerMasks.getMask(note("n1", "Patient tabagique"), matcher);
+			int otherMask = noteTriggerMasks.getMask(note("n1", "Patient tabagique"), otherMatcher);
+
+			assertThat(mask).isZero();
+			assertThat(TriggerTermMatcher.toTerms(otherMask)).containsExactly(TriggerTerm.FUMEUR);
+			assertThat(noteTriggerMasks.getCache().stats().missCount()).isEqualTo(2);
+		}
+
+		@Test
+		@DisplayName("Should scan the notes without an ID every time, without memoizing them")
+		public void givenNoteWithoutId_whenGetMask_thenScanWithoutMemoizing() {
+			NoteTriggerMasks noteTriggerMasks = new NoteTriggerMasks(10);
+
+			assertThat(noteTriggerMasks.getMask(note(null, "Fumeur"), matcher)).isNotZero();
+			assertThat(noteTriggerMasks.getMask(note(null, "Rien à signaler"), matcher)).isZero();
+			assertThat(noteTriggerMasks.getCache().estimatedSize()).isZero();
+		}
+	}
+
+	@Nested
+	@DisplayName("RiskEvaluationKernel with memo Tests")
+	class KernelTests {
+
+		@Test
+		@DisplayName("Should only scan the new note of a patient whose other notes were already scanned")
+		public void givenOneNewNote_whenGetTriggerCount_thenScanOnlyNewNote() {
+			NoteTriggerMasks noteTriggerMasks = new NoteTriggerMasks(1000);
+			RiskEvaluationKernel kernel = new RiskEvaluationKernel(RiskRuleTable.getDefault(),
+					TriggerTermMatcher::getInstance, noteTriggerMasks);
+			List<MedicalNoteBean> medicalNotes = new ArrayList<>();
+			for (int i = 0; i < 500; i++) {
+				medicalNotes.add(note("n" + i, i % 2 == 0 ? "Poids stable" : "Rien à signaler"));
+			}
+			assertThat(kernel.getTriggerCount(medicalNotes)).isEqualTo(1);
+
+			medicalNotes.add(note("n500", "Fumeur, taux de cholestérol anormal"));
+
+			assertThat(kernel.getTriggerCount(medicalNotes)).isEqualTo(4);
+			assertThat(noteTriggerMasks.getCache().stats().missCount()).isEqualTo(501);
+			assertThat(noteTriggerMasks.getCache().stats().hitCount()).isEqualTo(500);
+		}
+
+		/*
+		 * A phrase cannot span two notes, so combining the masks of the notes gives the same terms as a single scan.
+		 */
+		@Test
+		@DisplayName("Should find the same trigger terms and timeline as without memo")
+		public void givenPhraseLexicon_whenEvaluate_thenMatchKernelWithoutMemo() {
+			TriggerTermMatcher phraseMatcher = new TriggerTermMatcher(TriggerLexicon.of(Map.of(
+					TriggerTerm.HEMOGLOBINE_A1C, List.of("hemoglobine a1c"),
+					TriggerTerm.REACTION, List.of("reaction allergique"))), 0, 1);
+			RiskEvaluationKernel memoized = new RiskEvaluationKernel(RiskRuleTable.getDefault(), () -> phraseMatcher,
+					new NoteTriggerMasks(10));
+			RiskEvaluationKernel scanning = new RiskEvaluationKernel(RiskRuleTable.getDefault(), () -> phraseMatcher);
+			List<MedicalNoteBean> medicalNotes = List.of(
+					note("n1", "Dosage de l'hémoglobine"),
+					note("n2", "A1C élevée, réaction allergique"),
+					note("n3", "Hémoglobine glyquée A1C"));
+			PatientBean patient = PatientBean.builder()
+					.id(1L).birthDate("1980-01-01").gender("F").build();
+
+			assertThat(memoized.getTriggerTerms(medicalNotes)).isEqualTo(scanning.getTriggerTerms(medicalNotes))
+					.containsExactlyInAnyOrder(TriggerTerm.HEMOGLOBINE_A1C, TriggerTerm.REACTION);
+			assertThat(memoized.evaluateTimeline(patient, medicalNotes))
+					.isEqualTo(scanning.evaluateTimeline(patient, medicalNotes));
+		}
+	}
+}
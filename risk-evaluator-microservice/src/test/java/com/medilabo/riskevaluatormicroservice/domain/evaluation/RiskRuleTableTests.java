@@ -0,0 +1,100 @@
+package com.medilabo.riskevaluatormicroservice.domain.evaluation;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("RiskRuleTable Test Suite")
+public class RiskRuleTableTests {
+	private static final List<String> GENDERS = Arrays.asList("M", "m", "F", "f", "X", "", null);
+
+	@Nested
+	@DisplayName("getDefault() Tests")
+	class DefaultTests {
+
+		/*
+		 * Compares the default table with the branches of the original protocol for every gender, age and trigger count.
+		 */
+		@Test
+		@DisplayName("Should reproduce the original protocol, including the age 30 gap")
+		public void givenDefaultRules_whenLookup_thenMatchOriginalProtocol() {
+			RiskRuleTable table = RiskRuleTable.getDefault();
+
+			for (String gender : GENDERS) {
+				for (int age = 0; age <= RiskRuleTable.MAX_AGE + 10; age++) {
+					for (int triggers = 0; triggers <= RiskRuleTable.MAX_TRIGGERS + 2; triggers++) {
+						assertThat(table.lookup(gender, age, triggers))
+								.as("gender=%s, age=%d, triggers=%d", gender, age, triggers)
+								.isEqualTo(originalProtocol(gender, age, triggers));
+					}
+				}
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("compile() Tests")
+	class CompileTests {
+
+		@Test
+		@DisplayName("Should apply the first matching rule and default to NONE")
+		public void givenOverlappingRules_whenLookup_thenApplyFirstMatch() {
+			RiskRuleTable table = RiskRuleTable.compile(List.of(
+					new RiskRule("F", 40, 60, 1, null, RiskLevel.EARLY_ONSET),
+					new RiskRule(null, 40, null, 1, null, RiskLevel.BORDERLINE)));
+
+			assertThat(table.lookup("F", 50, 3)).isEqualTo(RiskLevel.EARLY_ONSET);
+			assertThat(table.lookup("F", 61, 3)).isEqualTo(RiskLevel.BORDERLINE);
+			assertThat(table.lookup("M", 50, 3)).isEqualTo(RiskLevel.BORDERLINE);
+			assertThat(table.lookup("M", 39, 3)).isEqualTo(RiskLevel.NONE);
+			assertThat(table.lookup("M", 50, 0)).isEqualTo(RiskLevel.NONE);
+		}
+
+		@Test
+		@DisplayName("Should reject rules without level, with an unknown gender or with inconsistent bounds")
+		public void givenInvalidRules_whenCompile_thenThrowIllegalArgumentException() {
+			assertThrows(IllegalArgumentException.class, () -> RiskRuleTable.compile(List.of(
+					new RiskRule(null, null, null, null, null, null))));
+			assertThrows(IllegalArgumentException.class, () -> RiskRuleTable.compile(List.of(
+					new RiskRule("X", null, null, null, null, RiskLevel.NONE))));
+			assertThrows(IllegalArgumentException.class, () -> RiskRuleTable.compile(List.of(
+					new RiskRule(null, 40, 30, null, null, RiskLevel.NONE))));
+			assertThrows(IllegalArgumentException.class, () -> RiskRuleTable.compile(List.of(
+					new RiskRule(null, null, null, 5, 2, RiskLevel.NONE))));
+			assertThrows(IllegalArgumentException.class, () -> RiskRuleTable.compile(List.of(
+					new RiskRule(null, 200, null, null, null, RiskLevel.NONE))));
+		}
+	}
+
+	/**
+	 * The protocol as it was hard-coded before being expressed as rules.
+	 */
+	private static RiskLevel originalProtocol(String gender, int age, int triggers) {
+		if (triggers == 0) {
+			return RiskLevel.NONE;
+		}
+		if (age < 30) {
+			if ("M".equalsIgnoreCase(gender)) {
+				if (triggers >= 5) return RiskLevel.EARLY_ONSET;
+				if (triggers == 3) return RiskLevel.IN_DANGER;
+			} else if ("F".equalsIgnoreCase(gender)) {
+				if (triggers == 4) return RiskLevel.IN_DANGER;
+				if (triggers >= 7) return RiskLevel.EARLY_ONSET;
+			}
+			return RiskLevel.NONE;
+		}
+		if (age > 30) {
+			if (triggers > 1 && triggers < 6) return RiskLevel.BORDERLINE;
+			if (triggers == 6 || triggers == 7) return RiskLevel.IN_DANGER;
+			if (triggers >= 8) return RiskLevel.EARLY_ONSET;
+		}
+		return RiskLevel.NONE;
+	}
+}
@@ -0,0 +1,142 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NoteTokenizer Test Suite")
+public class NoteTokenizerTests {
+
+	@Nested
+	@DisplayName("tokenize() Tests")
+	class TokenizeTests {
+
+		@Test
+		@DisplayName("Should split on non letters or digits and fold tokens")
+		public void givenFrenchText_whenTokenize_thenReturnFoldedTokens() {
+			List<String> tokens = tokenize("Hémoglobine A1C, d’être ÉLEVÉE!");
+
+			assertThat(tokens).containsExactly("hemoglobine", "a1c", "d", "etre", "elevee");
+		}
+
+		@Test
+		@DisplayName("Should skip combining marks of decomposed texts")
+		public void givenDecomposedText_whenTokenize_thenReturnTokensWithoutMarks() {
+			String decomposed = Normalizer.normalize("Réaction cholestérol", Normalizer.Form.NFD);
+
+			assertThat(tokenize(decomposed)).containsExactly("reaction", "cholesterol");
+		}
+
+		@Test
+		@DisplayName("Should tokenize a range of a character buffer")
+		public void givenCharBufferRange_whenTokenize_thenReturnTokensOfRange() {
+			char[] buffer = "xx Fumeur poids xx".toCharArray();
+			List<String> tokens = new ArrayList<>();
+
+			NoteTokenizer.tokenize(buffer, 3, 12, collector(tokens));
+
+			assertThat(tokens).containsExactly("fumeur", "poids");
+		}
+
+		@Test
+		@DisplayName("Should stop when the consumer asks for it")
+		public void givenStoppingConsumer_whenTokenize_thenStopAfterFirstToken() {
+			List<String> tokens = new ArrayList<>();
+			StringBuilder current = new StringBuilder();
+
+			NoteTokenizer.tokenize("taille poids", new NoteTokenizer.TokenConsumer() {
+				@Override
+				public void append(char folded) {
+					current.append(folded);
+				}
+
+				@Override
+				public boolean endToken() {
+					tokens.add(current.toString());
+					return false;
+				}
+			});
+
+			assertThat(tokens).containsExactly("taille");
+		}
+	}
+
+	@Nested
+	@DisplayName("endText() Tests")
+	class EndTextTests {
+
+		@Test
+		@DisplayName("Should signal the end of the text after its last token")
+		public void givenText_whenTokenize_thenSignalEndOfText() {
+			List<String> events = new ArrayList<>();
+
+			NoteTokenizer.tokenize("taille poids", new NoteTokenizer.TokenConsumer() {
+				@Override
+				public void append(char folded) {
+				}
+
+				@Override
+				public boolean endToken() {
+					events.add("token");
+					return true;
+				}
+
+				@Override
+				public void endText() {
+					events.add("text");
+				}
+			});
+
+			assertThat(events).containsExactly("token", "token", "text");
+		}
+	}
+
+	@Nested
+	@DisplayName("normalize() Tests")
+	class NormalizeTests {
+
+		@Test
+		@DisplayName("Should return lowercase ASCII strings as is")
+		public void givenLowercaseAscii_whenNormalize_thenReturnSameInstance() {
+			String input = "microalbumine";
+
+			assertThat(NoteTokenizer.normalize(input)).isSameAs(input);
+		}
+
+		@Test
+		@DisplayName("Should lowercase and remove accents")
+		public void givenAccentedText_whenNormalize_thenReturnFoldedText() {
+			assertThat(NoteTokenizer.normalize("Réaction Anormale, Œdème")).isEqualTo("reaction anormale, œdeme");
+			assertThat(NoteTokenizer.normalize(null)).isEmpty();
+		}
+	}
+
+	private static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		NoteTokenizer.tokenize(text, collector(tokens));
+		return tokens;
+	}
+
+	private static NoteTokenizer.TokenConsumer collector(List<String> tokens) {
+		StringBuilder current = new StringBuilder();
+		return new NoteTokenizer.TokenConsumer() {
+			@Override
+			public void append(char folded) {
+				current.append(folded);
+			}
+
+			@Override
+			public boolean endToken() {
+				tokens.add(current.toString());
+				current.setLength(0);
+				return true;
+			}
+		};
+	}
+}
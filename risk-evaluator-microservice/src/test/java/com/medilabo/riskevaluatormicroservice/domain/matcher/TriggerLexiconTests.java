@@ -0,0 +1,131 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TriggerLexicon Test Suite")
+public class TriggerLexiconTests {
+	private static final String DEFAULT_VERSION = "9ae2a1d8fbdc";
+
+	@Nested
+	@DisplayName("parse() Tests")
+	class ParseTests {
+
+		@Test
+		@DisplayName("Should parse terms spanning several lines and skip comments and blank lines")
+		public void givenLexiconText_whenParse_thenReturnNormalizedVariants() throws IOException {
+			TriggerLexicon lexicon = parse("""
+					# Comment
+					FUMEUR: Fumeur, fumeuse
+
+					FUMEUR: fumeurs
+					CHOLESTEROL: Cholestérol
+					""");
+
+			assertThat(lexicon.getVariants(TriggerTerm.FUMEUR)).containsExactlyInAnyOrder("fumeur", "fumeuse", "fumeurs");
+			assertThat(lexicon.getVariants(TriggerTerm.CHOLESTEROL)).containsExactly("cholesterol");
+			assertThat(lexicon.getVariants(TriggerTerm.POIDS)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Should reject unknown trigger terms with the number of the line")
+		public void givenUnknownTerm_whenParse_thenThrowIllegalArgumentException() {
+			assertThatThrownBy(() -> parse("POIDS: poids\nGLYCEMIE: glycemie"))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessageContaining("Line 2")
+					.hasMessageContaining("GLYCEMIE");
+		}
+
+		@Test
+		@DisplayName("Should reject lines without a colon and blank variants")
+		public void givenMalformedLines_whenParse_thenThrowIllegalArgumentException() {
+			assertThatThrownBy(() -> parse("POIDS poids")).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> parse("POIDS: poids,"))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessageContaining("blank variant");
+			assertThatThrownBy(() -> parse("POIDS: poids, ' - '")).isInstanceOf(IllegalArgumentException.class);
+		}
+
+		@Test
+		@DisplayName("Should normalize phrases to their folded words separated by single spaces")
+		public void givenPhraseVariants_whenParse_thenReturnNormalizedPhrases() throws IOException {
+			TriggerLexicon lexicon = parse("HEMOGLOBINE_A1C: Hémoglobine  A1C, hémoglobine-glyquée\nREACTION: réaction");
+
+			assertThat(lexicon.getVariants(TriggerTerm.HEMOGLOBINE_A1C))
+					.containsExactlyInAnyOrder("hemoglobine a1c", "hemoglobine glyquee");
+			assertThat(lexicon.getVariants(TriggerTerm.REACTION)).containsExactly("reaction");
+		}
+	}
+
+	@Nested
+	@DisplayName("getVersion() Tests")
+	class GetVersionTests {
+
+		@Test
+		@DisplayName("Should give the same version to lexicons with the same normalized content")
+		public void givenEquivalentLexicons_whenGetVersion_thenReturnSameVersion() throws IOException {
+			TriggerLexicon lexicon = parse("FUMEUR: fumeuse, Fumeur\nPOIDS: poids");
+			TriggerLexicon equivalent = TriggerLexicon.of(Map.of(
+					TriggerTerm.POIDS, List.of("POIDS"),
+					TriggerTerm.FUMEUR, List.of("fumeur", "fumeuse")));
+
+			assertThat(lexicon.getVersion()).isEqualTo(equivalent.getVersion());
+			assertThat(lexicon).isEqualTo(equivalent);
+		}
+
+		@Test
+		@DisplayName("Should change the version when a variant changes")
+		public void givenDifferentLexicons_whenGetVersion_thenReturnDifferentVersions() throws IOException {
+			assertThat(parse("FUMEUR: fumeur").getVersion()).isNotEqualTo(parse("FUMEUR: fumeurs").getVersion());
+			assertThat(TriggerLexicon.getDefault().getVersion()).isEqualTo(TriggerTermMatcher.getInstance().getVersion());
+		}
+
+		/*
+		 * The medical note service returns its trigger masks with the version of its built-in lexicon, and the masks are
+		 * only counted when it is the version of the active lexicon: the same version is pinned in both services, so that
+		 * changing one copy of the TriggerTerm enum fails the build until the other one matches.
+		 */
+		@Test
+		@DisplayName("Should give the built-in lexicon the version pinned in the medical note service")
+		public void givenBuiltInLexicon_whenGetVersion_thenReturnPinnedVersion() {
+			assertThat(TriggerLexicon.getDefault().getVersion()).isEqualTo(DEFAULT_VERSION);
+		}
+	}
+
+	@Nested
+	@DisplayName("TriggerTermMatcher(TriggerLexicon) Tests")
+	class CompileTests {
+
+		@Test
+		@DisplayName("Should match the variants of the lexicon only")
+		public void givenCustomLexicon_whenScan_thenMatchLexiconVariants() throws IOException {
+			TriggerTermMatcher matcher = new TriggerTermMatcher(parse("FUMEUR: fumeurs, tabagisme"));
+
+			assertThat(TriggerTermMatcher.toTerms(matcher.scan("Tabagisme actif, poids stable")))
+					.containsExactly(TriggerTerm.FUMEUR);
+			assertThat(matcher.scan("fumeur")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should be complete once every term having variants is found")
+		public void givenPartialLexicon_whenScanAllItsTerms_thenMaskIsComplete() throws IOException {
+			TriggerTermMatcher matcher = new TriggerTermMatcher(parse("FUMEUR: fumeur\nPOIDS: poids"));
+
+			assertThat(matcher.isComplete(matcher.scan("fumeur et poids"))).isTrue();
+		}
+	}
+
+	private static TriggerLexicon parse(String text) throws IOException {
+		return TriggerLexicon.parse(new StringReader(text));
+	}
+}
@@ -0,0 +1,255 @@
+package com.medilabo.riskevaluatormicroservice.domain.matcher;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TriggerTermMatcher Test Suite")
+public class TriggerTermMatcherTests {
+	private final TriggerTermMatcher matcher = TriggerTermMatcher.getInstance();
+
+	@Nested
+	@DisplayName("scan() Tests")
+	class ScanTests {
+
+		@Test
+		@DisplayName("Should return an empty mask for null or empty text")
+		public void givenNullOrEmptyText_whenScan_thenReturnEmptyMask() {
+			assertThat(matcher.scan(null)).isZero();
+			assertThat(matcher.scan("")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should find accented and capitalized variants")
+		public void givenAccentedText_whenScan_thenReturnMatchedTerms() {
+			int mask = matcher.scan("Taille, Poids, Cholestérol, Vertige et Réaction allergique");
+
+			assertThat(TriggerTermMatcher.toTerms(mask)).containsExactlyInAnyOrder(
+					TriggerTerm.TAILLE, TriggerTerm.POIDS, TriggerTerm.CHOLESTEROL,
+					TriggerTerm.VERTIGES, TriggerTerm.REACTION);
+		}
+
+		@Test
+		@DisplayName("Should only match whole words")
+		public void givenWordsContainingVariants_whenScan_thenReturnEmptyMask() {
+			assertThat(matcher.scan("fumeurs poidsx antipoids réactionnel")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should split words on punctuation and apostrophes")
+		public void givenPunctuatedText_whenScan_thenReturnMatchedTerms() {
+			int mask = matcher.scan("qu'il fume; d’anticorps(rechute)hémoglobine-A1C");
+
+			assertThat(TriggerTermMatcher.toTerms(mask)).containsExactlyInAnyOrder(
+					TriggerTerm.FUMEUR, TriggerTerm.ANTICORPS, TriggerTerm.RECHUTE, TriggerTerm.HEMOGLOBINE_A1C);
+		}
+
+		@Test
+		@DisplayName("Should report every term once whatever the number of occurrences")
+		public void givenRepeatedTerms_whenScan_thenReturnDistinctTerms() {
+			int mask = matcher.scan("Fumeur, fumeuse, fumer. Anormal anormaux");
+
+			assertThat(Integer.bitCount(mask)).isEqualTo(2);
+			assertThat(matcher.isComplete(mask)).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("scan() with typos Tests")
+	class FuzzyScanTests {
+		private final TriggerTermMatcher oneEditMatcher = new TriggerTermMatcher(TriggerLexicon.getDefault(), 1);
+		private final TriggerTermMatcher twoEditsMatcher = new TriggerTermMatcher(TriggerLexicon.getDefault(), 2);
+
+		@Test
+		@DisplayName("Should find misspelled variants within one edit")
+		public void givenMisspelledText_whenScanWithOneEdit_thenReturnMatchedTerms() {
+			int mask = oneEditMatcher.scan("Cholestérole élevé, microalbumin, chlesterol et vertigse");
+
+			assertThat(TriggerTermMatcher.toTerms(mask)).containsExactlyInAnyOrder(
+					TriggerTerm.CHOLESTEROL, TriggerTerm.MICROALBUMINE, TriggerTerm.VERTIGES);
+			assertThat(matcher.scan("Cholestérole élevé, microalbumin, chlesterol et vertigse")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should count an adjacent transposition as a single edit")
+		public void givenTransposedLetters_whenScanWithOneEdit_thenReturnMatchedTerm() {
+			assertThat(TriggerTermMatcher.toTerms(oneEditMatcher.scan("cholsetérol")))
+					.containsExactly(TriggerTerm.CHOLESTEROL);
+		}
+
+		@Test
+		@DisplayName("Should match short variants exactly and allow two edits on long variants only")
+		public void givenWordsOfVariousLengths_whenScanWithTwoEdits_thenApplyAllowedDistance() {
+			assertThat(twoEditsMatcher.scan("poils a1b fume")).isEqualTo(1 << TriggerTerm.FUMEUR.ordinal());
+			assertThat(twoEditsMatcher.scan("fumeusses")).isZero();
+			assertThat(TriggerTermMatcher.toTerms(twoEditsMatcher.scan("mcroalbumne")))
+					.containsExactly(TriggerTerm.MICROALBUMINE);
+			assertThat(oneEditMatcher.scan("mcroalbumne")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should reject a maximum edit distance out of range")
+		public void givenOutOfRangeDistance_whenCompile_thenThrowIllegalArgumentException() {
+			assertThatThrownBy(() -> new TriggerTermMatcher(TriggerLexicon.getDefault(), 3))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("scan() with phrases Tests")
+	class PhraseScanTests {
+		private final TriggerLexicon lexicon = TriggerLexicon.of(Map.of(
+				TriggerTerm.HEMOGLOBINE_A1C, List.of("hemoglobine a1c"),
+				TriggerTerm.REACTION, List.of("reaction allergique", "anaphylaxie"),
+				TriggerTerm.RECHUTE, List.of("rechute rechute")));
+		private final TriggerTermMatcher phraseMatcher = new TriggerTermMatcher(lexicon, 0, 1);
+
+		@Test
+		@DisplayName("Should find phrases and not their words alone")
+		public void givenPhraseWords_whenScan_thenMatchCompletePhrasesOnly() {
+			assertThat(TriggerTermMatcher.toTerms(phraseMatcher.scan("Hémoglobine A1C élevée, réaction allergique")))
+					.containsExactlyInAnyOrder(TriggerTerm.HEMOGLOBINE_A1C, TriggerTerm.REACTION);
+			assertThat(phraseMatcher.scan("A1C, hémoglobine, réaction cutanée")).isZero();
+			assertThat(phraseMatcher.scan("a1c hemoglobine")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should find the built-in phrases and not their words alone")
+		public void givenBuiltInLexicon_whenScan_thenMatchCompletePhrasesOnly() {
+			TriggerTermMatcher matcher = TriggerTermMatcher.getInstance();
+
+			assertThat(TriggerTermMatcher.toTerms(matcher.scan("Hémoglobine A1C élevée, réaction aux médicaments")))
+					.containsExactlyInAnyOrder(TriggerTerm.HEMOGLOBINE_A1C, TriggerTerm.REACTION);
+			assertThat(matcher.scan("A1C, hémoglobine, réaction cutanée")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should allow the configured number of other words between the words of a phrase")
+		public void givenWordsBetweenPhraseWords_whenScan_thenApplyMaxPhraseGap() {
+			TriggerTermMatcher strictMatcher = new TriggerTermMatcher(lexicon, 0, 0);
+
+			assertThat(phraseMatcher.scan("hémoglobine glyquée A1C")).isEqualTo(1 << TriggerTerm.HEMOGLOBINE_A1C.ordinal());
+			assertThat(phraseMatcher.scan("hémoglobine très glyquée A1C")).isZero();
+			assertThat(strictMatcher.scan("hémoglobine glyquée A1C")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should not match a phrase from a single occurrence of a repeated word")
+		public void givenRepeatedPhraseWord_whenScan_thenRequireEveryOccurrence() {
+			assertThat(phraseMatcher.scan("rechute")).isZero();
+			assertThat(phraseMatcher.scan("rechute et rechute")).isEqualTo(1 << TriggerTerm.RECHUTE.ordinal());
+		}
+
+		@Test
+		@DisplayName("Should not match a phrase spanning two texts of a scan")
+		public void givenPhraseSplitAcrossTexts_whenScan_thenReturnEmptyMask() {
+			TriggerTermMatcher.Scan scan = phraseMatcher.newScan();
+
+			NoteTokenizer.tokenize("Contrôle de l'hémoglobine", scan);
+			NoteTokenizer.tokenize("A1C normale", scan);
+
+			assertThat(scan.mask()).isZero();
+		}
+
+		@Test
+		@DisplayName("Should match the words of a phrase with typos")
+		public void givenMisspelledPhrase_whenScanWithOneEdit_thenMatchPhrase() {
+			TriggerTermMatcher fuzzyMatcher = new TriggerTermMatcher(lexicon, 1, 1);
+
+			assertThat(fuzzyMatcher.scan("hemoglobin a1c")).isEqualTo(1 << TriggerTerm.HEMOGLOBINE_A1C.ordinal());
+		}
+	}
+
+	@Nested
+	@DisplayName("scan() with fuzzy match memo Tests")
+	class FuzzyMatchMemoTests {
+		private final TriggerLexicon lexicon = TriggerLexicon.of(Map.of(
+				TriggerTerm.HEMOGLOBINE_A1C, List.of("hemoglobine a1c"),
+				TriggerTerm.CHOLESTEROL, List.of("cholesterol"),
+				TriggerTerm.VERTIGES, List.of("vertiges")));
+
+		@Test
+		@DisplayName("Should find the same terms as without memo, matching every distinct token once")
+		public void givenRepeatedTokens_whenScanWithMemo_thenMatchEveryTokenOnce() {
+			FuzzyMatchMemo memo = new FuzzyMatchMemo(100);
+			TriggerTermMatcher memoized = new TriggerTermMatcher(lexicon, 1, 1, memo);
+			TriggerTermMatcher scanning = new TriggerTermMatcher(lexicon, 1, 1);
+			String text = "Patiente stable, cholestérole et vertigse, hémoglobin A1C";
+
+			for (int i = 0; i < 3; i++) {
+				assertThat(memoized.scan(text)).isEqualTo(scanning.scan(text));
+			}
+			assertThat(TriggerTermMatcher.toTerms(memoized.scan(text))).containsExactlyInAnyOrder(
+					TriggerTerm.CHOLESTEROL, TriggerTerm.VERTIGES, TriggerTerm.HEMOGLOBINE_A1C);
+			// patiente, stable, cholesterole, vertigse and hemoglobin miss the exact variants: matched once each
+			assertThat(memo.getCache().stats().missCount()).isEqualTo(5);
+			assertThat(memo.getCache().stats().hitCount()).isEqualTo(15);
+		}
+
+		@Test
+		@DisplayName("Should not reuse the fuzzy matches of a matcher compiled from another lexicon")
+		public void givenNewMatcher_whenScanWithSameMemo_thenMatchWithNewLexicon() {
+			FuzzyMatchMemo memo = new FuzzyMatchMemo(100);
+			TriggerTermMatcher previous = new TriggerTermMatcher(lexicon, 1, 1, memo);
+			assertThat(previous.scan("cholesterole")).isEqualTo(1 << TriggerTerm.CHOLESTEROL.ordinal());
+
+			TriggerTermMatcher next = new TriggerTermMatcher(TriggerLexicon.of(Map.of(
+					TriggerTerm.ANORMAL, List.of("cholesterolemie"))), 1, 1, memo);
+
+			assertThat(next.scan("cholesterole")).isZero();
+			assertThat(previous.scan("cholesterole")).isEqualTo(1 << TriggerTerm.CHOLESTEROL.ordinal());
+			assertThat(next.scan("cholesterole")).isZero();
+		}
+
+		@Test
+		@DisplayName("Should not memoize anything for exact matching")
+		public void givenExactMatching_whenScanWithMemo_thenLeaveMemoEmpty() {
+			FuzzyMatchMemo memo = new FuzzyMatchMemo(100);
+			TriggerTermMatcher exact = new TriggerTermMatcher(lexicon, 0, 1, memo);
+
+			assertThat(exact.scan("Cholestérole et vertiges")).isEqualTo(1 << TriggerTerm.VERTIGES.ordinal());
+			assertThat(memo.getCache().estimatedSize()).isZero();
+		}
+	}
+
+	@Nested
+	@DisplayName("Shared scan cases Tests")
+	class SharedScanCasesTests {
+		/** Cases also checked by the medical note microservice, relative to the module directory the tests run in. */
+		private static final Path SCAN_CASES = Path.of("..", "test-fixtures", "trigger-scan-cases.csv");
+
+		@Test
+		@DisplayName("Should find the same trigger terms and mask version as the medical note microservice")
+		public void givenSharedScanCases_whenScan_thenMatchExpectedTermsAndVersion() throws IOException {
+			List<String> scanCases = Files.readAllLines(SCAN_CASES).stream()
+					.filter(line -> !line.isBlank() && !line.startsWith("#"))
+					.toList();
+
+			assertThat(scanCases).isNotEmpty();
+			for (String scanCase : scanCases) {
+				String[] columns = scanCase.split("\\|", 4);
+				TriggerTermMatcher caseMatcher = new TriggerTermMatcher(TriggerLexicon.getDefault(), 0,
+						Integer.parseInt(columns[0].trim()));
+				List<TriggerTerm> expectedTerms = Arrays.stream(columns[2].trim().split(" "))
+						.filter(term -> !term.isEmpty())
+						.map(TriggerTerm::valueOf)
+						.toList();
+
+				assertThat(caseMatcher.getMaskVersion()).as(scanCase).isEqualTo(columns[1].trim());
+				assertThat(TriggerTermMatcher.toTerms(caseMatcher.scan(columns[3].trim()))).as(scanCase)
+						.containsExactlyInAnyOrderElementsOf(expectedTerms);
+			}
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.config.executor.JwtPropagatingExecutor;
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.config.security.ServiceJwtProvider;
+import com.medilabo.riskevaluatormicroservice.controller.dto.PopulationRiskReport;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.exception.PopulationScanInProgressException;
+import com.medilabo.riskevaluatormicroservice.proxies.PatientMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PopulationRiskScanService Test Suite")
+public class PopulationRiskScanServiceTests {
+	private static final int PAGE_SIZE = 2;
+	private static final String SERVICE_TOKEN = "service-token";
+
+	@Mock
+	private PatientMicroserviceProxy patientProxy;
+
+	@Mock
+	private RiskEvaluatorService riskEvaluatorService;
+
+	@Mock
+	private ServiceJwtProvider serviceJwtProvider;
+
+	private PopulationRiskScanServiceImpl populationRiskScanService;
+
+	@BeforeEach
+	public void setUp() {
+		// Evaluate the pages on the calling thread to keep the tests deterministic
+		populationRiskScanService = new PopulationRiskScanServiceImpl(patientProxy, riskEvaluatorService,
+				serviceJwtProvider, Runnable::run, PAGE_SIZE, 2);
+		lenient().when(serviceJwtProvider.getToken()).thenReturn(SERVICE_TOKEN);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		JwtContextHolder.clear();
+	}
+
+	@Nested
+	@DisplayName("scan() Tests")
+	class ScanTests {
+
+		@Test
+		@DisplayName("Should read all the pages and report the risk distribution")
+		public void givenPatientPages_whenScan_thenReturnReport() {
+			when(patientProxy.getPatientsPage(0L, PAGE_SIZE)).thenReturn(patients(1, 2));
+			when(patientProxy.getPatientsPage(2L, PAGE_SIZE)).thenReturn(patients(3, 4));
+			when(patientProxy.getPatientsPage(4L, PAGE_SIZE)).thenReturn(patients(5, 5));
+			when(riskEvaluatorService.evaluateRiskLevels(anyList())).thenAnswer(invocation ->
+					riskLevels(invocation.getArgument(0), patient -> switch (patient.getId().intValue()) {
+						case 1, 4 -> RiskLevel.EARLY_ONSET;
+						case 2 -> RiskLevel.IN_DANGER;
+						default -> RiskLevel.NONE;
+					}));
+
+			PopulationRiskReport report = populationRiskScanService.scan();
+
+			assertThat(report.patientCount()).isEqualTo(5);
+			assertThat(report.riskLevelCounts()).containsEntry(RiskLevel.NONE, 2L)
+					.containsEntry(RiskLevel.BORDERLINE, 0L)
+					.containsEntry(RiskLevel.IN_DANGER, 1L)
+					.containsEntry(RiskLevel.EARLY_ONSET, 2L);
+			assertThat(report.earlyOnsetPatientIds()).containsExactly(1L, 4L);
+			assertThat(report.inDangerPatientIds()).containsExactly(2L);
+			assertThat(populationRiskScanService.getLastReport()).contains(report);
+
+			// The last page is shorter than the page size: no further page is requested
+			verify(patientProxy, times(3)).getPatientsPage(anyLong(), eq(PAGE_SIZE));
+			verify(riskEvaluatorService, times(3)).evaluateRiskLevels(anyList());
+		}
+
+		@Test
+		@DisplayName("Should report no patients when there are none")
+		public void givenNoPatients_whenScan_thenReturnEmptyReport() {
+			when(patientProxy.getPatientsPage(0L, PAGE_SIZE)).thenReturn(null);
+
+			PopulationRiskReport report = populationRiskScanService.scan();
+
+			assertThat(report.patientCount()).isZero();
+			assertThat(report.earlyOnsetPatientIds()).isEmpty();
+			verifyNoInteractions(riskEvaluatorService);
+		}
+
+		@Test
+		@DisplayName("Should call the backends with the service token and restore the caller token")
+		public void givenCallerToken_whenScan_thenUseServiceTokenAndRestoreCallerToken() {
+			JwtContextHolder.setToken("caller-token");
+			when(patientProxy.getPatientsPage(0L, PAGE_SIZE)).thenAnswer(invocation -> {
+				assertThat(JwtContextHolder.getToken()).isEqualTo(SERVICE_TOKEN);
+				return List.of();
+			});
+
+			populationRiskScanService.scan();
+
+			assertThat(JwtContextHolder.getToken()).isEqualTo("caller-token");
+		}
+
+		@Test
+		@DisplayName("Should fail and keep the previous report when a page evaluation fails")
+		public void givenFailingEvaluation_whenScan_thenThrowAndKeepPreviousReport() {
+			when(patientProxy.getPatientsPage(0L, PAGE_SIZE)).thenReturn(patients(1, 2));
+			when(riskEvaluatorService.evaluateRiskLevels(anyList())).thenThrow(new IllegalStateException("Backend down"));
+
+			assertThrows(IllegalStateException.class, () -> populationRiskScanService.scan());
+
+			assertThat(populationRiskScanService.getLastReport()).isEmpty();
+			verify(patientProxy, times(1)).getPatientsPage(anyLong(), anyInt());
+		}
+
+		@Test
+		@DisplayName("Should never evaluate more pages at once than the configured maximum")
+		public void givenManyPages_whenScan_thenBoundConcurrentPages() {
+			int maxConcurrentPages = 3;
+			AtomicInteger inFlight = new AtomicInteger();
+			AtomicInteger maxInFlight = new AtomicInteger();
+			when(patientProxy.getPatientsPage(anyLong(), eq(PAGE_SIZE))).thenAnswer(invocation -> {
+				long afterId = invocation.getArgument(0);
+				return afterId < 40 ? patients(afterId + 1, afterId + PAGE_SIZE) : List.of();
+			});
+			when(riskEvaluatorService.evaluateRiskLevels(anyList())).thenAnswer(invocation -> {
+				maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+				Thread.sleep(5);
+				inFlight.decrementAndGet();
+				return riskLevels(invocation.getArgument(0), patient -> RiskLevel.NONE);
+			});
+
+			PopulationRiskReport report;
+			try (JwtPropagatingExecutor executor = new JwtPropagatingExecutor(Executors.newVirtualThreadPerTaskExecutor())) {
+				report = new PopulationRiskScanServiceImpl(patientProxy, riskEvaluatorService, serviceJwtProvider,
+						executor, PAGE_SIZE, maxConcurrentPages).scan();
+			}
+
+			assertThat(report.patientCount()).isEqualTo(40);
+			assertThat(maxInFlight.get()).isBetween(1, maxConcurrentPages);
+		}
+	}
+
+	@Nested
+	@DisplayName("startScan() Tests")
+	class StartScanTests {
+
+		@Test
+		@DisplayName("Should run the scan on the executor and keep its report")
+		public void givenPatientPages_whenStartScan_thenKeepReport() {
+			when(patientProxy.getPatientsPage(0L, PAGE_SIZE)).thenReturn(patients(1, 1));
+			when(riskEvaluatorService.evaluateRiskLevels(anyList())).thenAnswer(invocation ->
+					riskLevels(invocation.getArgument(0), patient -> RiskLevel.IN_DANGER));
+
+			populationRiskScanService.startScan();
+
+			assertThat(populationRiskScanService.getLastReport()).hasValueSatisfying(report ->
+					assertThat(report.inDangerPatientIds()).containsExactly(1L));
+		}
+
+		@Test
+		@DisplayName("Should refuse to start a scan while another one is running")
+		public void givenRunningScan_whenStartScan_thenThrowPopulationScanInProgressException() {
+			List<Runnable> pendingScans = new ArrayList<>();
+			PopulationRiskScanServiceImpl service = new PopulationRiskScanServiceImpl(patientProxy,
+					riskEvaluatorService, serviceJwtProvider, pendingScans::add, PAGE_SIZE, 2);
+			service.startScan();
+
+			assertThrows(PopulationScanInProgressException.class, service::startScan);
+			assertThrows(PopulationScanInProgressException.class, service::scan);
+			assertThat(pendingScans).hasSize(1);
+		}
+
+		@Test
+		@DisplayName("Should allow another scan once a background scan failed")
+		public void givenFailingScan_whenStartScan_thenAllowNextScan() {
+			when(patientProxy.getPatientsPage(0L, PAGE_SIZE))
+					.thenThrow(new IllegalStateException("Backend down"))
+					.thenReturn(List.of());
+
+			populationRiskScanService.startScan();
+
+			assertThat(populationRiskScanService.getLastReport()).isEmpty();
+			assertThat(populationRiskScanService.scan().patientCount()).isZero();
+		}
+	}
+
+	private static List<PatientBean> patients(long firstId, long lastId) {
+		return LongStream.rangeClosed(firstId, lastId)
+				.mapToObj(id -> PatientBean.builder().id(id).build())
+				.toList();
+	}
+
+	private static Map<Long, RiskLevel> riskLevels(List<PatientBean> patients, Function<PatientBean, RiskLevel> riskLevel) {
+		return patients.stream().collect(Collectors.toMap(PatientBean::getId, riskLevel));
+	}
+}
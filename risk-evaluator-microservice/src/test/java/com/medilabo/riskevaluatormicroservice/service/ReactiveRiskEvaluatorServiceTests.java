@@ -0,0 +1,213 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerMaskBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerTermsBean;
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerSource;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskEvaluationKernel;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.proxies.reactive.ReactiveMedicalNoteMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.proxies.reactive.ReactivePatientMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.utils.RiskEvaluatorDataTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveRiskEvaluatorService Test Suite")
+public class ReactiveRiskEvaluatorServiceTests {
+	private static final String LEXICON_VERSION = TriggerTermMatcher.getInstance().getVersion();
+
+
+	@Mock
+	private ReactivePatientMicroserviceProxy patientProxy;
+
+	@Mock
+	private ReactiveMedicalNoteMicroserviceProxy medicalNoteProxy;
+
+	private ReactiveRiskEvaluatorServiceImpl reactiveRiskEvaluatorService;
+
+	@BeforeEach
+	public void setUp() {
+		reactiveRiskEvaluatorService = new ReactiveRiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy,
+				new RiskEvaluationKernel(), TriggerSource.NOTES);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		JwtContextHolder.clear();
+	}
+
+	@Nested
+	@DisplayName("getRiskLevel() Tests")
+	class GetRiskLevelTests {
+
+		@Test
+		@DisplayName("Should return the same risk level as the blocking service for each valid patient")
+		public void givenValidPatientIds_whenGetRiskLevel_thenReturnRiskLevel() {
+			RiskEvaluatorDataTest.patientsList.forEach((riskLevel, validPatient) -> {
+				List<MedicalNoteBean> validPatientNotes = RiskEvaluatorDataTest.medicalNotes.stream()
+						.filter(note -> note.getPatId().longValue() == validPatient.getId())
+						.toList();
+				when(patientProxy.getPatientById(anyLong())).thenReturn(Mono.just(validPatient));
+				when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(Mono.just(validPatientNotes));
+
+				assertThat(reactiveRiskEvaluatorService.getRiskLevel(validPatient.getId()).block()).isEqualTo(riskLevel);
+			});
+		}
+
+		@Test
+		@DisplayName("Should return NONE when the patient has no medical notes")
+		public void givenNoMedicalNotes_whenGetRiskLevel_thenReturnNone() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(Mono.just(generatePatientBean(1L, 40, "M")));
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(Mono.empty());
+
+			assertThat(reactiveRiskEvaluatorService.getRiskLevel(1L).block()).isEqualTo(RiskLevel.NONE);
+		}
+
+		@Test
+		@DisplayName("Should fail with PatientNotFoundException when the patient does not exist")
+		public void givenInvalidPatientId_whenGetRiskLevel_thenThrowPatientNotFoundException() {
+			WebClientResponseException notFound = WebClientResponseException.create(404, "Not Found",
+					HttpHeaders.EMPTY, new byte[0], null);
+			when(patientProxy.getPatientById(anyLong())).thenReturn(Mono.error(notFound));
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(Mono.just(List.of()));
+
+			Mono<RiskLevel> riskLevel = reactiveRiskEvaluatorService.getRiskLevel(999L);
+
+			PatientNotFoundException exception = assertThrows(PatientNotFoundException.class, riskLevel::block);
+			assertThat(exception.getMessage()).contains("999");
+		}
+
+		@Test
+		@DisplayName("Should carry the JWT of the calling thread to the backend requests")
+		public void givenCallerToken_whenGetRiskLevel_thenTokenIsInRequestContext() {
+			AtomicReference<String> contextToken = new AtomicReference<>();
+			JwtContextHolder.setToken("caller-token");
+			when(patientProxy.getPatientById(anyLong())).thenReturn(Mono.deferContextual(context -> {
+				contextToken.set(context.stream()
+						.map(entry -> String.valueOf(entry.getValue()))
+						.findFirst()
+						.orElse(null));
+				return Mono.just(generatePatientBean(1L, 40, "M"));
+			}));
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(Mono.just(List.of()));
+
+			Mono<RiskLevel> riskLevel = reactiveRiskEvaluatorService.getRiskLevel(1L);
+			// The token is captured when the evaluation is created, not when it runs
+			JwtContextHolder.clear();
+			riskLevel.block();
+
+			assertThat(contextToken.get()).isEqualTo("caller-token");
+		}
+
+		@Test
+		@DisplayName("Should scan the notes when the trigger mask was computed with another lexicon")
+		public void givenOtherLexiconVersion_whenGetRiskLevel_thenScanNotes() {
+			reactiveRiskEvaluatorService = new ReactiveRiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy,
+					new RiskEvaluationKernel(), TriggerSource.MASK);
+			int triggerMask = 1 << TriggerTerm.POIDS.ordinal() | 1 << TriggerTerm.TAILLE.ordinal();
+			when(patientProxy.getPatientById(anyLong())).thenReturn(Mono.just(generatePatientBean(1L, 40, "M")));
+			when(medicalNoteProxy.getPatientTriggerMask(anyLong())).thenReturn(Mono.just(
+					TriggerMaskBean.builder().patId(1).triggerMask(triggerMask).lexiconVersion("000000000000").build()));
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(Mono.just(List.of(
+					MedicalNoteBean.builder().patId(1).note("Rien à signaler").build())));
+
+			assertThat(reactiveRiskEvaluatorService.getRiskLevel(1L).block()).isEqualTo(RiskLevel.NONE);
+			verify(medicalNoteProxy).getPatientMedicalNotes(eq(1L));
+		}
+	}
+
+	@Nested
+	@DisplayName("getRiskLevels() Tests")
+	class GetRiskLevelsTests {
+
+		@Test
+		@DisplayName("Should request duplicate IDs once and leave unknown patients out")
+		public void givenDuplicateAndUnknownPatientIds_whenGetRiskLevels_thenReturnFoundPatientsOnly() {
+			when(patientProxy.getPatientsByIds(anyList()))
+					.thenReturn(Mono.just(List.of(generatePatientBean(2L, 40, "M"), generatePatientBean(1L, 40, "F"))));
+			when(medicalNoteProxy.getPatientsMedicalNotes(anyList())).thenReturn(Mono.just(List.of(
+					MedicalNoteBean.builder().patId(2).note("fumeur poids").build())));
+
+			Map<Long, RiskLevel> result = reactiveRiskEvaluatorService.getRiskLevels(List.of(1L, 999L, 2L, 1L)).block();
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.NONE), Map.entry(2L, RiskLevel.BORDERLINE));
+			verify(patientProxy, times(1)).getPatientsByIds(eq(List.of(1L, 999L, 2L)));
+		}
+
+		@Test
+		@DisplayName("Should return an empty map without fetching notes when no patient is found")
+		public void givenUnknownPatientIds_whenGetRiskLevels_thenReturnEmptyMap() {
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(Mono.empty());
+
+			assertThat(reactiveRiskEvaluatorService.getRiskLevels(List.of(998L, 999L)).block()).isEmpty();
+			verifyNoInteractions(medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should evaluate the patients from the batch of trigger masks with the MASK source")
+		public void givenTriggerMasks_whenGetRiskLevels_thenEvaluateFromMasks() {
+			reactiveRiskEvaluatorService = new ReactiveRiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy,
+					new RiskEvaluationKernel(), TriggerSource.MASK);
+			int triggerMask = 1 << TriggerTerm.POIDS.ordinal() | 1 << TriggerTerm.TAILLE.ordinal();
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(Mono.just(List.of(generatePatientBean(1L, 40, "M"))));
+			when(medicalNoteProxy.getPatientsTriggerMasks(anyList())).thenReturn(Mono.just(List.of(
+					TriggerMaskBean.builder().patId(1).triggerMask(triggerMask).lexiconVersion(LEXICON_VERSION).build())));
+
+			Map<Long, RiskLevel> result = reactiveRiskEvaluatorService.getRiskLevels(List.of(1L)).block();
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.BORDERLINE));
+			verify(medicalNoteProxy).getPatientsTriggerMasks(eq(List.of(1L)));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should evaluate the patients from the batch of trigger terms with the TERMS source")
+		public void givenTriggerTerms_whenGetRiskLevels_thenEvaluateFromTerms() {
+			reactiveRiskEvaluatorService = new ReactiveRiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy,
+					new RiskEvaluationKernel(), TriggerSource.TERMS);
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(Mono.just(List.of(generatePatientBean(1L, 40, "M"))));
+			when(medicalNoteProxy.getPatientsTriggerTerms(anyList())).thenReturn(Mono.just(List.of(
+					TriggerTermsBean.builder().patId(1).triggerTerms(Set.of(TriggerTerm.POIDS, TriggerTerm.TAILLE)).lexiconVersion(LEXICON_VERSION).build())));
+
+			Map<Long, RiskLevel> result = reactiveRiskEvaluatorService.getRiskLevels(List.of(1L)).block();
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.BORDERLINE));
+			verify(medicalNoteProxy).getPatientsTriggerTerms(eq(List.of(1L)));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+	}
+
+	private PatientBean generatePatientBean(Long patId, int patAge, String patGender) {
+		return PatientBean.builder()
+				.id(patId)
+				.birthDate(LocalDate.now().minusYears(patAge).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")))
+				.gender(patGender)
+				.build();
+	}
+}
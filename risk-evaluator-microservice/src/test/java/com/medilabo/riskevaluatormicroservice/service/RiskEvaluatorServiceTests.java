@@ -1,36 +1,71 @@
 package com.medilabo.riskevaluatormicroservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.medilabo.riskevaluatormicroservice.beans.MedicalNoteBean;
 import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerMaskBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerTermsBean;
+import com.medilabo.riskevaluatormicroservice.config.executor.JwtPropagatingExecutor;
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.controller.dto.RiskTimeline;
 import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerSource;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskEvaluationKernel;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskRuleTable;
+import com.medilabo.riskevaluatormicroservice.domain.evaluation.RiskTimelinePoint;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
 import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.metrics.RiskEvaluationMetrics;
 import com.medilabo.riskevaluatormicroservice.proxies.MedicalNoteMicroserviceProxy;
 import com.medilabo.riskevaluatormicroservice.proxies.PatientMicroserviceProxy;
 import com.medilabo.riskevaluatormicroservice.utils.RiskEvaluatorDataTest;
 import feign.FeignException;
 import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("RiskEvaluatorService Test Suite")
 public class RiskEvaluatorServiceTests {
+	private static final String LEXICON_VERSION = TriggerTermMatcher.getInstance().getVersion();
+
 
 	@Mock
 	private PatientMicroserviceProxy patientProxy;
@@ -38,9 +73,17 @@ public class RiskEvaluatorServiceTests {
 	@Mock
 	private MedicalNoteMicroserviceProxy medicalNoteProxy;
 
-	@InjectMocks
+	private SimpleMeterRegistry meterRegistry;
+
 	private RiskEvaluatorServiceImpl riskEvaluatorService;
 
+	@BeforeEach
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		// Run the backend calls on the calling thread to keep the tests deterministic
+		riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy, new RiskEvaluationKernel(), Runnable::run, TriggerSource.NOTES, meterRegistry);
+	}
+
 	@Nested
 	@DisplayName("getRiskLevel() Tests")
 	class GetRiskLevelTests {
@@ -81,6 +124,226 @@ public class RiskEvaluatorServiceTests {
 			assertThat(exception.getMessage()).isEqualTo(expectedExceptionMessage);
 		}
 
+		@Nested
+		@DisplayName("Concurrent fetch Tests")
+		class ConcurrentFetchTests {
+			private static final String TOKEN = "jwt-token";
+
+			private JwtPropagatingExecutor executor;
+
+			@BeforeEach
+			public void setUp() {
+				executor = new JwtPropagatingExecutor(Executors.newVirtualThreadPerTaskExecutor());
+				riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy, new RiskEvaluationKernel(), executor, TriggerSource.NOTES, meterRegistry);
+				JwtContextHolder.setToken(TOKEN);
+			}
+
+			@AfterEach
+			public void tearDown() {
+				JwtContextHolder.clear();
+				executor.close();
+			}
+
+			@Test
+			@DisplayName("Should fetch patient and medical notes concurrently with the caller JWT")
+			public void givenValidPatientId_whenGetRiskLevel_thenFetchConcurrentlyWithToken() {
+				PatientBean patient = generatePatientBean(1L, 40, "M");
+				CountDownLatch medicalNotesRequested = new CountDownLatch(1);
+				List<String> propagatedTokens = new CopyOnWriteArrayList<>();
+
+				// The patient call only completes once the medical notes have been requested: a sequential fetch would time out
+				when(patientProxy.getPatientById(anyLong())).thenAnswer(invocation -> {
+					propagatedTokens.add(JwtContextHolder.getToken());
+					assertThat(medicalNotesRequested.await(5, TimeUnit.SECONDS)).isTrue();
+					return patient;
+				});
+				when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenAnswer(invocation -> {
+					propagatedTokens.add(JwtContextHolder.getToken());
+					medicalNotesRequested.countDown();
+					return List.of();
+				});
+
+				RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+				assertThat(result).isEqualTo(RiskLevel.NONE);
+				assertThat(propagatedTokens).containsExactly(TOKEN, TOKEN);
+			}
+
+			@Test
+			@DisplayName("Should throw PatientNotFoundException if patient ID NOT found")
+			public void givenInvalidPatientId_whenGetRiskLevel_thenThrowPatientNotFoundException() {
+				when(patientProxy.getPatientById(anyLong())).thenThrow(feign404(INVALID_PATIENT_ID));
+
+				assertThrows(PatientNotFoundException.class, () -> riskEvaluatorService.getRiskLevel(INVALID_PATIENT_ID));
+			}
+
+			@Test
+			@DisplayName("Should interrupt the medical notes fetch if patient ID NOT found")
+			public void givenInvalidPatientId_whenGetRiskLevel_thenInterruptMedicalNotesFetch() throws InterruptedException {
+				CountDownLatch medicalNotesRequested = new CountDownLatch(1);
+				CountDownLatch medicalNotesInterrupted = new CountDownLatch(1);
+
+				// The patient call only fails once the medical notes fetch is blocked, so that it has to be cancelled
+				when(patientProxy.getPatientById(anyLong())).thenAnswer(invocation -> {
+					assertThat(medicalNotesRequested.await(5, TimeUnit.SECONDS)).isTrue();
+					throw feign404(INVALID_PATIENT_ID);
+				});
+				when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenAnswer(invocation -> {
+					medicalNotesRequested.countDown();
+					try {
+						new CountDownLatch(1).await();
+					} catch (InterruptedException ex) {
+						medicalNotesInterrupted.countDown();
+					}
+					return List.of();
+				});
+
+				assertThrows(PatientNotFoundException.class, () -> riskEvaluatorService.getRiskLevel(INVALID_PATIENT_ID));
+				assertThat(medicalNotesInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+			}
+		}
+
+		@Nested
+		@DisplayName("Coalescing Tests")
+		class CoalescingTests {
+			private ExecutorService callers;
+
+			@BeforeEach
+			public void setUp() {
+				callers = Executors.newVirtualThreadPerTaskExecutor();
+			}
+
+			@AfterEach
+			public void tearDown() {
+				callers.close();
+			}
+
+			@Test
+			@DisplayName("Should share the in-flight evaluation between concurrent callers for the same patient")
+			public void givenConcurrentCallers_whenGetRiskLevel_thenEvaluateOnce() throws Exception {
+				PatientBean patient = generatePatientBean(1L, 40, "M");
+				CountDownLatch patientRequested = new CountDownLatch(1);
+				CountDownLatch followerWaiting = new CountDownLatch(1);
+				when(patientProxy.getPatientById(anyLong())).thenAnswer(invocation -> {
+					patientRequested.countDown();
+					assertThat(followerWaiting.await(5, TimeUnit.SECONDS)).isTrue();
+					return patient;
+				});
+				when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of());
+
+				Future<RiskLevel> leader = callers.submit(() -> riskEvaluatorService.getRiskLevel(1L));
+				assertThat(patientRequested.await(5, TimeUnit.SECONDS)).isTrue();
+				Future<RiskLevel> follower = callers.submit(() -> riskEvaluatorService.getRiskLevel(1L));
+				awaitCoalescedCalls(1);
+				followerWaiting.countDown();
+
+				assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(RiskLevel.NONE);
+				assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(RiskLevel.NONE);
+				verify(patientProxy, times(1)).getPatientById(1L);
+				verify(medicalNoteProxy, times(1)).getPatientMedicalNotes(1L);
+			}
+
+			@Test
+			@DisplayName("Should evaluate again with the caller token when the shared evaluation is rejected")
+			public void givenSharedEvaluationUnauthorized_whenGetRiskLevel_thenEvaluateWithCallerToken() throws Exception {
+				PatientBean patient = generatePatientBean(1L, 40, "M");
+				CountDownLatch patientRequested = new CountDownLatch(1);
+				CountDownLatch followerWaiting = new CountDownLatch(1);
+				List<String> tokens = new CopyOnWriteArrayList<>();
+				when(patientProxy.getPatientById(anyLong())).thenAnswer(invocation -> {
+					tokens.add(JwtContextHolder.getToken());
+					if (tokens.size() == 1) {
+						patientRequested.countDown();
+						assertThat(followerWaiting.await(5, TimeUnit.SECONDS)).isTrue();
+						throw feign401();
+					}
+					return patient;
+				});
+				lenient().when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of());
+
+				Future<RiskLevel> leader = callers.submit(() -> getRiskLevelWithToken(1L, "expired-token"));
+				assertThat(patientRequested.await(5, TimeUnit.SECONDS)).isTrue();
+				Future<RiskLevel> follower = callers.submit(() -> getRiskLevelWithToken(1L, "valid-token"));
+				awaitCoalescedCalls(1);
+				followerWaiting.countDown();
+
+				ExecutionException exception = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+				assertThat(exception.getCause()).isInstanceOf(FeignException.Unauthorized.class);
+				assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(RiskLevel.NONE);
+				assertThat(tokens).containsExactly("expired-token", "valid-token");
+			}
+
+			@Test
+			@DisplayName("Should evaluate again once the previous evaluation is over")
+			public void givenSequentialCalls_whenGetRiskLevel_thenEvaluateEveryTime() {
+				when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 40, "M"));
+				when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of());
+
+				riskEvaluatorService.getRiskLevel(1L);
+				riskEvaluatorService.getRiskLevel(1L);
+
+				verify(patientProxy, times(2)).getPatientById(1L);
+			}
+
+			private RiskLevel getRiskLevelWithToken(Long patientId, String token) {
+				JwtContextHolder.setToken(token);
+				try {
+					return riskEvaluatorService.getRiskLevel(patientId);
+				} finally {
+					JwtContextHolder.clear();
+				}
+			}
+
+			private void awaitCoalescedCalls(int count) throws InterruptedException {
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+				while (meterRegistry.get(RiskEvaluationMetrics.COALESCED).counter().count() < count) {
+					assertThat(System.nanoTime()).isLessThan(deadline);
+					Thread.sleep(1);
+				}
+			}
+		}
+
+		@Nested
+		@DisplayName("Metrics Tests")
+		class MetricsTests {
+
+			@Test
+			@DisplayName("Should time every stage and record the scanned notes and trigger count")
+			public void givenValidPatientId_whenGetRiskLevel_thenRecordStageMetrics() {
+				PatientBean patient = generatePatientBean(1L, 40, "M");
+				List<MedicalNoteBean> notes = List.of(
+						MedicalNoteBean.builder().patId(1).note("Fumeur").build(),
+						MedicalNoteBean.builder().patId(1).note("Poids, Cholestérol").build());
+				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
+				when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(notes);
+
+				RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+				assertThat(result).isEqualTo(RiskLevel.BORDERLINE);
+				for (String stage : List.of("fetch.patient", "fetch.notes", "scan")) {
+					assertThat(meterRegistry.get(RiskEvaluationMetrics.STAGE).tag("stage", stage).tag("source", "NOTES")
+							.timer().count()).isEqualTo(1);
+				}
+				assertThat(meterRegistry.get(RiskEvaluationMetrics.EVALUATION)
+						.tag("riskLevel", "BORDERLINE").tag("exception", "none").timer().count()).isEqualTo(1);
+				assertThat(meterRegistry.get(RiskEvaluationMetrics.NOTES).summary().totalAmount()).isEqualTo(2);
+				assertThat(meterRegistry.get(RiskEvaluationMetrics.NOTE_CHARACTERS).summary().totalAmount()).isEqualTo(24);
+				assertThat(meterRegistry.get(RiskEvaluationMetrics.TRIGGERS).summary().totalAmount()).isEqualTo(3);
+			}
+
+			@Test
+			@DisplayName("Should tag the evaluation with the exception when the patient is NOT found")
+			public void givenInvalidPatientId_whenGetRiskLevel_thenRecordFailedEvaluation() {
+				when(patientProxy.getPatientById(anyLong())).thenThrow(feign404(INVALID_PATIENT_ID));
+
+				assertThrows(PatientNotFoundException.class, () -> riskEvaluatorService.getRiskLevel(INVALID_PATIENT_ID));
+
+				assertThat(meterRegistry.get(RiskEvaluationMetrics.EVALUATION)
+						.tag("riskLevel", "UNKNOWN").tag("exception", "PatientNotFoundException").timer().count()).isEqualTo(1);
+				assertThat(meterRegistry.get(RiskEvaluationMetrics.TRIGGERS).summary().count()).isZero();
+			}
+		}
+
 		@Nested
 		@DisplayName("evaluate() Tests")
 		class EvaluateTests {
@@ -179,7 +442,7 @@ public class RiskEvaluatorServiceTests {
 
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine poids taille cholesterol")
+						.note("hemoglobine a1c microalbumine poids taille cholesterol")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -221,7 +484,7 @@ public class RiskEvaluatorServiceTests {
 				// 5 distinct trigger terms
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine poids taille cholesterol")
+						.note("hemoglobine a1c microalbumine poids taille cholesterol")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -239,7 +502,7 @@ public class RiskEvaluatorServiceTests {
 
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine cholesterol")
+						.note("hemoglobine a1c microalbumine cholesterol")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -257,7 +520,7 @@ public class RiskEvaluatorServiceTests {
 
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine poids taille")
+						.note("hemoglobine a1c microalbumine poids taille")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -276,7 +539,7 @@ public class RiskEvaluatorServiceTests {
 				// 7 distinct trigger terms (use available trigger words)
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine poids taille cholesterol fumeur vertiges")
+						.note("hemoglobine a1c microalbumine poids taille cholesterol fumeur vertiges")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -299,7 +562,7 @@ public class RiskEvaluatorServiceTests {
 
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine")
+						.note("hemoglobine a1c microalbumine")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -318,7 +581,7 @@ public class RiskEvaluatorServiceTests {
 				// 6 distinct trigger terms
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine poids taille cholesterol fumeur")
+						.note("hemoglobine a1c microalbumine poids taille cholesterol fumeur")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -337,7 +600,7 @@ public class RiskEvaluatorServiceTests {
 				// 6 distinct trigger terms
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine poids taille cholesterol fumeur anormal")
+						.note("hemoglobine a1c microalbumine poids taille cholesterol fumeur anormal")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -356,7 +619,7 @@ public class RiskEvaluatorServiceTests {
 				// 8 distinct trigger terms (use available trigger words)
 				MedicalNoteBean note = MedicalNoteBean.builder()
 						.patId(patientId.intValue())
-						.note("hemoglobine microalbumine poids taille cholesterol fumeur vertiges rechute")
+						.note("hemoglobine a1c microalbumine poids taille cholesterol fumeur vertiges rechute")
 						.build();
 
 				when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
@@ -386,6 +649,426 @@ public class RiskEvaluatorServiceTests {
 		}
 	}
 
+	@Nested
+	@DisplayName("getRiskLevels() Tests")
+	class GetRiskLevelsTests {
+
+		@Test
+		@DisplayName("Should return the risk level of every valid patient in one batch")
+		public void givenValidPatientIds_whenGetRiskLevels_thenReturnRiskLevelById() {
+			List<PatientBean> patients = List.copyOf(RiskEvaluatorDataTest.patientsList.values());
+			List<Long> patientIds = patients.stream().map(PatientBean::getId).toList();
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(patients);
+			when(medicalNoteProxy.getPatientsMedicalNotes(anyList())).thenReturn(RiskEvaluatorDataTest.medicalNotes);
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(patientIds);
+
+			RiskEvaluatorDataTest.patientsList.forEach((riskLevel, patient) ->
+					assertThat(result).containsEntry(patient.getId(), riskLevel));
+			assertThat(result.keySet()).containsExactlyElementsOf(patientIds);
+			verify(patientProxy, times(1)).getPatientsByIds(eq(patientIds));
+			verify(medicalNoteProxy, times(1)).getPatientsMedicalNotes(eq(patientIds));
+			verifyNoMoreInteractions(patientProxy, medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should request duplicate IDs once and leave unknown patients out")
+		public void givenDuplicateAndUnknownPatientIds_whenGetRiskLevels_thenReturnFoundPatientsOnly() {
+			PatientBean patient = generatePatientBean(1L, 40, "M");
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(List.of(patient));
+			when(medicalNoteProxy.getPatientsMedicalNotes(anyList())).thenReturn(null);
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(List.of(1L, 999L, 1L));
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.NONE));
+			verify(patientProxy, times(1)).getPatientsByIds(eq(List.of(1L, 999L)));
+			verify(medicalNoteProxy, times(1)).getPatientsMedicalNotes(eq(List.of(1L)));
+		}
+
+		@Test
+		@DisplayName("Should return an empty map without fetching notes when no patient is found")
+		public void givenUnknownPatientIds_whenGetRiskLevels_thenReturnEmptyMap() {
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(null);
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(List.of(998L, 999L));
+
+			assertThat(result).isEmpty();
+			verifyNoInteractions(medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should evaluate every patient on the executor rather than on the common pool")
+		public void givenValidPatientIds_whenGetRiskLevels_thenEvaluateOnExecutor() {
+			AtomicInteger executedTasks = new AtomicInteger();
+			Executor executor = task -> {
+				executedTasks.incrementAndGet();
+				task.run();
+			};
+			riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy, new RiskEvaluationKernel(), executor, TriggerSource.NOTES, meterRegistry);
+			when(patientProxy.getPatientsByIds(anyList()))
+					.thenReturn(List.of(generatePatientBean(1L, 40, "M"), generatePatientBean(2L, 25, "F")));
+			when(medicalNoteProxy.getPatientsMedicalNotes(anyList())).thenReturn(List.of());
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(List.of(1L, 2L));
+
+			assertThat(result).containsOnlyKeys(1L, 2L);
+			assertThat(executedTasks).hasValue(2);
+		}
+	}
+
+	@Nested
+	@DisplayName("getRiskTimeline() Tests")
+	class GetRiskTimelineTests {
+
+		@Test
+		@DisplayName("Should return the accumulated trigger terms and risk level after each note, oldest first")
+		public void givenNotes_whenGetRiskTimeline_thenReturnRiskLevelAfterEachNote() {
+			PatientBean patient = PatientBean.builder().id(1L).birthDate("1990-06-15").gender("M").build();
+			when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
+			// Most recent first, as returned by the medical note service
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of(
+					note("c", "2025-01-10", "Fumeur, réaction allergique"),
+					note("b", "2020-06-14", "Cholestérol"),
+					note("a", "2018-03-01", "Poids et taille")));
+
+			RiskTimeline result = riskEvaluatorService.getRiskTimeline(1L);
+
+			assertThat(result.patientId()).isEqualTo(1L);
+			assertThat(result.points()).extracting(RiskTimelinePoint::noteId).containsExactly("a", "b", "c");
+			assertThat(result.points()).extracting(RiskTimelinePoint::age).containsExactly(27, 29, 34);
+			assertThat(result.points()).extracting(point -> point.triggerTerms().size()).containsExactly(2, 3, 5);
+			// 27 years old: under 30 with 2 terms, 29 years old: male under 30 with 3 terms, 34 years old: 5 terms
+			assertThat(result.points()).extracting(RiskTimelinePoint::riskLevel)
+					.containsExactly(RiskLevel.NONE, RiskLevel.IN_DANGER, RiskLevel.BORDERLINE);
+		}
+
+		@Test
+		@DisplayName("Should return an empty timeline when the patient has no notes")
+		public void givenNoNotes_whenGetRiskTimeline_thenReturnEmptyTimeline() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 40, "F"));
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(null);
+
+			assertThat(riskEvaluatorService.getRiskTimeline(1L).points()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Should throw PatientNotFoundException when the patient does not exist")
+		public void givenUnknownPatient_whenGetRiskTimeline_thenThrowPatientNotFoundException() {
+			when(patientProxy.getPatientById(anyLong())).thenThrow(feign404(999L));
+			lenient().when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of());
+
+			assertThrows(PatientNotFoundException.class, () -> riskEvaluatorService.getRiskTimeline(999L));
+		}
+	}
+
+	@Nested
+	@DisplayName("getRiskLevelAsOf() Tests")
+	class GetRiskLevelAsOfTests {
+
+		@Test
+		@DisplayName("Should evaluate the notes written until the date with the age at the date")
+		public void givenNotes_whenGetRiskLevelAsOf_thenEvaluateNotesUntilDate() {
+			PatientBean patient = PatientBean.builder().id(1L).birthDate("1990-06-15").gender("M").build();
+			when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of(
+					note("c", "2025-01-10", "Fumeur, réaction allergique"),
+					note("b", "2020-06-14", "Cholestérol"),
+					note("a", "2018-03-01", "Poids et taille"),
+					note("u", null, "Vertiges, rechute")));
+
+			assertThat(riskEvaluatorService.getRiskLevelAsOf(1L, LocalDate.of(2020, 6, 14))).isEqualTo(RiskLevel.IN_DANGER);
+			assertThat(riskEvaluatorService.getRiskLevelAsOf(1L, LocalDate.of(2020, 6, 13))).isEqualTo(RiskLevel.NONE);
+			assertThat(riskEvaluatorService.getRiskLevelAsOf(1L, LocalDate.of(2025, 1, 10))).isEqualTo(RiskLevel.BORDERLINE);
+		}
+	}
+
+	@Nested
+	@DisplayName("MASK trigger source Tests")
+	class MaskTriggerSourceTests {
+
+		@BeforeEach
+		public void setUp() {
+			riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy, new RiskEvaluationKernel(), Runnable::run, TriggerSource.MASK, meterRegistry);
+		}
+
+		@Test
+		@DisplayName("Should evaluate the risk level from the trigger mask without downloading the notes")
+		public void givenTriggerMask_whenGetRiskLevel_thenEvaluateFromMask() {
+			PatientBean patient = generatePatientBean(1L, 25, "M");
+			int triggerMask = mask(TriggerTerm.HEMOGLOBINE_A1C, TriggerTerm.MICROALBUMINE, TriggerTerm.CHOLESTEROL);
+
+			when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
+			when(medicalNoteProxy.getPatientTriggerMask(anyLong()))
+					.thenReturn(TriggerMaskBean.builder().patId(1).triggerMask(triggerMask).lexiconVersion(LEXICON_VERSION).build());
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.IN_DANGER);
+			verify(medicalNoteProxy).getPatientTriggerMask(eq(1L));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should return NONE when the patient has no trigger mask")
+		public void givenNoTriggerMask_whenGetRiskLevel_thenReturnNone() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 40, "F"));
+			when(medicalNoteProxy.getPatientTriggerMask(anyLong())).thenReturn(null);
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.NONE);
+		}
+
+		@Test
+		@DisplayName("Should evaluate every valid patient from the batch of trigger masks")
+		public void givenTriggerMasks_whenGetRiskLevels_thenEvaluateFromMasks() {
+			List<PatientBean> patients = List.of(generatePatientBean(1L, 40, "M"), generatePatientBean(2L, 40, "F"));
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(patients);
+			when(medicalNoteProxy.getPatientsTriggerMasks(anyList())).thenReturn(List.of(
+					TriggerMaskBean.builder().patId(1).triggerMask(mask(TriggerTerm.POIDS, TriggerTerm.TAILLE)).lexiconVersion(LEXICON_VERSION).build(),
+					TriggerMaskBean.builder().patId(2).triggerMask(0).lexiconVersion(LEXICON_VERSION).build()));
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(List.of(1L, 2L));
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.BORDERLINE), Map.entry(2L, RiskLevel.NONE));
+			verify(medicalNoteProxy).getPatientsTriggerMasks(eq(List.of(1L, 2L)));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should scan the notes when the trigger mask was computed with another lexicon")
+		public void givenOtherLexiconVersion_whenGetRiskLevel_thenScanNotes() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 25, "M"));
+			when(medicalNoteProxy.getPatientTriggerMask(anyLong())).thenReturn(TriggerMaskBean.builder().patId(1)
+					.triggerMask(mask(TriggerTerm.HEMOGLOBINE_A1C, TriggerTerm.MICROALBUMINE, TriggerTerm.CHOLESTEROL))
+					.lexiconVersion("000000000000")
+					.build());
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong()))
+					.thenReturn(List.of(MedicalNoteBean.builder().patId(1).note("Poids stable").build()));
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.NONE);
+			verify(medicalNoteProxy).getPatientMedicalNotes(eq(1L));
+		}
+
+		@Test
+		@DisplayName("Should scan the notes of the patients whose trigger masks were computed with another lexicon")
+		public void givenOtherLexiconVersion_whenGetRiskLevels_thenScanTheirNotes() {
+			List<PatientBean> patients = List.of(generatePatientBean(1L, 40, "M"), generatePatientBean(2L, 40, "F"));
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(patients);
+			when(medicalNoteProxy.getPatientsTriggerMasks(anyList())).thenReturn(List.of(
+					TriggerMaskBean.builder().patId(1).triggerMask(mask(TriggerTerm.POIDS, TriggerTerm.TAILLE)).lexiconVersion(LEXICON_VERSION).build(),
+					TriggerMaskBean.builder().patId(2).triggerMask(0).build()));
+			when(medicalNoteProxy.getPatientsMedicalNotes(anyList()))
+					.thenReturn(List.of(MedicalNoteBean.builder().patId(2).note("Poids et taille").build()));
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(List.of(1L, 2L));
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.BORDERLINE), Map.entry(2L, RiskLevel.BORDERLINE));
+			verify(medicalNoteProxy).getPatientsMedicalNotes(eq(List.of(2L)));
+		}
+
+		@Test
+		@DisplayName("Should scan the notes with the edited lexicon instead of the trigger mask of the built-in one")
+		public void givenEditedLexicon_whenGetRiskLevel_thenScanNotesWithEditedLexicon() {
+			TriggerTermMatcher matcher = new TriggerTermMatcher(TriggerLexicon.of(Map.of(
+					TriggerTerm.FUMEUR, List.of("tabagique"),
+					TriggerTerm.POIDS, List.of("surpoids"),
+					TriggerTerm.TAILLE, List.of("stature"))));
+			riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy,
+					new RiskEvaluationKernel(RiskRuleTable.getDefault(), () -> matcher), Runnable::run, TriggerSource.MASK, meterRegistry);
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 25, "M"));
+			when(medicalNoteProxy.getPatientTriggerMask(anyLong()))
+					.thenReturn(TriggerMaskBean.builder().patId(1).triggerMask(0).lexiconVersion(LEXICON_VERSION).build());
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of(
+					MedicalNoteBean.builder().patId(1).note("Patient tabagique, surpoids, petite stature").build()));
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.IN_DANGER);
+			verify(medicalNoteProxy).getPatientMedicalNotes(eq(1L));
+		}
+
+		@Test
+		@DisplayName("Should scan the notes instead of the trigger mask when typos are tolerated")
+		public void givenMaxEditDistance_whenGetRiskLevel_thenScanNotes() {
+			TriggerTermMatcher matcher = new TriggerTermMatcher(TriggerLexicon.getDefault(), 1);
+			riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy,
+					new RiskEvaluationKernel(RiskRuleTable.getDefault(), () -> matcher), Runnable::run, TriggerSource.MASK, meterRegistry);
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 25, "M"));
+			when(medicalNoteProxy.getPatientTriggerMask(anyLong()))
+					.thenReturn(TriggerMaskBean.builder().patId(1).triggerMask(0).lexiconVersion(LEXICON_VERSION).build());
+			when(medicalNoteProxy.getPatientMedicalNotes(anyLong())).thenReturn(List.of(
+					MedicalNoteBean.builder().patId(1).note("Fumeur, poids, taille").build()));
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.IN_DANGER);
+			verify(medicalNoteProxy).getPatientMedicalNotes(eq(1L));
+		}
+
+		private static int mask(TriggerTerm... terms) {
+			int mask = 0;
+			for (TriggerTerm term : terms) {
+				mask |= 1 << term.ordinal();
+			}
+			return mask;
+		}
+	}
+
+	@Nested
+	@DisplayName("TERMS trigger source Tests")
+	class TermsTriggerSourceTests {
+
+		@BeforeEach
+		public void setUp() {
+			riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy, new RiskEvaluationKernel(), Runnable::run, TriggerSource.TERMS, meterRegistry);
+		}
+
+		@Test
+		@DisplayName("Should evaluate the risk level from the trigger terms without downloading the notes")
+		public void givenTriggerTerms_whenGetRiskLevel_thenEvaluateFromTerms() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 25, "M"));
+			when(medicalNoteProxy.getPatientTriggerTerms(anyLong())).thenReturn(TriggerTermsBean.builder().patId(1)
+					.triggerTerms(Set.of(TriggerTerm.HEMOGLOBINE_A1C, TriggerTerm.MICROALBUMINE, TriggerTerm.CHOLESTEROL))
+					.lexiconVersion(LEXICON_VERSION)
+					.build());
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.IN_DANGER);
+			verify(medicalNoteProxy).getPatientTriggerTerms(eq(1L));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should return NONE when the patient has no trigger terms")
+		public void givenNoTriggerTerms_whenGetRiskLevel_thenReturnNone() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 40, "F"));
+			when(medicalNoteProxy.getPatientTriggerTerms(anyLong())).thenReturn(null);
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.NONE);
+		}
+
+		@Test
+		@DisplayName("Should evaluate every valid patient from the batch of trigger terms")
+		public void givenTriggerTerms_whenGetRiskLevels_thenEvaluateFromTerms() {
+			List<PatientBean> patients = List.of(generatePatientBean(1L, 40, "M"), generatePatientBean(2L, 40, "F"));
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(patients);
+			when(medicalNoteProxy.getPatientsTriggerTerms(anyList())).thenReturn(List.of(
+					TriggerTermsBean.builder().patId(1).triggerTerms(Set.of(TriggerTerm.POIDS, TriggerTerm.TAILLE)).lexiconVersion(LEXICON_VERSION).build(),
+					TriggerTermsBean.builder().patId(2).triggerTerms(Set.of()).lexiconVersion(LEXICON_VERSION).build()));
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(List.of(1L, 2L));
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.BORDERLINE), Map.entry(2L, RiskLevel.NONE));
+			verify(medicalNoteProxy).getPatientsTriggerTerms(eq(List.of(1L, 2L)));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+	}
+
+	@Nested
+	@DisplayName("STREAM trigger source Tests")
+	class StreamTriggerSourceTests {
+
+		@BeforeEach
+		public void setUp() {
+			riskEvaluatorService = new RiskEvaluatorServiceImpl(patientProxy, medicalNoteProxy, new RiskEvaluationKernel(), Runnable::run, TriggerSource.STREAM, meterRegistry);
+		}
+
+		@Test
+		@DisplayName("Should evaluate the risk level from the notes scanned while decoding the response")
+		public void givenNotesResponse_whenGetRiskLevel_thenEvaluateFromStream() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 25, "M"));
+			when(medicalNoteProxy.streamPatientMedicalNotes(anyLong())).thenReturn(response(200,
+					"[{\"patId\":1,\"note\":\"Hémoglobine A1C élevée\"},{\"patId\":1,\"note\":\"Microalbumine, Cholestérol\"}]"));
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.IN_DANGER);
+			verify(medicalNoteProxy).streamPatientMedicalNotes(eq(1L));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+
+		@Test
+		@DisplayName("Should decode the notes in the format of the response content type")
+		public void givenCborNotesResponse_whenGetRiskLevel_thenEvaluateFromStream() throws Exception {
+			byte[] cborNotes = new ObjectMapper(new CBORFactory()).writeValueAsBytes(List.of(
+					Map.of("patId", 1, "note", "Hémoglobine A1C élevée"), Map.of("patId", 1, "note", "Microalbumine, Cholestérol")));
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 25, "M"));
+			when(medicalNoteProxy.streamPatientMedicalNotes(anyLong())).thenReturn(Response.builder()
+					.status(200)
+					.headers(Map.of(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_CBOR_VALUE)))
+					.request(Request.create(Request.HttpMethod.GET, "/medical-notes/patient/1", Map.of(), null,
+							StandardCharsets.UTF_8, null))
+					.body(cborNotes)
+					.build());
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.IN_DANGER);
+		}
+
+		@Test
+		@DisplayName("Should return NONE when the patient has no notes")
+		public void givenNoContentResponse_whenGetRiskLevel_thenReturnNone() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 40, "F"));
+			when(medicalNoteProxy.streamPatientMedicalNotes(anyLong())).thenReturn(response(204, null));
+
+			RiskLevel result = riskEvaluatorService.getRiskLevel(1L);
+
+			assertThat(result).isEqualTo(RiskLevel.NONE);
+		}
+
+		@Test
+		@DisplayName("Should throw a FeignException when the notes response is not successful")
+		public void givenErrorResponse_whenGetRiskLevel_thenThrowFeignException() {
+			when(patientProxy.getPatientById(anyLong())).thenReturn(generatePatientBean(1L, 40, "F"));
+			when(medicalNoteProxy.streamPatientMedicalNotes(anyLong())).thenReturn(response(503, "unavailable"));
+
+			FeignException exception = assertThrows(FeignException.class, () -> riskEvaluatorService.getRiskLevel(1L));
+
+			assertThat(exception.status()).isEqualTo(503);
+		}
+
+		@Test
+		@DisplayName("Should evaluate every valid patient from a single streamed batch of notes")
+		public void givenNotesResponse_whenGetRiskLevels_thenEvaluateFromStream() {
+			List<PatientBean> patients = List.of(generatePatientBean(1L, 40, "M"), generatePatientBean(2L, 40, "F"));
+			when(patientProxy.getPatientsByIds(anyList())).thenReturn(patients);
+			when(medicalNoteProxy.streamPatientsMedicalNotes(anyList())).thenReturn(response(200,
+					"[{\"patId\":1,\"note\":\"Poids\"},{\"patId\":1,\"note\":\"Taille\"},{\"patId\":2,\"note\":\"RAS\"}]"));
+
+			Map<Long, RiskLevel> result = riskEvaluatorService.getRiskLevels(List.of(1L, 2L));
+
+			assertThat(result).containsExactly(Map.entry(1L, RiskLevel.BORDERLINE), Map.entry(2L, RiskLevel.NONE));
+			verify(medicalNoteProxy).streamPatientsMedicalNotes(eq(List.of(1L, 2L)));
+			verifyNoMoreInteractions(medicalNoteProxy);
+		}
+
+		private static Response response(int status, String body) {
+			Response.Builder builder = Response.builder()
+					.status(status)
+					.reason("status " + status)
+					.headers(Map.of())
+					.request(Request.create(Request.HttpMethod.GET, "/medical-notes/patient/1", Map.of(), null,
+							StandardCharsets.UTF_8, null));
+			return body == null ? builder.build() : builder.body(body, StandardCharsets.UTF_8).build();
+		}
+	}
+
+	private static MedicalNoteBean note(String id, String createdAt, String text) {
+		return MedicalNoteBean.builder()
+				.id(id)
+				.patId(1)
+				.note(text)
+				.createdAt(createdAt == null ? null : Date.from(LocalDate.parse(createdAt).atStartOfDay(ZoneOffset.UTC).toInstant()))
+				.build();
+	}
+
 	/**
 	 * Helper method to create a FeignException.NotFound instance for a given patient ID.
 	 *
@@ -394,6 +1077,15 @@ public class RiskEvaluatorServiceTests {
 	 * @return A FeignException.NotFound instance with a message indicating that the patient with the specified ID doesn't exist,
 	 * and a request object representing the failed request to retrieve the patient information.
 	 */
+	private FeignException.Unauthorized feign401() {
+		return new FeignException.Unauthorized(
+				"Token expired",
+				Request.create(Request.HttpMethod.GET, "/patients/1", Map.of(), null, StandardCharsets.UTF_8, null),
+				null,
+				Map.of()
+		);
+	}
+
 	private FeignException.NotFound feign404(Long patientId) {
 		return new FeignException.NotFound(
 				String.format("Patient with ID '%d' doesn't exist.", patientId),
@@ -0,0 +1,181 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.config.security.ServiceJwtProvider;
+import com.medilabo.riskevaluatormicroservice.controller.RiskLevelNotificationController;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import com.medilabo.riskevaluatormicroservice.exception.PatientNotFoundException;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RiskLevelNotificationService Test Suite")
+public class RiskLevelNotificationServiceTests {
+	private static final String SERVICE_TOKEN = "service-token";
+
+	@Mock
+	private RiskEvaluatorService riskEvaluatorService;
+
+	@Mock
+	private ServiceJwtProvider serviceJwtProvider;
+
+	private RiskLevelNotificationServiceImpl riskLevelNotificationService;
+
+	// The emitters only write their events once bound to a response, hence the subscriptions are opened through MockMvc
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	public void setUp() {
+		// Evaluate the changes on the calling thread to keep the tests deterministic
+		riskLevelNotificationService = new RiskLevelNotificationServiceImpl(riskEvaluatorService, serviceJwtProvider,
+				Runnable::run, Duration.ofMinutes(1));
+		mockMvc = MockMvcBuilders.standaloneSetup(new RiskLevelNotificationController(riskLevelNotificationService, 1000))
+				.build();
+		lenient().when(serviceJwtProvider.getToken()).thenReturn(SERVICE_TOKEN);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		JwtContextHolder.clear();
+	}
+
+	@Nested
+	@DisplayName("subscribe() Tests")
+	class SubscribeTests {
+
+		@Test
+		@DisplayName("Should send the current risk level of every patient found")
+		public void givenPatientIds_whenSubscribe_thenSendCurrentRiskLevels() throws Exception {
+			when(riskEvaluatorService.getRiskLevels(anyList()))
+					.thenReturn(Map.of(1L, RiskLevel.NONE, 2L, RiskLevel.IN_DANGER));
+
+			MockHttpServletResponse response = subscribe("1,2,999");
+
+			assertThat(response.getContentType()).startsWith("text/event-stream");
+			assertThat(response.getContentAsString())
+					.contains("event:risk-level\ndata:{\"patientId\":1,\"riskLevel\":\"NONE\"}")
+					.contains("event:risk-level\ndata:{\"patientId\":2,\"riskLevel\":\"IN_DANGER\"}");
+			verify(riskEvaluatorService).getRiskLevels(eq(List.of(1L, 2L, 999L)));
+		}
+
+		@Test
+		@DisplayName("Should throw a PatientNotFoundException when no patient is found")
+		public void givenUnknownPatientIds_whenSubscribe_thenThrowPatientNotFoundException() {
+			when(riskEvaluatorService.getRiskLevels(anyList())).thenReturn(Map.of());
+
+			assertThrows(PatientNotFoundException.class, () -> riskLevelNotificationService.subscribe(List.of(999L)));
+		}
+
+		@Test
+		@DisplayName("Should not lose a change notified while the current risk levels are evaluated")
+		public void givenChangeDuringEvaluation_whenSubscribe_thenSendChangedRiskLevel() throws Exception {
+			when(riskEvaluatorService.getRiskLevels(anyList()))
+					.thenAnswer(invocation -> {
+						riskLevelNotificationService.onPatientDataChanged(new PatientDataChangedEvent(1L));
+						return Map.of(1L, RiskLevel.NONE);
+					})
+					.thenReturn(Map.of(1L, RiskLevel.BORDERLINE));
+
+			MockHttpServletResponse response = subscribe("1");
+
+			assertThat(events(response)).containsExactly("{\"patientId\":1,\"riskLevel\":\"BORDERLINE\"}");
+		}
+	}
+
+	@Nested
+	@DisplayName("onPatientDataChanged() Tests")
+	class OnPatientDataChangedTests {
+
+		@Test
+		@DisplayName("Should send the new risk level only when it changed")
+		public void givenSubscriber_whenPatientDataChanged_thenSendChangedRiskLevelOnly() throws Exception {
+			when(riskEvaluatorService.getRiskLevels(anyList()))
+					.thenReturn(Map.of(1L, RiskLevel.NONE))
+					.thenReturn(Map.of(1L, RiskLevel.NONE))
+					.thenReturn(Map.of(1L, RiskLevel.BORDERLINE));
+			MockHttpServletResponse response = subscribe("1");
+
+			riskLevelNotificationService.onPatientDataChanged(new PatientDataChangedEvent(1L));
+			riskLevelNotificationService.onPatientDataChanged(new PatientDataChangedEvent(1L));
+
+			assertThat(events(response)).containsExactly(
+					"{\"patientId\":1,\"riskLevel\":\"NONE\"}",
+					"{\"patientId\":1,\"riskLevel\":\"BORDERLINE\"}");
+		}
+
+		@Test
+		@DisplayName("Should evaluate the changed patient with the token of the service")
+		public void givenSubscriber_whenPatientDataChanged_thenEvaluateWithServiceToken() throws Exception {
+			AtomicReference<String> token = new AtomicReference<>();
+			when(riskEvaluatorService.getRiskLevels(anyList())).thenAnswer(invocation -> {
+				token.set(JwtContextHolder.getToken());
+				return Map.of(1L, RiskLevel.NONE);
+			});
+			subscribe("1");
+
+			riskLevelNotificationService.onPatientDataChanged(new PatientDataChangedEvent(1L));
+
+			assertThat(token.get()).isEqualTo(SERVICE_TOKEN);
+		}
+
+		@Test
+		@DisplayName("Should not evaluate patients without subscribers")
+		public void givenNoSubscriber_whenPatientDataChanged_thenDoNothing() {
+			riskLevelNotificationService.onPatientDataChanged(new PatientDataChangedEvent(1L));
+
+			verifyNoInteractions(riskEvaluatorService, serviceJwtProvider);
+		}
+	}
+
+	@Nested
+	@DisplayName("sendHeartbeat() Tests")
+	class SendHeartbeatTests {
+
+		@Test
+		@DisplayName("Should send a comment to every subscriber")
+		public void givenSubscriber_whenSendHeartbeat_thenSendComment() throws Exception {
+			when(riskEvaluatorService.getRiskLevels(anyList())).thenReturn(Map.of(1L, RiskLevel.NONE));
+			MockHttpServletResponse response = subscribe("1");
+
+			riskLevelNotificationService.sendHeartbeat();
+
+			assertThat(response.getContentAsString()).endsWith(":heartbeat\n\n");
+		}
+	}
+
+	private MockHttpServletResponse subscribe(String patientIds) throws Exception {
+		return mockMvc.perform(get("/risk-evaluator/notifications/stream").param("patientIds", patientIds))
+				.andExpect(request().asyncStarted())
+				.andReturn()
+				.getResponse();
+	}
+
+	private static List<String> events(MockHttpServletResponse response) throws Exception {
+		return response.getContentAsString().lines()
+				.filter(line -> line.startsWith("data:"))
+				.map(line -> line.substring("data:".length()))
+				.toList();
+	}
+}
@@ -0,0 +1,131 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.medilabo.riskevaluatormicroservice.beans.PatientBean;
+import com.medilabo.riskevaluatormicroservice.beans.TriggerMaskBean;
+import com.medilabo.riskevaluatormicroservice.config.cache.CacheConfig;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import com.medilabo.riskevaluatormicroservice.event.TriggerLexiconChangedEvent;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import com.medilabo.riskevaluatormicroservice.proxies.MedicalNoteMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.proxies.PatientMicroserviceProxy;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskLevelStoreService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("RiskLevelStoreService riskLevels cache Test Suite")
+public class RiskLevelStoreServiceCacheTests {
+	private static final Long PATIENT_ID = 1L;
+
+	@MockitoBean
+	private PatientMicroserviceProxy patientProxy;
+
+	@MockitoBean
+	private MedicalNoteMicroserviceProxy medicalNoteProxy;
+
+	@Autowired
+	private RiskLevelStoreService riskLevelStoreService;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	public void setUp() {
+		cacheManager.getCache(CacheConfig.RISK_LEVELS_CACHE).clear();
+
+		PatientBean patient = PatientBean.builder().id(PATIENT_ID).birthDate("1966-12-31").gender("M").build();
+		TriggerMaskBean triggerMask = TriggerMaskBean.builder()
+				.patId(PATIENT_ID.intValue())
+				.triggerMask(1 << TriggerTerm.FUMEUR.ordinal() | 1 << TriggerTerm.POIDS.ordinal())
+				.lexiconVersion(TriggerTermMatcher.getInstance().getVersion())
+				.build();
+		when(patientProxy.getPatientById(anyLong())).thenReturn(patient);
+		when(medicalNoteProxy.getPatientTriggerMask(anyLong())).thenReturn(triggerMask);
+	}
+
+	@Test
+	@DisplayName("Should store the risk levels in the riskLevels cache, bounded in size and time")
+	public void givenConfiguredCache_whenGetRiskLevel_thenStoreInBoundedCache() {
+		RiskLevel riskLevel = riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+		Cache<Object, Object> riskLevels = ((CaffeineCache) cacheManager.getCache(CacheConfig.RISK_LEVELS_CACHE))
+				.getNativeCache();
+		assertThat(riskLevels.getIfPresent(PATIENT_ID)).isEqualTo(riskLevel);
+		assertThat(riskLevels.policy().eviction()).hasValueSatisfying(eviction ->
+				assertThat(eviction.getMaximum()).isEqualTo(10_000));
+		assertThat(riskLevels.policy().expireAfterWrite()).hasValueSatisfying(expiration ->
+				assertThat(expiration.getExpiresAfter()).isEqualTo(Duration.ofMinutes(10)));
+	}
+
+	@Test
+	@DisplayName("Should record the hits and misses of the riskLevels cache")
+	public void givenEvaluatedPatient_whenGetRiskLevelAgain_thenRecordMissThenHit() {
+		Cache<Object, Object> riskLevels = ((CaffeineCache) cacheManager.getCache(CacheConfig.RISK_LEVELS_CACHE))
+				.getNativeCache();
+		CacheStats before = riskLevels.stats();
+
+		riskLevelStoreService.getRiskLevel(PATIENT_ID);
+		riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+		CacheStats stats = riskLevels.stats().minus(before);
+		assertThat(stats.missCount()).isEqualTo(1);
+		assertThat(stats.hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should serve the risk level of a patient from the store once evaluated")
+	public void givenEvaluatedPatient_whenGetRiskLevelAgain_thenServeFromStore() {
+		RiskLevel first = riskLevelStoreService.getRiskLevel(PATIENT_ID);
+		RiskLevel second = riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+		assertThat(first).isEqualTo(RiskLevel.BORDERLINE);
+		assertThat(second).isEqualTo(first);
+		verify(patientProxy, times(1)).getPatientById(eq(PATIENT_ID));
+		verify(medicalNoteProxy, times(1)).getPatientTriggerMask(eq(PATIENT_ID));
+	}
+
+	@Test
+	@DisplayName("Should evaluate the risk level again once the data of the patient changed")
+	public void givenPatientDataChangedEvent_whenGetRiskLevel_thenEvaluateAgain() {
+		riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+		eventPublisher.publishEvent(new PatientDataChangedEvent(PATIENT_ID));
+		riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+		verify(patientProxy, times(2)).getPatientById(eq(PATIENT_ID));
+		verify(medicalNoteProxy, times(2)).getPatientTriggerMask(eq(PATIENT_ID));
+	}
+
+	@Test
+	@DisplayName("Should evaluate every risk level again once the trigger lexicon changed")
+	public void givenTriggerLexiconChangedEvent_whenGetRiskLevel_thenEvaluateAgain() {
+		riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+		eventPublisher.publishEvent(new TriggerLexiconChangedEvent("0123456789ab"));
+		riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+		verify(patientProxy, times(2)).getPatientById(eq(PATIENT_ID));
+	}
+}
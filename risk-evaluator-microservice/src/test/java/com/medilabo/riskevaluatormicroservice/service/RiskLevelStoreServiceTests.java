@@ -0,0 +1,210 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.config.cache.CacheConfig;
+import com.medilabo.riskevaluatormicroservice.config.security.JwtContextHolder;
+import com.medilabo.riskevaluatormicroservice.config.security.ServiceJwtProvider;
+import com.medilabo.riskevaluatormicroservice.domain.enums.RiskLevel;
+import com.medilabo.riskevaluatormicroservice.event.PatientDataChangedEvent;
+import com.medilabo.riskevaluatormicroservice.event.TriggerLexiconChangedEvent;
+import com.medilabo.riskevaluatormicroservice.service.contracts.RiskEvaluatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RiskLevelStoreService Test Suite")
+public class RiskLevelStoreServiceTests {
+	private static final String SERVICE_TOKEN = "service-token";
+	private static final Long PATIENT_ID = 1L;
+
+	@Mock
+	private RiskEvaluatorService riskEvaluatorService;
+
+	@Mock
+	private ServiceJwtProvider serviceJwtProvider;
+
+	private CacheManager cacheManager;
+
+	private RiskLevelStoreServiceImpl riskLevelStoreService;
+
+	@BeforeEach
+	public void setUp() {
+		cacheManager = new CaffeineCacheManager(CacheConfig.RISK_LEVELS_CACHE);
+		riskLevelStoreService = new RiskLevelStoreServiceImpl(riskEvaluatorService, serviceJwtProvider, cacheManager, 2);
+		lenient().when(serviceJwtProvider.getToken()).thenReturn(SERVICE_TOKEN);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		JwtContextHolder.clear();
+	}
+
+	@Nested
+	@DisplayName("getRiskLevel() Tests")
+	class GetRiskLevelTests {
+
+		@Test
+		@DisplayName("Should evaluate a patient on his first read only")
+		public void givenStoredPatient_whenGetRiskLevel_thenServeFromStore() {
+			when(riskEvaluatorService.getRiskLevel(PATIENT_ID)).thenReturn(RiskLevel.BORDERLINE);
+
+			RiskLevel first = riskLevelStoreService.getRiskLevel(PATIENT_ID);
+			RiskLevel second = riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+			assertThat(first).isEqualTo(RiskLevel.BORDERLINE);
+			assertThat(second).isEqualTo(RiskLevel.BORDERLINE);
+			verify(riskEvaluatorService, times(1)).getRiskLevel(PATIENT_ID);
+		}
+
+		@Test
+		@DisplayName("Should store the risk levels in the bounded riskLevels cache")
+		public void givenEvaluatedPatient_whenGetRiskLevel_thenStoreInRiskLevelsCache() {
+			when(riskEvaluatorService.getRiskLevel(PATIENT_ID)).thenReturn(RiskLevel.BORDERLINE);
+
+			riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+			assertThat(cacheManager.getCache(CacheConfig.RISK_LEVELS_CACHE).get(PATIENT_ID, RiskLevel.class))
+					.isEqualTo(RiskLevel.BORDERLINE);
+		}
+
+		@Test
+		@DisplayName("Should evaluate a patient whose stored risk level was evicted from the cache")
+		public void givenEvictedPatient_whenGetRiskLevel_thenEvaluateAgain() {
+			when(riskEvaluatorService.getRiskLevel(PATIENT_ID)).thenReturn(RiskLevel.NONE, RiskLevel.IN_DANGER);
+			riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+			cacheManager.getCache(CacheConfig.RISK_LEVELS_CACHE).evict(PATIENT_ID);
+
+			assertThat(riskLevelStoreService.getRiskLevel(PATIENT_ID)).isEqualTo(RiskLevel.IN_DANGER);
+		}
+
+		@Test
+		@DisplayName("Should evaluate a changed patient not re-evaluated yet")
+		public void givenChangedPatient_whenGetRiskLevel_thenEvaluateAgain() {
+			when(riskEvaluatorService.getRiskLevel(PATIENT_ID)).thenReturn(RiskLevel.NONE, RiskLevel.IN_DANGER);
+			riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+			riskLevelStoreService.onPatientDataChanged(new PatientDataChangedEvent(PATIENT_ID));
+
+			assertThat(riskLevelStoreService.getRiskLevel(PATIENT_ID)).isEqualTo(RiskLevel.IN_DANGER);
+		}
+
+		@Test
+		@DisplayName("Should not store an evaluation started before a change of the patient")
+		public void givenChangeDuringEvaluation_whenGetRiskLevel_thenDoNotStoreStaleRiskLevel() {
+			when(riskEvaluatorService.getRiskLevel(PATIENT_ID))
+					.thenAnswer(invocation -> {
+						riskLevelStoreService.onPatientDataChanged(new PatientDataChangedEvent(PATIENT_ID));
+						return RiskLevel.NONE;
+					})
+					.thenReturn(RiskLevel.IN_DANGER);
+
+			assertThat(riskLevelStoreService.getRiskLevel(PATIENT_ID)).isEqualTo(RiskLevel.NONE);
+			assertThat(riskLevelStoreService.getRiskLevel(PATIENT_ID)).isEqualTo(RiskLevel.IN_DANGER);
+		}
+
+		@Test
+		@DisplayName("Should evaluate every patient again once the trigger lexicon changed")
+		public void givenTriggerLexiconChanged_whenGetRiskLevel_thenEvaluateAgain() {
+			when(riskEvaluatorService.getRiskLevel(PATIENT_ID)).thenReturn(RiskLevel.NONE);
+			riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+			riskLevelStoreService.onTriggerLexiconChanged(new TriggerLexiconChangedEvent("0123456789ab"));
+			riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+			verify(riskEvaluatorService, times(2)).getRiskLevel(PATIENT_ID);
+		}
+	}
+
+	@Nested
+	@DisplayName("reevaluateDirtyPatients() Tests")
+	class ReevaluateDirtyPatientsTests {
+
+		@Test
+		@DisplayName("Should re-evaluate a patient changed several times once, and serve the result from the store")
+		public void givenRepeatedChanges_whenReevaluate_thenEvaluateOnceAndStore() {
+			when(riskEvaluatorService.getRiskLevels(anyList())).thenAnswer(invocation -> {
+				assertThat(JwtContextHolder.getToken()).isEqualTo(SERVICE_TOKEN);
+				return Map.of(PATIENT_ID, RiskLevel.EARLY_ONSET);
+			});
+			for (int i = 0; i < 5; i++) {
+				riskLevelStoreService.onPatientDataChanged(new PatientDataChangedEvent(PATIENT_ID));
+			}
+
+			int reevaluated = riskLevelStoreService.reevaluateDirtyPatients();
+
+			assertThat(reevaluated).isEqualTo(1);
+			assertThat(riskLevelStoreService.getRiskLevel(PATIENT_ID)).isEqualTo(RiskLevel.EARLY_ONSET);
+			assertThat(riskLevelStoreService.reevaluateDirtyPatients()).isZero();
+			verify(riskEvaluatorService, times(1)).getRiskLevels(eq(List.of(PATIENT_ID)));
+			verify(riskEvaluatorService, never()).getRiskLevel(anyLong());
+			assertThat(JwtContextHolder.getToken()).isNull();
+		}
+
+		@Test
+		@DisplayName("Should re-evaluate the changed patients in batches")
+		public void givenManyChangedPatients_whenReevaluate_thenEvaluateInBatches() {
+			List<List<Long>> batches = new ArrayList<>();
+			when(riskEvaluatorService.getRiskLevels(anyList())).thenAnswer(invocation -> {
+				List<Long> batch = invocation.getArgument(0);
+				batches.add(List.copyOf(batch));
+				Map<Long, RiskLevel> riskLevels = new HashMap<>();
+				batch.forEach(id -> riskLevels.put(id, RiskLevel.NONE));
+				return riskLevels;
+			});
+			for (long id = 1; id <= 5; id++) {
+				riskLevelStoreService.onPatientDataChanged(new PatientDataChangedEvent(id));
+			}
+
+			int reevaluated = riskLevelStoreService.reevaluateDirtyPatients();
+
+			assertThat(reevaluated).isEqualTo(5);
+			assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+			assertThat(batches).flatExtracting(batch -> batch).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+		}
+
+		@Test
+		@DisplayName("Should queue the patients of a failed batch again")
+		public void givenFailingBatch_whenReevaluate_thenRetryOnNextRun() {
+			when(riskEvaluatorService.getRiskLevels(anyList()))
+					.thenThrow(new RuntimeException("Patient microservice unavailable"))
+					.thenReturn(Map.of(PATIENT_ID, RiskLevel.IN_DANGER));
+			riskLevelStoreService.onPatientDataChanged(new PatientDataChangedEvent(PATIENT_ID));
+
+			assertThat(riskLevelStoreService.reevaluateDirtyPatients()).isZero();
+			assertThat(riskLevelStoreService.reevaluateDirtyPatients()).isEqualTo(1);
+
+			assertThat(riskLevelStoreService.getRiskLevel(PATIENT_ID)).isEqualTo(RiskLevel.IN_DANGER);
+			verify(riskEvaluatorService, never()).getRiskLevel(anyLong());
+		}
+
+		@Test
+		@DisplayName("Should drop the deleted patients from the store")
+		public void givenDeletedPatient_whenReevaluate_thenDropStoredRiskLevel() {
+			when(riskEvaluatorService.getRiskLevel(PATIENT_ID)).thenReturn(RiskLevel.NONE);
+			when(riskEvaluatorService.getRiskLevels(anyList())).thenReturn(Map.of());
+			riskLevelStoreService.getRiskLevel(PATIENT_ID);
+			riskLevelStoreService.onPatientDataChanged(new PatientDataChangedEvent(PATIENT_ID));
+
+			assertThat(riskLevelStoreService.reevaluateDirtyPatients()).isZero();
+			riskLevelStoreService.getRiskLevel(PATIENT_ID);
+
+			verify(riskEvaluatorService, times(2)).getRiskLevel(PATIENT_ID);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.medilabo.riskevaluatormicroservice.service;
+
+import com.medilabo.riskevaluatormicroservice.domain.enums.TriggerTerm;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerLexicon;
+import com.medilabo.riskevaluatormicroservice.domain.matcher.TriggerTermMatcher;
+import com.medilabo.riskevaluatormicroservice.event.TriggerLexiconChangedEvent;
+import com.medilabo.riskevaluatormicroservice.exception.InvalidTriggerLexiconException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TriggerLexiconService Test Suite")
+public class TriggerLexiconServiceTests {
+	@TempDir
+	private Path tempDir;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	private Path lexiconFile;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		lexiconFile = tempDir.resolve("trigger-lexicon.txt");
+		Files.writeString(lexiconFile, "FUMEUR: fumeur\n");
+	}
+
+	@Nested
+	@DisplayName("TriggerLexiconServiceImpl() Tests")
+	class LoadTests {
+
+		@Test
+		@DisplayName("Should compile the configured lexicon at startup")
+		public void givenLexiconLocation_whenCreate_thenCompileLexicon() {
+			TriggerLexiconServiceImpl service = newService(lexiconFile.toUri().toString());
+
+			assertThat(service.getLexicon().getVariants(TriggerTerm.FUMEUR)).containsExactly("fumeur");
+			assertThat(service.getLexicon().getVariants(TriggerTerm.POIDS)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Should use the built-in lexicon when no location is configured")
+		public void givenBlankLocation_whenCreate_thenUseBuiltInLexicon() {
+			TriggerLexiconServiceImpl service = newService("");
+
+			assertThat(service.getMatcher()).isSameAs(TriggerTermMatcher.getInstance());
+			assertThat(service.reload()).isSameAs(TriggerLexicon.getDefault());
+		}
+
+		@Test
+		@DisplayName("Should compile the lexicon with the configured typo tolerance")
+		public void givenMaxEditDistance_whenCreate_thenMatchMisspelledVariants() {
+			TriggerLexiconServiceImpl service = new TriggerLexiconServiceImpl(new DefaultResourceLoader(), eventPublisher,
+					"", 1, 1, 100, new SimpleMeterRegistry());
+
+			assertThat(service.getMatcher().getMaxEditDistance()).isEqualTo(1);
+			assertThat(service.getMatcher().scan("cholesterole")).isEqualTo(1 << TriggerTerm.CHOLESTEROL.ordinal());
+		}
+
+		@Test
+		@DisplayName("Should memoize the fuzzy matches and publish their hit rate")
+		public void givenMaxEditDistance_whenScanSameWordTwice_thenPublishFuzzyMatchHit() {
+			SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+			TriggerLexiconServiceImpl service = new TriggerLexiconServiceImpl(new DefaultResourceLoader(), eventPublisher,
+					"", 1, 1, 100, meterRegistry);
+
+			service.getMatcher().scan("cholesterole");
+			service.getMatcher().scan("cholesterole");
+
+			assertThat(meterRegistry.get("cache.gets").tag("cache", TriggerLexiconServiceImpl.FUZZY_MATCHES_CACHE)
+					.tag("result", "miss").functionCounter().count()).isEqualTo(1);
+			assertThat(meterRegistry.get("cache.gets").tag("cache", TriggerLexiconServiceImpl.FUZZY_MATCHES_CACHE)
+					.tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("Should refuse to start with an invalid lexicon")
+		public void givenInvalidLexicon_whenCreate_thenThrowInvalidTriggerLexiconException() throws IOException {
+			Files.writeString(lexiconFile, "TABAC: tabac\n");
+
+			assertThatThrownBy(() -> newService(lexiconFile.toUri().toString()))
+					.isInstanceOf(InvalidTriggerLexiconException.class)
+					.hasMessageContaining("TABAC");
+		}
+	}
+
+	@Nested
+	@DisplayName("reload() Tests")
+	class ReloadTests {
+
+		@Test
+		@DisplayName("Should swap the matcher and publish an event when the lexicon changed")
+		public void givenChangedLexicon_whenReload_thenSwapMatcherAndPublishEvent() throws IOException {
+			TriggerLexiconServiceImpl service = newService(lexiconFile.toUri().toString());
+			TriggerTermMatcher previous = service.getMatcher();
+			Files.writeString(lexiconFile, "FUMEUR: fumeur, tabagisme\n");
+
+			TriggerLexicon lexicon = service.reload();
+
+			assertThat(service.getMatcher()).isNotSameAs(previous);
+			assertThat(service.getMatcher().getVersion()).isEqualTo(lexicon.getVersion()).isNotEqualTo(previous.getVersion());
+			assertThat(service.getMatcher().scan("tabagisme")).isEqualTo(1 << TriggerTerm.FUMEUR.ordinal());
+			assertThat(previous.scan("tabagisme")).isZero();
+			verify(eventPublisher, times(1)).publishEvent(new TriggerLexiconChangedEvent(lexicon.getVersion()));
+		}
+
+		@Test
+		@DisplayName("Should keep the matcher when the lexicon did not change")
+		public void givenUnchangedLexicon_whenReload_thenKeepMatcher() throws IOException {
+			TriggerLexiconServiceImpl service = newService(lexiconFile.toUri().toString());
+			TriggerTermMatcher previous = service.getMatcher();
+			Files.writeString(lexiconFile, "# Same content\nFUMEUR: Fumeur\n");
+
+			service.reload();
+
+			assertThat(service.getMatcher()).isSameAs(previous);
+			verifyNoInteractions(eventPublisher);
+		}
+
+		@Test
+		@DisplayName("Should keep the active lexicon when the new one is invalid")
+		public void givenInvalidLexicon_whenReload_thenKeepMatcher() throws IOException {
+			TriggerLexiconServiceImpl service = newService(lexiconFile.toUri().toString());
+			TriggerTermMatcher previous = service.getMatcher();
+			Files.writeString(lexiconFile, "FUMEUR fumeur\n");
+
+			assertThatThrownBy(service::reload).isInstanceOf(InvalidTriggerLexiconException.class);
+			service.scheduledReload();
+
+			assertThat(service.getMatcher()).isSameAs(previous);
+			verify(eventPublisher, never()).publishEvent(any(Object.class));
+		}
+	}
+
+	private TriggerLexiconServiceImpl newService(String location) {
+		return new TriggerLexiconServiceImpl(new DefaultResourceLoader(), eventPublisher, location, 0, 1, 100,
+				new SimpleMeterRegistry());
+	}
+}